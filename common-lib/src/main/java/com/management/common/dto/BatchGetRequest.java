@@ -0,0 +1,11 @@
+package com.management.common.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchGetRequest(@NotEmpty @Size(max = BatchGetRequest.MAX_IDS) List<String> ids) {
+    
+    public static final int MAX_IDS = 500;
+}
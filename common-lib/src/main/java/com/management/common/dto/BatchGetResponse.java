@@ -0,0 +1,41 @@
+package com.management.common.dto;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Result of a multi-get: the entities found, in the order their ids were requested, and the requested ids
+ * that do not exist. Repeated ids are answered once.
+ */
+public record BatchGetResponse<T>(List<T> items, List<String> missing) {
+    
+    /**
+     * Looks the distinct {@code ids} up with one call to {@code findAll}, typically a repository's
+     * {@code findAllById}, and answers in request order.
+     */
+    public static <T> BatchGetResponse<T> fetch(List<String> ids, Function<Collection<String>, ? extends Iterable<T>> findAll,
+                                                Function<T, String> idOf) {
+        return inRequestOrder(ids, findAll.apply(new LinkedHashSet<>(ids)), idOf);
+    }
+    
+    public static <T> BatchGetResponse<T> inRequestOrder(List<String> ids, Iterable<T> found, Function<T, String> idOf) {
+        Map<String, T> byId = new HashMap<>();
+        found.forEach(item -> byId.put(idOf.apply(item), item));
+        List<T> items = new ArrayList<>(byId.size());
+        List<String> missing = new ArrayList<>();
+        for (String id : new LinkedHashSet<>(ids)) {
+            T item = byId.get(id);
+            if (item != null) {
+                items.add(item);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new BatchGetResponse<>(items, missing);
+    }
+}
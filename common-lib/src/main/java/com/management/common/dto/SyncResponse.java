@@ -0,0 +1,15 @@
+package com.management.common.dto;
+
+import java.util.List;
+
+/**
+ * One page of a change feed. Clients apply {@code upserts} and {@code deletes}, store {@code next} and ask
+ * again while {@code hasMore} is set. {@code reset} means the token is too old to resume from and the client
+ * must discard its copy and sync from scratch.
+ */
+public record SyncResponse<T>(List<T> upserts, List<String> deletes, String next, boolean hasMore, boolean reset) {
+    
+    public static <T> SyncResponse<T> resetRequired() {
+        return new SyncResponse<>(List.of(), List.of(), null, false, true);
+    }
+}
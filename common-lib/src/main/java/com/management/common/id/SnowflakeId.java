@@ -0,0 +1,17 @@
+package com.management.common.id;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a Mongo document whose {@code String} id is assigned by {@link SnowflakeIdGenerator} when it is first
+ * saved without one.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SnowflakeId {
+}
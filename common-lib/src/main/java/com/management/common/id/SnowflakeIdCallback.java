@@ -0,0 +1,35 @@
+package com.management.common.id;
+
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+
+/**
+ * Gives {@link SnowflakeId} documents saved without an id the next id of the service's generator.
+ */
+public class SnowflakeIdCallback implements BeforeConvertCallback<Object> {
+    
+    private final SnowflakeIdGenerator generator;
+    private final MongoMappingContext mappingContext;
+    
+    public SnowflakeIdCallback(SnowflakeIdGenerator generator, MongoMappingContext mappingContext) {
+        this.generator = generator;
+        this.mappingContext = mappingContext;
+    }
+    
+    @Override
+    public Object onBeforeConvert(Object entity, String collection) {
+        if (!entity.getClass().isAnnotationPresent(SnowflakeId.class)) {
+            return entity;
+        }
+        MongoPersistentEntity<?> persistentEntity = mappingContext.getRequiredPersistentEntity(entity.getClass());
+        MongoPersistentProperty idProperty = persistentEntity.getRequiredIdProperty();
+        PersistentPropertyAccessor<Object> accessor = persistentEntity.getPropertyAccessor(entity);
+        if (accessor.getProperty(idProperty) == null) {
+            accessor.setProperty(idProperty, generator.nextIdString());
+        }
+        return accessor.getBean();
+    }
+}
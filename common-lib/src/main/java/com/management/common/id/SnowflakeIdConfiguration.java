@@ -0,0 +1,53 @@
+package com.management.common.id;
+
+import com.management.common.lock.MongoLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.Duration;
+
+/**
+ * Sets up the service's {@link SnowflakeIdGenerator} and assigns ids to {@link SnowflakeId} documents. The
+ * node id is {@code snowflake.node-id} when set. Otherwise a free one is leased in Mongo through
+ * {@link SnowflakeNodeLease}, starting from a hash of the Eureka instance id, so instances of a service never
+ * share one; startup fails if none is free.
+ */
+@Configuration
+@ConditionalOnClass(name = "org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback")
+@Slf4j
+public class SnowflakeIdConfiguration {
+    
+    @Bean
+    @ConditionalOnExpression("${snowflake.node-id:-1} < 0")
+    public SnowflakeNodeLease snowflakeNodeLease(Environment environment,
+                                                 MongoLock mongoLock,
+                                                 @Value("${snowflake.node-lease:1m}") Duration lease) {
+        String instanceId = environment.getProperty("eureka.instance.instance-id", String.join(":",
+            environment.getProperty("spring.cloud.client.ip-address", "localhost"),
+            environment.getProperty("spring.application.name", "application"),
+            environment.getProperty("server.port", "8080")));
+        return new SnowflakeNodeLease(mongoLock, lease, instanceId.hashCode());
+    }
+    
+    @Bean
+    public SnowflakeIdGenerator snowflakeIdGenerator(@Value("${snowflake.node-id:-1}") int nodeId,
+                                                     ObjectProvider<SnowflakeNodeLease> nodeLease) {
+        if (nodeId >= 0) {
+            log.info("Snowflake node id {} set by configuration", nodeId);
+            return new SnowflakeIdGenerator(nodeId);
+        }
+        return nodeLease.getObject().generator();
+    }
+    
+    @Bean
+    public SnowflakeIdCallback snowflakeIdCallback(SnowflakeIdGenerator generator, MongoMappingContext mappingContext) {
+        return new SnowflakeIdCallback(generator, mappingContext);
+    }
+}
@@ -0,0 +1,130 @@
+package com.management.common.id;
+
+import com.management.common.exception.ServiceUnavailableException;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Generates 64-bit ids ordered by creation time: 41 bits of milliseconds since {@link #EPOCH}, 10 bits of node
+ * id and 12 bits of sequence. The timestamp and sequence share one {@link AtomicLong} advanced by
+ * compare-and-set, so ids from one generator strictly increase without locking, including when the clock steps
+ * back. More than 4096 ids in a millisecond borrow the next millisecond rather than wait for it.
+ * <p>
+ * As strings, ids are zero-padded to {@value #ID_LENGTH} digits so that string order is creation order among
+ * generated ids. Documents saved before their collection switched to Snowflake ids keep their 24-character
+ * ObjectId hex strings; any ObjectId from 2021 on starts with {@code 6} or above and so sorts after every id
+ * generated before 2069, regardless of which is older. An {@code _id} range or an {@code _id}-only keyset is
+ * therefore not a time order over a collection holding both: query time ranges on {@code createdAt} and use
+ * {@code _id} only to break ties, as the exports and change feeds do, and check {@link #isGenerated(String)}
+ * before reading a timestamp out of an id.
+ * <p>
+ * Two generators must never share a node id. When the node id is leased rather than configured, the lease
+ * holder sets how long ids may be generated for; past that, {@link #nextId()} fails instead of risking ids
+ * another instance may also be generating.
+ */
+public final class SnowflakeIdGenerator {
+    
+    public static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    public static final int ID_LENGTH = 19;
+    
+    private static final long EPOCH_MILLIS = EPOCH.toEpochMilli();
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int TIMESTAMP_SHIFT = NODE_BITS + SEQUENCE_BITS;
+    
+    private final int nodeId;
+    private final long nodeBits;
+    private final LongSupplier clock;
+    private final AtomicLong last = new AtomicLong();
+    private volatile long validUntil = Long.MAX_VALUE;
+    
+    public SnowflakeIdGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+    
+    SnowflakeIdGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ", got " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+    
+    public int nodeId() {
+        return nodeId;
+    }
+    
+    /**
+     * @throws ServiceUnavailableException if the lease on the node id has lapsed
+     */
+    public long nextId() {
+        long millis = clock.getAsLong();
+        if (millis >= validUntil) {
+            throw new ServiceUnavailableException("Snowflake node id " + nodeId + " is no longer leased to this instance");
+        }
+        long now = (millis - EPOCH_MILLIS) << SEQUENCE_BITS;
+        while (true) {
+            long previous = last.get();
+            long next = now > previous ? now : previous + 1;
+            if (last.compareAndSet(previous, next)) {
+                return (next >>> SEQUENCE_BITS) << TIMESTAMP_SHIFT | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+    
+    public String nextIdString() {
+        return format(nextId());
+    }
+    
+    /**
+     * Stops {@link #nextId()} from handing out ids at or after {@code millis} on this generator's clock.
+     */
+    void validUntil(long millis) {
+        validUntil = millis;
+    }
+    
+    public static String format(long id) {
+        String digits = Long.toString(id);
+        return "0".repeat(ID_LENGTH - digits.length()) + digits;
+    }
+    
+    /**
+     * Whether {@code id} came from a generator rather than being a legacy ObjectId string.
+     */
+    public static boolean isGenerated(String id) {
+        if (id == null || id.length() != ID_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < ID_LENGTH; i++) {
+            if (!Character.isDigit(id.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * @throws IllegalArgumentException if {@code id} was not generated, see {@link #isGenerated(String)}
+     */
+    public static Instant timestampOf(String id) {
+        if (!isGenerated(id)) {
+            throw new IllegalArgumentException("Not a Snowflake id: " + id);
+        }
+        return Instant.ofEpochMilli((Long.parseLong(id) >>> TIMESTAMP_SHIFT) + EPOCH_MILLIS);
+    }
+    
+    /**
+     * The smallest id any node can generate at or after {@code instant}, for {@code _id} range queries. Legacy
+     * ObjectId strings sort above every bound before 2069, so on collections that may hold them combine the
+     * range with a {@code createdAt} filter.
+     */
+    public static String lowerBound(Instant instant) {
+        long millis = Math.max(instant.toEpochMilli() - EPOCH_MILLIS, 0);
+        return format(millis << TIMESTAMP_SHIFT);
+    }
+}
@@ -0,0 +1,91 @@
+package com.management.common.id;
+
+import com.management.common.lock.MongoLock;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Leases one of the 1024 Snowflake node ids to this instance through a {@link MongoLock} named
+ * {@code snowflake-node-<id>}, starting the search at a preferred id and taking the first free one. The lease
+ * is renewed in the background every quarter of {@code lease}, and the generator only hands out ids for half a
+ * lease past the last successful renewal, which leaves room for clock skew between instances. If another
+ * instance has taken the id over, renewal stops and the generator keeps failing until this instance restarts.
+ */
+@Slf4j
+public class SnowflakeNodeLease implements AutoCloseable {
+    
+    static final String LOCK_PREFIX = "snowflake-node-";
+    
+    private final MongoLock mongoLock;
+    private final Duration lease;
+    private final LongSupplier clock;
+    private final int nodeId;
+    private final SnowflakeIdGenerator generator;
+    private final ScheduledExecutorService renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "snowflake-node-lease");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public SnowflakeNodeLease(MongoLock mongoLock, Duration lease, int preferredNodeId) {
+        this(mongoLock, lease, preferredNodeId, System::currentTimeMillis);
+        long period = Math.max(lease.toMillis() / 4, 1);
+        renewer.scheduleWithFixedDelay(this::renew, period, period, TimeUnit.MILLISECONDS);
+    }
+    
+    SnowflakeNodeLease(MongoLock mongoLock, Duration lease, int preferredNodeId, LongSupplier clock) {
+        this.mongoLock = mongoLock;
+        this.lease = lease;
+        this.clock = clock;
+        long started = clock.getAsLong();
+        this.nodeId = claim(Math.floorMod(preferredNodeId, SnowflakeIdGenerator.MAX_NODE_ID + 1));
+        this.generator = new SnowflakeIdGenerator(nodeId, clock);
+        generator.validUntil(started + lease.toMillis() / 2);
+        log.info("Leased Snowflake node id {}", nodeId);
+    }
+    
+    public SnowflakeIdGenerator generator() {
+        return generator;
+    }
+    
+    private int claim(int preferredNodeId) {
+        for (int i = 0; i <= SnowflakeIdGenerator.MAX_NODE_ID; i++) {
+            int candidate = (preferredNodeId + i) & SnowflakeIdGenerator.MAX_NODE_ID;
+            if (mongoLock.tryAcquire(LOCK_PREFIX + candidate, lease)) {
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("All Snowflake node ids are leased; free one or set snowflake.node-id");
+    }
+    
+    void renew() {
+        long started = clock.getAsLong();
+        try {
+            if (mongoLock.tryAcquire(LOCK_PREFIX + nodeId, lease)) {
+                generator.validUntil(started + lease.toMillis() / 2);
+                return;
+            }
+            log.error("Snowflake node id {} was leased to another instance, no more ids will be generated here", nodeId);
+            generator.validUntil(Long.MIN_VALUE);
+            renewer.shutdown();
+        } catch (RuntimeException ex) {
+            log.warn("Could not renew the lease on Snowflake node id {}: {}", nodeId, ex.getMessage());
+        }
+    }
+    
+    @Override
+    public void close() {
+        renewer.shutdownNow();
+        generator.validUntil(Long.MIN_VALUE);
+        try {
+            mongoLock.release(LOCK_PREFIX + nodeId);
+        } catch (RuntimeException ex) {
+            log.warn("Could not release Snowflake node id {}: {}", nodeId, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.management.common.lock;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Named locks shared by every instance of a service, one document per lock in the {@code locks} collection of
+ * the service's database. A lock is held until it is released or its lease expires, so a crashed holder
+ * cannot block the others forever; holders of long work must {@linkplain #tryAcquire renew} before the lease
+ * runs out. Leases are compared against each instance's own clock.
+ */
+public class MongoLock {
+    
+    public static final String COLLECTION = "locks";
+    
+    private final MongoTemplate mongoTemplate;
+    private final String owner;
+    
+    public MongoLock(MongoTemplate mongoTemplate) {
+        this(mongoTemplate, UUID.randomUUID().toString());
+    }
+    
+    MongoLock(MongoTemplate mongoTemplate, String owner) {
+        this.mongoTemplate = mongoTemplate;
+        this.owner = owner;
+    }
+    
+    /**
+     * Takes or renews {@code name} for {@code lease}. Returns false when another instance holds an unexpired
+     * lease on it.
+     */
+    public boolean tryAcquire(String name, Duration lease) {
+        Instant now = Instant.now();
+        Query query = new Query(Criteria.where("_id").is(name)
+            .orOperator(Criteria.where("owner").is(owner), Criteria.where("expiresAt").lt(Date.from(now))));
+        Update update = new Update()
+            .set("owner", owner)
+            .set("expiresAt", Date.from(now.plus(lease)));
+        try {
+            mongoTemplate.upsert(query, update, COLLECTION);
+            return true;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+    
+    public void release(String name) {
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(name).and("owner").is(owner)), COLLECTION);
+    }
+}
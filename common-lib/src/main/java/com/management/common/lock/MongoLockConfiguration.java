@@ -0,0 +1,16 @@
+package com.management.common.lock;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+@Configuration
+@ConditionalOnClass(name = "org.springframework.data.mongodb.core.MongoTemplate")
+public class MongoLockConfiguration {
+    
+    @Bean
+    public MongoLock mongoLock(MongoTemplate mongoTemplate) {
+        return new MongoLock(mongoTemplate);
+    }
+}
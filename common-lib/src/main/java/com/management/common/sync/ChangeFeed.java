@@ -0,0 +1,141 @@
+package com.management.common.sync;
+
+import com.management.common.dto.SyncResponse;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Entities created, updated or deleted since a {@link ChangeToken}, read in {@code (updatedAt, _id)} order from
+ * the entity collection and {@code (deletedAt, _id)} order from its tombstones. Changes younger than
+ * {@code settleTime} are held back so that writes still in flight cannot land behind a token already handed
+ * out. A token older than the tombstone retention can no longer see every delete and gets a reset.
+ *
+ * @param <T> the synced entity
+ * @param <D> the tombstone recording one of its deletions
+ */
+public class ChangeFeed<T extends ChangeFeed.Entity, D extends ChangeFeed.Tombstone> {
+    
+    public interface Entity {
+        
+        String getId();
+        
+        LocalDateTime getUpdatedAt();
+    }
+    
+    public interface Tombstone {
+        
+        String getId();
+        
+        LocalDateTime getDeletedAt();
+    }
+    
+    public static final int MAX_PAGE_SIZE = 5000;
+    
+    private final MongoTemplate mongoTemplate;
+    private final Class<T> entityClass;
+    private final Class<D> tombstoneClass;
+    private final Duration tombstoneRetention;
+    private final Duration settleTime;
+    private final LongSupplier clock;
+    
+    public ChangeFeed(MongoTemplate mongoTemplate, Class<T> entityClass, Class<D> tombstoneClass,
+                      Duration tombstoneRetention, Duration settleTime) {
+        this(mongoTemplate, entityClass, tombstoneClass, tombstoneRetention, settleTime, System::currentTimeMillis);
+    }
+    
+    ChangeFeed(MongoTemplate mongoTemplate, Class<T> entityClass, Class<D> tombstoneClass,
+               Duration tombstoneRetention, Duration settleTime, LongSupplier clock) {
+        this.mongoTemplate = mongoTemplate;
+        this.entityClass = entityClass;
+        this.tombstoneClass = tombstoneClass;
+        this.tombstoneRetention = tombstoneRetention;
+        this.settleTime = settleTime;
+        this.clock = clock;
+    }
+    
+    public SyncResponse<T> changesSince(String since, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        long now = clock.getAsLong();
+        long horizon = now - settleTime.toMillis();
+        ChangeToken token;
+        if (since == null) {
+            token = new ChangeToken(ChangeToken.Position.from(0), ChangeToken.Position.from(horizon));
+        } else {
+            token = ChangeToken.decode(since);
+            if (token.deletes().timestamp() < now - tombstoneRetention.toMillis()) {
+                return SyncResponse.resetRequired();
+            }
+        }
+        
+        List<T> entities = mongoTemplate.find(page("updatedAt", token.upserts(), horizon, limit), entityClass);
+        List<D> tombstones = mongoTemplate.find(page("deletedAt", token.deletes(), horizon, limit), tombstoneClass);
+        
+        List<T> upserts = new ArrayList<>();
+        List<String> deletes = new ArrayList<>();
+        int u = 0;
+        int d = 0;
+        while (u + d < limit && (u < entities.size() || d < tombstones.size())) {
+            boolean takeUpsert = d == tombstones.size() || (u < entities.size()
+                && compare(entities.get(u).getUpdatedAt(), entities.get(u).getId(),
+                           tombstones.get(d).getDeletedAt(), tombstones.get(d).getId()) <= 0);
+            if (takeUpsert) {
+                upserts.add(entities.get(u++));
+            } else {
+                deletes.add(tombstones.get(d++).getId());
+            }
+        }
+        
+        boolean upsertsDone = u == entities.size() && entities.size() < limit;
+        boolean deletesDone = d == tombstones.size() && tombstones.size() < limit;
+        ChangeToken.Position nextUpserts = upsertsDone ? ChangeToken.Position.from(horizon + 1)
+            : u > 0 ? position(entities.get(u - 1).getUpdatedAt(), entities.get(u - 1).getId()) : token.upserts();
+        ChangeToken.Position nextDeletes = deletesDone ? ChangeToken.Position.from(horizon + 1)
+            : d > 0 ? position(tombstones.get(d - 1).getDeletedAt(), tombstones.get(d - 1).getId()) : token.deletes();
+        return new SyncResponse<>(upserts, deletes, new ChangeToken(nextUpserts, nextDeletes).encode(),
+            !(upsertsDone && deletesDone), false);
+    }
+    
+    private static Query page(String field, ChangeToken.Position after, long horizon, int limit) {
+        Criteria criteria = Criteria.where(field).lte(toDateTime(horizon));
+        if (after.isInclusive()) {
+            criteria = new Criteria().andOperator(criteria, Criteria.where(field).gte(toDateTime(after.timestamp())));
+        } else {
+            LocalDateTime timestamp = toDateTime(after.timestamp());
+            criteria = criteria.orOperator(
+                Criteria.where(field).gt(timestamp),
+                Criteria.where(field).is(timestamp).and("id").gt(after.id()));
+        }
+        return new Query(criteria)
+            .with(Sort.by(Sort.Order.asc(field), Sort.Order.asc("id")))
+            .limit(limit);
+    }
+    
+    private static int compare(LocalDateTime timestampA, String idA, LocalDateTime timestampB, String idB) {
+        int byTime = Long.compare(toMillis(timestampA), toMillis(timestampB));
+        return byTime != 0 ? byTime : idA.compareTo(idB);
+    }
+    
+    private static ChangeToken.Position position(LocalDateTime timestamp, String id) {
+        return new ChangeToken.Position(toMillis(timestamp), id);
+    }
+    
+    private static long toMillis(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+    
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+}
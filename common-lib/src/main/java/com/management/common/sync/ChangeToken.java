@@ -0,0 +1,50 @@
+package com.management.common.sync;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque position in a change feed, kept separately for upserts and deletions. A position is the change
+ * timestamp (epoch millis) and id of the last change delivered, so later changes are those after it in
+ * {@code (timestamp, id)} order; an empty id means every change from {@code timestamp} on. Ids must not contain
+ * {@code |}, which separates the two positions; ObjectId and Snowflake ids never do.
+ */
+public record ChangeToken(Position upserts, Position deletes) {
+    
+    public record Position(long timestamp, String id) {
+        
+        public static Position from(long timestamp) {
+            return new Position(timestamp, "");
+        }
+        
+        public boolean isInclusive() {
+            return id.isEmpty();
+        }
+    }
+    
+    public String encode() {
+        String raw = upserts.timestamp() + ":" + upserts.id() + "|" + deletes.timestamp() + ":" + deletes.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public static ChangeToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] streams = raw.split("\\|", -1);
+            if (streams.length != 2) {
+                throw new IllegalArgumentException("Invalid sync token");
+            }
+            return new ChangeToken(position(streams[0]), position(streams[1]));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid sync token");
+        }
+    }
+    
+    private static Position position(String raw) {
+        int separator = raw.indexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid sync token");
+        }
+        return new Position(Long.parseLong(raw.substring(0, separator)), raw.substring(separator + 1));
+    }
+}
@@ -0,0 +1,69 @@
+package com.management.common.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Batch Get Response Tests")
+class BatchGetResponseTest {
+    
+    private record Item(String id, String name) {
+    }
+    
+    private final Map<String, Item> stored = Map.of(
+        "1", new Item("1", "first"),
+        "2", new Item("2", "second"),
+        "3", new Item("3", "third"));
+    private final List<Collection<String>> lookups = new ArrayList<>();
+    
+    @Test
+    @DisplayName("Should answer in request order whatever order the lookup returns")
+    void shouldKeepRequestOrder() {
+        // When
+        BatchGetResponse<Item> response = BatchGetResponse.fetch(List.of("3", "1", "2"), this::findReversed, Item::id);
+        
+        // Then
+        assertThat(response.items()).extracting(Item::id).containsExactly("3", "1", "2");
+        assertThat(response.missing()).isEmpty();
+    }
+    
+    @Test
+    @DisplayName("Should list unknown ids as missing in request order")
+    void shouldReportMissingIds() {
+        // When
+        BatchGetResponse<Item> response = BatchGetResponse.fetch(List.of("9", "2", "7"), this::findReversed, Item::id);
+        
+        // Then
+        assertThat(response.items()).extracting(Item::id).containsExactly("2");
+        assertThat(response.missing()).containsExactly("9", "7");
+    }
+    
+    @Test
+    @DisplayName("Should look each id up once and answer repeated ids once")
+    void shouldCollapseRepeatedIds() {
+        // When
+        BatchGetResponse<Item> response = BatchGetResponse.fetch(List.of("2", "1", "2", "9", "9"), this::findReversed, Item::id);
+        
+        // Then
+        assertThat(lookups).containsExactly(List.of("2", "1", "9"));
+        assertThat(response.items()).extracting(Item::id).containsExactly("2", "1");
+        assertThat(response.missing()).containsExactly("9");
+    }
+    
+    private List<Item> findReversed(Collection<String> ids) {
+        lookups.add(List.copyOf(ids));
+        List<Item> found = new ArrayList<>();
+        for (String id : ids) {
+            if (stored.containsKey(id)) {
+                found.add(0, stored.get(id));
+            }
+        }
+        return found;
+    }
+}
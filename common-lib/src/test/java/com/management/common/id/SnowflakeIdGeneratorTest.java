@@ -0,0 +1,158 @@
+package com.management.common.id;
+
+import com.management.common.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Snowflake Id Generator Tests")
+class SnowflakeIdGeneratorTest {
+    
+    private static final long START = SnowflakeIdGenerator.EPOCH.plusSeconds(86_400).toEpochMilli();
+    
+    private final AtomicLong clock = new AtomicLong(START);
+    private final SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7, clock::get);
+    
+    @Test
+    @DisplayName("Should hand concurrent callers unique ids that increase for each caller")
+    void shouldStayMonotonicUnderConcurrency() throws Exception {
+        // Given
+        SnowflakeIdGenerator live = new SnowflakeIdGenerator(7);
+        int threads = 8;
+        int idsPerThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        
+        // When
+        List<Future<long[]>> callers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            callers.add(executor.submit(() -> {
+                start.await();
+                long[] ids = new long[idsPerThread];
+                for (int j = 0; j < idsPerThread; j++) {
+                    ids[j] = live.nextId();
+                }
+                return ids;
+            }));
+        }
+        start.countDown();
+        
+        // Then
+        Set<Long> all = new HashSet<>();
+        for (Future<long[]> caller : callers) {
+            long[] ids = caller.get(30, TimeUnit.SECONDS);
+            for (int j = 0; j < ids.length; j++) {
+                assertThat(all.add(ids[j])).isTrue();
+                if (j > 0) {
+                    assertThat(ids[j]).isGreaterThan(ids[j - 1]);
+                }
+            }
+        }
+        executor.shutdown();
+        assertThat(all).hasSize(threads * idsPerThread);
+    }
+    
+    @Test
+    @DisplayName("Should keep increasing when the clock steps back")
+    void shouldSurviveClockStepBack() {
+        // Given
+        long before = generator.nextId();
+        
+        // When
+        clock.addAndGet(-5_000);
+        long after = generator.nextId();
+        
+        // Then
+        assertThat(after).isGreaterThan(before);
+        assertThat(SnowflakeIdGenerator.timestampOf(SnowflakeIdGenerator.format(after)))
+            .isEqualTo(Instant.ofEpochMilli(START));
+    }
+    
+    @Test
+    @DisplayName("Should borrow the next millisecond once a millisecond's sequence runs out")
+    void shouldBorrowNextMillisecondOnSequenceOverflow() {
+        // Given
+        int perMillisecond = 1 << SnowflakeIdGenerator.SEQUENCE_BITS;
+        long previous = -1;
+        
+        // When
+        for (int i = 0; i < perMillisecond; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+        long overflow = generator.nextId();
+        
+        // Then
+        assertThat(overflow).isGreaterThan(previous);
+        assertThat(SnowflakeIdGenerator.timestampOf(SnowflakeIdGenerator.format(previous)))
+            .isEqualTo(Instant.ofEpochMilli(START));
+        assertThat(SnowflakeIdGenerator.timestampOf(SnowflakeIdGenerator.format(overflow)))
+            .isEqualTo(Instant.ofEpochMilli(START + 1));
+    }
+    
+    @Test
+    @DisplayName("Should sort id strings in creation order")
+    void shouldSortStringsInCreationOrder() {
+        // Given
+        String early = generator.nextIdString();
+        clock.set(START + 1);
+        String sameMillisecondElsewhere = new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID, clock::get).nextIdString();
+        clock.set(Instant.parse("2068-12-31T23:59:59Z").toEpochMilli());
+        String late = generator.nextIdString();
+        String legacy = "65a1b2c3d4e5f6a7b8c9d0e1";
+        
+        // Then
+        assertThat(List.of(early, sameMillisecondElsewhere, late))
+            .allMatch(id -> id.length() == SnowflakeIdGenerator.ID_LENGTH)
+            .isSorted();
+        assertThat(SnowflakeIdGenerator.lowerBound(Instant.ofEpochMilli(START + 1)))
+            .isGreaterThan(early)
+            .isLessThanOrEqualTo(sameMillisecondElsewhere);
+        assertThat(legacy).as("legacy ObjectId strings sort after generated ids").isGreaterThan(late);
+    }
+    
+    @Test
+    @DisplayName("Should tell generated ids from legacy ObjectId strings")
+    void shouldRejectLegacyIds() {
+        // Given
+        String legacy = "65a1b2c3d4e5f6a7b8c9d0e1";
+        
+        // Then
+        assertThat(SnowflakeIdGenerator.isGenerated(generator.nextIdString())).isTrue();
+        assertThat(SnowflakeIdGenerator.isGenerated(legacy)).isFalse();
+        assertThat(SnowflakeIdGenerator.isGenerated("650000000000000000000000")).isFalse();
+        assertThatThrownBy(() -> SnowflakeIdGenerator.timestampOf(legacy))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    @DisplayName("Should refuse ids once the node id lease has lapsed")
+    void shouldFailClosedAfterLeaseLapses() {
+        // Given
+        generator.validUntil(START + 10);
+        generator.nextId();
+        
+        // When
+        clock.set(START + 10);
+        
+        // Then
+        assertThatThrownBy(generator::nextId)
+            .isInstanceOf(ServiceUnavailableException.class)
+            .hasMessageContaining("node id 7");
+    }
+}
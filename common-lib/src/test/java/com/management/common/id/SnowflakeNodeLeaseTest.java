@@ -0,0 +1,109 @@
+package com.management.common.id;
+
+import com.management.common.exception.ServiceUnavailableException;
+import com.management.common.lock.MongoLock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Snowflake Node Lease Tests")
+class SnowflakeNodeLeaseTest {
+    
+    private static final Duration LEASE = Duration.ofSeconds(60);
+    private static final String NODE_5 = SnowflakeNodeLease.LOCK_PREFIX + 5;
+    
+    @Mock
+    private MongoLock mongoLock;
+    
+    private final AtomicLong clock = new AtomicLong(SnowflakeIdGenerator.EPOCH.toEpochMilli() + 1_000);
+    
+    @Test
+    @DisplayName("Should take the first free node id from the preferred one, wrapping around")
+    void shouldClaimFirstFreeNodeId() {
+        // Given
+        when(mongoLock.tryAcquire(anyString(), eq(LEASE))).thenReturn(false);
+        when(mongoLock.tryAcquire(NODE_5, LEASE)).thenReturn(true);
+        
+        // When
+        SnowflakeNodeLease lease = new SnowflakeNodeLease(mongoLock, LEASE, 1020, clock::get);
+        
+        // Then
+        assertThat(lease.generator().nodeId()).isEqualTo(5);
+    }
+    
+    @Test
+    @DisplayName("Should fail startup when every node id is leased")
+    void shouldFailWhenNoNodeIdIsFree() {
+        // Given
+        when(mongoLock.tryAcquire(anyString(), eq(LEASE))).thenReturn(false);
+        
+        // When & Then
+        assertThatThrownBy(() -> new SnowflakeNodeLease(mongoLock, LEASE, 0, clock::get))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("snowflake.node-id");
+    }
+    
+    @Test
+    @DisplayName("Should only generate ids for half a lease past the last renewal")
+    void shouldStopGeneratingWhenRenewalsFail() {
+        // Given
+        when(mongoLock.tryAcquire(NODE_5, LEASE)).thenReturn(true);
+        SnowflakeNodeLease lease = new SnowflakeNodeLease(mongoLock, LEASE, 5, clock::get);
+        clock.addAndGet(20_000);
+        lease.renew();
+        when(mongoLock.tryAcquire(NODE_5, LEASE)).thenThrow(new DataAccessResourceFailureException("down"));
+        
+        // When
+        clock.addAndGet(20_000);
+        lease.renew();
+        
+        // Then
+        assertThat(lease.generator().nextId()).isPositive();
+        clock.addAndGet(10_000);
+        assertThatThrownBy(() -> lease.generator().nextId()).isInstanceOf(ServiceUnavailableException.class);
+    }
+    
+    @Test
+    @DisplayName("Should stop generating at once when another instance holds the node id")
+    void shouldStopGeneratingWhenLeaseIsLost() {
+        // Given
+        when(mongoLock.tryAcquire(NODE_5, LEASE)).thenReturn(true, false);
+        SnowflakeNodeLease lease = new SnowflakeNodeLease(mongoLock, LEASE, 5, clock::get);
+        
+        // When
+        lease.renew();
+        
+        // Then
+        assertThatThrownBy(() -> lease.generator().nextId()).isInstanceOf(ServiceUnavailableException.class);
+    }
+    
+    @Test
+    @DisplayName("Should release the node id on shutdown")
+    void shouldReleaseOnClose() {
+        // Given
+        when(mongoLock.tryAcquire(any(), eq(LEASE))).thenReturn(true);
+        SnowflakeNodeLease lease = new SnowflakeNodeLease(mongoLock, LEASE, 5, clock::get);
+        
+        // When
+        lease.close();
+        
+        // Then
+        verify(mongoLock).release(NODE_5);
+        assertThatThrownBy(() -> lease.generator().nextId()).isInstanceOf(ServiceUnavailableException.class);
+    }
+}
@@ -0,0 +1,65 @@
+package com.management.common.lock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Mongo Lock Tests")
+class MongoLockTest {
+    
+    @Mock
+    private MongoTemplate mongoTemplate;
+    
+    private MongoLock lock;
+    
+    @BeforeEach
+    void setUp() {
+        lock = new MongoLock(mongoTemplate, "instance-a");
+    }
+    
+    @Test
+    @DisplayName("Should take a free or expired lock with an upsert owned by this instance")
+    void shouldAcquireWithUpsert() {
+        // When
+        boolean acquired = lock.tryAcquire("rebuild", Duration.ofMinutes(5));
+        
+        // Then
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(query.capture(), update.capture(), eq(MongoLock.COLLECTION));
+        assertThat(acquired).isTrue();
+        assertThat(query.getValue().getQueryObject().get("_id")).isEqualTo("rebuild");
+        assertThat(update.getValue().getUpdateObject().toJson()).contains("\"owner\": \"instance-a\"");
+    }
+    
+    @Test
+    @DisplayName("Should report a lock held by another instance as not acquired")
+    void shouldNotAcquireLockHeldElsewhere() {
+        // Given
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(MongoLock.COLLECTION)))
+            .thenThrow(new DuplicateKeyException("E11000"));
+        
+        // When
+        boolean acquired = lock.tryAcquire("rebuild", Duration.ofMinutes(5));
+        
+        // Then
+        assertThat(acquired).isFalse();
+    }
+}
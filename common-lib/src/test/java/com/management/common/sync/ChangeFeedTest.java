@@ -0,0 +1,263 @@
+package com.management.common.sync;
+
+import com.management.common.dto.SyncResponse;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Change Feed Tests")
+class ChangeFeedTest {
+    
+    private static final long NOW = 1_700_000_000_000L;
+    private static final Duration RETENTION = Duration.ofDays(30);
+    private static final Duration SETTLE = Duration.ofSeconds(5);
+    
+    @Mock
+    private MongoTemplate mongoTemplate;
+    
+    private final List<Item> items = new ArrayList<>();
+    private final List<Removal> removals = new ArrayList<>();
+    private final AtomicLong clock = new AtomicLong(NOW);
+    private ChangeFeed<Item, Removal> feed;
+    
+    @BeforeEach
+    void setUp() {
+        lenient().when(mongoTemplate.find(any(Query.class), eq(Item.class)))
+            .thenAnswer(invocation -> select(items, invocation.getArgument(0), "updatedAt", Item::getUpdatedAt, Item::getId));
+        lenient().when(mongoTemplate.find(any(Query.class), eq(Removal.class)))
+            .thenAnswer(invocation -> select(removals, invocation.getArgument(0), "deletedAt", Removal::getDeletedAt, Removal::getId));
+        feed = new ChangeFeed<>(mongoTemplate, Item.class, Removal.class, RETENTION, SETTLE, clock::get);
+    }
+    
+    @Test
+    @DisplayName("Should split changes sharing a timestamp across pages without repeating or skipping any")
+    void shouldBreakTimestampTiesById() {
+        // Given
+        long tied = NOW - 60_000;
+        items.add(new Item("c", tied));
+        items.add(new Item("a", tied));
+        items.add(new Item("b", tied));
+        items.add(new Item("d", tied + 1));
+        
+        // When
+        SyncResponse<Item> first = feed.changesSince(null, 2);
+        SyncResponse<Item> second = feed.changesSince(first.next(), 2);
+        
+        // Then
+        assertThat(first.upserts()).extracting(Item::getId).containsExactly("a", "b");
+        assertThat(first.hasMore()).isTrue();
+        assertThat(second.upserts()).extracting(Item::getId).containsExactly("c", "d");
+    }
+    
+    @Test
+    @DisplayName("Should interleave upserts and deletes in time order across a page boundary")
+    void shouldMergeUpsertsAndDeletesAcrossPages() {
+        // Given
+        String token = feed.changesSince(null, 10).next();
+        items.add(new Item("u1", NOW + 1_000));
+        removals.add(new Removal("d1", NOW + 2_000));
+        items.add(new Item("u2", NOW + 3_000));
+        removals.add(new Removal("d2", NOW + 4_000));
+        clock.set(NOW + 60_000);
+        
+        // When
+        SyncResponse<Item> first = feed.changesSince(token, 3);
+        SyncResponse<Item> second = feed.changesSince(first.next(), 3);
+        SyncResponse<Item> third = feed.changesSince(second.next(), 3);
+        
+        // Then
+        assertThat(first.upserts()).extracting(Item::getId).containsExactly("u1", "u2");
+        assertThat(first.deletes()).containsExactly("d1");
+        assertThat(first.hasMore()).isTrue();
+        assertThat(second.upserts()).isEmpty();
+        assertThat(second.deletes()).containsExactly("d2");
+        assertThat(second.hasMore()).isFalse();
+        assertThat(third.upserts()).isEmpty();
+        assertThat(third.deletes()).isEmpty();
+    }
+    
+    @Test
+    @DisplayName("Should hold back changes younger than the settle time until they settle")
+    void shouldHoldBackUnsettledChanges() {
+        // Given
+        items.add(new Item("settled", NOW - 10_000));
+        items.add(new Item("in-flight", NOW - 1_000));
+        
+        // When
+        SyncResponse<Item> first = feed.changesSince(null, 10);
+        clock.addAndGet(SETTLE.toMillis());
+        SyncResponse<Item> second = feed.changesSince(first.next(), 10);
+        
+        // Then
+        assertThat(first.upserts()).extracting(Item::getId).containsExactly("settled");
+        assertThat(first.hasMore()).isFalse();
+        assertThat(second.upserts()).extracting(Item::getId).containsExactly("in-flight");
+    }
+    
+    @Test
+    @DisplayName("Should start a full sync with current items only, not the deletes that preceded it")
+    void shouldSkipOldDeletesOnFullSync() {
+        // Given
+        items.add(new Item("kept", NOW - 86_400_000));
+        removals.add(new Removal("gone", NOW - 60_000));
+        
+        // When
+        SyncResponse<Item> response = feed.changesSince(null, 10);
+        
+        // Then
+        assertThat(response.upserts()).extracting(Item::getId).containsExactly("kept");
+        assertThat(response.deletes()).isEmpty();
+        assertThat(response.reset()).isFalse();
+    }
+    
+    @Test
+    @DisplayName("Should ask the client to reset once its token is older than tombstone retention")
+    void shouldResetExpiredToken() {
+        // Given
+        String token = feed.changesSince(null, 10).next();
+        clock.addAndGet(RETENTION.toMillis() + 60_000);
+        
+        // When
+        SyncResponse<Item> response = feed.changesSince(token, 10);
+        
+        // Then
+        assertThat(response.reset()).isTrue();
+        assertThat(response.next()).isNull();
+        assertThat(response.upserts()).isEmpty();
+    }
+    
+    @Test
+    @DisplayName("Should round-trip tokens and reject malformed ones")
+    void shouldRoundTripTokens() {
+        // Given
+        ChangeToken token = new ChangeToken(new ChangeToken.Position(NOW, "0000123456789012345"),
+            ChangeToken.Position.from(NOW - 1));
+        
+        // Then
+        assertThat(ChangeToken.decode(token.encode())).isEqualTo(token);
+        assertThatThrownBy(() -> feed.changesSince("not-a-token", 10))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Invalid sync token");
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Item.class));
+    }
+    
+    /**
+     * Evaluates the keyset query the feed renders over an in-memory list, in {@code (timestamp, id)} order.
+     */
+    private static <E> List<E> select(List<E> source, Query query, String field, Function<E, LocalDateTime> timestamp,
+                                      Function<E, String> id) {
+        Function<E, Map<String, Comparable<?>>> values = element -> Map.of(field, timestamp.apply(element), "id", id.apply(element));
+        return source.stream()
+            .filter(element -> matches(query.getQueryObject(), values.apply(element)))
+            .sorted(Comparator.comparing(timestamp).thenComparing(id))
+            .limit(query.getLimit())
+            .toList();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static boolean matches(Document query, Map<String, Comparable<?>> values) {
+        for (Map.Entry<String, Object> clause : query.entrySet()) {
+            boolean matched = switch (clause.getKey()) {
+                case "$and" -> ((List<Document>) clause.getValue()).stream().allMatch(part -> matches(part, values));
+                case "$or" -> ((List<Document>) clause.getValue()).stream().anyMatch(part -> matches(part, values));
+                default -> satisfies((Comparable<Object>) values.get(clause.getKey()), clause.getValue());
+            };
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean satisfies(Comparable<Object> actual, Object condition) {
+        if (!(condition instanceof Document operators)) {
+            return actual.compareTo(condition) == 0;
+        }
+        for (Map.Entry<String, Object> operator : operators.entrySet()) {
+            int comparison = actual.compareTo(operator.getValue());
+            boolean matched = switch (operator.getKey()) {
+                case "$gt" -> comparison > 0;
+                case "$gte" -> comparison >= 0;
+                case "$lt" -> comparison < 0;
+                case "$lte" -> comparison <= 0;
+                default -> throw new IllegalArgumentException("Unsupported operator " + operator.getKey());
+            };
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static LocalDateTime at(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+    
+    static final class Item implements ChangeFeed.Entity {
+        
+        private final String id;
+        private final LocalDateTime updatedAt;
+        
+        Item(String id, long updatedAt) {
+            this.id = id;
+            this.updatedAt = at(updatedAt);
+        }
+        
+        @Override
+        public String getId() {
+            return id;
+        }
+        
+        @Override
+        public LocalDateTime getUpdatedAt() {
+            return updatedAt;
+        }
+    }
+    
+    static final class Removal implements ChangeFeed.Tombstone {
+        
+        private final String id;
+        private final LocalDateTime deletedAt;
+        
+        Removal(String id, long deletedAt) {
+            this.id = id;
+            this.deletedAt = at(deletedAt);
+        }
+        
+        @Override
+        public String getId() {
+            return id;
+        }
+        
+        @Override
+        public LocalDateTime getDeletedAt() {
+            return deletedAt;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.management.crm.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Bulk customer import report")
+public class BulkImportResponse {
+    @Schema(description = "Number of customers created", example = "998")
+    private int created;
+    
+    @Schema(description = "Number of rows rejected because the email already exists", example = "1")
+    private int duplicates;
+    
+    @Schema(description = "Number of rows rejected by validation", example = "1")
+    private int invalid;
+    
+    @Schema(description = "Per-row outcomes, in input order")
+    private List<BulkImportRowResult> results;
+}
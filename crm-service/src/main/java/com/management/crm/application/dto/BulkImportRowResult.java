@@ -0,0 +1,29 @@
+package com.management.crm.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a single imported row")
+public class BulkImportRowResult {
+    @Schema(description = "1-based position of the row in the import", example = "1")
+    private int row;
+    
+    @Schema(description = "Row outcome", example = "CREATED")
+    private BulkImportStatus status;
+    
+    @Schema(description = "Identifier of the created customer", example = "507f1f77bcf86cd799439011")
+    private String id;
+    
+    @Schema(description = "Email of the row", example = "john.doe@example.com")
+    private String email;
+    
+    @Schema(description = "Reason the row was rejected")
+    private String message;
+}
@@ -0,0 +1,7 @@
+package com.management.crm.application.dto;
+
+public enum BulkImportStatus {
+    CREATED,
+    DUPLICATE_EMAIL,
+    VALIDATION_ERROR
+}
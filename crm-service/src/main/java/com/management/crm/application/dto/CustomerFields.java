@@ -0,0 +1,37 @@
+package com.management.crm.application.dto;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Parses the {@code fields} query parameter into the set of {@link CustomerResponse} properties to return.
+ */
+public final class CustomerFields {
+    
+    public static final Set<String> SUPPORTED = Set.of(
+        "id", "name", "email", "phone", "company", "address", "status", "createdAt", "updatedAt", "version");
+    
+    private CustomerFields() {
+    }
+    
+    /**
+     * Returns the requested fields, or {@code null} when every field was requested.
+     */
+    public static Set<String> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        Arrays.stream(fields.split(","))
+            .map(String::trim)
+            .filter(field -> !field.isEmpty())
+            .forEach(field -> {
+                if (!SUPPORTED.contains(field)) {
+                    throw new IllegalArgumentException("Unknown customer field: " + field);
+                }
+                selected.add(field);
+            });
+        return selected.isEmpty() ? null : selected;
+    }
+}
@@ -0,0 +1,29 @@
+package com.management.crm.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Merges duplicate customers into one surviving customer")
+public class CustomerMergeRequest {
+    
+    @Schema(description = "Customer to keep", example = "507f1f77bcf86cd799439011", required = true)
+    @NotBlank(message = "Survivor ID is required")
+    private String survivorId;
+    
+    @Schema(description = "Customers to fold into the survivor and delete", required = true)
+    @NotEmpty(message = "At least one duplicate ID is required")
+    @Size(max = 100, message = "At most 100 duplicates per merge")
+    private List<String> duplicateIds;
+}
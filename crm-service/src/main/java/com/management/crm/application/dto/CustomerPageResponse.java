@@ -0,0 +1,22 @@
+package com.management.crm.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A page of customers")
+public class CustomerPageResponse {
+    @Schema(description = "Customers in this page, ordered by creation")
+    private List<CustomerResponse> items;
+    
+    @Schema(description = "Opaque token for the next page; absent on the last page", example = "NjRmMWEyYjNjNGQ1ZTZmNzA4MDkxMDEx")
+    private String next;
+}
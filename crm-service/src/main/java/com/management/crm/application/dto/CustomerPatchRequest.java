@@ -0,0 +1,35 @@
+package com.management.crm.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Partial customer update; omitted fields are left unchanged")
+public class CustomerPatchRequest {
+    
+    @Schema(description = "Customer full name", example = "John Doe")
+    @Pattern(regexp = ".*\\S.*", message = "Name must not be blank")
+    private String name;
+    
+    @Schema(description = "Customer email address", example = "john.doe@example.com")
+    @Email(message = "Email should be valid")
+    @Pattern(regexp = ".*\\S.*", message = "Email must not be blank")
+    private String email;
+    
+    @Schema(description = "Customer phone number", example = "+1-555-0001")
+    private String phone;
+    
+    @Schema(description = "Customer company name", example = "Acme Corp")
+    private String company;
+    
+    @Schema(description = "Customer address; replaces the whole address")
+    private AddressDto address;
+}
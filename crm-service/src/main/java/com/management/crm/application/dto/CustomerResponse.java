@@ -1,5 +1,6 @@
 package com.management.crm.application.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.management.crm.domain.model.CustomerStatus;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
@@ -14,7 +15,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Schema(description = "Customer information response")
+@JsonFilter(CustomerResponse.FIELDS_FILTER)
 public class CustomerResponse {
+    public static final String FIELDS_FILTER = "customerFields";
+    
     @Schema(description = "Customer unique identifier", example = "507f1f77bcf86cd799439011")
     private String id;
     
@@ -41,4 +45,7 @@ public class CustomerResponse {
     
     @Schema(description = "Customer last update timestamp")
     private LocalDateTime updatedAt;
+    
+    @Schema(description = "Customer version, also returned as the ETag", example = "3")
+    private Long version;
 }
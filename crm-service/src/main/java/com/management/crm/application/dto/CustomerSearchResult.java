@@ -0,0 +1,26 @@
+package com.management.crm.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Customer typeahead match")
+public class CustomerSearchResult {
+    @Schema(description = "Customer unique identifier", example = "507f1f77bcf86cd799439011")
+    private String id;
+    
+    @Schema(description = "Customer full name", example = "John Doe")
+    private String name;
+    
+    @Schema(description = "Customer email address", example = "john.doe@example.com")
+    private String email;
+    
+    @Schema(description = "Customer company name", example = "Acme Corp")
+    private String company;
+}
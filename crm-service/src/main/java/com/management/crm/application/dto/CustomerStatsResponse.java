@@ -0,0 +1,28 @@
+package com.management.crm.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Customer counts for dashboards")
+public class CustomerStatsResponse {
+    @Schema(description = "Total number of customers", example = "120000")
+    private long total;
+    
+    @Schema(description = "Customers per status")
+    private Map<String, Long> byStatus;
+    
+    @Schema(description = "Customers per company, largest first")
+    private Map<String, Long> byCompany;
+    
+    @Schema(description = "Customers per signup month (yyyy-MM), oldest first")
+    private Map<String, Long> bySignupMonth;
+}
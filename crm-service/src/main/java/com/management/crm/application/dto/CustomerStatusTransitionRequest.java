@@ -0,0 +1,34 @@
+package com.management.crm.application.dto;
+
+import com.management.crm.domain.model.CustomerStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Moves many customers to a new status; select them by ids or by company and/or current status")
+public class CustomerStatusTransitionRequest {
+    
+    @Schema(description = "Status to apply", example = "SUSPENDED", required = true)
+    @NotNull(message = "Target status is required")
+    private CustomerStatus targetStatus;
+    
+    @Schema(description = "Customer ids to transition")
+    @Size(max = 100000, message = "At most 100000 ids per request")
+    private List<String> ids;
+    
+    @Schema(description = "Only transition customers of this company", example = "Acme Corp")
+    private String company;
+    
+    @Schema(description = "Only transition customers currently in this status", example = "INACTIVE")
+    private CustomerStatus currentStatus;
+}
@@ -0,0 +1,20 @@
+package com.management.crm.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Result of a bulk status transition")
+public class CustomerStatusTransitionResponse {
+    @Schema(description = "Customers selected that were not already in the target status", example = "12000")
+    private long matched;
+    
+    @Schema(description = "Customers whose status was changed", example = "12000")
+    private long modified;
+}
@@ -0,0 +1,25 @@
+package com.management.crm.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Customers that are likely the same person")
+public class DuplicateClusterResponse {
+    @Schema(description = "Cluster ID (the lowest customer ID in it)", example = "507f1f77bcf86cd799439011")
+    private String id;
+    
+    @Schema(description = "IDs of the customers in the cluster")
+    private List<String> customerIds;
+    
+    @Schema(description = "Weakest pairwise match score in the cluster, from 0 to 1", example = "0.92")
+    private double score;
+}
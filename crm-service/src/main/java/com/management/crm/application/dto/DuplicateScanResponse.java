@@ -0,0 +1,40 @@
+package com.management.crm.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "State of the customer duplicate scan and summary of its last result")
+public class DuplicateScanResponse {
+    @Schema(description = "Scan state", example = "COMPLETED")
+    private DuplicateScanState state;
+    
+    @Schema(description = "When the running scan started")
+    private Instant runningSince;
+    
+    @Schema(description = "When the last completed scan started")
+    private Instant startedAt;
+    
+    @Schema(description = "When the last completed scan finished")
+    private Instant finishedAt;
+    
+    @Schema(description = "Customers examined by the last scan", example = "2000000")
+    private long customersScanned;
+    
+    @Schema(description = "Candidate pairs scored by the last scan", example = "1800000")
+    private long comparisons;
+    
+    @Schema(description = "Duplicate clusters still unresolved", example = "4200")
+    private int clusters;
+    
+    @Schema(description = "Why the last scan failed")
+    private String failure;
+}
@@ -0,0 +1,8 @@
+package com.management.crm.application.dto;
+
+public enum DuplicateScanState {
+    IDLE,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
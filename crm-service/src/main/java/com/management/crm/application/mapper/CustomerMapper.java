@@ -1,6 +1,7 @@
 package com.management.crm.application.mapper;
 
 import com.management.crm.application.dto.AddressDto;
+import com.management.crm.application.dto.CustomerPatchRequest;
 import com.management.crm.application.dto.CustomerRequest;
 import com.management.crm.application.dto.CustomerResponse;
 import com.management.crm.domain.model.Address;
@@ -9,6 +10,8 @@ import com.management.crm.domain.model.CustomerStatus;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Component
 public class CustomerMapper {
@@ -37,6 +40,7 @@ public class CustomerMapper {
             .status(customer.getStatus())
             .createdAt(customer.getCreatedAt())
             .updatedAt(customer.getUpdatedAt())
+            .version(customer.getVersion())
             .build();
     }
     
@@ -49,6 +53,29 @@ public class CustomerMapper {
         customer.setUpdatedAt(LocalDateTime.now());
     }
     
+    /**
+     * Returns the customer properties a patch sets, keyed by property name. Absent fields are left unchanged.
+     */
+    public Map<String, Object> toChanges(CustomerPatchRequest request) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        if (request.getName() != null) {
+            changes.put("name", request.getName());
+        }
+        if (request.getEmail() != null) {
+            changes.put("email", request.getEmail());
+        }
+        if (request.getPhone() != null) {
+            changes.put("phone", request.getPhone());
+        }
+        if (request.getCompany() != null) {
+            changes.put("company", request.getCompany());
+        }
+        if (request.getAddress() != null) {
+            changes.put("address", toAddressEntity(request.getAddress()));
+        }
+        return changes;
+    }
+    
     private Address toAddressEntity(AddressDto dto) {
         if (dto == null) {
             return null;
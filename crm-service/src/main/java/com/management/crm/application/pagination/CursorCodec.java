@@ -0,0 +1,26 @@
+package com.management.crm.application.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes the last seen document id into an opaque, URL-safe page token.
+ */
+public final class CursorCodec {
+    
+    private CursorCodec() {
+    }
+    
+    public static String encode(String id) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(id.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor", ex);
+        }
+    }
+}
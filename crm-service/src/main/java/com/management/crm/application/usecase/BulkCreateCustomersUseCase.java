@@ -0,0 +1,129 @@
+package com.management.crm.application.usecase;
+
+import com.management.crm.application.dto.BulkImportResponse;
+import com.management.crm.application.dto.BulkImportRowResult;
+import com.management.crm.application.dto.BulkImportStatus;
+import com.management.crm.application.dto.CustomerRequest;
+import com.management.crm.application.mapper.CustomerMapper;
+import com.management.crm.domain.model.Customer;
+import com.management.crm.domain.service.CustomerDomainService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class BulkCreateCustomersUseCase {
+    
+    private final CustomerDomainService customerDomainService;
+    private final CustomerMapper customerMapper;
+    private final Validator validator;
+    private final int chunkSize;
+    
+    public BulkCreateCustomersUseCase(CustomerDomainService customerDomainService,
+                                      CustomerMapper customerMapper,
+                                      Validator validator,
+                                      @Value("${crm.bulk-import.chunk-size:1000}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Bulk import chunk size must be positive");
+        }
+        this.customerDomainService = customerDomainService;
+        this.customerMapper = customerMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+    
+    public BulkImportResponse execute(Iterator<CustomerRequest> requests) {
+        log.info("Importing customers in chunks of {}", chunkSize);
+        
+        List<BulkImportRowResult> results = new ArrayList<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<Customer> chunk = new ArrayList<>(chunkSize);
+        List<BulkImportRowResult> chunkRows = new ArrayList<>(chunkSize);
+        
+        while (requests.hasNext()) {
+            CustomerRequest request = requests.next();
+            BulkImportRowResult row = BulkImportRowResult.builder()
+                .row(results.size() + 1)
+                .email(request.getEmail())
+                .build();
+            results.add(row);
+            
+            Set<ConstraintViolation<CustomerRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                reject(row, BulkImportStatus.VALIDATION_ERROR, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+                continue;
+            }
+            if (!seenEmails.add(request.getEmail())) {
+                reject(row, BulkImportStatus.DUPLICATE_EMAIL, "Email appears earlier in this import");
+                continue;
+            }
+            
+            chunk.add(customerMapper.toEntity(request));
+            chunkRows.add(row);
+            if (chunk.size() == chunkSize) {
+                flush(chunk, chunkRows);
+            }
+        }
+        flush(chunk, chunkRows);
+        
+        BulkImportResponse response = summarize(results);
+        log.info("Customer import finished: {} created, {} duplicates, {} invalid",
+            response.getCreated(), response.getDuplicates(), response.getInvalid());
+        return response;
+    }
+    
+    private void flush(List<Customer> chunk, List<BulkImportRowResult> chunkRows) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Set<Integer> duplicates = customerDomainService.registerAll(chunk);
+        for (int i = 0; i < chunk.size(); i++) {
+            BulkImportRowResult row = chunkRows.get(i);
+            if (duplicates.contains(i)) {
+                reject(row, BulkImportStatus.DUPLICATE_EMAIL, "Email already exists: " + row.getEmail());
+            } else {
+                row.setStatus(BulkImportStatus.CREATED);
+                row.setId(chunk.get(i).getId());
+            }
+        }
+        chunk.clear();
+        chunkRows.clear();
+    }
+    
+    private void reject(BulkImportRowResult row, BulkImportStatus status, String message) {
+        row.setStatus(status);
+        row.setMessage(message);
+    }
+    
+    private BulkImportResponse summarize(List<BulkImportRowResult> results) {
+        int created = 0;
+        int duplicates = 0;
+        int invalid = 0;
+        for (BulkImportRowResult row : results) {
+            switch (row.getStatus()) {
+                case CREATED -> created++;
+                case DUPLICATE_EMAIL -> duplicates++;
+                case VALIDATION_ERROR -> invalid++;
+            }
+        }
+        return BulkImportResponse.builder()
+            .created(created)
+            .duplicates(duplicates)
+            .invalid(invalid)
+            .results(results)
+            .build();
+    }
+}
@@ -4,7 +4,6 @@ import com.management.crm.application.dto.CustomerRequest;
 import com.management.crm.application.dto.CustomerResponse;
 import com.management.crm.application.mapper.CustomerMapper;
 import com.management.crm.domain.model.Customer;
-import com.management.crm.domain.repository.CustomerRepository;
 import com.management.crm.domain.service.CustomerDomainService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,7 +15,6 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class CreateCustomerUseCase {
     
-    private final CustomerRepository customerRepository;
     private final CustomerDomainService customerDomainService;
     private final CustomerMapper customerMapper;
     
@@ -25,9 +23,7 @@ public class CreateCustomerUseCase {
         log.info("Creating customer with email: {}", request.getEmail());
         
         Customer customer = customerMapper.toEntity(request);
-        customerDomainService.validateCustomerCreation(customer);
-        
-        Customer savedCustomer = customerRepository.save(customer);
+        Customer savedCustomer = customerDomainService.register(customer);
         
         log.info("Customer created successfully with id: {}", savedCustomer.getId());
         return customerMapper.toResponse(savedCustomer);
@@ -2,7 +2,11 @@ package com.management.crm.application.usecase;
 
 import com.management.common.exception.ResourceNotFoundException;
 import com.management.crm.domain.model.Customer;
+import com.management.crm.domain.model.CustomerStatsDelta;
 import com.management.crm.domain.repository.CustomerRepository;
+import com.management.crm.domain.service.CustomerStatsService;
+import com.management.crm.infrastructure.cache.CustomerCache;
+import com.management.crm.infrastructure.index.CustomerSearchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -14,6 +18,9 @@ import org.springframework.transaction.annotation.Transactional;
 public class DeleteCustomerUseCase {
     
     private final CustomerRepository customerRepository;
+    private final CustomerCache customerCache;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final CustomerStatsService customerStatsService;
     
     @Transactional
     public void execute(String id) {
@@ -23,6 +30,9 @@ public class DeleteCustomerUseCase {
             .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", id));
         
         customerRepository.delete(customer);
+        customerCache.invalidate(id);
+        customerSearchIndex.remove(id);
+        customerStatsService.record(new CustomerStatsDelta().removed(customer));
         
         log.info("Customer deleted successfully with id: {}", id);
     }
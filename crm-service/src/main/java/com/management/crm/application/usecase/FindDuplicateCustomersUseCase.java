@@ -0,0 +1,79 @@
+package com.management.crm.application.usecase;
+
+import com.management.common.exception.ConflictException;
+import com.management.crm.application.dto.DuplicateClusterResponse;
+import com.management.crm.application.dto.DuplicateScanResponse;
+import com.management.crm.application.dto.DuplicateScanState;
+import com.management.crm.domain.model.DuplicateScan;
+import com.management.crm.infrastructure.dedup.CustomerDedupEngine;
+import com.management.crm.infrastructure.dedup.DedupReportStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FindDuplicateCustomersUseCase {
+    
+    public static final int MAX_CLUSTERS = 1000;
+    
+    private final CustomerDedupEngine customerDedupEngine;
+    private final DedupReportStore dedupReportStore;
+    
+    public DuplicateScanResponse startScan() {
+        if (!customerDedupEngine.start()) {
+            throw new ConflictException("A customer duplicate scan is already running");
+        }
+        log.info("Started customer duplicate scan");
+        return getStatus();
+    }
+    
+    public DuplicateScanResponse getStatus() {
+        Optional<DuplicateScan> report = dedupReportStore.lastScan();
+        Optional<String> failure = customerDedupEngine.getLastFailure();
+        DuplicateScanState state;
+        if (customerDedupEngine.isRunning()) {
+            state = DuplicateScanState.RUNNING;
+        } else if (failure.isPresent()) {
+            state = DuplicateScanState.FAILED;
+        } else if (report.isPresent()) {
+            state = DuplicateScanState.COMPLETED;
+        } else {
+            state = DuplicateScanState.IDLE;
+        }
+        
+        DuplicateScanResponse.DuplicateScanResponseBuilder response = DuplicateScanResponse.builder()
+            .state(state)
+            .runningSince(customerDedupEngine.getRunningSince())
+            .failure(failure.orElse(null));
+        report.ifPresent(last -> response
+            .startedAt(last.getStartedAt())
+            .finishedAt(last.getFinishedAt())
+            .customersScanned(last.getCustomersScanned())
+            .comparisons(last.getComparisons())
+            .clusters((int) dedupReportStore.countClusters(last.getId())));
+        return response.build();
+    }
+    
+    public List<DuplicateClusterResponse> getClusters(int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        if (limit < 1 || limit > MAX_CLUSTERS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_CLUSTERS);
+        }
+        return dedupReportStore.lastScan()
+            .map(report -> dedupReportStore.findClusters(report.getId(), offset, limit).stream()
+                .map(cluster -> DuplicateClusterResponse.builder()
+                    .id(cluster.id())
+                    .customerIds(cluster.customerIds())
+                    .score(cluster.score())
+                    .build())
+                .toList())
+            .orElse(List.of());
+    }
+}
@@ -0,0 +1,61 @@
+package com.management.crm.application.usecase;
+
+import com.management.crm.application.dto.CustomerStatsResponse;
+import com.management.crm.domain.model.CustomerStatsBucket;
+import com.management.crm.domain.model.CustomerStatus;
+import com.management.crm.domain.service.CustomerStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GetCustomerStatsUseCase {
+    
+    private final CustomerStatsService customerStatsService;
+    
+    public CustomerStatsResponse execute() {
+        log.debug("Fetching customer stats");
+        
+        long total = 0;
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (CustomerStatus status : CustomerStatus.values()) {
+            byStatus.put(status.name(), 0L);
+        }
+        List<CustomerStatsBucket> companies = new ArrayList<>();
+        Map<String, Long> bySignupMonth = new TreeMap<>();
+        
+        for (CustomerStatsBucket bucket : customerStatsService.getBuckets()) {
+            if (bucket.getCount() <= 0 || bucket.getDimension() == null) {
+                continue;
+            }
+            switch (bucket.getDimension()) {
+                case TOTAL -> total = bucket.getCount();
+                case STATUS -> byStatus.put(bucket.getKey(), bucket.getCount());
+                case COMPANY -> companies.add(bucket);
+                case SIGNUP_MONTH -> bySignupMonth.put(bucket.getKey(), bucket.getCount());
+            }
+        }
+        
+        Map<String, Long> byCompany = new LinkedHashMap<>();
+        companies.stream()
+            .sorted(Comparator.comparingLong(CustomerStatsBucket::getCount).reversed()
+                .thenComparing(CustomerStatsBucket::getKey))
+            .forEach(bucket -> byCompany.put(bucket.getKey(), bucket.getCount()));
+        
+        return CustomerStatsResponse.builder()
+            .total(total)
+            .byStatus(byStatus)
+            .byCompany(byCompany)
+            .bySignupMonth(bySignupMonth)
+            .build();
+    }
+}
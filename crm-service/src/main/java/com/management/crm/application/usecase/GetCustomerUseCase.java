@@ -1,43 +1,121 @@
 package com.management.crm.application.usecase;
 
+import com.management.common.dto.BatchGetResponse;
 import com.management.common.exception.ResourceNotFoundException;
+import com.management.crm.application.dto.CustomerPageResponse;
 import com.management.crm.application.dto.CustomerResponse;
 import com.management.crm.application.mapper.CustomerMapper;
+import com.management.crm.application.pagination.CursorCodec;
 import com.management.crm.domain.model.Customer;
 import com.management.crm.domain.repository.CustomerRepository;
+import com.management.crm.infrastructure.cache.CustomerCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class GetCustomerUseCase {
     
+    public static final int MAX_PAGE_SIZE = 500;
+    
     private final CustomerRepository customerRepository;
     private final CustomerMapper customerMapper;
+    private final CustomerCache customerCache;
     
     @Transactional(readOnly = true)
     public CustomerResponse getById(String id) {
         log.info("Fetching customer with id: {}", id);
         
-        Customer customer = customerRepository.findById(id)
+        Customer customer = customerCache.get(id, customerRepository::findById)
+            .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", id));
+        
+        return customerMapper.toResponse(customer);
+    }
+    
+    /**
+     * Fetches a customer reading only {@code fields} (and its version) from the database unless the
+     * full customer is already cached. A null {@code fields} reads the whole customer through the cache.
+     */
+    @Transactional(readOnly = true)
+    public CustomerResponse getById(String id, Set<String> fields) {
+        if (fields == null) {
+            return getById(id);
+        }
+        log.info("Fetching customer with id: {}, fields: {}", id, fields);
+        
+        Set<String> projection = new HashSet<>(fields);
+        projection.add("version");
+        Customer customer = customerCache.getIfPresent(id)
+            .or(() -> customerRepository.findProjectedById(id, projection))
             .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", id));
         
         return customerMapper.toResponse(customer);
     }
     
+    /**
+     * Fetches many customers at once: cached ones from the cache, the rest in a single query reading only
+     * {@code fields} (and the version) when not null.
+     */
+    @Transactional(readOnly = true)
+    public BatchGetResponse<CustomerResponse> getByIds(List<String> ids, Set<String> fields) {
+        log.info("Fetching {} customers by id", ids.size());
+        
+        Set<String> projection = null;
+        if (fields != null) {
+            projection = new HashSet<>(fields);
+            projection.add("version");
+        }
+        List<Customer> customers = new ArrayList<>(ids.size());
+        List<String> uncached = new ArrayList<>();
+        for (String id : new LinkedHashSet<>(ids)) {
+            customerCache.getIfPresent(id).ifPresentOrElse(customers::add, () -> uncached.add(id));
+        }
+        if (!uncached.isEmpty()) {
+            customers.addAll(customerRepository.findProjectedByIds(uncached, projection));
+        }
+        
+        List<CustomerResponse> responses = customers.stream().map(customerMapper::toResponse).toList();
+        return BatchGetResponse.inRequestOrder(ids, responses, CustomerResponse::getId);
+    }
+    
+    @Transactional(readOnly = true)
+    public CustomerPageResponse getPage(String cursor, int limit, Set<String> fields) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        log.info("Fetching customers page after cursor: {}, limit: {}", cursor, limit);
+        
+        String afterId = cursor != null ? CursorCodec.decode(cursor) : null;
+        List<Customer> customers = customerRepository.findPageAfter(afterId, limit + 1, fields);
+        
+        boolean hasMore = customers.size() > limit;
+        List<Customer> page = hasMore ? customers.subList(0, limit) : customers;
+        String next = hasMore ? CursorCodec.encode(page.get(page.size() - 1).getId()) : null;
+        
+        return CustomerPageResponse.builder()
+            .items(page.stream().map(customerMapper::toResponse).collect(Collectors.toList()))
+            .next(next)
+            .build();
+    }
+    
     @Transactional(readOnly = true)
-    public List<CustomerResponse> getAll() {
-        log.info("Fetching all customers");
+    public void streamAll(Set<String> fields, Consumer<CustomerResponse> action) {
+        log.info("Streaming all customers");
         
-        return customerRepository.findAll()
-            .stream()
-            .map(customerMapper::toResponse)
-            .collect(Collectors.toList());
+        try (Stream<Customer> customers = customerRepository.streamAll(fields)) {
+            customers.map(customerMapper::toResponse).forEach(action);
+        }
     }
 }
@@ -0,0 +1,96 @@
+package com.management.crm.application.usecase;
+
+import com.management.common.exception.ResourceNotFoundException;
+import com.management.crm.application.dto.CustomerMergeRequest;
+import com.management.crm.application.dto.CustomerResponse;
+import com.management.crm.application.mapper.CustomerMapper;
+import com.management.crm.domain.model.Customer;
+import com.management.crm.domain.model.CustomerStatsDelta;
+import com.management.crm.domain.repository.CustomerRepository;
+import com.management.crm.domain.service.CustomerDomainService;
+import com.management.crm.domain.service.CustomerStatsService;
+import com.management.crm.infrastructure.cache.CustomerCache;
+import com.management.crm.infrastructure.dedup.CustomerDedupEngine;
+import com.management.crm.infrastructure.index.CustomerSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MergeCustomersUseCase {
+    
+    private final CustomerRepository customerRepository;
+    private final CustomerDomainService customerDomainService;
+    private final CustomerMapper customerMapper;
+    private final CustomerCache customerCache;
+    private final CustomerSearchIndex customerSearchIndex;
+    private final CustomerStatsService customerStatsService;
+    private final CustomerDedupEngine customerDedupEngine;
+    
+    /**
+     * Keeps the survivor, fills its missing phone, company and address from the duplicates in the order given,
+     * and deletes the duplicates in one operation. The steps are not transactional: if the merge fails before the
+     * duplicates are deleted, running it again completes it, since refilling the survivor is idempotent. Once they
+     * are deleted the merge has happened, and a later failure leaves only caches and stats to catch up.
+     */
+    public CustomerResponse execute(CustomerMergeRequest request) {
+        Set<String> duplicateIds = new LinkedHashSet<>(request.getDuplicateIds());
+        if (duplicateIds.contains(request.getSurvivorId())) {
+            throw new IllegalArgumentException("Survivor cannot also be a duplicate");
+        }
+        log.info("Merging customers {} into {}", duplicateIds, request.getSurvivorId());
+        
+        Customer survivor = customerRepository.findById(request.getSurvivorId())
+            .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", request.getSurvivorId()));
+        Map<String, Customer> found = customerRepository.findAllById(duplicateIds).stream()
+            .collect(Collectors.toMap(Customer::getId, Function.identity()));
+        List<Customer> duplicates = duplicateIds.stream()
+            .map(id -> {
+                Customer duplicate = found.get(id);
+                if (duplicate == null) {
+                    throw new ResourceNotFoundException("Customer", "id", id);
+                }
+                return duplicate;
+            })
+            .toList();
+        
+        String previousCompany = survivor.getCompany();
+        for (Customer duplicate : duplicates) {
+            if (survivor.getPhone() == null) {
+                survivor.setPhone(duplicate.getPhone());
+            }
+            if (survivor.getCompany() == null) {
+                survivor.setCompany(duplicate.getCompany());
+            }
+            if (survivor.getAddress() == null) {
+                survivor.setAddress(duplicate.getAddress());
+            }
+        }
+        survivor.setUpdatedAt(LocalDateTime.now());
+        Customer merged = customerDomainService.saveChanges(survivor);
+        customerRepository.deleteAllById(duplicateIds);
+        
+        CustomerStatsDelta delta = new CustomerStatsDelta().companyChanged(previousCompany, merged.getCompany());
+        customerCache.invalidate(merged.getId());
+        for (Customer duplicate : duplicates) {
+            customerCache.invalidate(duplicate.getId());
+            customerSearchIndex.remove(duplicate.getId());
+            delta.removed(duplicate);
+        }
+        customerStatsService.record(delta);
+        customerDedupEngine.forget(duplicateIds);
+        
+        log.info("Merged {} customers into {}", duplicates.size(), merged.getId());
+        return customerMapper.toResponse(merged);
+    }
+}
@@ -0,0 +1,38 @@
+package com.management.crm.application.usecase;
+
+import com.management.crm.application.dto.CustomerPatchRequest;
+import com.management.crm.application.dto.CustomerResponse;
+import com.management.crm.application.mapper.CustomerMapper;
+import com.management.crm.domain.model.Customer;
+import com.management.crm.domain.service.CustomerDomainService;
+import com.management.crm.infrastructure.cache.CustomerCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PatchCustomerUseCase {
+    
+    private final CustomerDomainService customerDomainService;
+    private final CustomerMapper customerMapper;
+    private final CustomerCache customerCache;
+    
+    public CustomerResponse execute(String id, CustomerPatchRequest request, Long expectedVersion) {
+        log.info("Patching customer with id: {}", id);
+        
+        Map<String, Object> changes = customerMapper.toChanges(request);
+        if (changes.isEmpty()) {
+            throw new IllegalArgumentException("Patch contains no fields to update");
+        }
+        
+        Customer patchedCustomer = customerDomainService.applyChanges(id, changes, expectedVersion);
+        customerCache.invalidate(id);
+        
+        log.info("Customer patched successfully with id: {}, version: {}", id, patchedCustomer.getVersion());
+        return customerMapper.toResponse(patchedCustomer);
+    }
+}
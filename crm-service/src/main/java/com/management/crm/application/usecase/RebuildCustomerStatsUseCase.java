@@ -0,0 +1,19 @@
+package com.management.crm.application.usecase;
+
+import com.management.crm.domain.service.CustomerStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RebuildCustomerStatsUseCase {
+    
+    private final CustomerStatsService customerStatsService;
+    
+    public void execute() {
+        log.info("Rebuilding customer stats");
+        customerStatsService.rebuild();
+    }
+}
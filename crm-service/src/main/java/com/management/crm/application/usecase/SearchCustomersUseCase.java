@@ -0,0 +1,37 @@
+package com.management.crm.application.usecase;
+
+import com.management.crm.application.dto.CustomerSearchResult;
+import com.management.crm.infrastructure.index.CustomerSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SearchCustomersUseCase {
+    
+    public static final int MAX_RESULTS = 50;
+    
+    private final CustomerSearchIndex customerSearchIndex;
+    
+    public List<CustomerSearchResult> execute(String query, int limit) {
+        if (limit < 1 || limit > MAX_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_RESULTS);
+        }
+        log.debug("Searching customers for: {}", query);
+        
+        return customerSearchIndex.search(query, limit)
+            .stream()
+            .map(entry -> CustomerSearchResult.builder()
+                .id(entry.id())
+                .name(entry.name())
+                .email(entry.email())
+                .company(entry.company())
+                .build())
+            .collect(Collectors.toList());
+    }
+}
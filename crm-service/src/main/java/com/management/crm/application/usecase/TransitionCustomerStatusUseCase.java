@@ -0,0 +1,71 @@
+package com.management.crm.application.usecase;
+
+import com.management.crm.application.dto.CustomerStatusTransitionRequest;
+import com.management.crm.application.dto.CustomerStatusTransitionResponse;
+import com.management.crm.domain.model.BulkUpdateResult;
+import com.management.crm.domain.model.CustomerStatsDelta;
+import com.management.crm.domain.model.CustomerStatus;
+import com.management.crm.domain.repository.CustomerRepository;
+import com.management.crm.domain.service.CustomerStatsService;
+import com.management.crm.infrastructure.cache.CustomerCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransitionCustomerStatusUseCase {
+    
+    private final CustomerRepository customerRepository;
+    private final CustomerCache customerCache;
+    private final CustomerStatsService customerStatsService;
+    
+    /**
+     * Without a current status, issues one server-side update per source status rather than a single update
+     * across all of them. Each update's modified count is then exactly the number of customers that left that
+     * status, which the stats rollup needs; counting first and updating once would let writes landing between
+     * the two skew the rollup.
+     */
+    public CustomerStatusTransitionResponse execute(CustomerStatusTransitionRequest request) {
+        boolean byIds = request.getIds() != null;
+        boolean byFilter = request.getCompany() != null || request.getCurrentStatus() != null;
+        if (byIds == byFilter) {
+            throw new IllegalArgumentException("Select customers either by ids or by company and/or current status");
+        }
+        log.info("Transitioning customers to {} (ids: {}, company: {}, current status: {})",
+            request.getTargetStatus(), byIds ? request.getIds().size() : "-", request.getCompany(), request.getCurrentStatus());
+        
+        List<CustomerStatus> sources = request.getCurrentStatus() != null
+            ? List.of(request.getCurrentStatus())
+            : Arrays.stream(CustomerStatus.values()).filter(status -> status != request.getTargetStatus()).toList();
+        long matched = 0;
+        long modified = 0;
+        CustomerStatsDelta delta = new CustomerStatsDelta();
+        for (CustomerStatus source : sources) {
+            BulkUpdateResult result = customerRepository.transitionStatus(
+                request.getIds(), request.getCompany(), source, request.getTargetStatus());
+            matched += result.matched();
+            modified += result.modified();
+            delta.statusChanged(source, request.getTargetStatus(), result.modified());
+        }
+        customerStatsService.record(delta);
+        
+        if (modified > 0) {
+            if (byIds) {
+                customerCache.invalidateAll(request.getIds());
+            } else {
+                customerCache.invalidateAll();
+            }
+        }
+        
+        log.info("Customer status transition matched {} and modified {}", matched, modified);
+        return CustomerStatusTransitionResponse.builder()
+            .matched(matched)
+            .modified(modified)
+            .build();
+    }
+}
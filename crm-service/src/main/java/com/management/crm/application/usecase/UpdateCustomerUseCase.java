@@ -1,12 +1,16 @@
 package com.management.crm.application.usecase;
 
+import com.management.common.exception.PreconditionFailedException;
 import com.management.common.exception.ResourceNotFoundException;
 import com.management.crm.application.dto.CustomerRequest;
 import com.management.crm.application.dto.CustomerResponse;
 import com.management.crm.application.mapper.CustomerMapper;
 import com.management.crm.domain.model.Customer;
+import com.management.crm.domain.model.CustomerStatsDelta;
 import com.management.crm.domain.repository.CustomerRepository;
 import com.management.crm.domain.service.CustomerDomainService;
+import com.management.crm.domain.service.CustomerStatsService;
+import com.management.crm.infrastructure.cache.CustomerCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -20,18 +24,24 @@ public class UpdateCustomerUseCase {
     private final CustomerRepository customerRepository;
     private final CustomerDomainService customerDomainService;
     private final CustomerMapper customerMapper;
+    private final CustomerCache customerCache;
+    private final CustomerStatsService customerStatsService;
     
     @Transactional
-    public CustomerResponse execute(String id, CustomerRequest request) {
+    public CustomerResponse execute(String id, CustomerRequest request, Long expectedVersion) {
         log.info("Updating customer with id: {}", id);
         
         Customer customer = customerRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", id));
+        if (expectedVersion != null && !expectedVersion.equals(customer.getVersion())) {
+            throw new PreconditionFailedException("Customer " + id + " is no longer at version " + expectedVersion);
+        }
         
+        String previousCompany = customer.getCompany();
         customerMapper.updateEntity(customer, request);
-        customerDomainService.validateCustomerUpdate(customer);
-        
-        Customer updatedCustomer = customerRepository.save(customer);
+        Customer updatedCustomer = customerDomainService.saveChanges(customer);
+        customerCache.invalidate(id);
+        customerStatsService.record(new CustomerStatsDelta().companyChanged(previousCompany, updatedCustomer.getCompany()));
         
         log.info("Customer updated successfully with id: {}", updatedCustomer.getId());
         return customerMapper.toResponse(updatedCustomer);
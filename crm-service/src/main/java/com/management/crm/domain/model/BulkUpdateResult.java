@@ -0,0 +1,4 @@
+package com.management.crm.domain.model;
+
+public record BulkUpdateResult(long matched, long modified) {
+}
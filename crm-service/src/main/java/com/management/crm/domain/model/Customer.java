@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -37,6 +38,9 @@ public class Customer {
     
     private LocalDateTime updatedAt;
     
+    @Version
+    private Long version;
+    
     public void activate() {
         this.status = CustomerStatus.ACTIVE;
         this.updatedAt = LocalDateTime.now();
@@ -0,0 +1,35 @@
+package com.management.crm.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * One counter of the customer statistics rollup, e.g. the number of customers of one company.
+ */
+@Document(collection = CustomerStatsBucket.COLLECTION)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerStatsBucket {
+    
+    public static final String COLLECTION = "customer_stats";
+    public static final String TOTAL_KEY = "all";
+    
+    @Id
+    private String id;
+    
+    private CustomerStatsDimension dimension;
+    
+    private String key;
+    
+    private long count;
+    
+    public static String idOf(CustomerStatsDimension dimension, String key) {
+        return dimension.name() + ":" + key;
+    }
+}
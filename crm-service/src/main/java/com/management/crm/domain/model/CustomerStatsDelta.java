@@ -0,0 +1,79 @@
+package com.management.crm.domain.model;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Net change to the customer statistics rollup caused by one or more customer writes.
+ */
+public class CustomerStatsDelta {
+    
+    public record Bucket(CustomerStatsDimension dimension, String key) {
+        
+        public String id() {
+            return CustomerStatsBucket.idOf(dimension, key);
+        }
+    }
+    
+    private static final DateTimeFormatter SIGNUP_MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+    
+    private final Map<Bucket, Long> counts = new HashMap<>();
+    
+    public CustomerStatsDelta added(Customer customer) {
+        return count(customer, 1);
+    }
+    
+    public CustomerStatsDelta removed(Customer customer) {
+        return count(customer, -1);
+    }
+    
+    public CustomerStatsDelta companyChanged(String from, String to) {
+        if (!Objects.equals(from, to)) {
+            increment(CustomerStatsDimension.COMPANY, from, -1);
+            increment(CustomerStatsDimension.COMPANY, to, 1);
+        }
+        return this;
+    }
+    
+    public CustomerStatsDelta statusChanged(CustomerStatus from, CustomerStatus to, long customers) {
+        if (from != to) {
+            increment(CustomerStatsDimension.STATUS, from != null ? from.name() : null, -customers);
+            increment(CustomerStatsDimension.STATUS, to != null ? to.name() : null, customers);
+        }
+        return this;
+    }
+    
+    /**
+     * Non-zero changes per bucket.
+     */
+    public Map<Bucket, Long> counts() {
+        return Collections.unmodifiableMap(counts);
+    }
+    
+    public boolean isEmpty() {
+        return counts.isEmpty();
+    }
+    
+    public static String signupMonth(LocalDateTime createdAt) {
+        return createdAt != null ? createdAt.format(SIGNUP_MONTH) : null;
+    }
+    
+    private CustomerStatsDelta count(Customer customer, long amount) {
+        increment(CustomerStatsDimension.TOTAL, CustomerStatsBucket.TOTAL_KEY, amount);
+        increment(CustomerStatsDimension.STATUS, customer.getStatus() != null ? customer.getStatus().name() : null, amount);
+        increment(CustomerStatsDimension.COMPANY, customer.getCompany(), amount);
+        increment(CustomerStatsDimension.SIGNUP_MONTH, signupMonth(customer.getCreatedAt()), amount);
+        return this;
+    }
+    
+    private void increment(CustomerStatsDimension dimension, String key, long amount) {
+        if (key == null || amount == 0) {
+            return;
+        }
+        counts.merge(new Bucket(dimension, key), amount, (a, b) -> a + b == 0 ? null : a + b);
+    }
+}
@@ -0,0 +1,8 @@
+package com.management.crm.domain.model;
+
+public enum CustomerStatsDimension {
+    TOTAL,
+    STATUS,
+    COMPANY,
+    SIGNUP_MONTH
+}
@@ -0,0 +1,9 @@
+package com.management.crm.domain.model;
+
+import java.util.List;
+
+/**
+ * Customers that are likely the same person. {@code score} is the weakest pairwise match that joined the cluster.
+ */
+public record DuplicateCluster(String id, List<String> customerIds, double score) {
+}
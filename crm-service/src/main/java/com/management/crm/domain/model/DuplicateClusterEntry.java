@@ -0,0 +1,42 @@
+package com.management.crm.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.List;
+
+/**
+ * One cluster of a {@link DuplicateScan}, ranked largest first as the scan reported it.
+ */
+@Document(collection = "customer_duplicate_clusters")
+@CompoundIndex(name = "scanId_rank", def = "{'scanId': 1, 'rank': 1}")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateClusterEntry {
+    
+    @Id
+    private String id;
+    
+    private String scanId;
+    
+    private int rank;
+    
+    private String clusterId;
+    
+    @Indexed
+    private List<String> customerIds;
+    
+    private double score;
+    
+    public DuplicateCluster toCluster() {
+        return new DuplicateCluster(clusterId, customerIds, score);
+    }
+}
@@ -0,0 +1,34 @@
+package com.management.crm.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Summary of a completed duplicate scan; its clusters are stored as {@link DuplicateClusterEntry} documents.
+ */
+@Document(collection = "customer_duplicate_scans")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateScan {
+    
+    @Id
+    private String id;
+    
+    private Instant startedAt;
+    
+    private Instant finishedAt;
+    
+    private long customersScanned;
+    
+    private long blocks;
+    
+    private long comparisons;
+}
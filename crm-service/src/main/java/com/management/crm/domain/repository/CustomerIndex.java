@@ -0,0 +1,13 @@
+package com.management.crm.domain.repository;
+
+import com.management.crm.domain.model.Customer;
+
+/**
+ * Secondary index kept in step with customer writes by the domain service.
+ */
+public interface CustomerIndex {
+    
+    void index(Customer customer);
+    
+    void remove(String id);
+}
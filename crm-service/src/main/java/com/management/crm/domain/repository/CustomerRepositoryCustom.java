@@ -0,0 +1,59 @@
+package com.management.crm.domain.repository;
+
+import com.management.crm.domain.model.BulkUpdateResult;
+import com.management.crm.domain.model.Customer;
+import com.management.crm.domain.model.CustomerStatus;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface CustomerRepositoryCustom {
+    
+    /**
+     * Returns up to {@code limit} customers ordered by id, starting strictly after {@code afterId}
+     * (or from the beginning when {@code afterId} is null). When {@code fields} is not null only
+     * those properties and the id are read.
+     */
+    List<Customer> findPageAfter(String afterId, int limit, Set<String> fields);
+    
+    /**
+     * Reads a customer by id, loading only {@code fields} and the id.
+     */
+    Optional<Customer> findProjectedById(String id, Set<String> fields);
+    
+    /**
+     * Reads the customers with the given ids in one query, loading only {@code fields} and the id when
+     * {@code fields} is not null. Unknown ids are skipped.
+     */
+    List<Customer> findProjectedByIds(Collection<String> ids, Set<String> fields);
+    
+    /**
+     * Streams every customer in id order from a server-side cursor, reading only {@code fields}
+     * when not null. The caller must close the stream.
+     */
+    Stream<Customer> streamAll(Set<String> fields);
+    
+    /**
+     * Atomically sets {@code changes} (property name to value), bumps {@code updatedAt} and the version, and
+     * returns the updated customer. When {@code expectedVersion} is not null the update only applies to that
+     * version. Returns empty when no customer matched.
+     */
+    Optional<Customer> patch(String id, Map<String, Object> changes, Long expectedVersion);
+    
+    /**
+     * Moves every customer matching the given criteria, and not already in {@code targetStatus}, to
+     * {@code targetStatus} in one multi-document update. Null criteria are ignored.
+     */
+    BulkUpdateResult transitionStatus(Collection<String> ids, String company, CustomerStatus currentStatus,
+                                      CustomerStatus targetStatus);
+    
+    /**
+     * Inserts all customers in one unordered bulk write, assigning ids to those without one.
+     * Returns the positions in {@code customers} rejected by the unique email index.
+     */
+    Set<Integer> insertAllIgnoringDuplicates(List<Customer> customers);
+}
@@ -0,0 +1,9 @@
+package com.management.crm.domain.repository;
+
+import com.management.crm.domain.model.CustomerStatsBucket;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CustomerStatsRepository extends MongoRepository<CustomerStatsBucket, String>, CustomerStatsRepositoryCustom {
+}
@@ -0,0 +1,19 @@
+package com.management.crm.domain.repository;
+
+import com.management.crm.domain.model.CustomerStatsDelta;
+
+public interface CustomerStatsRepositoryCustom {
+    
+    /**
+     * Applies every bucket change of {@code delta} with {@code $inc} upserts in one bulk write.
+     */
+    void apply(CustomerStatsDelta delta);
+    
+    /**
+     * Recomputes all buckets from the customers collection into a scratch collection and swaps it in atomically.
+     * Only one instance rebuilds at a time; returns false without doing anything when another one already is.
+     * Increments applied while the rebuild runs go to the collection being replaced and are dropped with it, so
+     * changes the aggregation had already read past are missing until the next rebuild.
+     */
+    boolean rebuild();
+}
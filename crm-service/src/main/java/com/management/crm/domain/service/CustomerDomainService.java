@@ -1,37 +1,122 @@
 package com.management.crm.domain.service;
 
+import com.management.common.exception.ConflictException;
+import com.management.common.exception.PreconditionFailedException;
+import com.management.common.exception.ResourceNotFoundException;
 import com.management.crm.domain.model.Customer;
+import com.management.crm.domain.model.CustomerStatsDelta;
+import com.management.crm.domain.repository.CustomerIndex;
 import com.management.crm.domain.repository.CustomerRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class CustomerDomainService {
     
     private final CustomerRepository customerRepository;
+    private final CustomerIndex customerIndex;
+    private final CustomerStatsService customerStatsService;
     
     public boolean isEmailUnique(String email) {
         return !customerRepository.existsByEmail(email);
     }
     
-    public boolean isEmailUniqueExcludingId(String email, String customerId) {
-        return customerRepository.findByEmail(email)
-            .map(customer -> customer.getId().equals(customerId))
-            .orElse(true);
+    /**
+     * Inserts a new customer in a single write; the unique email index rejects duplicates.
+     */
+    public Customer register(Customer customer) {
+        try {
+            Customer saved = customerRepository.insert(customer);
+            customerIndex.index(saved);
+            customerStatsService.record(new CustomerStatsDelta().added(saved));
+            return saved;
+        } catch (DuplicateKeyException ex) {
+            throw emailAlreadyExists(customer.getEmail());
+        }
+    }
+    
+    /**
+     * Writes an existing customer in a single write; the unique email index rejects taking another customer's email.
+     */
+    public Customer saveChanges(Customer customer) {
+        try {
+            Customer saved = customerRepository.save(customer);
+            customerIndex.index(saved);
+            return saved;
+        } catch (DuplicateKeyException ex) {
+            throw emailAlreadyExists(customer.getEmail());
+        } catch (OptimisticLockingFailureException ex) {
+            throw new ConflictException("Customer " + customer.getId() + " was modified concurrently");
+        }
     }
     
-    public void validateCustomerCreation(Customer customer) {
-        if (!isEmailUnique(customer.getEmail())) {
-            throw new IllegalArgumentException("Email already exists: " + customer.getEmail());
+    /**
+     * Applies {@code changes} to a customer in a single findAndModify, optionally only if it is still at
+     * {@code expectedVersion}. A company change is pinned to the version its previous company was read at so
+     * the stats rollup moves the customer out of the right company.
+     */
+    public Customer applyChanges(String id, Map<String, Object> changes, Long expectedVersion) {
+        Customer previous = null;
+        Long requiredVersion = expectedVersion;
+        if (changes.containsKey("company")) {
+            previous = customerRepository.findProjectedById(id, Set.of("company", "version"))
+                .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", id));
+            if (requiredVersion == null) {
+                requiredVersion = previous.getVersion();
+            }
         }
+        
+        Optional<Customer> updated;
+        try {
+            updated = customerRepository.patch(id, changes, requiredVersion);
+        } catch (DuplicateKeyException ex) {
+            throw emailAlreadyExists((String) changes.get("email"));
+        }
+        if (updated.isEmpty()) {
+            if (requiredVersion != null && customerRepository.existsById(id)) {
+                if (expectedVersion == null) {
+                    throw new ConflictException("Customer " + id + " was modified concurrently");
+                }
+                throw new PreconditionFailedException("Customer " + id + " is no longer at version " + expectedVersion);
+            }
+            throw new ResourceNotFoundException("Customer", "id", id);
+        }
+        Customer customer = updated.get();
+        customerIndex.index(customer);
+        if (previous != null) {
+            customerStatsService.record(new CustomerStatsDelta().companyChanged(previous.getCompany(), customer.getCompany()));
+        }
+        return customer;
     }
     
-    public void validateCustomerUpdate(Customer customer) {
-        if (!isEmailUniqueExcludingId(customer.getEmail(), customer.getId())) {
-            throw new IllegalArgumentException("Email already exists: " + customer.getEmail());
+    /**
+     * Inserts customers in one bulk write and returns the positions rejected by the unique email index.
+     */
+    public Set<Integer> registerAll(List<Customer> customers) {
+        Set<Integer> duplicates = customerRepository.insertAllIgnoringDuplicates(customers);
+        CustomerStatsDelta delta = new CustomerStatsDelta();
+        for (int i = 0; i < customers.size(); i++) {
+            if (!duplicates.contains(i)) {
+                customerIndex.index(customers.get(i));
+                delta.added(customers.get(i));
+            }
         }
+        customerStatsService.record(delta);
+        return duplicates;
+    }
+    
+    private IllegalArgumentException emailAlreadyExists(String email) {
+        log.debug("Rejected duplicate email: {}", email);
+        return new IllegalArgumentException("Email already exists: " + email);
     }
 }
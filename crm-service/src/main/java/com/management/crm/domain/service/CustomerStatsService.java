@@ -0,0 +1,93 @@
+package com.management.crm.domain.service;
+
+import com.management.common.exception.ConflictException;
+import com.management.crm.domain.model.CustomerStatsBucket;
+import com.management.crm.domain.model.CustomerStatsDelta;
+import com.management.crm.domain.repository.CustomerStatsRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the customer statistics rollup in step with customer writes. Counter updates are best effort:
+ * a failed increment is logged rather than failing the customer write, and {@link #rebuild()} repairs any drift.
+ * Rebuilds run in the background, one at a time across all instances; increments made during a rebuild may be
+ * dropped, so rebuild in a quiet period when exact counts matter.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerStatsService {
+    
+    private final CustomerStatsRepository customerStatsRepository;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "customer-stats-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public void record(CustomerStatsDelta delta) {
+        try {
+            customerStatsRepository.apply(delta);
+        } catch (DataAccessException ex) {
+            log.warn("Failed to update customer stats, rebuild them to repair: {}", ex.getMessage());
+        }
+    }
+    
+    public List<CustomerStatsBucket> getBuckets() {
+        return customerStatsRepository.findAll();
+    }
+    
+    /**
+     * Starts a rebuild in the background. Does nothing when another instance is already rebuilding.
+     */
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new ConflictException("Customer stats rebuild already in progress");
+        }
+        try {
+            rebuildExecutor.execute(this::runRebuild);
+        } catch (RejectedExecutionException ex) {
+            rebuilding.set(false);
+            throw ex;
+        }
+    }
+    
+    private void runRebuild() {
+        try {
+            long start = System.nanoTime();
+            if (customerStatsRepository.rebuild()) {
+                log.info("Customer stats rebuilt in {} ms", (System.nanoTime() - start) / 1_000_000);
+            } else {
+                log.info("Customer stats rebuild skipped, another instance is rebuilding");
+            }
+        } catch (DataAccessException ex) {
+            log.error("Customer stats rebuild failed", ex);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (customerStatsRepository.count() == 0) {
+            rebuild();
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,96 @@
+package com.management.crm.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.management.crm.domain.model.Customer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache of customers by id, evicted by size (W-TinyLFU) and time to live.
+ * Hit, miss and eviction counts are published as {@code cache.*} metrics tagged {@code cache=customers}.
+ */
+@Component
+public class CustomerCache {
+    
+    /**
+     * Above this many ids a batch invalidation tells peers to clear their whole cache instead of
+     * sending one request per id.
+     */
+    static final int MAX_PEER_INVALIDATIONS = 100;
+    
+    private final Cache<String, Customer> cache;
+    private final CustomerCacheInvalidationBroadcaster broadcaster;
+    
+    public CustomerCache(MeterRegistry meterRegistry,
+                         CustomerCacheInvalidationBroadcaster broadcaster,
+                         @Value("${crm.customer-cache.maximum-size:100000}") long maximumSize,
+                         @Value("${crm.customer-cache.time-to-live:10m}") Duration timeToLive) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive)
+            .recordStats()
+            .build();
+        this.broadcaster = broadcaster;
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "customers");
+    }
+    
+    /**
+     * Returns the cached customer or loads it through {@code loader}. Missing customers are not cached.
+     * Callers must not modify the returned customer.
+     */
+    public Optional<Customer> get(String id, Function<String, Optional<Customer>> loader) {
+        return Optional.ofNullable(cache.get(id, key -> loader.apply(key).orElse(null)));
+    }
+    
+    /**
+     * Returns the customer only if it is already cached. Callers must not modify the returned customer.
+     */
+    public Optional<Customer> getIfPresent(String id) {
+        return Optional.ofNullable(cache.getIfPresent(id));
+    }
+    
+    /**
+     * Evicts the customer here and, when enabled, on every other crm-service instance.
+     */
+    public void invalidate(String id) {
+        evict(id);
+        broadcaster.broadcast(id);
+    }
+    
+    /**
+     * Evicts the customers here and, when enabled, on every other crm-service instance. Large batches clear the
+     * peers' caches entirely rather than sending one request per id.
+     */
+    public void invalidateAll(Collection<String> ids) {
+        cache.invalidateAll(ids);
+        if (ids.size() > MAX_PEER_INVALIDATIONS) {
+            broadcaster.broadcastClear();
+        } else {
+            ids.forEach(broadcaster::broadcast);
+        }
+    }
+    
+    /**
+     * Empties the cache here and, when enabled, on every other crm-service instance.
+     */
+    public void invalidateAll() {
+        evictAll();
+        broadcaster.broadcastClear();
+    }
+    
+    public void evict(String id) {
+        cache.invalidate(id);
+    }
+    
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,121 @@
+package com.management.crm.infrastructure.cache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tells the other crm-service instances registered in Eureka to drop a customer from their cache.
+ * Delivery is best effort; the cache time to live bounds staleness when a peer is unreachable.
+ * Every call to a peer is bounded by {@code broadcast-timeout}, and at most {@code broadcast-queue-capacity}
+ * invalidations wait to be sent. When that queue overflows, the pending invalidations are replaced by one
+ * request to clear the peers' caches entirely.
+ */
+@Component
+@Slf4j
+public class CustomerCacheInvalidationBroadcaster {
+    
+    public static final String EVICT_ALL_PATH = "/internal/customer-cache";
+    public static final String EVICT_PATH = EVICT_ALL_PATH + "/{id}";
+    
+    private final DiscoveryClient discoveryClient;
+    private final ObjectProvider<Registration> registration;
+    private final RestClient restClient;
+    private final String serviceId;
+    private final boolean enabled;
+    private final ThreadPoolExecutor executor;
+    private final AtomicBoolean clearPending = new AtomicBoolean();
+    
+    public CustomerCacheInvalidationBroadcaster(DiscoveryClient discoveryClient,
+                                                ObjectProvider<Registration> registration,
+                                                RestClient.Builder restClientBuilder,
+                                                @Value("${spring.application.name}") String serviceId,
+                                                @Value("${crm.customer-cache.broadcast-invalidations:false}") boolean enabled,
+                                                @Value("${crm.customer-cache.broadcast-timeout:1s}") Duration timeout,
+                                                @Value("${crm.customer-cache.broadcast-queue-capacity:10000}") int queueCapacity) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+        this.discoveryClient = discoveryClient;
+        this.registration = registration;
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+        this.serviceId = serviceId;
+        this.enabled = enabled;
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "customer-cache-invalidation");
+                thread.setDaemon(true);
+                return thread;
+            },
+            (rejected, pool) -> overflow());
+    }
+    
+    public void broadcast(String id) {
+        if (enabled && !clearPending.get()) {
+            executor.execute(() -> sendToPeers(EVICT_PATH, id));
+        }
+    }
+    
+    public void broadcastClear() {
+        if (enabled) {
+            executor.execute(this::sendClear);
+        }
+    }
+    
+    /**
+     * Drops everything queued in favour of one clear-all, which covers every invalidation it replaces. Until
+     * that clear-all starts, further single invalidations are redundant and skipped.
+     */
+    private void overflow() {
+        if (executor.isShutdown() || !clearPending.compareAndSet(false, true)) {
+            return;
+        }
+        log.warn("Customer cache invalidation queue is full, clearing peer caches instead");
+        executor.getQueue().clear();
+        if (!executor.getQueue().offer(this::sendClear)) {
+            clearPending.set(false);
+        }
+    }
+    
+    private void sendClear() {
+        clearPending.set(false);
+        sendToPeers(EVICT_ALL_PATH);
+    }
+    
+    private void sendToPeers(String path, Object... uriVariables) {
+        Registration self = registration.getIfAvailable();
+        String selfId = self != null ? self.getInstanceId() : null;
+        for (ServiceInstance instance : discoveryClient.getInstances(serviceId)) {
+            if (instance.getInstanceId() != null && instance.getInstanceId().equals(selfId)) {
+                continue;
+            }
+            try {
+                restClient.delete()
+                    .uri(instance.getUri() + path, uriVariables)
+                    .retrieve()
+                    .toBodilessEntity();
+            } catch (RestClientException ex) {
+                log.warn("Failed to invalidate customer cache on {}: {}", instance.getUri(), ex.getMessage());
+            }
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
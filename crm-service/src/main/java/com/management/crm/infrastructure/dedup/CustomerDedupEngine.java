@@ -0,0 +1,342 @@
+package com.management.crm.infrastructure.dedup;
+
+import com.management.crm.domain.model.Customer;
+import com.management.crm.domain.model.DuplicateCluster;
+import com.management.crm.domain.repository.CustomerRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Finds near-duplicate customers without comparing every pair. Each customer is reduced to a
+ * {@link CustomerFingerprint}; customers sharing a normalized email, phone, address, or name at the same company
+ * form a block, and only pairs inside a block are scored, in parallel on a dedicated fork-join pool. Blocks are found by sorting
+ * {@code (key hash, customer index)} pairs packed into longs, so grouping 2M customers costs one primitive sort.
+ * Blocks larger than {@code crm.dedup.max-block-size} (a shared office address, a placeholder phone) are skipped.
+ * <p>
+ * Reports are kept in the {@link DedupReportStore}, shared by all instances. Whether a scan is running, and why
+ * the last one failed, is only known to the instance that ran it.
+ */
+@Component
+@Slf4j
+public class CustomerDedupEngine {
+    
+    private static final Set<String> FINGERPRINT_FIELDS = Set.of("name", "email", "phone", "company", "address");
+    private static final int INDEX_BITS = 26;
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+    private static final int LEAF_BLOCKS = 256;
+    
+    private final CustomerRepository customerRepository;
+    private final DedupReportStore reportStore;
+    private final int maxBlockSize;
+    private final double matchThreshold;
+    private final ForkJoinPool scoringPool;
+    private final ExecutorService scanExecutor;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Instant runningSince;
+    private volatile String lastFailure;
+    
+    public CustomerDedupEngine(CustomerRepository customerRepository,
+                               DedupReportStore reportStore,
+                               @Value("${crm.dedup.parallelism:0}") int parallelism,
+                               @Value("${crm.dedup.max-block-size:200}") int maxBlockSize,
+                               @Value("${crm.dedup.match-threshold:0.75}") double matchThreshold) {
+        this.customerRepository = customerRepository;
+        this.reportStore = reportStore;
+        this.maxBlockSize = maxBlockSize;
+        this.matchThreshold = matchThreshold;
+        this.scoringPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.scanExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "customer-dedup");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Starts a scan in the background unless one is already running.
+     *
+     * @return whether a scan was started
+     */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        runningSince = Instant.now();
+        scanExecutor.execute(() -> {
+            try {
+                reportStore.save(scan());
+                lastFailure = null;
+            } catch (RuntimeException ex) {
+                log.error("Customer duplicate scan failed", ex);
+                lastFailure = ex.getMessage();
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+    
+    public boolean isRunning() {
+        return running.get();
+    }
+    
+    public Instant getRunningSince() {
+        return running.get() ? runningSince : null;
+    }
+    
+    public Optional<String> getLastFailure() {
+        return Optional.ofNullable(lastFailure);
+    }
+    
+    /**
+     * Drops customers that no longer exist, e.g. after a merge, from the last report. A failure only leaves them
+     * listed until the next scan, so it is logged rather than thrown.
+     */
+    public void forget(Set<String> customerIds) {
+        try {
+            reportStore.forget(customerIds);
+        } catch (DataAccessException ex) {
+            log.warn("Failed to drop {} customers from the duplicate report: {}", customerIds.size(), ex.getMessage());
+        }
+    }
+    
+    DedupReport scan() {
+        Instant startedAt = Instant.now();
+        List<CustomerFingerprint> fingerprints = new ArrayList<>();
+        long[] keys = new long[1024];
+        int keyCount = 0;
+        try (Stream<Customer> customers = customerRepository.streamAll(FINGERPRINT_FIELDS)) {
+            for (Customer customer : (Iterable<Customer>) customers::iterator) {
+                int index = fingerprints.size();
+                if (index > INDEX_MASK) {
+                    throw new IllegalStateException("Too many customers to scan for duplicates");
+                }
+                CustomerFingerprint fingerprint = CustomerFingerprint.of(customer);
+                fingerprints.add(fingerprint);
+                if (keyCount + 4 > keys.length) {
+                    keys = Arrays.copyOf(keys, keys.length * 2);
+                }
+                keyCount = addKey(keys, keyCount, fingerprint.email(), index);
+                keyCount = addKey(keys, keyCount, fingerprint.phone(), index);
+                keyCount = addKey(keys, keyCount, fingerprint.address(), index);
+                keyCount = addKey(keys, keyCount, fingerprint.nameAtCompany(), index);
+            }
+        }
+        long[] sortedKeys = Arrays.copyOf(keys, keyCount);
+        Arrays.parallelSort(sortedKeys);
+        
+        int[] blocks = findBlocks(sortedKeys);
+        CustomerFingerprint[] all = fingerprints.toArray(new CustomerFingerprint[0]);
+        LongAdder comparisons = new LongAdder();
+        Matches matches = scoringPool.invoke(new ScoreBlocks(all, sortedKeys, blocks, 0, blocks.length / 2, comparisons));
+        
+        List<DuplicateCluster> clusters = cluster(all, matches);
+        DedupReport report = new DedupReport(startedAt, Instant.now(), all.length, blocks.length / 2,
+            comparisons.sum(), clusters);
+        log.info("Customer duplicate scan compared {} pairs in {} blocks of {} customers and found {} clusters",
+            report.comparisons(), report.blocks(), report.customersScanned(), clusters.size());
+        return report;
+    }
+    
+    private static int addKey(long[] keys, int keyCount, long hash, int index) {
+        if (hash == 0) {
+            return keyCount;
+        }
+        keys[keyCount] = (hash & ~INDEX_MASK) | index;
+        return keyCount + 1;
+    }
+    
+    /**
+     * Start and end offsets, interleaved, of every run of equal key hashes worth scoring.
+     */
+    private int[] findBlocks(long[] sortedKeys) {
+        int[] blocks = new int[64];
+        int count = 0;
+        int skipped = 0;
+        int start = 0;
+        for (int i = 1; i <= sortedKeys.length; i++) {
+            if (i < sortedKeys.length && (sortedKeys[i] & ~INDEX_MASK) == (sortedKeys[start] & ~INDEX_MASK)) {
+                continue;
+            }
+            int size = i - start;
+            if (size > maxBlockSize) {
+                skipped++;
+            } else if (size > 1) {
+                if (count + 2 > blocks.length) {
+                    blocks = Arrays.copyOf(blocks, blocks.length * 2);
+                }
+                blocks[count++] = start;
+                blocks[count++] = i;
+            }
+            start = i;
+        }
+        if (skipped > 0) {
+            log.info("Skipped {} duplicate blocks larger than {} customers", skipped, maxBlockSize);
+        }
+        return Arrays.copyOf(blocks, count);
+    }
+    
+    private static List<DuplicateCluster> cluster(CustomerFingerprint[] all, Matches matches) {
+        int[] parent = new int[all.length];
+        int[] size = new int[all.length];
+        float[] weakest = new float[all.length];
+        for (int i = 0; i < all.length; i++) {
+            parent[i] = i;
+            size[i] = 1;
+            weakest[i] = 1f;
+        }
+        for (int m = 0; m < matches.size; m++) {
+            int a = find(parent, (int) (matches.pairs[m] >>> 32));
+            int b = find(parent, (int) matches.pairs[m]);
+            if (a == b) {
+                continue;
+            }
+            if (size[a] < size[b]) {
+                int swap = a;
+                a = b;
+                b = swap;
+            }
+            parent[b] = a;
+            size[a] += size[b];
+            weakest[a] = Math.min(matches.scores[m], Math.min(weakest[a], weakest[b]));
+        }
+        
+        Map<Integer, List<String>> members = new HashMap<>();
+        for (int i = 0; i < all.length; i++) {
+            int root = find(parent, i);
+            if (size[root] > 1) {
+                members.computeIfAbsent(root, key -> new ArrayList<>()).add(all[i].id());
+            }
+        }
+        List<DuplicateCluster> clusters = new ArrayList<>(members.size());
+        members.forEach((root, ids) -> {
+            ids.sort(null);
+            clusters.add(new DuplicateCluster(ids.get(0), List.copyOf(ids), weakest[root]));
+        });
+        clusters.sort(Comparator.comparingInt((DuplicateCluster cluster) -> cluster.customerIds().size()).reversed()
+            .thenComparing(Comparator.comparingDouble(DuplicateCluster::score).reversed())
+            .thenComparing(DuplicateCluster::id));
+        return List.copyOf(clusters);
+    }
+    
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        scanExecutor.shutdownNow();
+        scoringPool.shutdownNow();
+    }
+    
+    private final class ScoreBlocks extends RecursiveTask<Matches> {
+        
+        private final CustomerFingerprint[] all;
+        private final long[] sortedKeys;
+        private final int[] blocks;
+        private final int from;
+        private final int to;
+        private final LongAdder comparisons;
+        
+        ScoreBlocks(CustomerFingerprint[] all, long[] sortedKeys, int[] blocks, int from, int to, LongAdder comparisons) {
+            this.all = all;
+            this.sortedKeys = sortedKeys;
+            this.blocks = blocks;
+            this.from = from;
+            this.to = to;
+            this.comparisons = comparisons;
+        }
+        
+        @Override
+        protected Matches compute() {
+            if (to - from <= LEAF_BLOCKS) {
+                return scoreDirectly();
+            }
+            int middle = (from + to) >>> 1;
+            ScoreBlocks left = new ScoreBlocks(all, sortedKeys, blocks, from, middle, comparisons);
+            left.fork();
+            Matches right = new ScoreBlocks(all, sortedKeys, blocks, middle, to, comparisons).compute();
+            return left.join().addAll(right);
+        }
+        
+        private Matches scoreDirectly() {
+            Matches matches = new Matches();
+            long compared = 0;
+            for (int block = from; block < to; block++) {
+                int start = blocks[2 * block];
+                int end = blocks[2 * block + 1];
+                for (int i = start; i < end; i++) {
+                    int a = (int) (sortedKeys[i] & INDEX_MASK);
+                    for (int j = i + 1; j < end; j++) {
+                        int b = (int) (sortedKeys[j] & INDEX_MASK);
+                        if (a == b) {
+                            continue;
+                        }
+                        compared++;
+                        double score = DuplicateScorer.score(all[a], all[b]);
+                        if (score >= matchThreshold) {
+                            matches.add(Math.min(a, b), Math.max(a, b), (float) score);
+                        }
+                    }
+                }
+            }
+            comparisons.add(compared);
+            return matches;
+        }
+    }
+    
+    /**
+     * Growable list of matched index pairs, packed as {@code a << 32 | b}, and their scores.
+     */
+    private static final class Matches {
+        
+        private long[] pairs = new long[16];
+        private float[] scores = new float[16];
+        private int size;
+        
+        void add(int a, int b, float score) {
+            if (size == pairs.length) {
+                pairs = Arrays.copyOf(pairs, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            pairs[size] = ((long) a << 32) | b;
+            scores[size] = score;
+            size++;
+        }
+        
+        Matches addAll(Matches other) {
+            if (size + other.size > pairs.length) {
+                pairs = Arrays.copyOf(pairs, size + other.size);
+                scores = Arrays.copyOf(scores, size + other.size);
+            }
+            System.arraycopy(other.pairs, 0, pairs, size, other.size);
+            System.arraycopy(other.scores, 0, scores, size, other.size);
+            size += other.size;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.management.crm.infrastructure.dedup;
+
+import com.management.crm.domain.model.Address;
+import com.management.crm.domain.model.Customer;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Normalized, compact view of a customer used for duplicate detection. Email, phone, company and address are kept
+ * only as 64-bit hashes of their normalized form (0 when absent); all but the company double as blocking keys.
+ * {@code nameAtCompany} hashes the normalized name together with the company, so that namesakes at one company are
+ * compared even when they share no contact details.
+ */
+record CustomerFingerprint(String id, String name, long email, long phone, long company, long address,
+                           long nameAtCompany) {
+    
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern NON_DIGIT = Pattern.compile("\\D+");
+    private static final int MIN_PHONE_DIGITS = 7;
+    private static final int MAX_PHONE_DIGITS = 10;
+    private static final Map<String, String> STREET_ABBREVIATIONS = Map.of(
+        "street", "st", "avenue", "ave", "road", "rd", "boulevard", "blvd", "drive", "dr",
+        "lane", "ln", "court", "ct", "place", "pl", "apartment", "apt", "suite", "ste");
+    
+    static CustomerFingerprint of(Customer customer) {
+        String name = normalizeName(customer.getName());
+        String company = normalizeCompany(customer.getCompany());
+        return new CustomerFingerprint(
+            customer.getId(),
+            name,
+            hash("e:", normalizeEmail(customer.getEmail())),
+            hash("p:", normalizePhone(customer.getPhone())),
+            hash("c:", company),
+            hash("a:", normalizeAddress(customer.getAddress())),
+            hash("n:", name.isEmpty() || company == null ? null : name + "|" + company));
+    }
+    
+    /**
+     * Lower-cased words without accents or punctuation, sorted so that "Smith, John" equals "John Smith".
+     */
+    static String normalizeName(String name) {
+        if (name == null) {
+            return "";
+        }
+        String[] words = words(name);
+        Arrays.sort(words);
+        return String.join(" ", words).trim();
+    }
+    
+    /**
+     * Lower-cased address without a {@code +tag}; Gmail addresses also lose the dots Gmail ignores.
+     */
+    static String normalizeEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        String normalized = email.trim().toLowerCase(Locale.ROOT);
+        int at = normalized.lastIndexOf('@');
+        if (at <= 0) {
+            return normalized.isEmpty() ? null : normalized;
+        }
+        String local = normalized.substring(0, at);
+        String domain = normalized.substring(at + 1);
+        int tag = local.indexOf('+');
+        if (tag > 0) {
+            local = local.substring(0, tag);
+        }
+        if (domain.equals("gmail.com") || domain.equals("googlemail.com")) {
+            local = local.replace(".", "");
+            domain = "gmail.com";
+        }
+        return local + "@" + domain;
+    }
+    
+    /**
+     * The last ten digits, which drops country and trunk prefixes; numbers too short to identify anyone are ignored.
+     */
+    static String normalizePhone(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        String digits = NON_DIGIT.matcher(phone).replaceAll("");
+        if (digits.length() < MIN_PHONE_DIGITS) {
+            return null;
+        }
+        return digits.length() > MAX_PHONE_DIGITS ? digits.substring(digits.length() - MAX_PHONE_DIGITS) : digits;
+    }
+    
+    /**
+     * Lower-cased words without accents or punctuation, in their original order.
+     */
+    static String normalizeCompany(String company) {
+        if (company == null) {
+            return null;
+        }
+        String normalized = String.join(" ", words(company)).trim();
+        return normalized.isEmpty() ? null : normalized;
+    }
+    
+    /**
+     * Zip code plus street with common suffixes abbreviated; addresses without both are ignored.
+     */
+    static String normalizeAddress(Address address) {
+        if (address == null || address.getZipCode() == null || address.getStreet() == null) {
+            return null;
+        }
+        String zip = NON_ALPHANUMERIC.matcher(address.getZipCode().toLowerCase(Locale.ROOT)).replaceAll("");
+        String[] words = words(address.getStreet());
+        for (int i = 0; i < words.length; i++) {
+            words[i] = STREET_ABBREVIATIONS.getOrDefault(words[i], words[i]);
+        }
+        String street = String.join(" ", words).trim();
+        return zip.isEmpty() || street.isEmpty() ? null : zip + "|" + street;
+    }
+    
+    private static String[] words(String text) {
+        String plain = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.split(plain.toLowerCase(Locale.ROOT).trim());
+    }
+    
+    private static long hash(String namespace, String value) {
+        if (value == null) {
+            return 0;
+        }
+        // 64-bit FNV-1a over the UTF-8 bytes, finished with a murmur3 mix for better bit dispersion
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : (namespace + value).getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash == 0 ? 1 : hash;
+    }
+}
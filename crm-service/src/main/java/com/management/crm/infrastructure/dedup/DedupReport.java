@@ -0,0 +1,13 @@
+package com.management.crm.infrastructure.dedup;
+
+import com.management.crm.domain.model.DuplicateCluster;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Outcome of one duplicate scan over all customers.
+ */
+public record DedupReport(Instant startedAt, Instant finishedAt, long customersScanned, long blocks, long comparisons,
+                          List<DuplicateCluster> clusters) {
+}
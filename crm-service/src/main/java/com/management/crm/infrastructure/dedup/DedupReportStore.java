@@ -0,0 +1,89 @@
+package com.management.crm.infrastructure.dedup;
+
+import com.management.crm.domain.model.DuplicateCluster;
+import com.management.crm.domain.model.DuplicateClusterEntry;
+import com.management.crm.domain.model.DuplicateScan;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Keeps the last duplicate report in Mongo so every instance serves the same clusters and a merge on one
+ * instance takes the merged customers out of the report for all of them. A new report's clusters are written
+ * before its summary, so readers keep seeing the previous report until the new one is complete.
+ */
+@Component
+@RequiredArgsConstructor
+public class DedupReportStore {
+    
+    private final MongoTemplate mongoTemplate;
+    
+    public void save(DedupReport report) {
+        String scanId = new ObjectId().toHexString();
+        List<DuplicateClusterEntry> entries = new ArrayList<>(report.clusters().size());
+        for (DuplicateCluster cluster : report.clusters()) {
+            entries.add(DuplicateClusterEntry.builder()
+                .scanId(scanId)
+                .rank(entries.size())
+                .clusterId(cluster.id())
+                .customerIds(cluster.customerIds())
+                .score(cluster.score())
+                .build());
+        }
+        mongoTemplate.insert(entries, DuplicateClusterEntry.class);
+        mongoTemplate.insert(DuplicateScan.builder()
+            .id(scanId)
+            .startedAt(report.startedAt())
+            .finishedAt(report.finishedAt())
+            .customersScanned(report.customersScanned())
+            .blocks(report.blocks())
+            .comparisons(report.comparisons())
+            .build());
+        
+        // Another instance may have finished a scan meanwhile; whichever finished last is kept
+        lastScan().ifPresent(last -> {
+            mongoTemplate.remove(Query.query(Criteria.where("id").ne(last.getId())), DuplicateScan.class);
+            mongoTemplate.remove(Query.query(Criteria.where("scanId").ne(last.getId())), DuplicateClusterEntry.class);
+        });
+    }
+    
+    public Optional<DuplicateScan> lastScan() {
+        Query query = new Query().with(Sort.by(Sort.Direction.DESC, "finishedAt")).limit(1);
+        return Optional.ofNullable(mongoTemplate.findOne(query, DuplicateScan.class));
+    }
+    
+    public long countClusters(String scanId) {
+        return mongoTemplate.count(Query.query(Criteria.where("scanId").is(scanId)), DuplicateClusterEntry.class);
+    }
+    
+    public List<DuplicateCluster> findClusters(String scanId, int offset, int limit) {
+        Query query = Query.query(Criteria.where("scanId").is(scanId))
+            .with(Sort.by("rank"))
+            .skip(offset)
+            .limit(limit);
+        return mongoTemplate.find(query, DuplicateClusterEntry.class).stream()
+            .map(DuplicateClusterEntry::toCluster)
+            .toList();
+    }
+    
+    /**
+     * Takes {@code customerIds} out of their clusters and drops clusters left with fewer than two customers.
+     */
+    public void forget(Set<String> customerIds) {
+        mongoTemplate.updateMulti(
+            Query.query(Criteria.where("customerIds").in(customerIds)),
+            new Update().pullAll("customerIds", customerIds.toArray()),
+            DuplicateClusterEntry.class);
+        mongoTemplate.remove(Query.query(Criteria.where("customerIds.1").exists(false)), DuplicateClusterEntry.class);
+    }
+}
@@ -0,0 +1,89 @@
+package com.management.crm.infrastructure.dedup;
+
+/**
+ * Scores how likely two customers are the same person, from 0 to 1. Shared contact details add evidence;
+ * a clearly different name halves it, since relatives often share a phone or an address. A shared company only
+ * counts alongside a similar name, since colleagues share a company by definition.
+ */
+final class DuplicateScorer {
+    
+    private static final double EMAIL_WEIGHT = 0.5;
+    private static final double PHONE_WEIGHT = 0.4;
+    private static final double ADDRESS_WEIGHT = 0.4;
+    private static final double NAME_WEIGHT = 0.4;
+    private static final double COMPANY_WEIGHT = 0.4;
+    private static final double SIMILAR_NAME = 0.85;
+    private static final double DIFFERENT_NAME = 0.7;
+    
+    private DuplicateScorer() {
+    }
+    
+    static double score(CustomerFingerprint a, CustomerFingerprint b) {
+        double score = 0;
+        if (a.email() != 0 && a.email() == b.email()) {
+            score += EMAIL_WEIGHT;
+        }
+        if (a.phone() != 0 && a.phone() == b.phone()) {
+            score += PHONE_WEIGHT;
+        }
+        if (a.address() != 0 && a.address() == b.address()) {
+            score += ADDRESS_WEIGHT;
+        }
+        if (!a.name().isEmpty() && !b.name().isEmpty()) {
+            double similarity = jaroWinkler(a.name(), b.name());
+            if (similarity >= SIMILAR_NAME) {
+                score += NAME_WEIGHT * similarity;
+                if (a.company() != 0 && a.company() == b.company()) {
+                    score += COMPANY_WEIGHT;
+                }
+            } else if (similarity < DIFFERENT_NAME) {
+                score *= 0.5;
+            }
+        }
+        return Math.min(score, 1.0);
+    }
+    
+    static double jaroWinkler(String s, String t) {
+        if (s.equals(t)) {
+            return 1.0;
+        }
+        int window = Math.max(0, Math.max(s.length(), t.length()) / 2 - 1);
+        boolean[] sMatched = new boolean[s.length()];
+        boolean[] tMatched = new boolean[t.length()];
+        int matches = 0;
+        for (int i = 0; i < s.length(); i++) {
+            int from = Math.max(0, i - window);
+            int to = Math.min(t.length(), i + window + 1);
+            for (int j = from; j < to; j++) {
+                if (!tMatched[j] && s.charAt(i) == t.charAt(j)) {
+                    sMatched[i] = true;
+                    tMatched[j] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) {
+            return 0.0;
+        }
+        int transpositions = 0;
+        for (int i = 0, j = 0; i < s.length(); i++) {
+            if (sMatched[i]) {
+                while (!tMatched[j]) {
+                    j++;
+                }
+                if (s.charAt(i) != t.charAt(j)) {
+                    transpositions++;
+                }
+                j++;
+            }
+        }
+        double m = matches;
+        double jaro = (m / s.length() + m / t.length() + (m - transpositions / 2.0) / m) / 3.0;
+        int prefix = 0;
+        while (prefix < Math.min(4, Math.min(s.length(), t.length())) && s.charAt(prefix) == t.charAt(prefix)) {
+            prefix++;
+        }
+        return jaro + prefix * 0.1 * (1.0 - jaro);
+    }
+}
@@ -0,0 +1,148 @@
+package com.management.crm.infrastructure.index;
+
+import com.management.crm.domain.model.Customer;
+import com.management.crm.domain.repository.CustomerIndex;
+import com.management.crm.domain.repository.CustomerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory prefix index over customer name, company and email for typeahead lookups.
+ * Every lower-cased word of those fields, plus the whole email, is stored as a sorted
+ * {@code token + '\0' + id} key so that a prefix query is a single range scan.
+ * Writes for one id are serialized through {@link ConcurrentHashMap#compute}, so its postings always end up
+ * matching its latest entry. A search can still pass postings that are being replaced, so every hit is checked
+ * against the current entry before it is returned.
+ */
+@Component
+@Slf4j
+public class CustomerSearchIndex implements CustomerIndex {
+    
+    public record Entry(String id, String name, String email, String company) {
+    }
+    
+    private static final char SEPARATOR = '\0';
+    private static final Pattern WORD_BOUNDARY = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> INDEXED_FIELDS = Set.of("name", "email", "company");
+    private static final int MAX_SCANNED_KEYS = 10_000;
+    
+    private final CustomerRepository customerRepository;
+    private final ConcurrentSkipListSet<String> postings = new ConcurrentSkipListSet<>();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    
+    public CustomerSearchIndex(CustomerRepository customerRepository) {
+        this.customerRepository = customerRepository;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        try (Stream<Customer> customers = customerRepository.streamAll(INDEXED_FIELDS)) {
+            customers.forEach(this::index);
+        }
+        log.info("Customer search index loaded {} customers in {} ms",
+            entries.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    @Override
+    public void index(Customer customer) {
+        Entry entry = new Entry(customer.getId(), customer.getName(), customer.getEmail(), customer.getCompany());
+        entries.compute(entry.id(), (id, previous) -> {
+            Set<String> tokens = tokens(entry);
+            if (previous != null) {
+                tokens(previous).stream()
+                    .filter(token -> !tokens.contains(token))
+                    .forEach(token -> postings.remove(token + SEPARATOR + id));
+            }
+            tokens.forEach(token -> postings.add(token + SEPARATOR + id));
+            return entry;
+        });
+    }
+    
+    @Override
+    public void remove(String id) {
+        entries.computeIfPresent(id, (key, previous) -> {
+            tokens(previous).forEach(token -> postings.remove(token + SEPARATOR + id));
+            return null;
+        });
+    }
+    
+    /**
+     * Returns up to {@code limit} customers having, for every whitespace-separated term of {@code query},
+     * a word or email starting with that term.
+     */
+    public List<Entry> search(String query, int limit) {
+        List<String> terms = Arrays.stream(query.toLowerCase(Locale.ROOT).trim().split("\\s+"))
+            .filter(term -> !term.isEmpty())
+            .sorted(Comparator.comparingInt(String::length).reversed())
+            .toList();
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        String lead = terms.get(0);
+        
+        Set<String> seen = new LinkedHashSet<>();
+        List<Entry> matches = new ArrayList<>(limit);
+        int scanned = 0;
+        for (String key : postings.subSet(lead, lead + Character.MAX_VALUE)) {
+            if (matches.size() >= limit || ++scanned > MAX_SCANNED_KEYS) {
+                break;
+            }
+            String id = key.substring(key.indexOf(SEPARATOR) + 1);
+            if (!seen.add(id)) {
+                continue;
+            }
+            Entry entry = entries.get(id);
+            if (entry != null && matchesAll(entry, terms)) {
+                matches.add(entry);
+            }
+        }
+        return matches;
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    private boolean matchesAll(Entry entry, List<String> terms) {
+        Set<String> tokens = tokens(entry);
+        return terms.stream().allMatch(term -> tokens.stream().anyMatch(token -> token.startsWith(term)));
+    }
+    
+    private static Set<String> tokens(Entry entry) {
+        Set<String> tokens = new LinkedHashSet<>();
+        addWords(tokens, entry.name());
+        addWords(tokens, entry.company());
+        addWords(tokens, entry.email());
+        if (entry.email() != null) {
+            tokens.add(entry.email().toLowerCase(Locale.ROOT));
+        }
+        return tokens;
+    }
+    
+    private static void addWords(Set<String> tokens, String value) {
+        if (value == null) {
+            return;
+        }
+        for (String word : WORD_BOUNDARY.split(value.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                tokens.add(word);
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.management.crm.infrastructure.persistence;
+
+import com.management.crm.domain.model.BulkUpdateResult;
+import com.management.crm.domain.model.Customer;
+import com.management.crm.domain.model.CustomerStatus;
+import com.management.crm.domain.repository.CustomerRepositoryCustom;
+import lombok.RequiredArgsConstructor;
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class CustomerRepositoryCustomImpl implements CustomerRepositoryCustom {
+    
+    private static final int STREAM_BATCH_SIZE = 1000;
+    
+    private final MongoTemplate mongoTemplate;
+    
+    @Override
+    public List<Customer> findPageAfter(String afterId, int limit, Set<String> fields) {
+        Query query = project(new Query(), fields).with(Sort.by(Sort.Direction.ASC, "_id")).limit(limit);
+        if (afterId != null) {
+            if (!ObjectId.isValid(afterId)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            query.addCriteria(Criteria.where("_id").gt(new ObjectId(afterId)));
+        }
+        return mongoTemplate.find(query, Customer.class);
+    }
+    
+    @Override
+    public Optional<Customer> findProjectedById(String id, Set<String> fields) {
+        Query query = project(new Query(Criteria.where("id").is(id)), fields);
+        return Optional.ofNullable(mongoTemplate.findOne(query, Customer.class));
+    }
+    
+    @Override
+    public List<Customer> findProjectedByIds(Collection<String> ids, Set<String> fields) {
+        return mongoTemplate.find(project(new Query(Criteria.where("id").in(ids)), fields), Customer.class);
+    }
+    
+    @Override
+    public Stream<Customer> streamAll(Set<String> fields) {
+        Query query = project(new Query(), fields)
+            .with(Sort.by(Sort.Direction.ASC, "_id"))
+            .cursorBatchSize(STREAM_BATCH_SIZE);
+        return mongoTemplate.stream(query, Customer.class);
+    }
+    
+    @Override
+    public Optional<Customer> patch(String id, Map<String, Object> changes, Long expectedVersion) {
+        Query query = new Query(Criteria.where("id").is(id));
+        if (expectedVersion != null) {
+            query.addCriteria(Criteria.where("version").is(expectedVersion));
+        }
+        Update update = new Update()
+            .set("updatedAt", LocalDateTime.now())
+            .inc("version", 1);
+        changes.forEach(update::set);
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+            query, update, FindAndModifyOptions.options().returnNew(true), Customer.class));
+    }
+    
+    @Override
+    public BulkUpdateResult transitionStatus(Collection<String> ids, String company, CustomerStatus currentStatus,
+                                             CustomerStatus targetStatus) {
+        if (currentStatus == targetStatus) {
+            return new BulkUpdateResult(0, 0);
+        }
+        Query query = new Query(currentStatus != null
+            ? Criteria.where("status").is(currentStatus)
+            : Criteria.where("status").ne(targetStatus));
+        if (ids != null) {
+            query.addCriteria(Criteria.where("id").in(ids));
+        }
+        if (company != null) {
+            query.addCriteria(Criteria.where("company").is(company));
+        }
+        Update update = new Update()
+            .set("status", targetStatus)
+            .set("updatedAt", LocalDateTime.now())
+            .inc("version", 1);
+        UpdateResult result = mongoTemplate.updateMulti(query, update, Customer.class);
+        return new BulkUpdateResult(result.getMatchedCount(), result.getModifiedCount());
+    }
+    
+    @Override
+    public Set<Integer> insertAllIgnoringDuplicates(List<Customer> customers) {
+        if (customers.isEmpty()) {
+            return Set.of();
+        }
+        customers.forEach(customer -> {
+            if (customer.getId() == null) {
+                customer.setId(new ObjectId().toHexString());
+            }
+            if (customer.getVersion() == null) {
+                customer.setVersion(0L);
+            }
+        });
+        
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Customer.class)
+                .insert(customers)
+                .execute();
+            return Set.of();
+        } catch (BulkOperationException ex) {
+            Set<Integer> duplicates = new HashSet<>();
+            for (BulkWriteError error : ex.getErrors()) {
+                if (ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY) {
+                    throw ex;
+                }
+                duplicates.add(error.getIndex());
+            }
+            return duplicates;
+        }
+    }
+    
+    private Query project(Query query, Set<String> fields) {
+        if (fields != null) {
+            fields.forEach(field -> query.fields().include(field));
+        }
+        return query;
+    }
+}
@@ -0,0 +1,106 @@
+package com.management.crm.infrastructure.persistence;
+
+import com.management.common.lock.MongoLock;
+import com.management.crm.domain.model.Customer;
+import com.management.crm.domain.model.CustomerStatsBucket;
+import com.management.crm.domain.model.CustomerStatsDelta;
+import com.management.crm.domain.model.CustomerStatsDimension;
+import com.management.crm.domain.repository.CustomerStatsRepositoryCustom;
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.RenameCollectionOptions;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class CustomerStatsRepositoryCustomImpl implements CustomerStatsRepositoryCustom {
+    
+    private static final String REBUILD_COLLECTION_PREFIX = CustomerStatsBucket.COLLECTION + "_rebuild_";
+    private static final String REBUILD_LOCK = CustomerStatsBucket.COLLECTION + "-rebuild";
+    private static final Duration REBUILD_LEASE = Duration.ofHours(1);
+    
+    private final MongoTemplate mongoTemplate;
+    private final MongoLock mongoLock;
+    
+    @Override
+    public void apply(CustomerStatsDelta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CustomerStatsBucket.class);
+        delta.counts().forEach((bucket, amount) -> operations.upsert(
+            new Query(Criteria.where("id").is(bucket.id())),
+            new Update()
+                .inc("count", amount)
+                .setOnInsert("dimension", bucket.dimension())
+                .setOnInsert("key", bucket.key())));
+        operations.execute();
+    }
+    
+    @Override
+    public boolean rebuild() {
+        if (!mongoLock.tryAcquire(REBUILD_LOCK, REBUILD_LEASE)) {
+            return false;
+        }
+        String scratch = REBUILD_COLLECTION_PREFIX + new ObjectId().toHexString();
+        try {
+            mongoTemplate.createCollection(scratch);
+            
+            MongoCollection<Document> customers = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Customer.class));
+            // Signup months are derived from LocalDateTime on the write path, which Spring stores in the JVM time zone
+            Document signupMonth = new Document("$dateToString", new Document("format", "%Y-%m")
+                .append("date", "$createdAt")
+                .append("timezone", ZoneId.systemDefault().getId()));
+            for (List<Document> pipeline : List.of(
+                    countBy(scratch, CustomerStatsDimension.TOTAL, null, null),
+                    countBy(scratch, CustomerStatsDimension.STATUS, "status", "$status"),
+                    countBy(scratch, CustomerStatsDimension.COMPANY, "company", "$company"),
+                    countBy(scratch, CustomerStatsDimension.SIGNUP_MONTH, "createdAt", signupMonth))) {
+                customers.aggregate(pipeline).allowDiskUse(true).toCollection();
+            }
+            
+            mongoTemplate.getCollection(scratch).renameCollection(
+                new MongoNamespace(mongoTemplate.getDb().getName(), CustomerStatsBucket.COLLECTION),
+                new RenameCollectionOptions().dropTarget(true));
+            return true;
+        } finally {
+            // No-op once renamed; removes the partial result of a failed run
+            mongoTemplate.dropCollection(scratch);
+            mongoLock.release(REBUILD_LOCK);
+        }
+    }
+    
+    private List<Document> countBy(String target, CustomerStatsDimension dimension, String field, Object groupKey) {
+        List<Document> pipeline = new ArrayList<>();
+        Object id;
+        Object key;
+        if (field == null) {
+            id = new Document("$literal", CustomerStatsBucket.idOf(dimension, CustomerStatsBucket.TOTAL_KEY));
+            key = new Document("$literal", CustomerStatsBucket.TOTAL_KEY);
+        } else {
+            pipeline.add(new Document("$match", new Document(field, new Document("$ne", null))));
+            id = new Document("$concat", List.of(CustomerStatsBucket.idOf(dimension, ""), "$_id"));
+            key = "$_id";
+        }
+        pipeline.add(new Document("$group", new Document("_id", groupKey).append("count", new Document("$sum", 1L))));
+        pipeline.add(new Document("$project", new Document("_id", id)
+            .append("dimension", new Document("$literal", dimension.name()))
+            .append("key", key)
+            .append("count", 1)));
+        pipeline.add(new Document("$merge", new Document("into", target)
+            .append("whenMatched", "replace")
+            .append("whenNotMatched", "insert")));
+        return pipeline;
+    }
+}
@@ -0,0 +1,65 @@
+package com.management.crm.infrastructure.persistence;
+
+import com.management.common.lock.MongoLock;
+import com.management.crm.domain.model.Customer;
+import com.mongodb.client.result.UpdateResult;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Gives customers stored before optimistic locking a starting version. Without it Spring Data treats a
+ * customer with a null version as new and would try to insert it again on save. This is a one-time
+ * migration: once it has completed, a marker document in {@code migrations} keeps later startups from
+ * scanning the customers again, and a {@link MongoLock} makes sure only one instance runs it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerVersionBackfill {
+    
+    static final String MIGRATIONS = "migrations";
+    static final String MIGRATION_ID = "customer-version-backfill";
+    private static final Duration LEASE = Duration.ofMinutes(30);
+    
+    private final MongoTemplate mongoTemplate;
+    private final MongoLock mongoLock;
+    
+    @PostConstruct
+    public void backfill() {
+        Query marker = Query.query(Criteria.where("_id").is(MIGRATION_ID));
+        if (mongoTemplate.exists(marker, MIGRATIONS)) {
+            return;
+        }
+        if (!mongoLock.tryAcquire(MIGRATION_ID, LEASE)) {
+            log.info("Customer version backfill is running on another instance");
+            return;
+        }
+        try {
+            if (!mongoTemplate.exists(marker, MIGRATIONS)) {
+                migrate(marker);
+            }
+        } finally {
+            mongoLock.release(MIGRATION_ID);
+        }
+    }
+    
+    private void migrate(Query marker) {
+        UpdateResult result = mongoTemplate.updateMulti(
+            new Query(Criteria.where("version").exists(false)),
+            new Update().set("version", 0L),
+            Customer.class);
+        if (result.getModifiedCount() > 0) {
+            log.info("Initialized version on {} customers", result.getModifiedCount());
+        }
+        mongoTemplate.upsert(marker, Update.update("completedAt", LocalDateTime.now()), MIGRATIONS);
+    }
+}
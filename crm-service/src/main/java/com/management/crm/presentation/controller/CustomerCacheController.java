@@ -0,0 +1,39 @@
+package com.management.crm.presentation.controller;
+
+import com.management.crm.infrastructure.cache.CustomerCache;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import static com.management.crm.infrastructure.cache.CustomerCacheInvalidationBroadcaster.EVICT_ALL_PATH;
+import static com.management.crm.infrastructure.cache.CustomerCacheInvalidationBroadcaster.EVICT_PATH;
+
+/**
+ * Receives cache invalidations broadcast by peer crm-service instances.
+ */
+@Hidden
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerCacheController {
+    
+    private final CustomerCache customerCache;
+    
+    @DeleteMapping(EVICT_PATH)
+    public ResponseEntity<Void> evict(@PathVariable String id) {
+        log.debug("Evicting customer {} from cache on peer request", id);
+        customerCache.evict(id);
+        return ResponseEntity.noContent().build();
+    }
+    
+    @DeleteMapping(EVICT_ALL_PATH)
+    public ResponseEntity<Void> evictAll() {
+        log.debug("Clearing customer cache on peer request");
+        customerCache.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+}
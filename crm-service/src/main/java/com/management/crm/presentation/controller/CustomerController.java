@@ -1,10 +1,28 @@
 package com.management.crm.presentation.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.management.common.dto.BatchGetRequest;
+import com.management.common.dto.BatchGetResponse;
+import com.management.crm.application.dto.BulkImportResponse;
+import com.management.crm.application.dto.CustomerFields;
+import com.management.crm.application.dto.CustomerPageResponse;
+import com.management.crm.application.dto.CustomerPatchRequest;
 import com.management.crm.application.dto.CustomerRequest;
 import com.management.crm.application.dto.CustomerResponse;
+import com.management.crm.application.dto.CustomerSearchResult;
+import com.management.crm.application.dto.CustomerStatusTransitionRequest;
+import com.management.crm.application.dto.CustomerStatusTransitionResponse;
+import com.management.crm.application.usecase.BulkCreateCustomersUseCase;
 import com.management.crm.application.usecase.CreateCustomerUseCase;
 import com.management.crm.application.usecase.DeleteCustomerUseCase;
 import com.management.crm.application.usecase.GetCustomerUseCase;
+import com.management.crm.application.usecase.PatchCustomerUseCase;
+import com.management.crm.application.usecase.SearchCustomersUseCase;
+import com.management.crm.application.usecase.TransitionCustomerStatusUseCase;
 import com.management.crm.application.usecase.UpdateCustomerUseCase;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,11 +34,20 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/customers")
@@ -29,10 +56,19 @@ import java.util.List;
 @Tag(name = "Customer Management", description = "APIs for managing customer information in CRM system")
 public class CustomerController {
     
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+    private static final String FIELDS_DESCRIPTION = "Comma-separated customer fields to return, e.g. id,name,email,status";
+    
     private final CreateCustomerUseCase createCustomerUseCase;
+    private final BulkCreateCustomersUseCase bulkCreateCustomersUseCase;
     private final GetCustomerUseCase getCustomerUseCase;
+    private final SearchCustomersUseCase searchCustomersUseCase;
     private final UpdateCustomerUseCase updateCustomerUseCase;
+    private final PatchCustomerUseCase patchCustomerUseCase;
     private final DeleteCustomerUseCase deleteCustomerUseCase;
+    private final TransitionCustomerStatusUseCase transitionCustomerStatusUseCase;
+    private final ObjectMapper objectMapper;
     
     @Operation(summary = "Create a new customer", description = "Creates a new customer in the CRM system")
     @ApiResponses(value = {
@@ -47,6 +83,58 @@ public class CustomerController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
     
+    @Operation(summary = "Import customers in bulk",
+        description = "Creates many customers at once from a JSON array, newline-delimited JSON or CSV with a header row. "
+            + "Rows are validated individually and reported as created, duplicate email or validation error.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import processed",
+            content = @Content(schema = @Schema(implementation = BulkImportResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Malformed payload")
+    })
+    @PostMapping(value = "/bulk", consumes = {
+        MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE
+    })
+    public ResponseEntity<BulkImportResponse> importCustomers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) throws IOException {
+        log.info("REST request to import customers as {}", contentType);
+        Iterator<CustomerRequest> requests = TEXT_CSV.isCompatibleWith(contentType)
+            ? CustomerImportReader.csv(body)
+            : CustomerImportReader.json(objectMapper, body);
+        BulkImportResponse response = bulkCreateCustomersUseCase.execute(requests);
+        return ResponseEntity.ok(response);
+    }
+    
+    @Operation(summary = "Change customer status in bulk",
+        description = "Moves every selected customer to the target status in a single server-side update. "
+            + "Select customers either by ids or by company and/or current status.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Transition applied",
+            content = @Content(schema = @Schema(implementation = CustomerStatusTransitionResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid selection")
+    })
+    @PostMapping("/status-transitions")
+    public ResponseEntity<CustomerStatusTransitionResponse> transitionStatus(
+            @Valid @RequestBody CustomerStatusTransitionRequest request) {
+        log.info("REST request to transition customers to {}", request.getTargetStatus());
+        CustomerStatusTransitionResponse response = transitionCustomerStatusUseCase.execute(request);
+        return ResponseEntity.ok(response);
+    }
+    
+    @Operation(summary = "Search customers", description = "Typeahead search by prefix of name, company or email words")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Matching customers"),
+        @ApiResponse(responseCode = "400", description = "Invalid limit")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<List<CustomerSearchResult>> searchCustomers(
+            @Parameter(description = "Search text; every word must prefix a name, company or email word") @RequestParam String q,
+            @Parameter(description = "Maximum number of matches to return") @RequestParam(defaultValue = "10") int limit) {
+        log.debug("REST request to search customers: {}", q);
+        List<CustomerSearchResult> response = searchCustomersUseCase.execute(q, limit);
+        return ResponseEntity.ok(response);
+    }
+    
     @Operation(summary = "Get customer by ID", description = "Retrieves a customer by their unique identifier")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Customer found",
@@ -54,20 +142,68 @@ public class CustomerController {
         @ApiResponse(responseCode = "404", description = "Customer not found")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<CustomerResponse> getCustomer(
-            @Parameter(description = "Customer ID") @PathVariable String id) {
+    public ResponseEntity<MappingJacksonValue> getCustomer(
+            @Parameter(description = "Customer ID") @PathVariable String id,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields) {
         log.info("REST request to get customer: {}", id);
-        CustomerResponse response = getCustomerUseCase.getById(id);
-        return ResponseEntity.ok(response);
+        Set<String> selected = CustomerFields.parse(fields);
+        CustomerResponse response = getCustomerUseCase.getById(id, selected);
+        return withETag(ResponseEntity.ok(), response.getVersion()).body(project(response, selected));
+    }
+    
+    @Operation(summary = "Get customers by IDs",
+        description = "Retrieves up to " + BatchGetRequest.MAX_IDS + " customers in one call, in the order requested. "
+            + "Ids that do not exist are listed under missing.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Customers found"),
+        @ApiResponse(responseCode = "400", description = "No ids, too many ids or invalid fields")
+    })
+    @PostMapping("/batch-get")
+    public ResponseEntity<MappingJacksonValue> getCustomersByIds(
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+            @Valid @RequestBody BatchGetRequest request) {
+        log.info("REST request to get {} customers by id", request.ids().size());
+        Set<String> selected = CustomerFields.parse(fields);
+        BatchGetResponse<CustomerResponse> response = getCustomerUseCase.getByIds(request.ids(), selected);
+        return ResponseEntity.ok(project(response, selected));
     }
     
-    @Operation(summary = "Get all customers", description = "Retrieves a list of all customers in the system")
-    @ApiResponse(responseCode = "200", description = "List of customers retrieved successfully")
+    @Operation(summary = "List customers", description = "Retrieves customers in creation order, one page at a time")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page of customers retrieved successfully",
+            content = @Content(schema = @Schema(implementation = CustomerPageResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor, limit or fields")
+    })
     @GetMapping
-    public ResponseEntity<List<CustomerResponse>> getAllCustomers() {
-        log.info("REST request to get all customers");
-        List<CustomerResponse> response = getCustomerUseCase.getAll();
-        return ResponseEntity.ok(response);
+    public ResponseEntity<MappingJacksonValue> getCustomers(
+            @Parameter(description = "Opaque token from the previous page's next field") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of customers to return") @RequestParam(defaultValue = "50") int limit,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields) {
+        log.info("REST request to get customers page");
+        Set<String> selected = CustomerFields.parse(fields);
+        CustomerPageResponse response = getCustomerUseCase.getPage(cursor, limit, selected);
+        return ResponseEntity.ok(project(response, selected));
+    }
+    
+    @Operation(summary = "Stream all customers", description = "Streams every customer as newline-delimited JSON")
+    @ApiResponse(responseCode = "200", description = "Customers streamed successfully")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCustomers(
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields) {
+        log.info("REST request to stream all customers");
+        Set<String> selected = CustomerFields.parse(fields);
+        ObjectWriter writer = objectMapper.writerFor(CustomerResponse.class).with(filters(selected));
+        StreamingResponseBody body = out -> getCustomerUseCase.streamAll(selected, customer -> {
+            try {
+                out.write(writer.writeValueAsBytes(customer));
+                out.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
     }
     
     @Operation(summary = "Update customer", description = "Updates an existing customer's information")
@@ -75,15 +211,38 @@ public class CustomerController {
         @ApiResponse(responseCode = "200", description = "Customer updated successfully",
             content = @Content(schema = @Schema(implementation = CustomerResponse.class))),
         @ApiResponse(responseCode = "404", description = "Customer not found"),
-        @ApiResponse(responseCode = "400", description = "Invalid customer data")
+        @ApiResponse(responseCode = "400", description = "Invalid customer data"),
+        @ApiResponse(responseCode = "409", description = "Customer changed concurrently"),
+        @ApiResponse(responseCode = "412", description = "Customer changed since the given ETag")
     })
     @PutMapping("/{id}")
     public ResponseEntity<CustomerResponse> updateCustomer(
             @Parameter(description = "Customer ID") @PathVariable String id,
+            @Parameter(description = "ETag of the version being replaced") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody CustomerRequest request) {
         log.info("REST request to update customer: {}", id);
-        CustomerResponse response = updateCustomerUseCase.execute(id, request);
-        return ResponseEntity.ok(response);
+        CustomerResponse response = updateCustomerUseCase.execute(id, request, parseIfMatch(ifMatch));
+        return withETag(ResponseEntity.ok(), response.getVersion()).body(response);
+    }
+    
+    @Operation(summary = "Patch customer",
+        description = "Atomically updates only the supplied fields. Send If-Match with the customer's ETag to fail "
+            + "instead of overwriting a concurrent change.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Customer patched successfully",
+            content = @Content(schema = @Schema(implementation = CustomerResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Customer not found"),
+        @ApiResponse(responseCode = "400", description = "Invalid customer data"),
+        @ApiResponse(responseCode = "412", description = "Customer changed since the given ETag")
+    })
+    @PatchMapping("/{id}")
+    public ResponseEntity<CustomerResponse> patchCustomer(
+            @Parameter(description = "Customer ID") @PathVariable String id,
+            @Parameter(description = "ETag of the version being patched") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody CustomerPatchRequest request) {
+        log.info("REST request to patch customer: {}", id);
+        CustomerResponse response = patchCustomerUseCase.execute(id, request, parseIfMatch(ifMatch));
+        return withETag(ResponseEntity.ok(), response.getVersion()).body(response);
     }
     
     @Operation(summary = "Delete customer", description = "Deletes a customer from the system")
@@ -98,4 +257,37 @@ public class CustomerController {
         deleteCustomerUseCase.execute(id);
         return ResponseEntity.noContent().build();
     }
+    
+    private MappingJacksonValue project(Object body, Set<String> fields) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(filters(fields));
+        return value;
+    }
+    
+    private FilterProvider filters(Set<String> fields) {
+        SimpleBeanPropertyFilter filter = fields == null
+            ? SimpleBeanPropertyFilter.serializeAll()
+            : SimpleBeanPropertyFilter.filterOutAllExcept(fields);
+        return new SimpleFilterProvider().addFilter(CustomerResponse.FIELDS_FILTER, filter);
+    }
+    
+    private ResponseEntity.BodyBuilder withETag(ResponseEntity.BodyBuilder builder, Long version) {
+        return version != null ? builder.eTag(String.valueOf(version)) : builder;
+    }
+    
+    private Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        tag = tag.replace("\"", "");
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid If-Match header: " + ifMatch);
+        }
+    }
 }
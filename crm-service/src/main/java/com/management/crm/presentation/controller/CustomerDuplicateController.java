@@ -0,0 +1,81 @@
+package com.management.crm.presentation.controller;
+
+import com.management.crm.application.dto.CustomerMergeRequest;
+import com.management.crm.application.dto.CustomerResponse;
+import com.management.crm.application.dto.DuplicateClusterResponse;
+import com.management.crm.application.dto.DuplicateScanResponse;
+import com.management.crm.application.usecase.FindDuplicateCustomersUseCase;
+import com.management.crm.application.usecase.MergeCustomersUseCase;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/customers/duplicates")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Customer Deduplication", description = "APIs for finding and merging duplicate customers")
+public class CustomerDuplicateController {
+    
+    private final FindDuplicateCustomersUseCase findDuplicateCustomersUseCase;
+    private final MergeCustomersUseCase mergeCustomersUseCase;
+    
+    @Operation(summary = "Start a duplicate scan", description = "Scans all customers for likely duplicates in the background")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Scan started",
+            content = @Content(schema = @Schema(implementation = DuplicateScanResponse.class))),
+        @ApiResponse(responseCode = "409", description = "A scan is already running")
+    })
+    @PostMapping("/scan")
+    public ResponseEntity<DuplicateScanResponse> startScan() {
+        log.info("REST request to scan customers for duplicates");
+        return new ResponseEntity<>(findDuplicateCustomersUseCase.startScan(), HttpStatus.ACCEPTED);
+    }
+    
+    @Operation(summary = "Get duplicate scan status", description = "Reports whether a scan is running and summarizes the last one")
+    @ApiResponse(responseCode = "200", description = "Scan status",
+        content = @Content(schema = @Schema(implementation = DuplicateScanResponse.class)))
+    @GetMapping("/scan")
+    public ResponseEntity<DuplicateScanResponse> getScanStatus() {
+        return ResponseEntity.ok(findDuplicateCustomersUseCase.getStatus());
+    }
+    
+    @Operation(summary = "List duplicate clusters", description = "Clusters found by the last scan, largest first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Duplicate clusters"),
+        @ApiResponse(responseCode = "400", description = "Invalid offset or limit")
+    })
+    @GetMapping
+    public ResponseEntity<List<DuplicateClusterResponse>> getClusters(
+            @Parameter(description = "Number of clusters to skip") @RequestParam(defaultValue = "0") int offset,
+            @Parameter(description = "Maximum number of clusters to return") @RequestParam(defaultValue = "100") int limit) {
+        log.debug("REST request to list duplicate clusters from {}", offset);
+        return ResponseEntity.ok(findDuplicateCustomersUseCase.getClusters(offset, limit));
+    }
+    
+    @Operation(summary = "Merge duplicate customers",
+        description = "Keeps the survivor, fills its missing phone, company and address from the duplicates and deletes them")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Customers merged",
+            content = @Content(schema = @Schema(implementation = CustomerResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid merge request"),
+        @ApiResponse(responseCode = "404", description = "Customer not found")
+    })
+    @PostMapping("/merge")
+    public ResponseEntity<CustomerResponse> mergeCustomers(@Valid @RequestBody CustomerMergeRequest request) {
+        log.info("REST request to merge customers into {}", request.getSurvivorId());
+        return ResponseEntity.ok(mergeCustomersUseCase.execute(request));
+    }
+}
@@ -0,0 +1,173 @@
+package com.management.crm.presentation.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.management.crm.application.dto.AddressDto;
+import com.management.crm.application.dto.CustomerRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily reads customer import rows so that large payloads are never held in memory at once.
+ */
+final class CustomerImportReader {
+    
+    private CustomerImportReader() {
+    }
+    
+    /**
+     * Reads either a JSON array or newline-delimited JSON objects.
+     */
+    static Iterator<CustomerRequest> json(ObjectMapper objectMapper, InputStream in) throws IOException {
+        MappingIterator<CustomerRequest> values;
+        try {
+            values = objectMapper.readerFor(CustomerRequest.class).readValues(in);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Malformed JSON import payload", ex);
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return values.hasNext();
+                } catch (RuntimeJsonMappingException ex) {
+                    throw new IllegalArgumentException("Malformed JSON import payload", ex);
+                }
+            }
+            
+            @Override
+            public CustomerRequest next() {
+                try {
+                    return values.next();
+                } catch (RuntimeJsonMappingException ex) {
+                    throw new IllegalArgumentException("Malformed JSON import payload", ex);
+                }
+            }
+        };
+    }
+    
+    /**
+     * Reads CSV with a header row naming the columns, e.g. {@code name,email,phone,company,city}.
+     * Address columns are {@code street}, {@code city}, {@code state}, {@code zipCode} and {@code country}.
+     */
+    static Iterator<CustomerRequest> csv(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            return List.<CustomerRequest>of().iterator();
+        }
+        List<String> columns = parseLine(header).stream()
+            .map(column -> column.trim().toLowerCase(Locale.ROOT))
+            .toList();
+        return new CsvIterator(reader, columns);
+    }
+    
+    static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+    
+    private static final class CsvIterator implements Iterator<CustomerRequest> {
+        
+        private final BufferedReader reader;
+        private final List<String> columns;
+        private String nextLine;
+        
+        private CsvIterator(BufferedReader reader, List<String> columns) {
+            this.reader = reader;
+            this.columns = columns;
+            advance();
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return nextLine != null;
+        }
+        
+        @Override
+        public CustomerRequest next() {
+            if (nextLine == null) {
+                throw new NoSuchElementException();
+            }
+            List<String> fields = parseLine(nextLine);
+            advance();
+            
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < columns.size() && i < fields.size(); i++) {
+                String value = fields.get(i).trim();
+                if (!value.isEmpty()) {
+                    values.put(columns.get(i), value);
+                }
+            }
+            return toRequest(values);
+        }
+        
+        private void advance() {
+            try {
+                do {
+                    nextLine = reader.readLine();
+                } while (nextLine != null && nextLine.isBlank());
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        
+        private CustomerRequest toRequest(Map<String, String> values) {
+            AddressDto address = null;
+            if (values.containsKey("street") || values.containsKey("city") || values.containsKey("state")
+                    || values.containsKey("zipcode") || values.containsKey("country")) {
+                address = AddressDto.builder()
+                    .street(values.get("street"))
+                    .city(values.get("city"))
+                    .state(values.get("state"))
+                    .zipCode(values.get("zipcode"))
+                    .country(values.get("country"))
+                    .build();
+            }
+            return CustomerRequest.builder()
+                .name(values.get("name"))
+                .email(values.get("email"))
+                .phone(values.get("phone"))
+                .company(values.get("company"))
+                .address(address)
+                .build();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.management.crm.presentation.controller;
+
+import com.management.crm.application.dto.CustomerStatsResponse;
+import com.management.crm.application.usecase.GetCustomerStatsUseCase;
+import com.management.crm.application.usecase.RebuildCustomerStatsUseCase;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/customers/stats")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Customer Statistics", description = "Customer counts by status, company and signup month")
+public class CustomerStatsController {
+    
+    private final GetCustomerStatsUseCase getCustomerStatsUseCase;
+    private final RebuildCustomerStatsUseCase rebuildCustomerStatsUseCase;
+    
+    @Operation(summary = "Get customer statistics", description = "Reads the incrementally maintained customer counts")
+    @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully",
+        content = @Content(schema = @Schema(implementation = CustomerStatsResponse.class)))
+    @GetMapping
+    public ResponseEntity<CustomerStatsResponse> getStats() {
+        log.debug("REST request to get customer stats");
+        return ResponseEntity.ok(getCustomerStatsUseCase.execute());
+    }
+    
+    @Operation(summary = "Rebuild customer statistics",
+        description = "Recomputes all counts from the customers collection in the background, repairing any drift. "
+            + "Only one instance rebuilds at a time; counts changed while it runs may be dropped")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Rebuild started"),
+        @ApiResponse(responseCode = "409", description = "A rebuild is already running on this instance")
+    })
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuildStats() {
+        log.info("REST request to rebuild customer stats");
+        rebuildCustomerStatsUseCase.execute();
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.management.crm.application.usecase;
+
+import com.management.crm.application.dto.BulkImportResponse;
+import com.management.crm.application.dto.BulkImportRowResult;
+import com.management.crm.application.dto.BulkImportStatus;
+import com.management.crm.application.dto.CustomerRequest;
+import com.management.crm.application.mapper.CustomerMapper;
+import com.management.crm.domain.model.Customer;
+import com.management.crm.domain.service.CustomerDomainService;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Bulk Create Customers Use Case Tests")
+class BulkCreateCustomersUseCaseTest {
+    
+    @Mock
+    private CustomerDomainService customerDomainService;
+    
+    private BulkCreateCustomersUseCase bulkCreateCustomersUseCase;
+    
+    @BeforeEach
+    void setUp() {
+        bulkCreateCustomersUseCase = new BulkCreateCustomersUseCase(
+            customerDomainService,
+            new CustomerMapper(),
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            2);
+    }
+    
+    @Test
+    @DisplayName("Should report created, duplicate and invalid rows in input order")
+    void shouldReportEachRowInInputOrder() {
+        // Given
+        when(customerDomainService.registerAll(anyList())).thenAnswer(invocation -> {
+            List<Customer> chunk = invocation.getArgument(0);
+            chunk.forEach(customer -> customer.setId("id-" + customer.getEmail()));
+            return chunk.stream()
+                .filter(customer -> customer.getEmail().equals("taken@example.com"))
+                .map(chunk::indexOf)
+                .collect(Collectors.toSet());
+        });
+        List<CustomerRequest> requests = List.of(
+            request("a@example.com"),
+            request("not-an-email"),
+            request("a@example.com"),
+            request("taken@example.com"),
+            request("b@example.com"));
+        
+        // When
+        BulkImportResponse result = bulkCreateCustomersUseCase.execute(requests.iterator());
+        
+        // Then
+        assertThat(result.getResults()).extracting(BulkImportRowResult::getStatus).containsExactly(
+            BulkImportStatus.CREATED,
+            BulkImportStatus.VALIDATION_ERROR,
+            BulkImportStatus.DUPLICATE_EMAIL,
+            BulkImportStatus.DUPLICATE_EMAIL,
+            BulkImportStatus.CREATED);
+        assertThat(result.getResults().get(4).getId()).isEqualTo("id-b@example.com");
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getDuplicates()).isEqualTo(2);
+        assertThat(result.getInvalid()).isEqualTo(1);
+        
+        verify(customerDomainService, times(2)).registerAll(anyList());
+    }
+    
+    private CustomerRequest request(String email) {
+        return CustomerRequest.builder().name("Test User").email(email).build();
+    }
+}
@@ -5,7 +5,6 @@ import com.management.crm.application.dto.CustomerResponse;
 import com.management.crm.application.mapper.CustomerMapper;
 import com.management.crm.domain.model.Customer;
 import com.management.crm.domain.model.CustomerStatus;
-import com.management.crm.domain.repository.CustomerRepository;
 import com.management.crm.domain.service.CustomerDomainService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -23,9 +22,6 @@ import static org.mockito.Mockito.*;
 @DisplayName("Create Customer Use Case Tests")
 class CreateCustomerUseCaseTest {
     
-    @Mock
-    private CustomerRepository customerRepository;
-    
     @Mock
     private CustomerDomainService customerDomainService;
     
@@ -72,7 +68,7 @@ class CreateCustomerUseCaseTest {
     void shouldCreateCustomerSuccessfully() {
         // Given
         when(customerMapper.toEntity(request)).thenReturn(customer);
-        when(customerRepository.save(any(Customer.class))).thenReturn(customer);
+        when(customerDomainService.register(any(Customer.class))).thenReturn(customer);
         when(customerMapper.toResponse(customer)).thenReturn(response);
         
         // When
@@ -83,7 +79,6 @@ class CreateCustomerUseCaseTest {
         assertThat(result.getEmail()).isEqualTo(request.getEmail());
         assertThat(result.getName()).isEqualTo(request.getName());
         
-        verify(customerDomainService, times(1)).validateCustomerCreation(customer);
-        verify(customerRepository, times(1)).save(customer);
+        verify(customerDomainService, times(1)).register(customer);
     }
 }
@@ -0,0 +1,140 @@
+package com.management.crm.application.usecase;
+
+import com.management.common.dto.BatchGetResponse;
+import com.management.crm.application.dto.CustomerFields;
+import com.management.crm.application.dto.CustomerPageResponse;
+import com.management.crm.application.dto.CustomerResponse;
+import com.management.crm.application.mapper.CustomerMapper;
+import com.management.crm.application.pagination.CursorCodec;
+import com.management.crm.domain.model.Customer;
+import com.management.crm.domain.repository.CustomerRepository;
+import com.management.crm.infrastructure.cache.CustomerCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Get Customer Use Case Tests")
+class GetCustomerUseCaseTest {
+    
+    @Mock
+    private CustomerRepository customerRepository;
+    
+    @Mock
+    private CustomerMapper customerMapper;
+    
+    @Mock
+    private CustomerCache customerCache;
+    
+    @InjectMocks
+    private GetCustomerUseCase getCustomerUseCase;
+    
+    @Test
+    @DisplayName("Should return next cursor when more customers exist")
+    void shouldReturnNextCursorWhenMoreCustomersExist() {
+        // Given
+        List<Customer> customers = List.of(customer("1"), customer("2"), customer("3"));
+        when(customerRepository.findPageAfter(null, 3, null)).thenReturn(customers);
+        when(customerMapper.toResponse(any(Customer.class)))
+            .thenAnswer(invocation -> CustomerResponse.builder()
+                .id(invocation.<Customer>getArgument(0).getId())
+                .build());
+        
+        // When
+        CustomerPageResponse result = getCustomerUseCase.getPage(null, 2, null);
+        
+        // Then
+        assertThat(result.getItems()).extracting(CustomerResponse::getId).containsExactly("1", "2");
+        assertThat(CursorCodec.decode(result.getNext())).isEqualTo("2");
+    }
+    
+    @Test
+    @DisplayName("Should resume after cursor and omit next cursor on last page")
+    void shouldResumeAfterCursorAndOmitNextOnLastPage() {
+        // Given
+        when(customerRepository.findPageAfter("2", 3, null)).thenReturn(List.of(customer("3")));
+        when(customerMapper.toResponse(any(Customer.class))).thenReturn(CustomerResponse.builder().id("3").build());
+        
+        // When
+        CustomerPageResponse result = getCustomerUseCase.getPage(CursorCodec.encode("2"), 2, null);
+        
+        // Then
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getNext()).isNull();
+    }
+    
+    @Test
+    @DisplayName("Should reject limit above maximum page size")
+    void shouldRejectLimitAboveMaximum() {
+        assertThatThrownBy(() -> getCustomerUseCase.getPage(null, GetCustomerUseCase.MAX_PAGE_SIZE + 1, null))
+            .isInstanceOf(IllegalArgumentException.class);
+        
+        verifyNoInteractions(customerRepository);
+    }
+    
+    @Test
+    @DisplayName("Should read only requested fields when customer is not cached")
+    void shouldReadProjectedCustomerWhenNotCached() {
+        // Given
+        Set<String> fields = CustomerFields.parse("id,name,email,status");
+        Customer projected = customer("1");
+        when(customerCache.getIfPresent("1")).thenReturn(Optional.empty());
+        when(customerRepository.findProjectedById("1", Set.of("id", "name", "email", "status", "version")))
+            .thenReturn(Optional.of(projected));
+        when(customerMapper.toResponse(projected)).thenReturn(CustomerResponse.builder().id("1").build());
+        
+        // When
+        CustomerResponse result = getCustomerUseCase.getById("1", fields);
+        
+        // Then
+        assertThat(result.getId()).isEqualTo("1");
+        verify(customerRepository, never()).findById(any());
+    }
+    
+    @Test
+    @DisplayName("Should fetch uncached customers in one query and return them in request order")
+    void shouldBatchGetUncachedCustomersInRequestOrder() {
+        // Given
+        Customer cached = customer("2");
+        when(customerCache.getIfPresent("2")).thenReturn(Optional.of(cached));
+        when(customerCache.getIfPresent("1")).thenReturn(Optional.empty());
+        when(customerCache.getIfPresent("3")).thenReturn(Optional.empty());
+        when(customerRepository.findProjectedByIds(List.of("3", "1"), null)).thenReturn(List.of(customer("1")));
+        when(customerMapper.toResponse(any(Customer.class)))
+            .thenAnswer(invocation -> CustomerResponse.builder()
+                .id(invocation.<Customer>getArgument(0).getId())
+                .build());
+        
+        // When
+        BatchGetResponse<CustomerResponse> result = getCustomerUseCase.getByIds(List.of("3", "2", "1", "2"), null);
+        
+        // Then
+        assertThat(result.items()).extracting(CustomerResponse::getId).containsExactly("2", "1");
+        assertThat(result.missing()).containsExactly("3");
+        verify(customerRepository, never()).findById(any());
+    }
+    
+    @Test
+    @DisplayName("Should reject unknown projection fields")
+    void shouldRejectUnknownProjectionFields() {
+        assertThatThrownBy(() -> CustomerFields.parse("name,password"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("password");
+    }
+    
+    private Customer customer(String id) {
+        return Customer.builder().id(id).email(id + "@example.com").build();
+    }
+}
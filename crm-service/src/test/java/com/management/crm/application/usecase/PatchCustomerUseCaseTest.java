@@ -0,0 +1,64 @@
+package com.management.crm.application.usecase;
+
+import com.management.crm.application.dto.CustomerPatchRequest;
+import com.management.crm.application.dto.CustomerResponse;
+import com.management.crm.application.mapper.CustomerMapper;
+import com.management.crm.domain.model.Customer;
+import com.management.crm.domain.service.CustomerDomainService;
+import com.management.crm.infrastructure.cache.CustomerCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Patch Customer Use Case Tests")
+class PatchCustomerUseCaseTest {
+    
+    @Mock
+    private CustomerDomainService customerDomainService;
+    
+    @Mock
+    private CustomerCache customerCache;
+    
+    private PatchCustomerUseCase patchCustomerUseCase;
+    
+    @BeforeEach
+    void setUp() {
+        patchCustomerUseCase = new PatchCustomerUseCase(customerDomainService, new CustomerMapper(), customerCache);
+    }
+    
+    @Test
+    @DisplayName("Should set only supplied fields and invalidate cache")
+    void shouldSetOnlySuppliedFields() {
+        // Given
+        CustomerPatchRequest request = CustomerPatchRequest.builder().company("Initech").build();
+        Customer patched = Customer.builder().id("1").company("Initech").version(4L).build();
+        when(customerDomainService.applyChanges("1", Map.of("company", "Initech"), 3L)).thenReturn(patched);
+        
+        // When
+        CustomerResponse result = patchCustomerUseCase.execute("1", request, 3L);
+        
+        // Then
+        assertThat(result.getCompany()).isEqualTo("Initech");
+        assertThat(result.getVersion()).isEqualTo(4L);
+        verify(customerCache).invalidate("1");
+    }
+    
+    @Test
+    @DisplayName("Should reject empty patch")
+    void shouldRejectEmptyPatch() {
+        assertThatThrownBy(() -> patchCustomerUseCase.execute("1", new CustomerPatchRequest(), null))
+            .isInstanceOf(IllegalArgumentException.class);
+        
+        verifyNoInteractions(customerDomainService, customerCache);
+    }
+}
@@ -0,0 +1,128 @@
+package com.management.crm.application.usecase;
+
+import com.management.crm.application.dto.CustomerStatusTransitionRequest;
+import com.management.crm.application.dto.CustomerStatusTransitionResponse;
+import com.management.crm.domain.model.BulkUpdateResult;
+import com.management.crm.domain.model.CustomerStatsDelta;
+import com.management.crm.domain.model.CustomerStatsDimension;
+import com.management.crm.domain.model.CustomerStatus;
+import com.management.crm.domain.repository.CustomerRepository;
+import com.management.crm.domain.service.CustomerStatsService;
+import com.management.crm.infrastructure.cache.CustomerCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Transition Customer Status Use Case Tests")
+class TransitionCustomerStatusUseCaseTest {
+    
+    @Mock
+    private CustomerRepository customerRepository;
+    
+    @Mock
+    private CustomerCache customerCache;
+    
+    @Mock
+    private CustomerStatsService customerStatsService;
+    
+    @InjectMocks
+    private TransitionCustomerStatusUseCase transitionCustomerStatusUseCase;
+    
+    @Test
+    @DisplayName("Should transition listed customers and invalidate only them")
+    void shouldTransitionListedCustomers() {
+        // Given
+        CustomerStatusTransitionRequest request = CustomerStatusTransitionRequest.builder()
+            .ids(List.of("1", "2"))
+            .targetStatus(CustomerStatus.SUSPENDED)
+            .build();
+        when(customerRepository.transitionStatus(eq(List.of("1", "2")), isNull(), any(), eq(CustomerStatus.SUSPENDED)))
+            .thenReturn(new BulkUpdateResult(0, 0));
+        when(customerRepository.transitionStatus(List.of("1", "2"), null, CustomerStatus.ACTIVE, CustomerStatus.SUSPENDED))
+            .thenReturn(new BulkUpdateResult(2, 2));
+        
+        // When
+        CustomerStatusTransitionResponse result = transitionCustomerStatusUseCase.execute(request);
+        
+        // Then
+        assertThat(result.getModified()).isEqualTo(2);
+        verify(customerRepository, never()).transitionStatus(any(), any(), eq(CustomerStatus.SUSPENDED), any());
+        verify(customerStatsService).record(argThat(delta -> delta.counts().equals(Map.of(
+            new CustomerStatsDelta.Bucket(CustomerStatsDimension.STATUS, "ACTIVE"), -2L,
+            new CustomerStatsDelta.Bucket(CustomerStatsDimension.STATUS, "SUSPENDED"), 2L))));
+        verify(customerCache).invalidateAll(List.of("1", "2"));
+        verify(customerCache, never()).invalidateAll();
+    }
+    
+    @Test
+    @DisplayName("Should clear cache after filter-based transition")
+    void shouldClearCacheAfterFilterTransition() {
+        // Given
+        CustomerStatusTransitionRequest request = CustomerStatusTransitionRequest.builder()
+            .company("Acme Corp")
+            .currentStatus(CustomerStatus.ACTIVE)
+            .targetStatus(CustomerStatus.INACTIVE)
+            .build();
+        when(customerRepository.transitionStatus(null, "Acme Corp", CustomerStatus.ACTIVE, CustomerStatus.INACTIVE))
+            .thenReturn(new BulkUpdateResult(500, 500));
+        
+        // When
+        CustomerStatusTransitionResponse result = transitionCustomerStatusUseCase.execute(request);
+        
+        // Then
+        assertThat(result.getMatched()).isEqualTo(500);
+        verify(customerCache).invalidateAll();
+    }
+    
+    @Test
+    @DisplayName("Should count the customers leaving each status when no current status is given")
+    void shouldRecordDeltasPerSourceStatus() {
+        // Given
+        CustomerStatusTransitionRequest request = CustomerStatusTransitionRequest.builder()
+            .company("Acme Corp")
+            .targetStatus(CustomerStatus.INACTIVE)
+            .build();
+        when(customerRepository.transitionStatus(null, "Acme Corp", CustomerStatus.ACTIVE, CustomerStatus.INACTIVE))
+            .thenReturn(new BulkUpdateResult(3, 3));
+        when(customerRepository.transitionStatus(null, "Acme Corp", CustomerStatus.PENDING, CustomerStatus.INACTIVE))
+            .thenReturn(new BulkUpdateResult(1, 1));
+        when(customerRepository.transitionStatus(null, "Acme Corp", CustomerStatus.SUSPENDED, CustomerStatus.INACTIVE))
+            .thenReturn(new BulkUpdateResult(0, 0));
+        
+        // When
+        CustomerStatusTransitionResponse result = transitionCustomerStatusUseCase.execute(request);
+        
+        // Then
+        assertThat(result.getModified()).isEqualTo(4);
+        verify(customerStatsService).record(argThat(delta -> delta.counts().equals(Map.of(
+            new CustomerStatsDelta.Bucket(CustomerStatsDimension.STATUS, "ACTIVE"), -3L,
+            new CustomerStatsDelta.Bucket(CustomerStatsDimension.STATUS, "PENDING"), -1L,
+            new CustomerStatsDelta.Bucket(CustomerStatsDimension.STATUS, "INACTIVE"), 4L))));
+    }
+    
+    @Test
+    @DisplayName("Should reject request without a selection")
+    void shouldRejectRequestWithoutSelection() {
+        CustomerStatusTransitionRequest request = CustomerStatusTransitionRequest.builder()
+            .targetStatus(CustomerStatus.ACTIVE)
+            .build();
+        
+        assertThatThrownBy(() -> transitionCustomerStatusUseCase.execute(request))
+            .isInstanceOf(IllegalArgumentException.class);
+        verify(customerRepository, never()).transitionStatus(any(), any(), any(), any());
+    }
+}
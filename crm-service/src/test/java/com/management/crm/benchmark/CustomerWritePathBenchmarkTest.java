@@ -0,0 +1,92 @@
+package com.management.crm.benchmark;
+
+import com.management.crm.domain.model.Customer;
+import com.management.crm.domain.model.CustomerStatus;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Compares the previous create path (existence query, then insert) with a single insert guarded by the
+ * unique email index. Runs against a real MongoDB, only with {@code -Dbenchmark=true}, and is skipped when
+ * Docker is unavailable.
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Customer Write Path Benchmark")
+class CustomerWritePathBenchmarkTest {
+    
+    private static final int WARMUP = 500;
+    private static final int ITERATIONS = 5_000;
+    
+    @Container
+    private static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7.0");
+    
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+    
+    @BeforeAll
+    static void setUp() {
+        client = MongoClients.create(MONGO.getReplicaSetUrl());
+        mongoTemplate = new MongoTemplate(client, "crm_benchmark");
+        mongoTemplate.indexOps(Customer.class).ensureIndex(new Index("email", Sort.Direction.ASC).unique());
+    }
+    
+    @AfterAll
+    static void tearDown() {
+        client.close();
+    }
+    
+    @Test
+    @DisplayName("Single insert should be faster than check-then-insert")
+    void singleInsertShouldBeFasterThanCheckThenInsert() {
+        Consumer<Customer> checkThenInsert = customer -> {
+            if (!mongoTemplate.exists(query(where("email").is(customer.getEmail())), Customer.class)) {
+                mongoTemplate.insert(customer);
+            }
+        };
+        Consumer<Customer> singleInsert = mongoTemplate::insert;
+        
+        measure("warmup-a", WARMUP, checkThenInsert);
+        measure("warmup-b", WARMUP, singleInsert);
+        double checkThenInsertMicros = measure("check", ITERATIONS, checkThenInsert);
+        double singleInsertMicros = measure("single", ITERATIONS, singleInsert);
+        
+        assertThat(singleInsertMicros)
+            .as("single insert %.1f us/op vs check-then-insert %.1f us/op", singleInsertMicros, checkThenInsertMicros)
+            .isLessThan(checkThenInsertMicros);
+    }
+    
+    private double measure(String prefix, int iterations, Consumer<Customer> write) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            write.accept(Customer.builder()
+                .name("Benchmark " + i)
+                .email(prefix + i + "@example.com")
+                .status(CustomerStatus.ACTIVE)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+        }
+        return (System.nanoTime() - start) / 1_000.0 / iterations;
+    }
+}
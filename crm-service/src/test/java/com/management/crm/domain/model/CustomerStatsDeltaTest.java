@@ -0,0 +1,57 @@
+package com.management.crm.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Customer Stats Delta Tests")
+class CustomerStatsDeltaTest {
+    
+    private final Customer customer = Customer.builder()
+        .status(CustomerStatus.ACTIVE)
+        .company("Acme Corp")
+        .createdAt(LocalDateTime.of(2024, 3, 15, 10, 0))
+        .build();
+    
+    @Test
+    @DisplayName("Should count a new customer in every dimension")
+    void shouldCountAddedCustomer() {
+        // When
+        CustomerStatsDelta delta = new CustomerStatsDelta().added(customer);
+        
+        // Then
+        assertThat(delta.counts()).isEqualTo(Map.of(
+            new CustomerStatsDelta.Bucket(CustomerStatsDimension.TOTAL, CustomerStatsBucket.TOTAL_KEY), 1L,
+            new CustomerStatsDelta.Bucket(CustomerStatsDimension.STATUS, "ACTIVE"), 1L,
+            new CustomerStatsDelta.Bucket(CustomerStatsDimension.COMPANY, "Acme Corp"), 1L,
+            new CustomerStatsDelta.Bucket(CustomerStatsDimension.SIGNUP_MONTH, "2024-03"), 1L));
+    }
+    
+    @Test
+    @DisplayName("Should cancel out opposite changes")
+    void shouldCancelOutOppositeChanges() {
+        // When
+        CustomerStatsDelta delta = new CustomerStatsDelta()
+            .added(customer)
+            .removed(customer)
+            .companyChanged("Acme Corp", "Initech")
+            .companyChanged("Initech", "Acme Corp");
+        
+        // Then
+        assertThat(delta.isEmpty()).isTrue();
+    }
+    
+    @Test
+    @DisplayName("Should skip customers without company")
+    void shouldSkipMissingCompany() {
+        // When
+        CustomerStatsDelta delta = new CustomerStatsDelta().companyChanged(null, "Initech");
+        
+        // Then
+        assertThat(delta.counts()).containsOnlyKeys(new CustomerStatsDelta.Bucket(CustomerStatsDimension.COMPANY, "Initech"));
+    }
+}
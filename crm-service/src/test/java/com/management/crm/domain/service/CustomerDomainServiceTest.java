@@ -1,7 +1,13 @@
 package com.management.crm.domain.service;
 
+import com.management.common.exception.ConflictException;
+import com.management.common.exception.PreconditionFailedException;
+import com.management.common.exception.ResourceNotFoundException;
 import com.management.crm.domain.model.Customer;
+import com.management.crm.domain.model.CustomerStatsDelta;
+import com.management.crm.domain.model.CustomerStatsDimension;
 import com.management.crm.domain.model.CustomerStatus;
+import com.management.crm.domain.repository.CustomerIndex;
 import com.management.crm.domain.repository.CustomerRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,12 +16,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Customer Domain Service Tests")
@@ -24,6 +33,12 @@ class CustomerDomainServiceTest {
     @Mock
     private CustomerRepository customerRepository;
     
+    @Mock
+    private CustomerIndex customerIndex;
+    
+    @Mock
+    private CustomerStatsService customerStatsService;
+    
     @InjectMocks
     private CustomerDomainService customerDomainService;
     
@@ -66,35 +81,102 @@ class CustomerDomainServiceTest {
     }
     
     @Test
-    @DisplayName("Should validate customer creation successfully")
-    void shouldValidateCustomerCreationSuccessfully() {
+    @DisplayName("Should register customer with a single insert")
+    void shouldRegisterCustomerWithSingleInsert() {
         // Given
-        when(customerRepository.existsByEmail(customer.getEmail())).thenReturn(false);
+        when(customerRepository.insert(customer)).thenReturn(customer);
         
-        // When & Then
-        customerDomainService.validateCustomerCreation(customer);
+        // When
+        Customer result = customerDomainService.register(customer);
+        
+        // Then
+        assertThat(result).isSameAs(customer);
+        verify(customerRepository).insert(customer);
+        verifyNoMoreInteractions(customerRepository);
+        verify(customerIndex).index(customer);
     }
     
     @Test
     @DisplayName("Should throw exception when creating customer with existing email")
     void shouldThrowExceptionWhenCreatingCustomerWithExistingEmail() {
         // Given
-        when(customerRepository.existsByEmail(customer.getEmail())).thenReturn(true);
+        when(customerRepository.insert(customer)).thenThrow(new DuplicateKeyException("E11000"));
+        
+        // When & Then
+        assertThatThrownBy(() -> customerDomainService.register(customer))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Email already exists");
+    }
+    
+    @Test
+    @DisplayName("Should throw exception when updating customer to another customer's email")
+    void shouldThrowExceptionWhenUpdatingCustomerWithExistingEmail() {
+        // Given
+        when(customerRepository.save(customer)).thenThrow(new DuplicateKeyException("E11000"));
         
         // When & Then
-        assertThatThrownBy(() -> customerDomainService.validateCustomerCreation(customer))
+        assertThatThrownBy(() -> customerDomainService.saveChanges(customer))
             .isInstanceOf(IllegalArgumentException.class)
             .hasMessageContaining("Email already exists");
     }
     
     @Test
-    @DisplayName("Should validate customer update successfully")
-    void shouldValidateCustomerUpdateSuccessfully() {
+    @DisplayName("Should fail precondition when patching a customer changed since the expected version")
+    void shouldFailPreconditionWhenVersionChanged() {
+        // Given
+        Map<String, Object> changes = Map.of("name", "New Name");
+        when(customerRepository.patch("1", changes, 3L)).thenReturn(Optional.empty());
+        when(customerRepository.existsById("1")).thenReturn(true);
+        
+        // When & Then
+        assertThatThrownBy(() -> customerDomainService.applyChanges("1", changes, 3L))
+            .isInstanceOf(PreconditionFailedException.class);
+    }
+    
+    @Test
+    @DisplayName("Should report missing customer when patch matches nothing")
+    void shouldReportMissingCustomerWhenPatchMatchesNothing() {
+        // Given
+        Map<String, Object> changes = Map.of("name", "New Name");
+        when(customerRepository.patch("1", changes, null)).thenReturn(Optional.empty());
+        
+        // When & Then
+        assertThatThrownBy(() -> customerDomainService.applyChanges("1", changes, null))
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+    
+    @Test
+    @DisplayName("Should move customer between companies in stats when company is patched")
+    void shouldMoveCompanyStatsWhenCompanyPatched() {
+        // Given
+        Map<String, Object> changes = Map.of("company", "Initech");
+        when(customerRepository.findProjectedById("1", Set.of("company", "version")))
+            .thenReturn(Optional.of(Customer.builder().id("1").company("Acme Corp").version(2L).build()));
+        when(customerRepository.patch("1", changes, 2L))
+            .thenReturn(Optional.of(Customer.builder().id("1").company("Initech").version(3L).build()));
+        
+        // When
+        customerDomainService.applyChanges("1", changes, null);
+        
+        // Then
+        verify(customerStatsService).record(argThat(delta -> delta.counts().equals(Map.of(
+            new CustomerStatsDelta.Bucket(CustomerStatsDimension.COMPANY, "Acme Corp"), -1L,
+            new CustomerStatsDelta.Bucket(CustomerStatsDimension.COMPANY, "Initech"), 1L))));
+    }
+    
+    @Test
+    @DisplayName("Should report conflict when company changes concurrently")
+    void shouldReportConflictWhenCompanyChangesConcurrently() {
         // Given
-        when(customerRepository.findByEmail(customer.getEmail()))
-            .thenReturn(Optional.of(customer));
+        Map<String, Object> changes = Map.of("company", "Initech");
+        when(customerRepository.findProjectedById("1", Set.of("company", "version")))
+            .thenReturn(Optional.of(Customer.builder().id("1").company("Acme Corp").version(2L).build()));
+        when(customerRepository.patch("1", changes, 2L)).thenReturn(Optional.empty());
+        when(customerRepository.existsById("1")).thenReturn(true);
         
         // When & Then
-        customerDomainService.validateCustomerUpdate(customer);
+        assertThatThrownBy(() -> customerDomainService.applyChanges("1", changes, null))
+            .isInstanceOf(ConflictException.class);
+        verifyNoInteractions(customerStatsService);
     }
 }
@@ -0,0 +1,106 @@
+package com.management.crm.infrastructure.cache;
+
+import com.management.crm.domain.model.Customer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Customer Cache Tests")
+class CustomerCacheTest {
+    
+    @Mock
+    private CustomerCacheInvalidationBroadcaster broadcaster;
+    
+    private SimpleMeterRegistry meterRegistry;
+    private CustomerCache customerCache;
+    private AtomicInteger loads;
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        customerCache = new CustomerCache(meterRegistry, broadcaster, 100, Duration.ofMinutes(1));
+        loads = new AtomicInteger();
+    }
+    
+    @Test
+    @DisplayName("Should load customer once and serve repeated reads from cache")
+    void shouldServeRepeatedReadsFromCache() {
+        // When
+        customerCache.get("1", this::load);
+        Optional<Customer> result = customerCache.get("1", this::load);
+        
+        // Then
+        assertThat(result).map(Customer::getId).contains("1");
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "customers").tag("result", "hit")
+            .functionCounter().count()).isEqualTo(1);
+    }
+    
+    @Test
+    @DisplayName("Should reload customer after invalidation and broadcast to peers")
+    void shouldReloadAfterInvalidation() {
+        // Given
+        customerCache.get("1", this::load);
+        
+        // When
+        customerCache.invalidate("1");
+        customerCache.get("1", this::load);
+        
+        // Then
+        assertThat(loads).hasValue(2);
+        verify(broadcaster).broadcast("1");
+    }
+    
+    @Test
+    @DisplayName("Should broadcast a large batch invalidation as one clear")
+    void shouldBroadcastLargeBatchAsClear() {
+        // Given
+        List<String> ids = IntStream.range(0, CustomerCache.MAX_PEER_INVALIDATIONS + 1).mapToObj(String::valueOf).toList();
+        customerCache.get("1", this::load);
+        
+        // When
+        customerCache.invalidateAll(ids);
+        customerCache.get("1", this::load);
+        
+        // Then
+        assertThat(loads).hasValue(2);
+        verify(broadcaster).broadcastClear();
+        verify(broadcaster, never()).broadcast(anyString());
+    }
+    
+    @Test
+    @DisplayName("Should not cache missing customers")
+    void shouldNotCacheMissingCustomers() {
+        // When
+        Optional<Customer> first = customerCache.get("missing", id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        customerCache.get("missing", this::load);
+        
+        // Then
+        assertThat(first).isEmpty();
+        assertThat(loads).hasValue(2);
+    }
+    
+    private Optional<Customer> load(String id) {
+        loads.incrementAndGet();
+        return Optional.of(Customer.builder().id(id).build());
+    }
+}
@@ -0,0 +1,155 @@
+package com.management.crm.infrastructure.dedup;
+
+import com.management.crm.domain.model.Address;
+import com.management.crm.domain.model.Customer;
+import com.management.crm.domain.model.DuplicateCluster;
+import com.management.crm.domain.repository.CustomerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Customer Dedup Engine Tests")
+class CustomerDedupEngineTest {
+    
+    @Mock
+    private CustomerRepository customerRepository;
+    
+    @Mock
+    private DedupReportStore reportStore;
+    
+    private CustomerDedupEngine engine;
+    
+    @BeforeEach
+    void setUp() {
+        engine = new CustomerDedupEngine(customerRepository, reportStore, 2, 3, 0.75);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+    
+    @Test
+    @DisplayName("Should normalize email casing, tags and Gmail dots")
+    void shouldNormalizeEmail() {
+        assertThat(CustomerFingerprint.normalizeEmail(" John.Doe+news@GMail.com"))
+            .isEqualTo(CustomerFingerprint.normalizeEmail("johndoe@gmail.com"));
+        assertThat(CustomerFingerprint.normalizeEmail("John.Doe@example.com")).isEqualTo("john.doe@example.com");
+    }
+    
+    @Test
+    @DisplayName("Should normalize phone formatting and country prefix")
+    void shouldNormalizePhone() {
+        assertThat(CustomerFingerprint.normalizePhone("+1 (555) 123-4567")).isEqualTo("5551234567");
+        assertThat(CustomerFingerprint.normalizePhone("555.123.4567")).isEqualTo("5551234567");
+        assertThat(CustomerFingerprint.normalizePhone("12-34")).isNull();
+    }
+    
+    @Test
+    @DisplayName("Should normalize name word order and accents")
+    void shouldNormalizeName() {
+        assertThat(CustomerFingerprint.normalizeName("Müller, José")).isEqualTo("jose muller");
+    }
+    
+    @Test
+    @DisplayName("Should cluster customers sharing contact details and a similar name")
+    void shouldClusterNearDuplicates() {
+        // Given
+        Address address = Address.builder().street("12 Main Street").zipCode("10001").build();
+        when(customerRepository.streamAll(any())).thenReturn(Stream.of(
+            customer("1", "John Smith", "John.Smith@Example.com", "555-123-4567", null),
+            customer("2", "Smith, John", "john.smith@example.com ", null, null),
+            customer("3", "Jon Smith", "jsmith@other.com", "+1 555 123 4567", null),
+            customer("4", "Jane Smith", "jane@example.com", null, address),
+            customer("5", "Robert Brown", "rob@example.com", null,
+                Address.builder().street("12 Main St.").zipCode("10001").build()),
+            customer("6", "Alice Jones", "alice@example.com", null, null)));
+        
+        // When
+        DedupReport report = engine.scan();
+        
+        // Then
+        assertThat(report.customersScanned()).isEqualTo(6);
+        assertThat(report.clusters()).extracting(DuplicateCluster::customerIds)
+            .containsExactly(List.of("1", "2", "3"));
+    }
+    
+    @Test
+    @DisplayName("Should skip blocks larger than the limit")
+    void shouldSkipOversizedBlocks() {
+        // Given
+        when(customerRepository.streamAll(any())).thenReturn(IntStream.range(0, 4)
+            .mapToObj(i -> customer(String.valueOf(i), "Call Centre", "agent" + i + "@example.com", "555-000-0000", null)));
+        
+        // When
+        DedupReport report = engine.scan();
+        
+        // Then
+        assertThat(report.comparisons()).isZero();
+        assertThat(report.clusters()).isEmpty();
+    }
+    
+    @Test
+    @DisplayName("Should compare namesakes at one company even without shared contact details")
+    void shouldBlockOnNameAndCompany() {
+        // Given
+        when(customerRepository.streamAll(any())).thenReturn(Stream.of(
+            employee("1", "John Smith", "john@acme.com", "555-123-4567", "Acme Corp"),
+            employee("2", "Smith, John", "jsmith@home.net", "555-765-4321", "ACME corp."),
+            employee("3", "John Smith", "john@other.com", null, "Other Inc"),
+            employee("4", "Jane Smith", "jane@acme.com", null, "Acme Corp")));
+        
+        // When
+        DedupReport report = engine.scan();
+        
+        // Then
+        assertThat(report.clusters()).extracting(DuplicateCluster::customerIds)
+            .containsExactly(List.of("1", "2"));
+    }
+    
+    @Test
+    @DisplayName("Should drop merged customers from the shared report")
+    void shouldForgetMergedCustomers() {
+        // When
+        engine.forget(Set.of("2", "5"));
+        
+        // Then
+        verify(reportStore).forget(Set.of("2", "5"));
+    }
+    
+    @Test
+    @DisplayName("Should keep a completed merge when the report cannot be updated")
+    void shouldTolerateReportFailureOnForget() {
+        // Given
+        doThrow(new DataAccessResourceFailureException("down")).when(reportStore).forget(any());
+        
+        // When & Then
+        assertThatCode(() -> engine.forget(Set.of("2"))).doesNotThrowAnyException();
+    }
+    
+    private Customer customer(String id, String name, String email, String phone, Address address) {
+        return Customer.builder().id(id).name(name).email(email).phone(phone).address(address).build();
+    }
+    
+    private Customer employee(String id, String name, String email, String phone, String company) {
+        return Customer.builder().id(id).name(name).email(email).phone(phone).company(company).build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.management.crm.infrastructure.index;
+
+import com.management.crm.domain.model.Customer;
+import com.management.crm.domain.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Customer Search Index Tests")
+class CustomerSearchIndexTest {
+    
+    @Mock
+    private CustomerRepository customerRepository;
+    
+    private CustomerSearchIndex index;
+    
+    @BeforeEach
+    void setUp() {
+        when(customerRepository.streamAll(any())).thenReturn(Stream.of(
+            customer("1", "John Doe", "john.doe@example.com", "Acme Corp"),
+            customer("2", "Jane Roe", "jane@globex.com", "Globex"),
+            customer("3", "Johnny Appleseed", "johnny@orchard.org", "Acme Orchards")));
+        index = new CustomerSearchIndex(customerRepository);
+        index.load();
+    }
+    
+    @Test
+    @DisplayName("Should match word prefixes across name, company and email")
+    void shouldMatchWordPrefixes() {
+        assertThat(index.search("joh", 10)).extracting(CustomerSearchIndex.Entry::id).containsExactlyInAnyOrder("1", "3");
+        assertThat(index.search("glob", 10)).extracting(CustomerSearchIndex.Entry::id).containsExactly("2");
+        assertThat(index.search("john.doe@ex", 10)).extracting(CustomerSearchIndex.Entry::id).containsExactly("1");
+    }
+    
+    @Test
+    @DisplayName("Should require every term to match")
+    void shouldRequireEveryTermToMatch() {
+        assertThat(index.search("John orch", 10)).extracting(CustomerSearchIndex.Entry::id).containsExactly("3");
+    }
+    
+    @Test
+    @DisplayName("Should reflect updates and deletions")
+    void shouldReflectUpdatesAndDeletions() {
+        // When
+        index.index(customer("2", "Jane Smith", "jane@initech.com", "Initech"));
+        index.remove("1");
+        
+        // Then
+        assertThat(index.search("glob", 10)).isEmpty();
+        assertThat(index.search("initech", 10)).extracting(CustomerSearchIndex.Entry::id).containsExactly("2");
+        assertThat(index.search("doe", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+    
+    @Test
+    @DisplayName("Should keep only the latest entry's postings under concurrent updates of one customer")
+    void shouldKeepLatestPostingsUnderConcurrentUpdates() throws InterruptedException {
+        // Given
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        
+        // When
+        for (int i = 0; i < 2_000; i++) {
+            String company = "Company" + (i % 50);
+            pool.execute(() -> index.index(customer("2", "Jane Roe", "jane@globex.com", company)));
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        index.index(customer("2", "Jane Roe", "jane@globex.com", "Final"));
+        
+        // Then
+        assertThat(index.search("company", 10)).isEmpty();
+        assertThat(index.search("final", 10)).extracting(CustomerSearchIndex.Entry::id).containsExactly("2");
+    }
+    
+    private Customer customer(String id, String name, String email, String company) {
+        return Customer.builder().id(id).name(name).email(email).company(company).build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.management.crm.infrastructure.persistence;
+
+import com.management.common.lock.MongoLock;
+import com.management.crm.domain.model.Customer;
+import com.mongodb.client.result.UpdateResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Customer Version Backfill Tests")
+class CustomerVersionBackfillTest {
+    
+    @Mock
+    private MongoTemplate mongoTemplate;
+    
+    @Mock
+    private MongoLock mongoLock;
+    
+    private CustomerVersionBackfill backfill;
+    
+    @BeforeEach
+    void setUp() {
+        backfill = new CustomerVersionBackfill(mongoTemplate, mongoLock);
+    }
+    
+    @Test
+    @DisplayName("Should not scan customers once the migration has completed")
+    void shouldSkipCompletedMigration() {
+        // Given
+        when(mongoTemplate.exists(any(Query.class), eq(CustomerVersionBackfill.MIGRATIONS))).thenReturn(true);
+        
+        // When
+        backfill.backfill();
+        
+        // Then
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), eq(Customer.class));
+        verifyNoInteractions(mongoLock);
+    }
+    
+    @Test
+    @DisplayName("Should leave the migration to the instance already running it")
+    void shouldSkipMigrationClaimedElsewhere() {
+        // Given
+        when(mongoTemplate.exists(any(Query.class), eq(CustomerVersionBackfill.MIGRATIONS))).thenReturn(false);
+        when(mongoLock.tryAcquire(eq(CustomerVersionBackfill.MIGRATION_ID), any())).thenReturn(false);
+        
+        // When
+        backfill.backfill();
+        
+        // Then
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), eq(Customer.class));
+        verify(mongoLock, never()).release(any());
+    }
+    
+    @Test
+    @DisplayName("Should initialize versions once and record the migration as done")
+    void shouldMarkMigrationComplete() {
+        // Given
+        when(mongoTemplate.exists(any(Query.class), eq(CustomerVersionBackfill.MIGRATIONS))).thenReturn(false);
+        when(mongoLock.tryAcquire(eq(CustomerVersionBackfill.MIGRATION_ID), any())).thenReturn(true);
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Customer.class)))
+            .thenReturn(UpdateResult.acknowledged(3, 3L, null));
+        
+        // When
+        backfill.backfill();
+        
+        // Then
+        verify(mongoTemplate).upsert(any(Query.class), any(Update.class), eq(CustomerVersionBackfill.MIGRATIONS));
+        verify(mongoLock).release(CustomerVersionBackfill.MIGRATION_ID);
+    }
+}
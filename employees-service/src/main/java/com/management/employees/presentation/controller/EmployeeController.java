@@ -2,7 +2,10 @@ package com.management.employees.presentation.controller;
 
 import com.management.employees.domain.model.Employee;
 import com.management.employees.domain.repository.EmployeeRepository;
+import com.management.common.dto.BatchGetRequest;
+import com.management.common.dto.BatchGetResponse;
 import com.management.common.exception.ResourceNotFoundException;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -34,6 +37,12 @@ public class EmployeeController {
         return ResponseEntity.ok(entity);
     }
     
+    @PostMapping("/batch-get")
+    public ResponseEntity<BatchGetResponse<Employee>> batchGet(@Valid @RequestBody BatchGetRequest request) {
+        log.info("Fetching {} employeess by id", request.ids().size());
+        return ResponseEntity.ok(BatchGetResponse.fetch(request.ids(), repository::findAllById, Employee::getId));
+    }
+    
     @PostMapping
     public ResponseEntity<Employee> create(@RequestBody Employee entity) {
         log.info("Creating new employees");
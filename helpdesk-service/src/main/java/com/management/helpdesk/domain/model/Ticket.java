@@ -1,5 +1,6 @@
 package com.management.helpdesk.domain.model;
 
+import com.management.common.id.SnowflakeId;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -10,6 +11,7 @@ import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDateTime;
 
 @Document(collection = "helpdesks")
+@SnowflakeId
 @Data
 @Builder
 @NoArgsConstructor
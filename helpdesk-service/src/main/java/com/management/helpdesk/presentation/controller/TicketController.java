@@ -2,7 +2,10 @@ package com.management.helpdesk.presentation.controller;
 
 import com.management.helpdesk.domain.model.Ticket;
 import com.management.helpdesk.domain.repository.TicketRepository;
+import com.management.common.dto.BatchGetRequest;
+import com.management.common.dto.BatchGetResponse;
 import com.management.common.exception.ResourceNotFoundException;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -34,6 +37,12 @@ public class TicketController {
         return ResponseEntity.ok(entity);
     }
     
+    @PostMapping("/batch-get")
+    public ResponseEntity<BatchGetResponse<Ticket>> batchGet(@Valid @RequestBody BatchGetRequest request) {
+        log.info("Fetching {} helpdesks by id", request.ids().size());
+        return ResponseEntity.ok(BatchGetResponse.fetch(request.ids(), repository::findAllById, Ticket::getId));
+    }
+    
     @PostMapping
     public ResponseEntity<Ticket> create(@RequestBody Ticket entity) {
         log.info("Creating new helpdesk");
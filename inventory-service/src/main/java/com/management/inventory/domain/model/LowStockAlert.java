@@ -0,0 +1,34 @@
+package com.management.inventory.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * A product whose stock is below its reorder point, keyed by product id. Removed once it is restocked.
+ */
+@Document(collection = "low_stock_alerts")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LowStockAlert {
+    
+    @Id
+    private String productId;
+    
+    private String sku;
+    
+    private String name;
+    
+    private long stock;
+    
+    private long reorderPoint;
+    
+    private LocalDateTime raisedAt;
+}
@@ -0,0 +1,31 @@
+package com.management.inventory.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * A {@code low-stock} or {@code restocked} event as it is relayed between instances, kept in a capped
+ * collection that every instance tails.
+ */
+@Document(collection = "low_stock_events")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LowStockEvent {
+    
+    @Id
+    private String id;
+    
+    private String event;
+    
+    private LowStockAlert alert;
+    
+    private LocalDateTime createdAt;
+}
@@ -1,28 +1,45 @@
 package com.management.inventory.domain.model;
 
+import com.management.common.sync.ChangeFeed;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Document(collection = "inventorys")
+@CompoundIndex(name = "updatedAt_id", def = "{'updatedAt': 1, '_id': 1}")
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class Product {
+public class Product implements ChangeFeed.Entity {
     
     @Id
     private String id;
     
+    @Indexed(unique = true, sparse = true)
+    private String sku;
+    
     private String name;
     
     private String description;
     
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal price;
+    
+    private Long stock;
+    
+    private Long reorderPoint;
+    
     private LocalDateTime createdAt;
     
     private LocalDateTime updatedAt;
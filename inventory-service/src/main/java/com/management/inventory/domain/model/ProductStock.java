@@ -0,0 +1,9 @@
+package com.management.inventory.domain.model;
+
+import java.util.List;
+
+/**
+ * A product's total stock and how it is spread over warehouses.
+ */
+public record ProductStock(String productId, long total, List<WarehouseStock> warehouses) {
+}
@@ -0,0 +1,7 @@
+package com.management.inventory.domain.model;
+
+/**
+ * A granted reservation and the stock of the product left across all warehouses right after it.
+ */
+public record StockReservation(String productId, String warehouseId, long quantity, long remaining) {
+}
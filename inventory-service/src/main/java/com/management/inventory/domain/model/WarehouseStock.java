@@ -0,0 +1,42 @@
+package com.management.inventory.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Units of one product held in one warehouse. The product's {@code stock} is the sum over its warehouses.
+ */
+@Document(collection = "warehouse_stock")
+@CompoundIndex(name = "warehouse_product", def = "{'warehouseId': 1, 'productId': 1}", unique = true)
+@CompoundIndex(name = "product_warehouse", def = "{'productId': 1, 'warehouseId': 1}")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WarehouseStock {
+    
+    /**
+     * Where stock goes when no warehouse is named, including stock recorded before warehouses existed.
+     */
+    public static final String DEFAULT_WAREHOUSE = "default";
+    
+    @Id
+    private String id;
+    
+    private String productId;
+    
+    private String warehouseId;
+    
+    private long quantity;
+    
+    @Indexed
+    private LocalDateTime updatedAt;
+}
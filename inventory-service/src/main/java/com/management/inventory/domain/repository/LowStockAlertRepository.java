@@ -0,0 +1,12 @@
+package com.management.inventory.domain.repository;
+
+import com.management.inventory.domain.model.LowStockAlert;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LowStockAlertRepository extends MongoRepository<LowStockAlert, String> {
+    List<LowStockAlert> findAllByOrderByRaisedAtDesc();
+}
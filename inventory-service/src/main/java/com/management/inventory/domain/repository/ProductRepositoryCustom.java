@@ -0,0 +1,24 @@
+package com.management.inventory.domain.repository;
+
+import com.management.inventory.domain.model.Product;
+
+import java.util.Optional;
+
+public interface ProductRepositoryCustom {
+    
+    /**
+     * Atomically adds {@code delta} to the stock of a product, failing instead of letting it drop below zero.
+     * The stock is the total over all warehouses, so the matching warehouse quantity has to change with it.
+     *
+     * @return the product after the change, or empty if it does not exist or has too little stock
+     */
+    Optional<Product> incrementStock(String id, long delta);
+    
+    /**
+     * Overwrites the descriptive fields of a product and its reorder point, leaving its id, {@code createdAt}
+     * and stock alone. Stock only changes through {@link #incrementStock}.
+     *
+     * @return the product after the change, or empty if it does not exist
+     */
+    Optional<Product> updateDetails(String id, Product details);
+}
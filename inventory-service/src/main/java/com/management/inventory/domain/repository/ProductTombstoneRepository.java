@@ -0,0 +1,9 @@
+package com.management.inventory.domain.repository;
+
+import com.management.inventory.domain.model.ProductTombstone;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProductTombstoneRepository extends MongoRepository<ProductTombstone, String> {
+}
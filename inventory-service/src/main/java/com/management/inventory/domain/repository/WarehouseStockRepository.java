@@ -0,0 +1,14 @@
+package com.management.inventory.domain.repository;
+
+import com.management.inventory.domain.model.WarehouseStock;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface WarehouseStockRepository extends MongoRepository<WarehouseStock, String>, WarehouseStockRepositoryCustom {
+    List<WarehouseStock> findByProductIdOrderByWarehouseId(String productId);
+    
+    void deleteByProductId(String productId);
+}
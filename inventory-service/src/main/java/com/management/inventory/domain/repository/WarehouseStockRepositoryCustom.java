@@ -0,0 +1,28 @@
+package com.management.inventory.domain.repository;
+
+import com.management.inventory.domain.model.WarehouseStock;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface WarehouseStockRepositoryCustom {
+    
+    /**
+     * Atomically adds {@code delta} to the quantity of a product in a warehouse, creating the record for a
+     * positive delta and failing instead of letting the quantity drop below zero.
+     *
+     * @return the record after the change, or empty if the warehouse holds too little of the product
+     */
+    Optional<WarehouseStock> incrementQuantity(String productId, String warehouseId, long delta);
+    
+    /**
+     * Quantity of a product in a warehouse, zero if the warehouse holds none.
+     */
+    long findQuantity(String productId, String warehouseId);
+    
+    /**
+     * Returns up to {@code limit} stock records of a warehouse ordered by product id, starting strictly after
+     * {@code afterProductId} (or from the beginning when null).
+     */
+    List<WarehouseStock> findPageByWarehouse(String warehouseId, String afterProductId, int limit);
+}
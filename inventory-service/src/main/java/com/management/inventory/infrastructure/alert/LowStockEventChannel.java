@@ -0,0 +1,160 @@
+package com.management.inventory.infrastructure.alert;
+
+import com.management.inventory.domain.model.LowStockAlert;
+import com.management.inventory.domain.model.LowStockEvent;
+import com.mongodb.CursorType;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Relays low-stock events between instances through the capped {@code low_stock_events} collection. Whichever
+ * instance sees a product cross its reorder point appends the event, and every instance tails the collection
+ * and hands each event to its own subscribers, so a subscriber hears about crossings wherever they happened.
+ * A tailable cursor follows insertion order, which works on a standalone server as well as a replica set.
+ * Tailing resumes after the last event delivered; if the collection wrapped past it in the meantime, the
+ * events in between are lost and a warning is logged.
+ */
+@Component
+@Slf4j
+public class LowStockEventChannel {
+    
+    private static final long RETRY_DELAY_MILLIS = 1000;
+    private static final long MAX_AWAIT_MILLIS = 1000;
+    
+    private final MongoTemplate mongoTemplate;
+    private final long capacityBytes;
+    private volatile boolean running;
+    private Thread listener;
+    
+    public LowStockEventChannel(MongoTemplate mongoTemplate,
+                                @Value("${inventory.alerts.event-log-size:1MB}") DataSize capacity) {
+        this.mongoTemplate = mongoTemplate;
+        this.capacityBytes = capacity.toBytes();
+    }
+    
+    public void publish(String event, LowStockAlert alert) {
+        mongoTemplate.insert(LowStockEvent.builder()
+            .event(event)
+            .alert(alert)
+            .createdAt(LocalDateTime.now())
+            .build());
+    }
+    
+    /**
+     * Starts handing every event published from now on, by any instance, to {@code consumer}.
+     */
+    public synchronized void listen(Consumer<LowStockEvent> consumer) {
+        if (listener != null) {
+            throw new IllegalStateException("Low-stock events already have a listener");
+        }
+        createIfMissing();
+        running = true;
+        listener = new Thread(() -> tail(consumer), "low-stock-events");
+        listener.setDaemon(true);
+        listener.start();
+    }
+    
+    private void createIfMissing() {
+        if (mongoTemplate.collectionExists(LowStockEvent.class)) {
+            return;
+        }
+        try {
+            mongoTemplate.createCollection(LowStockEvent.class, CollectionOptions.empty().capped().size(capacityBytes));
+        } catch (DataAccessException ex) {
+            if (!mongoTemplate.collectionExists(LowStockEvent.class)) {
+                throw ex;
+            }
+        }
+    }
+    
+    private void tail(Consumer<LowStockEvent> consumer) {
+        MongoCollection<Document> collection = mongoTemplate.getCollection(mongoTemplate.getCollectionName(LowStockEvent.class));
+        Object lastId = null;
+        boolean started = false;
+        while (running) {
+            try {
+                if (!started) {
+                    lastId = latestId(collection);
+                    started = true;
+                } else if (lastId != null && collection.countDocuments(Filters.eq("_id", lastId)) == 0) {
+                    log.warn("Low-stock events were overwritten before they could be relayed, resuming from the newest");
+                    lastId = latestId(collection);
+                }
+                lastId = follow(collection, lastId, consumer);
+            } catch (RuntimeException ex) {
+                log.warn("Tailing low-stock events failed: {}", ex.getMessage());
+            }
+            sleep();
+        }
+    }
+    
+    /**
+     * Delivers events after {@code lastId} until the cursor dies, and returns the id of the last one delivered.
+     * Gives up early when the events already in the collection do not include {@code lastId}.
+     */
+    private Object follow(MongoCollection<Document> collection, Object lastId, Consumer<LowStockEvent> consumer) {
+        boolean caughtUp = lastId == null;
+        try (MongoCursor<Document> cursor = collection.find()
+                 .cursorType(CursorType.TailableAwait)
+                 .maxAwaitTime(MAX_AWAIT_MILLIS, TimeUnit.MILLISECONDS)
+                 .iterator()) {
+            while (running) {
+                Document next = cursor.tryNext();
+                if (next == null) {
+                    if (!caughtUp || cursor.getServerCursor() == null) {
+                        break;
+                    }
+                    continue;
+                }
+                Object id = next.get("_id");
+                if (!caughtUp) {
+                    caughtUp = id.equals(lastId);
+                    continue;
+                }
+                lastId = id;
+                try {
+                    consumer.accept(mongoTemplate.getConverter().read(LowStockEvent.class, next));
+                } catch (RuntimeException ex) {
+                    log.warn("Could not relay low-stock event {}: {}", id, ex.getMessage());
+                }
+            }
+        }
+        return lastId;
+    }
+    
+    private static Object latestId(MongoCollection<Document> collection) {
+        Document latest = collection.find().sort(new Document("$natural", -1)).limit(1).first();
+        return latest != null ? latest.get("_id") : null;
+    }
+    
+    private void sleep() {
+        try {
+            Thread.sleep(RETRY_DELAY_MILLIS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+    
+    @PreDestroy
+    public synchronized void shutdown() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+}
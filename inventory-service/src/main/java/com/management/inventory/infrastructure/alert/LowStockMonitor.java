@@ -0,0 +1,167 @@
+package com.management.inventory.infrastructure.alert;
+
+import com.management.inventory.domain.model.LowStockAlert;
+import com.management.inventory.domain.model.Product;
+import com.management.inventory.domain.repository.LowStockAlertRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Raises and clears low-stock alerts as stock changes, looking only at the product that changed. A change
+ * that takes stock from at or above the reorder point to below it raises an alert and one that brings it back
+ * clears it. Every stock change is a single atomic {@code $inc}, so each crossing is seen by exactly one
+ * writer. Active alerts are kept in {@code low_stock_alerts} and pushed to subscribers as {@code low-stock}
+ * and {@code restocked} events. Events go through {@link LowStockEventChannel}, so subscribers of every
+ * instance hear about a crossing, not just those connected to the instance that made the change.
+ */
+@Component
+@Slf4j
+public class LowStockMonitor {
+    
+    public static final String LOW_STOCK_EVENT = "low-stock";
+    public static final String RESTOCKED_EVENT = "restocked";
+    
+    private final LowStockAlertRepository alertRepository;
+    private final LowStockEventChannel channel;
+    private final long emitterTimeoutMillis;
+    private final Set<SseEmitter> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService publisher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "low-stock-alerts");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public LowStockMonitor(LowStockAlertRepository alertRepository,
+                           LowStockEventChannel channel,
+                           @Value("${inventory.alerts.emitter-timeout:30m}") Duration emitterTimeout) {
+        this.alertRepository = alertRepository;
+        this.channel = channel;
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+    }
+    
+    @PostConstruct
+    public void start() {
+        channel.listen(event -> deliver(event.getEvent(), event.getAlert()));
+    }
+    
+    /**
+     * Checks whether a stock change of {@code delta}, already applied to {@code product}, crossed its
+     * reorder point.
+     */
+    public void onStockChanged(Product product, long delta) {
+        if (product.getReorderPoint() == null || product.getStock() == null) {
+            return;
+        }
+        long reorderPoint = product.getReorderPoint();
+        long after = product.getStock();
+        long before = after - delta;
+        if (before >= reorderPoint && after < reorderPoint) {
+            raise(product);
+        } else if (before < reorderPoint && after >= reorderPoint) {
+            clear(product);
+        }
+    }
+    
+    /**
+     * Judges a product from scratch, for when its reorder point rather than its stock changed.
+     */
+    public void evaluate(Product product) {
+        boolean low = product.getReorderPoint() != null && product.getStock() != null
+            && product.getStock() < product.getReorderPoint();
+        boolean alerted = alertRepository.existsById(product.getId());
+        if (low && !alerted) {
+            raise(product);
+        } else if (!low && alerted) {
+            clear(product);
+        }
+    }
+    
+    public void forget(String productId) {
+        alertRepository.deleteById(productId);
+    }
+    
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        subscribers.add(emitter);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(ex -> subscribers.remove(emitter));
+        return emitter;
+    }
+    
+    private void raise(Product product) {
+        LowStockAlert alert = toAlert(product, LocalDateTime.now());
+        log.info("Product {} fell below its reorder point: {} < {}", product.getId(), alert.getStock(), alert.getReorderPoint());
+        try {
+            alertRepository.save(alert);
+        } catch (DataAccessException ex) {
+            log.warn("Could not store low-stock alert for product {}: {}", product.getId(), ex.getMessage());
+        }
+        publish(LOW_STOCK_EVENT, alert);
+    }
+    
+    private void clear(Product product) {
+        log.info("Product {} is back at or above its reorder point", product.getId());
+        try {
+            alertRepository.deleteById(product.getId());
+        } catch (DataAccessException ex) {
+            log.warn("Could not clear low-stock alert for product {}: {}", product.getId(), ex.getMessage());
+        }
+        publish(RESTOCKED_EVENT, toAlert(product, null));
+    }
+    
+    private void publish(String event, LowStockAlert alert) {
+        try {
+            channel.publish(event, alert);
+        } catch (DataAccessException ex) {
+            log.warn("Could not relay {} event for product {}, telling local subscribers only: {}", event,
+                alert.getProductId(), ex.getMessage());
+            deliver(event, alert);
+        }
+    }
+    
+    private void deliver(String event, LowStockAlert alert) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        publisher.execute(() -> subscribers.forEach(emitter -> {
+            try {
+                emitter.send(SseEmitter.event().name(event).data(alert));
+            } catch (IOException | IllegalStateException ex) {
+                log.debug("Dropping low-stock subscriber: {}", ex.getMessage());
+                subscribers.remove(emitter);
+                emitter.completeWithError(ex);
+            }
+        }));
+    }
+    
+    private static LowStockAlert toAlert(Product product, LocalDateTime raisedAt) {
+        return LowStockAlert.builder()
+            .productId(product.getId())
+            .sku(product.getSku())
+            .name(product.getName())
+            .stock(product.getStock() != null ? product.getStock() : 0)
+            .reorderPoint(product.getReorderPoint() != null ? product.getReorderPoint() : 0)
+            .raisedAt(raisedAt)
+            .build();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        publisher.shutdownNow();
+        subscribers.forEach(SseEmitter::complete);
+    }
+}
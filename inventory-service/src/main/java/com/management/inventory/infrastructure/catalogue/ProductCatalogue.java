@@ -0,0 +1,429 @@
+package com.management.inventory.infrastructure.catalogue;
+
+import com.management.common.dto.SyncResponse;
+import com.management.inventory.domain.model.Product;
+import com.management.inventory.infrastructure.sync.ProductChangeFeed;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-through copy of the product catalogue in a memory-mapped file, so product lookups are served from
+ * memory rather than Mongo and a restart only has to scan the file instead of reloading the collection.
+ * <p>
+ * The file is an append-only log of packed product records behind a small header holding the committed end
+ * offset and the {@link ProductChangeFeed} token it is current to. Every change appends a record and moves the
+ * id and SKU indexes to it; removals append a tombstone. On startup the log is scanned once to rebuild the
+ * indexes, then the change feed catches up from the stored token and keeps polling every
+ * {@code refresh-interval} for writes made by other instances. Writes made here are applied straight away.
+ * When superseded records outweigh live ones the log is rewritten with the live records only.
+ */
+@Component
+@Slf4j
+public class ProductCatalogue {
+    
+    private static final int MAGIC = 0x50434154;
+    private static final int FORMAT_VERSION = 2;
+    private static final int END_OFFSET = 8;
+    private static final int TOKEN_OFFSET = 12;
+    private static final int HEADER_SIZE = 512;
+    private static final int MIN_CAPACITY = 16 << 20;
+    private static final int MIN_COMPACTION_GARBAGE = 8 << 20;
+    private static final byte LIVE = 1;
+    private static final byte REMOVED = 0;
+    private static final int NULL_LENGTH = -1;
+    private static final long NULL_LONG = Long.MIN_VALUE;
+    
+    private record Entry(int offset, int length, long updatedAt, String sku) {
+    }
+    
+    /**
+     * A mapping and the indexes pointing into it, swapped as a whole when the log is grown or rewritten. The
+     * indexes only ever point inside their own mapping, so a reader holding an older segment never follows an
+     * offset past the end of its buffer.
+     */
+    private record Segment(FileChannel channel, MappedByteBuffer buffer,
+                           Map<String, Entry> byId, Map<String, String> idBySku) {
+    }
+    
+    private final ProductChangeFeed changeFeed;
+    private final Path path;
+    private final Duration refreshInterval;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "product-catalogue-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Segment segment;
+    private int end;
+    private long garbage;
+    private String token;
+    
+    public ProductCatalogue(ProductChangeFeed changeFeed,
+                            @Value("${inventory.catalogue.path:${java.io.tmpdir}/inventory-catalogue-${server.port:8090}.bin}") Path path,
+                            @Value("${inventory.catalogue.refresh-interval:5s}") Duration refreshInterval) {
+        this.changeFeed = changeFeed;
+        this.path = path;
+        this.refreshInterval = refreshInterval;
+    }
+    
+    @PostConstruct
+    public void start() throws IOException {
+        long started = System.nanoTime();
+        if (!load()) {
+            segment = create(path, MIN_CAPACITY);
+            end = HEADER_SIZE;
+            garbage = 0;
+            token = null;
+        }
+        log.info("Loaded {} catalogue products from {} in {} ms", segment.byId().size(), path,
+            Duration.ofNanos(System.nanoTime() - started).toMillis());
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    
+    public Optional<Product> findById(String id) {
+        Segment current = segment;
+        Entry entry = current.byId().get(id);
+        return entry != null ? Optional.of(decode(current.buffer(), entry.offset())) : Optional.empty();
+    }
+    
+    public Optional<Product> findBySku(String sku) {
+        Segment current = segment;
+        String id = current.idBySku().get(sku);
+        Entry entry = id != null ? current.byId().get(id) : null;
+        return entry != null ? Optional.of(decode(current.buffer(), entry.offset())) : Optional.empty();
+    }
+    
+    /**
+     * Records the current state of a product unless the catalogue already holds a newer one.
+     */
+    public synchronized void put(Product product) {
+        try {
+            Entry existing = segment.byId().get(product.getId());
+            long updatedAt = toMillis(product.getUpdatedAt());
+            if (existing != null && existing.updatedAt() > updatedAt) {
+                return;
+            }
+            Entry entry = append(encode(product), updatedAt, product.getSku());
+            segment.byId().put(product.getId(), entry);
+            if (existing != null) {
+                garbage += existing.length();
+                if (existing.sku() != null && !existing.sku().equals(entry.sku())) {
+                    segment.idBySku().remove(existing.sku(), product.getId());
+                }
+            }
+            if (entry.sku() != null) {
+                segment.idBySku().put(entry.sku(), product.getId());
+            }
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not add product {} to the catalogue, the next refresh will: {}", product.getId(), ex.getMessage());
+        }
+    }
+    
+    public synchronized void remove(String id) {
+        try {
+            Entry existing = segment.byId().remove(id);
+            if (existing == null) {
+                return;
+            }
+            if (existing.sku() != null) {
+                segment.idBySku().remove(existing.sku(), id);
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(REMOVED);
+            writeString(out, id);
+            Entry tombstone = append(bytes.toByteArray(), NULL_LONG, null);
+            garbage += existing.length() + tombstone.length();
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not remove product {} from the catalogue, the next refresh will: {}", id, ex.getMessage());
+        }
+    }
+    
+    private void refresh() {
+        try {
+            int applied = 0;
+            SyncResponse<Product> page;
+            do {
+                page = changeFeed.changesSince(token, ProductChangeFeed.MAX_PAGE_SIZE);
+                if (page.reset()) {
+                    log.info("Catalogue snapshot is too old to catch up, rebuilding it");
+                    rewrite(null);
+                    continue;
+                }
+                page.upserts().forEach(this::put);
+                page.deletes().forEach(this::remove);
+                applied += page.upserts().size() + page.deletes().size();
+                commitToken(page.next());
+            } while (page.reset() || page.hasMore());
+            if (applied > 0) {
+                log.debug("Applied {} product changes to the catalogue", applied);
+            }
+            synchronized (this) {
+                if (garbage > MIN_COMPACTION_GARBAGE && garbage > end - HEADER_SIZE - garbage) {
+                    rewrite(segment);
+                }
+            }
+        } catch (RuntimeException | IOException ex) {
+            log.warn("Catalogue refresh failed: {}", ex.getMessage());
+        }
+    }
+    
+    private boolean load() {
+        if (!Files.exists(path)) {
+            return false;
+        }
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                channel.close();
+                return false;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, MIN_CAPACITY));
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+                channel.close();
+                return false;
+            }
+            Segment loaded = new Segment(channel, buffer, new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+            int committedEnd = buffer.getInt(END_OFFSET);
+            long superseded = 0;
+            int offset = HEADER_SIZE;
+            while (offset < committedEnd) {
+                int length = Integer.BYTES + buffer.getInt(offset);
+                int position = offset + Integer.BYTES;
+                byte kind = buffer.get(position++);
+                String id = readString(buffer, position);
+                position += stringSize(buffer, position);
+                String sku = null;
+                Entry previous;
+                if (kind == LIVE) {
+                    long updatedAt = buffer.getLong(position);
+                    sku = readString(buffer, position + Long.BYTES);
+                    previous = loaded.byId().put(id, new Entry(offset, length, updatedAt, sku));
+                    if (sku != null) {
+                        loaded.idBySku().put(sku, id);
+                    }
+                } else {
+                    previous = loaded.byId().remove(id);
+                    superseded += length;
+                }
+                if (previous != null) {
+                    superseded += previous.length();
+                    if (previous.sku() != null && !previous.sku().equals(sku)) {
+                        loaded.idBySku().remove(previous.sku(), id);
+                    }
+                }
+                offset += length;
+            }
+            int tokenLength = buffer.getShort(TOKEN_OFFSET);
+            byte[] tokenBytes = new byte[Math.max(tokenLength, 0)];
+            buffer.get(TOKEN_OFFSET + Short.BYTES, tokenBytes);
+            segment = loaded;
+            end = committedEnd;
+            garbage = superseded;
+            token = tokenLength > 0 ? new String(tokenBytes, StandardCharsets.UTF_8) : null;
+            return true;
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Discarding unreadable catalogue snapshot {}: {}", path, ex.getMessage());
+            return false;
+        }
+    }
+    
+    private Entry append(byte[] body, long updatedAt, String sku) throws IOException {
+        int length = Integer.BYTES + body.length;
+        Segment current = segment;
+        if ((long) end + length > current.buffer().capacity()) {
+            long capacity = Math.max(2L * current.buffer().capacity(), (long) end + length);
+            if (capacity > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Catalogue snapshot is full");
+            }
+            current = new Segment(current.channel(), current.channel().map(FileChannel.MapMode.READ_WRITE, 0, capacity),
+                new ConcurrentHashMap<>(current.byId()), new ConcurrentHashMap<>(current.idBySku()));
+            segment = current;
+        }
+        MappedByteBuffer buffer = current.buffer();
+        int offset = end;
+        buffer.putInt(offset, body.length);
+        buffer.put(offset + Integer.BYTES, body);
+        end += length;
+        buffer.putInt(END_OFFSET, end);
+        return new Entry(offset, length, updatedAt, sku);
+    }
+    
+    private synchronized void commitToken(String next) {
+        byte[] bytes = next.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > HEADER_SIZE - TOKEN_OFFSET - Short.BYTES) {
+            throw new IllegalStateException("Sync token does not fit the catalogue header");
+        }
+        MappedByteBuffer buffer = segment.buffer();
+        buffer.put(TOKEN_OFFSET + Short.BYTES, bytes);
+        buffer.putShort(TOKEN_OFFSET, (short) bytes.length);
+        token = next;
+    }
+    
+    /**
+     * Replaces the log with one holding only the live records of {@code source}, or an empty one when null.
+     */
+    private synchronized void rewrite(Segment source) throws IOException {
+        long started = System.nanoTime();
+        long live = source != null ? end - HEADER_SIZE - garbage : 0;
+        Path next = path.resolveSibling(path.getFileName() + ".tmp");
+        Segment rewritten = create(next, (int) Math.min(Integer.MAX_VALUE, Math.max(MIN_CAPACITY, 2 * (HEADER_SIZE + live))));
+        int offset = HEADER_SIZE;
+        if (source != null) {
+            for (Map.Entry<String, Entry> indexed : source.byId().entrySet()) {
+                Entry entry = indexed.getValue();
+                byte[] record = new byte[entry.length()];
+                source.buffer().get(entry.offset(), record);
+                rewritten.buffer().put(offset, record);
+                rewritten.byId().put(indexed.getKey(), new Entry(offset, entry.length(), entry.updatedAt(), entry.sku()));
+                offset += entry.length();
+            }
+            rewritten.idBySku().putAll(source.idBySku());
+        }
+        rewritten.buffer().putInt(END_OFFSET, offset);
+        if (source != null && token != null) {
+            byte[] bytes = token.getBytes(StandardCharsets.UTF_8);
+            rewritten.buffer().put(TOKEN_OFFSET + Short.BYTES, bytes);
+            rewritten.buffer().putShort(TOKEN_OFFSET, (short) bytes.length);
+        }
+        rewritten.buffer().force();
+        Files.move(next, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        FileChannel previous = segment.channel();
+        segment = rewritten;
+        end = offset;
+        garbage = 0;
+        if (source == null) {
+            token = null;
+        }
+        previous.close();
+        log.info("Rewrote catalogue snapshot with {} products in {} ms", rewritten.byId().size(),
+            Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+    
+    private static Segment create(Path file, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, FORMAT_VERSION);
+        buffer.putInt(END_OFFSET, HEADER_SIZE);
+        buffer.putShort(TOKEN_OFFSET, (short) 0);
+        return new Segment(channel, buffer, new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+    }
+    
+    private static byte[] encode(Product product) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(LIVE);
+            writeString(out, product.getId());
+            out.writeLong(toMillis(product.getUpdatedAt()));
+            writeString(out, product.getSku());
+            writeString(out, product.getName());
+            writeString(out, product.getDescription());
+            writeString(out, product.getPrice() != null ? product.getPrice().toPlainString() : null);
+            out.writeLong(product.getStock() != null ? product.getStock() : NULL_LONG);
+            out.writeLong(product.getReorderPoint() != null ? product.getReorderPoint() : NULL_LONG);
+            out.writeLong(toMillis(product.getCreatedAt()));
+            return bytes.toByteArray();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+    
+    private static Product decode(MappedByteBuffer buffer, int offset) {
+        int position = offset + Integer.BYTES + 1;
+        String id = readString(buffer, position);
+        position += stringSize(buffer, position);
+        long updatedAt = buffer.getLong(position);
+        position += Long.BYTES;
+        String sku = readString(buffer, position);
+        position += stringSize(buffer, position);
+        String name = readString(buffer, position);
+        position += stringSize(buffer, position);
+        String description = readString(buffer, position);
+        position += stringSize(buffer, position);
+        String price = readString(buffer, position);
+        position += stringSize(buffer, position);
+        long stock = buffer.getLong(position);
+        long reorderPoint = buffer.getLong(position + Long.BYTES);
+        long createdAt = buffer.getLong(position + 2 * Long.BYTES);
+        return Product.builder()
+            .id(id)
+            .sku(sku)
+            .name(name)
+            .description(description)
+            .price(price != null ? new BigDecimal(price) : null)
+            .stock(stock != NULL_LONG ? stock : null)
+            .reorderPoint(reorderPoint != NULL_LONG ? reorderPoint : null)
+            .createdAt(toDateTime(createdAt))
+            .updatedAt(toDateTime(updatedAt))
+            .build();
+    }
+    
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+    
+    private static String readString(MappedByteBuffer buffer, int position) {
+        int length = buffer.getInt(position);
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(position + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    private static int stringSize(MappedByteBuffer buffer, int position) {
+        return Integer.BYTES + Math.max(buffer.getInt(position), 0);
+    }
+    
+    private static long toMillis(LocalDateTime timestamp) {
+        return timestamp != null ? timestamp.toInstant(ZoneOffset.UTC).toEpochMilli() : NULL_LONG;
+    }
+    
+    private static LocalDateTime toDateTime(long millis) {
+        return millis != NULL_LONG ? LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000),
+            Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC) : null;
+    }
+    
+    @PreDestroy
+    public synchronized void shutdown() throws IOException {
+        scheduler.shutdownNow();
+        segment.buffer().force();
+        segment.channel().close();
+    }
+}
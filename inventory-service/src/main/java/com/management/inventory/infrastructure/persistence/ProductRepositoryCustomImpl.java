@@ -0,0 +1,48 @@
+package com.management.inventory.infrastructure.persistence;
+
+import com.management.inventory.domain.model.Product;
+import com.management.inventory.domain.repository.ProductRepositoryCustom;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+    
+    private final MongoTemplate mongoTemplate;
+    
+    @Override
+    public Optional<Product> incrementStock(String id, long delta) {
+        Criteria criteria = Criteria.where("_id").is(id);
+        if (delta < 0) {
+            criteria = criteria.and("stock").gte(-delta);
+        }
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+            Query.query(criteria),
+            new Update().inc("stock", delta).set("updatedAt", LocalDateTime.now()),
+            FindAndModifyOptions.options().returnNew(true),
+            Product.class));
+    }
+    
+    @Override
+    public Optional<Product> updateDetails(String id, Product details) {
+        Update update = new Update()
+            .set("sku", details.getSku())
+            .set("name", details.getName())
+            .set("description", details.getDescription())
+            .set("price", details.getPrice())
+            .set("reorderPoint", details.getReorderPoint())
+            .set("updatedAt", LocalDateTime.now());
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+            Query.query(Criteria.where("_id").is(id)),
+            update,
+            FindAndModifyOptions.options().returnNew(true),
+            Product.class));
+    }
+}
@@ -0,0 +1,88 @@
+package com.management.inventory.infrastructure.persistence;
+
+import com.management.common.lock.MongoLock;
+import com.management.inventory.domain.model.Product;
+import com.management.inventory.domain.model.WarehouseStock;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Puts stock recorded before warehouses existed into the default warehouse, so every product's stock is the
+ * sum of its warehouse quantities. This is a one-time migration: once it has completed, a marker document in
+ * {@code migrations} keeps later startups from scanning the products again. A {@link MongoLock} makes sure
+ * only one of several instances starting together runs it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WarehouseStockBackfill {
+    
+    static final String MIGRATIONS = "migrations";
+    static final String MIGRATION_ID = "warehouse-stock-backfill";
+    private static final Duration LEASE = Duration.ofMinutes(30);
+    
+    private final MongoTemplate mongoTemplate;
+    private final MongoLock mongoLock;
+    
+    @PostConstruct
+    public void backfill() {
+        Query marker = Query.query(Criteria.where("_id").is(MIGRATION_ID));
+        if (mongoTemplate.exists(marker, MIGRATIONS)) {
+            return;
+        }
+        if (!mongoLock.tryAcquire(MIGRATION_ID, LEASE)) {
+            log.info("Warehouse stock backfill is running on another instance");
+            return;
+        }
+        try {
+            if (!mongoTemplate.exists(marker, MIGRATIONS)) {
+                migrate(marker);
+            }
+        } finally {
+            mongoLock.release(MIGRATION_ID);
+        }
+    }
+    
+    private void migrate(Query marker) {
+        Aggregation unallocated = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("stock").gt(0)),
+            Aggregation.addFields().addFieldWithValue("productId", ConvertOperators.valueOf("_id").convertToString()).build(),
+            Aggregation.lookup(mongoTemplate.getCollectionName(WarehouseStock.class), "productId", "productId", "warehouses"),
+            Aggregation.match(Criteria.where("warehouses").size(0)),
+            Aggregation.project("productId", "stock"));
+        List<Document> products = mongoTemplate.aggregate(unallocated, Product.class, Document.class).getMappedResults();
+        LocalDateTime now = LocalDateTime.now();
+        if (!products.isEmpty()) {
+            moveToDefaultWarehouse(products, now);
+        }
+        mongoTemplate.upsert(marker, Update.update("completedAt", now), MIGRATIONS);
+    }
+    
+    private void moveToDefaultWarehouse(List<Document> products, LocalDateTime now) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, WarehouseStock.class);
+        for (Document product : products) {
+            String productId = product.getString("productId");
+            bulk.upsert(
+                Query.query(Criteria.where("warehouseId").is(WarehouseStock.DEFAULT_WAREHOUSE).and("productId").is(productId)),
+                new Update()
+                    .setOnInsert("quantity", ((Number) product.get("stock")).longValue())
+                    .setOnInsert("updatedAt", now));
+        }
+        bulk.execute();
+        log.info("Moved the stock of {} products into the default warehouse", products.size());
+    }
+}
@@ -0,0 +1,53 @@
+package com.management.inventory.infrastructure.persistence;
+
+import com.management.inventory.domain.model.WarehouseStock;
+import com.management.inventory.domain.repository.WarehouseStockRepositoryCustom;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class WarehouseStockRepositoryCustomImpl implements WarehouseStockRepositoryCustom {
+    
+    private final MongoTemplate mongoTemplate;
+    
+    @Override
+    public Optional<WarehouseStock> incrementQuantity(String productId, String warehouseId, long delta) {
+        Criteria criteria = Criteria.where("warehouseId").is(warehouseId).and("productId").is(productId);
+        if (delta < 0) {
+            criteria = criteria.and("quantity").gte(-delta);
+        }
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+            Query.query(criteria),
+            new Update().inc("quantity", delta).set("updatedAt", LocalDateTime.now()),
+            FindAndModifyOptions.options().returnNew(true).upsert(delta > 0),
+            WarehouseStock.class));
+    }
+    
+    @Override
+    public long findQuantity(String productId, String warehouseId) {
+        Query query = Query.query(Criteria.where("warehouseId").is(warehouseId).and("productId").is(productId));
+        query.fields().include("quantity");
+        WarehouseStock stock = mongoTemplate.findOne(query, WarehouseStock.class);
+        return stock != null ? stock.getQuantity() : 0;
+    }
+    
+    @Override
+    public List<WarehouseStock> findPageByWarehouse(String warehouseId, String afterProductId, int limit) {
+        Criteria criteria = Criteria.where("warehouseId").is(warehouseId);
+        if (afterProductId != null) {
+            criteria = criteria.and("productId").gt(afterProductId);
+        }
+        return mongoTemplate.find(Query.query(criteria)
+            .with(Sort.by(Sort.Order.asc("warehouseId"), Sort.Order.asc("productId")))
+            .limit(limit), WarehouseStock.class);
+    }
+}
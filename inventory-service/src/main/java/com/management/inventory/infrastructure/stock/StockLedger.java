@@ -0,0 +1,74 @@
+package com.management.inventory.infrastructure.stock;
+
+import com.management.common.exception.ConflictException;
+import com.management.common.exception.ResourceNotFoundException;
+import com.management.inventory.domain.model.Product;
+import com.management.inventory.domain.repository.ProductRepository;
+import com.management.inventory.domain.repository.WarehouseStockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Moves stock in and out of warehouses while keeping each product's {@code stock} equal to the sum over its
+ * warehouses, so whether a product can be sold is one read of the product. A change is two single-document
+ * updates: the warehouse quantity first, which may not drop below zero, then the product total by the same
+ * amount. If the second one fails the first is reversed. Between the two writes, and for good if the instance
+ * dies there, the product total is out of step with its warehouses; {@link StockRepairJob} finds such
+ * products once they have settled and corrects their total.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockLedger {
+    
+    private final ProductRepository productRepository;
+    private final WarehouseStockRepository warehouseStockRepository;
+    
+    /**
+     * Adds {@code delta} units of a product to a warehouse, or takes them out when negative.
+     *
+     * @return the product with its new total, or empty if the warehouse holds too little of it
+     * @throws ResourceNotFoundException if the product does not exist
+     */
+    public Optional<Product> change(String productId, String warehouseId, long delta) {
+        if (delta > 0 && !productRepository.existsById(productId)) {
+            throw new ResourceNotFoundException("Product", "id", productId);
+        }
+        if (warehouseStockRepository.incrementQuantity(productId, warehouseId, delta).isEmpty()) {
+            if (!productRepository.existsById(productId)) {
+                throw new ResourceNotFoundException("Product", "id", productId);
+            }
+            return Optional.empty();
+        }
+        Optional<Product> product;
+        try {
+            product = productRepository.incrementStock(productId, delta);
+        } catch (RuntimeException ex) {
+            revert(productId, warehouseId, delta);
+            throw ex;
+        }
+        if (product.isPresent()) {
+            return product;
+        }
+        revert(productId, warehouseId, delta);
+        if (!productRepository.existsById(productId)) {
+            throw new ResourceNotFoundException("Product", "id", productId);
+        }
+        throw new ConflictException("Stock total of product " + productId + " is out of step with its warehouses");
+    }
+    
+    public long available(String productId, String warehouseId) {
+        return warehouseStockRepository.findQuantity(productId, warehouseId);
+    }
+    
+    private void revert(String productId, String warehouseId, long delta) {
+        try {
+            warehouseStockRepository.incrementQuantity(productId, warehouseId, -delta);
+        } catch (RuntimeException ex) {
+            log.error("Could not revert stock change of {} for product {} in warehouse {}", delta, productId, warehouseId, ex);
+        }
+    }
+}
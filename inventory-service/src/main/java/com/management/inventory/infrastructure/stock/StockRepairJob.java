@@ -0,0 +1,175 @@
+package com.management.inventory.infrastructure.stock;
+
+import com.management.common.lock.MongoLock;
+import com.management.inventory.domain.model.Product;
+import com.management.inventory.domain.model.WarehouseStock;
+import com.management.inventory.infrastructure.alert.LowStockMonitor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AccumulatorOperators;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Puts a product's {@code stock} back in line with the sum over its warehouses when a {@link StockLedger}
+ * change was cut short between its two writes, for instance by a crash. Only products where neither the
+ * product nor any of its warehouses changed within {@code settle-time} are looked at, so changes still in
+ * flight are left alone, and each repair only applies if the product is still exactly as it was read. The
+ * catalogue picks repairs up through the change feed like any other write.
+ * A change that cut a ledger update short leaves the product or one of its warehouses with an {@code updatedAt}
+ * inside the window it settled in, so each scan only looks at products changed since the previous scan's
+ * cutoff, which is kept in {@code job_watermarks}. The first scan, with no watermark yet, looks at everything.
+ * Products without any warehouse are left to {@code WarehouseStockBackfill}. Every instance runs the
+ * schedule; a {@link MongoLock} keeps them from scanning at the same time.
+ */
+@Component
+@Slf4j
+public class StockRepairJob {
+    
+    static final String LOCK = "stock-repair";
+    static final String WATERMARKS = "job_watermarks";
+    private static final Duration LEASE = Duration.ofMinutes(30);
+    private static final int BATCH_SIZE = 500;
+    
+    private final MongoTemplate mongoTemplate;
+    private final MongoLock mongoLock;
+    private final LowStockMonitor lowStockMonitor;
+    private final Duration settleTime;
+    
+    public StockRepairJob(MongoTemplate mongoTemplate,
+                          MongoLock mongoLock,
+                          LowStockMonitor lowStockMonitor,
+                          @Value("${inventory.stock-repair.settle-time:5m}") Duration settleTime) {
+        this.mongoTemplate = mongoTemplate;
+        this.mongoLock = mongoLock;
+        this.lowStockMonitor = lowStockMonitor;
+        this.settleTime = settleTime;
+    }
+    
+    /**
+     * Repairs every settled product whose total has drifted from its warehouses and returns how many were
+     * repaired, or -1 if another instance is already scanning.
+     */
+    @Scheduled(fixedDelayString = "${inventory.stock-repair.interval:10m}",
+        initialDelayString = "${inventory.stock-repair.interval:10m}")
+    public int repair() {
+        if (!mongoLock.tryAcquire(LOCK, LEASE)) {
+            log.debug("Stock repair is running on another instance");
+            return -1;
+        }
+        try {
+            LocalDateTime settledBefore = LocalDateTime.now().minus(settleTime);
+            LocalDateTime scannedUntil = scannedUntil();
+            int repaired = 0;
+            if (scannedUntil == null) {
+                repaired += repairAll(findDrifted(settledBefore, null));
+            } else {
+                List<String> changed = List.copyOf(changedBetween(scannedUntil, settledBefore));
+                for (int from = 0; from < changed.size(); from += BATCH_SIZE) {
+                    List<String> batch = changed.subList(from, Math.min(from + BATCH_SIZE, changed.size()));
+                    repaired += repairAll(findDrifted(settledBefore, batch));
+                }
+            }
+            mongoTemplate.upsert(Query.query(Criteria.where("_id").is(LOCK)),
+                Update.update("scannedUntil", settledBefore), WATERMARKS);
+            if (repaired > 0) {
+                log.info("Repaired the stock total of {} products", repaired);
+            }
+            return repaired;
+        } finally {
+            mongoLock.release(LOCK);
+        }
+    }
+    
+    private LocalDateTime scannedUntil() {
+        Document watermark = mongoTemplate.findOne(Query.query(Criteria.where("_id").is(LOCK)), Document.class, WATERMARKS);
+        Date scannedUntil = watermark != null ? watermark.getDate("scannedUntil") : null;
+        return scannedUntil != null ? LocalDateTime.ofInstant(scannedUntil.toInstant(), ZoneId.systemDefault()) : null;
+    }
+    
+    /**
+     * Ids of the products that changed, themselves or in one of their warehouses, in {@code [from, to)}.
+     */
+    private Set<String> changedBetween(LocalDateTime from, LocalDateTime to) {
+        Criteria window = Criteria.where("updatedAt").gte(from).lt(to);
+        Set<String> changed = new LinkedHashSet<>(mongoTemplate.findDistinct(
+            Query.query(window), "productId", WarehouseStock.class, String.class));
+        Query products = Query.query(window);
+        products.fields().include("_id");
+        mongoTemplate.find(products, Product.class).forEach(product -> changed.add(product.getId()));
+        return changed;
+    }
+    
+    private int repairAll(List<Document> drifted) {
+        int repaired = 0;
+        for (Document product : drifted) {
+            if (repair(product)) {
+                repaired++;
+            }
+        }
+        return repaired;
+    }
+    
+    /**
+     * Settled products, out of {@code productIds} or all of them when null, whose total differs from the sum
+     * over their warehouses.
+     */
+    private List<Document> findDrifted(LocalDateTime settledBefore, Collection<String> productIds) {
+        Criteria settled = Criteria.where("updatedAt").lt(settledBefore);
+        if (productIds != null) {
+            settled = settled.and("_id").in(productIds);
+        }
+        Aggregation drifted = Aggregation.newAggregation(
+            Aggregation.match(settled),
+            Aggregation.addFields().addFieldWithValue("productId", ConvertOperators.valueOf("_id").convertToString()).build(),
+            Aggregation.lookup(mongoTemplate.getCollectionName(WarehouseStock.class), "productId", "productId", "warehouses"),
+            Aggregation.addFields()
+                .addFieldWithValue("total", AccumulatorOperators.Sum.sumOf("warehouses.quantity"))
+                .addFieldWithValue("lastChange", AccumulatorOperators.Max.maxOf("warehouses.updatedAt"))
+                .build(),
+            Aggregation.match(Criteria.where("lastChange").lt(settledBefore)),
+            Aggregation.addFields()
+                .addFieldWithValue("drift", ArithmeticOperators.Subtract.valueOf("total").subtract("stock"))
+                .build(),
+            Aggregation.match(Criteria.where("drift").ne(0)),
+            Aggregation.project("productId", "stock", "updatedAt", "total"));
+        return mongoTemplate.aggregate(drifted, Product.class, Document.class).getMappedResults();
+    }
+    
+    private boolean repair(Document drifted) {
+        String productId = drifted.getString("productId");
+        Object stock = drifted.get("stock");
+        long total = ((Number) drifted.get("total")).longValue();
+        Query unchanged = Query.query(Criteria.where("_id").is(drifted.get("_id"))
+            .and("stock").is(stock)
+            .and("updatedAt").is(drifted.get("updatedAt")));
+        Product repaired = mongoTemplate.findAndModify(unchanged,
+            new Update().set("stock", total).set("updatedAt", LocalDateTime.now()),
+            FindAndModifyOptions.options().returnNew(true),
+            Product.class);
+        if (repaired == null) {
+            return false;
+        }
+        log.warn("Stock total of product {} was {} but its warehouses hold {}, repaired", productId, stock, total);
+        lowStockMonitor.evaluate(repaired);
+        return true;
+    }
+}
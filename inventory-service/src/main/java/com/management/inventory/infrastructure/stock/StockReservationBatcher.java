@@ -0,0 +1,196 @@
+package com.management.inventory.infrastructure.stock;
+
+import com.management.common.exception.ConflictException;
+import com.management.common.exception.ResourceNotFoundException;
+import com.management.inventory.domain.model.Product;
+import com.management.inventory.domain.model.StockReservation;
+import com.management.inventory.infrastructure.alert.LowStockMonitor;
+import com.management.inventory.infrastructure.catalogue.ProductCatalogue;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reserves stock from a warehouse with a conditional {@code $inc} that never takes it below zero, coalescing
+ * concurrent reservations of the same product in the same warehouse into one {@link StockLedger} change. Each
+ * product and warehouse pair has a lane: the first caller to find it idle
+ * writes everything queued on it so far as a single decrement while later callers queue up behind it, and the
+ * next caller still waiting takes over once that write returns. When the combined decrement does not fit, the
+ * queued reservations are granted in arrival order as far as the stock reaches and the rest are rejected.
+ * Oversell is prevented by the conditional update itself, so it also holds across instances.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockReservationBatcher {
+    
+    private static final int MAX_ATTEMPTS = 5;
+    
+    private static final class Pending {
+        private final long quantity;
+        private volatile boolean done;
+        private long remaining;
+        private RuntimeException failure;
+        
+        private Pending(long quantity) {
+            this.quantity = quantity;
+        }
+        
+        private void grant(long remaining) {
+            this.remaining = remaining;
+            this.done = true;
+        }
+        
+        private void fail(RuntimeException failure) {
+            this.failure = failure;
+            this.done = true;
+        }
+    }
+    
+    private record LaneKey(String productId, String warehouseId) {
+    }
+    
+    private static final class Lane {
+        private final Queue<Pending> queue = new ArrayDeque<>();
+        private boolean flushing;
+        private boolean retired;
+    }
+    
+    private final StockLedger ledger;
+    private final ProductCatalogue catalogue;
+    private final LowStockMonitor lowStockMonitor;
+    private final Map<LaneKey, Lane> lanes = new ConcurrentHashMap<>();
+    
+    /**
+     * Takes {@code quantity} units of a product out of a warehouse.
+     *
+     * @throws IllegalArgumentException if the quantity is not positive
+     * @throws ResourceNotFoundException if the product does not exist
+     * @throws ConflictException if there is not enough stock left
+     */
+    public StockReservation reserve(String productId, String warehouseId, long quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Reservation quantity must be positive");
+        }
+        Pending pending = new Pending(quantity);
+        LaneKey key = new LaneKey(productId, warehouseId);
+        Lane lane = enqueue(key, pending);
+        boolean interrupted = false;
+        while (!pending.done) {
+            List<Pending> batch;
+            synchronized (lane) {
+                while (!pending.done && lane.flushing) {
+                    try {
+                        lane.wait();
+                    } catch (InterruptedException ex) {
+                        interrupted = true;
+                    }
+                }
+                if (pending.done) {
+                    break;
+                }
+                lane.flushing = true;
+                batch = new ArrayList<>(lane.queue);
+                lane.queue.clear();
+            }
+            try {
+                apply(key, batch);
+            } catch (RuntimeException ex) {
+                batch.stream().filter(queued -> !queued.done).forEach(queued -> queued.fail(ex));
+            } finally {
+                synchronized (lane) {
+                    lane.flushing = false;
+                    if (lane.queue.isEmpty()) {
+                        lane.retired = true;
+                        lanes.remove(key, lane);
+                    }
+                    lane.notifyAll();
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (pending.failure != null) {
+            throw pending.failure;
+        }
+        return new StockReservation(productId, warehouseId, quantity, pending.remaining);
+    }
+    
+    /**
+     * Number of lanes currently open; every lane is retired once its queue drains.
+     */
+    int openLanes() {
+        return lanes.size();
+    }
+    
+    private Lane enqueue(LaneKey key, Pending pending) {
+        while (true) {
+            Lane lane = lanes.computeIfAbsent(key, ignored -> new Lane());
+            synchronized (lane) {
+                if (!lane.retired) {
+                    lane.queue.add(pending);
+                    return lane;
+                }
+            }
+        }
+    }
+    
+    private void apply(LaneKey key, List<Pending> batch) {
+        String productId = key.productId();
+        long total = batch.stream().mapToLong(queued -> queued.quantity).sum();
+        Optional<Product> updated = ledger.change(productId, key.warehouseId(), -total);
+        if (updated.isPresent()) {
+            if (batch.size() > 1) {
+                log.debug("Coalesced {} reservations of {} units for product {} in warehouse {}", batch.size(), total,
+                productId, key.warehouseId());
+            }
+            grant(batch, updated.get());
+            catalogue.put(updated.get());
+            lowStockMonitor.onStockChanged(updated.get(), -total);
+            return;
+        }
+        
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            long available = ledger.available(productId, key.warehouseId());
+            List<Pending> accepted = new ArrayList<>(batch.size());
+            long acceptedTotal = 0;
+            for (Pending queued : batch) {
+                if (acceptedTotal + queued.quantity <= available) {
+                    accepted.add(queued);
+                    acceptedTotal += queued.quantity;
+                }
+            }
+            if (!accepted.isEmpty()) {
+                updated = ledger.change(productId, key.warehouseId(), -acceptedTotal);
+                if (updated.isEmpty()) {
+                    continue;
+                }
+                grant(accepted, updated.get());
+                catalogue.put(updated.get());
+                lowStockMonitor.onStockChanged(updated.get(), -acceptedTotal);
+            }
+            batch.stream().filter(queued -> !queued.done).forEach(queued -> queued.fail(
+                new ConflictException("Insufficient stock for product " + productId + " in warehouse "
+                    + key.warehouseId() + ": requested " + queued.quantity)));
+            return;
+        }
+        throw new ConflictException("Stock of product " + productId + " changed concurrently, please retry");
+    }
+    
+    private static void grant(List<Pending> granted, Product product) {
+        long remaining = product.getStock() + granted.stream().mapToLong(queued -> queued.quantity).sum();
+        for (Pending queued : granted) {
+            remaining -= queued.quantity;
+            queued.grant(remaining);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.management.inventory.infrastructure.sync;
+
+import com.management.common.sync.ChangeFeed;
+import com.management.inventory.domain.model.Product;
+import com.management.inventory.domain.model.ProductTombstone;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Change feed over products.
+ */
+@Component
+public class ProductChangeFeed extends ChangeFeed<Product, ProductTombstone> {
+    
+    public ProductChangeFeed(MongoTemplate mongoTemplate, @Value("${inventory.sync.settle-time:2s}") Duration settleTime) {
+        super(mongoTemplate, Product.class, ProductTombstone.class, Duration.ofDays(ProductTombstone.RETENTION_DAYS),
+            settleTime);
+    }
+}
@@ -0,0 +1,37 @@
+package com.management.inventory.presentation.controller;
+
+import com.management.inventory.domain.model.LowStockAlert;
+import com.management.inventory.domain.repository.LowStockAlertRepository;
+import com.management.inventory.infrastructure.alert.LowStockMonitor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/inventorys/alerts")
+@RequiredArgsConstructor
+@Slf4j
+public class LowStockAlertController {
+    
+    private final LowStockAlertRepository alertRepository;
+    private final LowStockMonitor lowStockMonitor;
+    
+    @GetMapping
+    public ResponseEntity<List<LowStockAlert>> getAll() {
+        log.info("Fetching low-stock alerts");
+        return ResponseEntity.ok(alertRepository.findAllByOrderByRaisedAtDesc());
+    }
+    
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        log.info("Opening low-stock alert stream");
+        return lowStockMonitor.subscribe();
+    }
+}
@@ -1,8 +1,27 @@
 package com.management.inventory.presentation.controller;
 
+import com.management.common.dto.BatchGetRequest;
+import com.management.common.dto.BatchGetResponse;
+import com.management.common.dto.SyncResponse;
 import com.management.inventory.domain.model.Product;
+import com.management.inventory.domain.model.ProductStock;
+import com.management.inventory.domain.model.ProductTombstone;
+import com.management.inventory.domain.model.StockReservation;
+import com.management.inventory.domain.model.WarehouseStock;
 import com.management.inventory.domain.repository.ProductRepository;
+import com.management.inventory.domain.repository.ProductTombstoneRepository;
+import com.management.inventory.domain.repository.WarehouseStockRepository;
+import com.management.inventory.infrastructure.alert.LowStockMonitor;
+import com.management.inventory.infrastructure.catalogue.ProductCatalogue;
+import com.management.inventory.infrastructure.stock.StockLedger;
+import com.management.inventory.infrastructure.stock.StockReservationBatcher;
+import com.management.inventory.infrastructure.sync.ProductChangeFeed;
+import com.management.inventory.presentation.dto.ProductLookupRequest;
+import com.management.inventory.presentation.dto.ProductLookupResponse;
+import com.management.inventory.presentation.dto.StockQuantityRequest;
+import com.management.common.exception.ConflictException;
 import com.management.common.exception.ResourceNotFoundException;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -10,7 +29,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/inventorys")
@@ -19,6 +42,13 @@ import java.util.List;
 public class ProductController {
     
     private final ProductRepository repository;
+    private final ProductTombstoneRepository tombstoneRepository;
+    private final ProductChangeFeed changeFeed;
+    private final WarehouseStockRepository warehouseStockRepository;
+    private final StockLedger stockLedger;
+    private final StockReservationBatcher reservationBatcher;
+    private final ProductCatalogue catalogue;
+    private final LowStockMonitor lowStockMonitor;
     
     @GetMapping
     public ResponseEntity<List<Product>> getAll() {
@@ -26,43 +56,168 @@ public class ProductController {
         return ResponseEntity.ok(repository.findAll());
     }
     
+    /**
+     * Products created, updated or deleted since {@code since}, the {@code next} token of the previous call.
+     * Without a token the first page of a full sync is returned.
+     */
+    @GetMapping("/sync")
+    public ResponseEntity<SyncResponse<Product>> sync(@RequestParam(required = false) String since,
+                                                      @RequestParam(defaultValue = "500") int limit) {
+        log.debug("Syncing inventorys since: {}", since);
+        return ResponseEntity.ok(changeFeed.changesSince(since, limit));
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<Product> getById(@PathVariable String id) {
         log.info("Fetching inventory with id: {}", id);
-        Product entity = repository.findById(id)
+        Product entity = catalogue.findById(id)
+            .or(() -> repository.findById(id))
             .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
         return ResponseEntity.ok(entity);
     }
     
+    @PostMapping("/batch-get")
+    public ResponseEntity<BatchGetResponse<Product>> batchGet(@Valid @RequestBody BatchGetRequest request) {
+        log.info("Fetching {} inventorys by id", request.ids().size());
+        return ResponseEntity.ok(BatchGetResponse.fetch(request.ids(), this::findAllById, Product::getId));
+    }
+    
+    /**
+     * Products from the catalogue snapshot, reading Mongo only for the ones it does not hold yet.
+     */
+    private List<Product> findAllById(Collection<String> ids) {
+        List<Product> found = new ArrayList<>(ids.size());
+        List<String> uncached = new ArrayList<>();
+        for (String id : ids) {
+            catalogue.findById(id).ifPresentOrElse(found::add, () -> uncached.add(id));
+        }
+        if (!uncached.isEmpty()) {
+            repository.findAllById(uncached).forEach(found::add);
+        }
+        return found;
+    }
+    
+    /**
+     * Looks products up by id and by SKU from the catalogue snapshot, reading Mongo only for the ones it does
+     * not hold yet. Products are returned in request order, ids first, and whatever is still not found is
+     * listed under {@code missing}.
+     */
+    @PostMapping("/lookup")
+    public ResponseEntity<ProductLookupResponse> lookup(@RequestBody ProductLookupRequest request) {
+        List<String> ids = request.ids() != null ? request.ids() : List.of();
+        List<String> skus = request.skus() != null ? request.skus() : List.of();
+        if (ids.size() + skus.size() > ProductLookupRequest.MAX_KEYS) {
+            throw new IllegalArgumentException("At most " + ProductLookupRequest.MAX_KEYS + " ids and SKUs can be looked up at once");
+        }
+        log.debug("Looking up {} inventory ids and {} SKUs", ids.size(), skus.size());
+        
+        Map<String, Product> byId = new HashMap<>();
+        Map<String, Product> bySku = new HashMap<>();
+        ids.forEach(id -> catalogue.findById(id).ifPresent(product -> byId.put(id, product)));
+        skus.forEach(sku -> catalogue.findBySku(sku).ifPresent(product -> bySku.put(sku, product)));
+        List<String> uncachedIds = ids.stream().filter(id -> !byId.containsKey(id)).distinct().toList();
+        List<String> uncachedSkus = skus.stream().filter(sku -> !bySku.containsKey(sku)).distinct().toList();
+        if (!uncachedIds.isEmpty()) {
+            repository.findAllById(uncachedIds).forEach(product -> byId.put(product.getId(), product));
+        }
+        if (!uncachedSkus.isEmpty()) {
+            repository.findBySkuIn(uncachedSkus).forEach(product -> bySku.put(product.getSku(), product));
+        }
+        
+        List<Product> products = new ArrayList<>(ids.size() + skus.size());
+        List<String> missing = new ArrayList<>();
+        for (String id : ids) {
+            Product product = byId.get(id);
+            if (product != null) {
+                products.add(product);
+            } else {
+                missing.add(id);
+            }
+        }
+        for (String sku : skus) {
+            Product product = bySku.get(sku);
+            if (product != null) {
+                products.add(product);
+            } else {
+                missing.add(sku);
+            }
+        }
+        return ResponseEntity.ok(new ProductLookupResponse(products, missing));
+    }
+    
     @PostMapping
     public ResponseEntity<Product> create(@RequestBody Product entity) {
         log.info("Creating new inventory");
+        if (entity.getStock() == null) {
+            entity.setStock(0L);
+        } else if (entity.getStock() < 0) {
+            throw new IllegalArgumentException("Stock cannot be negative");
+        }
         entity.setCreatedAt(LocalDateTime.now());
         entity.setUpdatedAt(LocalDateTime.now());
         Product saved = repository.save(entity);
+        if (saved.getStock() > 0) {
+            warehouseStockRepository.incrementQuantity(saved.getId(), WarehouseStock.DEFAULT_WAREHOUSE, saved.getStock());
+        }
+        catalogue.put(saved);
+        lowStockMonitor.evaluate(saved);
         return new ResponseEntity<>(saved, HttpStatus.CREATED);
     }
     
     @PutMapping("/{id}")
     public ResponseEntity<Product> update(@PathVariable String id, @RequestBody Product entity) {
         log.info("Updating inventory with id: {}", id);
-        Product existing = repository.findById(id)
+        Product updated = repository.updateDetails(id, entity)
             .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
-        
-        entity.setId(id);
-        entity.setCreatedAt(existing.getCreatedAt());
-        entity.setUpdatedAt(LocalDateTime.now());
-        
-        Product updated = repository.save(entity);
+        catalogue.put(updated);
+        lowStockMonitor.evaluate(updated);
         return ResponseEntity.ok(updated);
     }
     
+    @PostMapping("/{id}/reservations")
+    public ResponseEntity<StockReservation> reserve(@PathVariable String id,
+                                                    @Valid @RequestBody StockQuantityRequest request) {
+        log.debug("Reserving {} units of inventory with id: {}", request.quantity(), id);
+        StockReservation reservation = reservationBatcher.reserve(id, request.warehouseOrDefault(), request.quantity());
+        return new ResponseEntity<>(reservation, HttpStatus.CREATED);
+    }
+    
+    @GetMapping("/{id}/stock")
+    public ResponseEntity<ProductStock> getStock(@PathVariable String id) {
+        log.info("Fetching stock of inventory with id: {}", id);
+        Product product = repository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
+        List<WarehouseStock> warehouses = warehouseStockRepository.findByProductIdOrderByWarehouseId(id);
+        long total = product.getStock() != null ? product.getStock() : 0;
+        return ResponseEntity.ok(new ProductStock(id, total, warehouses));
+    }
+    
+    /**
+     * Adds {@code quantity} units to a warehouse, or removes them when negative.
+     */
+    @PostMapping("/{id}/stock-adjustments")
+    public ResponseEntity<Product> adjustStock(@PathVariable String id,
+                                               @Valid @RequestBody StockQuantityRequest request) {
+        log.info("Adjusting stock of inventory with id: {} by {}", id, request.quantity());
+        String warehouseId = request.warehouseOrDefault();
+        Product adjusted = stockLedger.change(id, warehouseId, request.quantity())
+            .orElseThrow(() -> new ConflictException("Insufficient stock for product " + id + " in warehouse "
+                + warehouseId + ": requested " + -request.quantity()));
+        catalogue.put(adjusted);
+        lowStockMonitor.onStockChanged(adjusted, request.quantity());
+        return ResponseEntity.ok(adjusted);
+    }
+    
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable String id) {
         log.info("Deleting inventory with id: {}", id);
         Product entity = repository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
         repository.delete(entity);
+        tombstoneRepository.save(new ProductTombstone(id, LocalDateTime.now()));
+        warehouseStockRepository.deleteByProductId(id);
+        catalogue.remove(id);
+        lowStockMonitor.forget(id);
         return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,40 @@
+package com.management.inventory.presentation.controller;
+
+import com.management.inventory.domain.model.WarehouseStock;
+import com.management.inventory.domain.repository.WarehouseStockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/inventorys/warehouses")
+@RequiredArgsConstructor
+@Slf4j
+public class WarehouseStockController {
+    
+    public static final int MAX_PAGE_SIZE = 1000;
+    
+    private final WarehouseStockRepository warehouseStockRepository;
+    
+    /**
+     * Stock held in a warehouse by product id, one page at a time. Pass the last {@code productId} of a page as
+     * {@code after} to get the next one.
+     */
+    @GetMapping("/{warehouseId}/stock")
+    public ResponseEntity<List<WarehouseStock>> getStock(@PathVariable String warehouseId,
+                                                         @RequestParam(required = false) String after,
+                                                         @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        log.info("Fetching stock of warehouse: {}", warehouseId);
+        return ResponseEntity.ok(warehouseStockRepository.findPageByWarehouse(warehouseId, after, limit));
+    }
+}
@@ -0,0 +1,8 @@
+package com.management.inventory.presentation.dto;
+
+import java.util.List;
+
+public record ProductLookupRequest(List<String> ids, List<String> skus) {
+    
+    public static final int MAX_KEYS = 1000;
+}
@@ -0,0 +1,8 @@
+package com.management.inventory.presentation.dto;
+
+import com.management.inventory.domain.model.Product;
+
+import java.util.List;
+
+public record ProductLookupResponse(List<Product> products, List<String> missing) {
+}
@@ -0,0 +1,14 @@
+package com.management.inventory.presentation.dto;
+
+import com.management.inventory.domain.model.WarehouseStock;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * A stock change for one warehouse, the default warehouse when {@code warehouseId} is omitted.
+ */
+public record StockQuantityRequest(@NotNull Long quantity, String warehouseId) {
+    
+    public String warehouseOrDefault() {
+        return warehouseId != null ? warehouseId : WarehouseStock.DEFAULT_WAREHOUSE;
+    }
+}
@@ -0,0 +1,241 @@
+package com.management.inventory.infrastructure.alert;
+
+import com.management.inventory.domain.model.LowStockAlert;
+import com.management.inventory.domain.model.LowStockEvent;
+import com.mongodb.ServerAddress;
+import com.mongodb.ServerCursor;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Low Stock Event Channel Tests")
+class LowStockEventChannelTest {
+    
+    private static final String COLLECTION = "low_stock_events";
+    
+    @Mock
+    private MongoTemplate mongoTemplate;
+    
+    @Mock
+    private MongoCollection<Document> collection;
+    
+    /** Stands in for the capped collection every instance appends to and tails, in insertion order. */
+    private final List<Document> events = new CopyOnWriteArrayList<>();
+    private MappingMongoConverter converter;
+    private volatile int cursorsOpened;
+    
+    private LowStockEventChannel local;
+    private LowStockEventChannel remote;
+    
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        FindIterable<Document> find = mock(FindIterable.class, RETURNS_SELF);
+        lenient().when(find.iterator()).thenAnswer(invocation -> new TailingCursor());
+        lenient().when(find.first()).thenAnswer(invocation -> events.isEmpty() ? null : events.get(events.size() - 1));
+        lenient().when(collection.find()).thenReturn(find);
+        lenient().when(collection.countDocuments(any(Bson.class))).thenReturn(1L);
+        lenient().when(mongoTemplate.getConverter()).thenReturn(converter);
+        lenient().when(mongoTemplate.getCollectionName(LowStockEvent.class)).thenReturn(COLLECTION);
+        lenient().when(mongoTemplate.getCollection(COLLECTION)).thenReturn(collection);
+        lenient().when(mongoTemplate.collectionExists(LowStockEvent.class)).thenReturn(true);
+        lenient().when(mongoTemplate.insert(any(LowStockEvent.class))).thenAnswer(invocation -> {
+            LowStockEvent event = invocation.getArgument(0);
+            Document document = new Document();
+            converter.write(event, document);
+            document.put("_id", new ObjectId());
+            events.add(document);
+            return event;
+        });
+    
+        local = new LowStockEventChannel(mongoTemplate, DataSize.ofMegabytes(1));
+        remote = new LowStockEventChannel(mongoTemplate, DataSize.ofMegabytes(1));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        local.shutdown();
+        remote.shutdown();
+    }
+    
+    @Test
+    @DisplayName("Should hand events published on one instance to listeners on another")
+    void shouldRelayEventsAcrossInstances() throws InterruptedException {
+        // Given
+        BlockingQueue<LowStockEvent> received = new LinkedBlockingQueue<>();
+        remote.listen(received::add);
+        awaitTailing();
+    
+        // When
+        local.publish(LowStockMonitor.LOW_STOCK_EVENT, alert("p-1"));
+        local.publish(LowStockMonitor.RESTOCKED_EVENT, alert("p-1"));
+    
+        // Then
+        LowStockEvent first = received.poll(5, TimeUnit.SECONDS);
+        LowStockEvent second = received.poll(5, TimeUnit.SECONDS);
+        assertThat(first).isNotNull();
+        assertThat(first.getEvent()).isEqualTo(LowStockMonitor.LOW_STOCK_EVENT);
+        assertThat(first.getAlert().getProductId()).isEqualTo("p-1");
+        assertThat(first.getAlert().getReorderPoint()).isEqualTo(5);
+        assertThat(second).isNotNull();
+        assertThat(second.getEvent()).isEqualTo(LowStockMonitor.RESTOCKED_EVENT);
+    }
+    
+    @Test
+    @DisplayName("Should not replay events published before the listener started")
+    void shouldSkipEventsBeforeListening() throws InterruptedException {
+        // Given
+        local.publish(LowStockMonitor.LOW_STOCK_EVENT, alert("p-old"));
+        BlockingQueue<LowStockEvent> received = new LinkedBlockingQueue<>();
+        remote.listen(received::add);
+        awaitTailing();
+    
+        // When
+        local.publish(LowStockMonitor.LOW_STOCK_EVENT, alert("p-new"));
+    
+        // Then
+        LowStockEvent event = received.poll(5, TimeUnit.SECONDS);
+        assertThat(event).isNotNull();
+        assertThat(event.getAlert().getProductId()).isEqualTo("p-new");
+        assertThat(received.poll(300, TimeUnit.MILLISECONDS)).isNull();
+    }
+    
+    @Test
+    @DisplayName("Should create the capped collection when it does not exist yet")
+    void shouldCreateCappedCollection() {
+        // Given
+        when(mongoTemplate.collectionExists(LowStockEvent.class)).thenReturn(false);
+    
+        // When
+        remote.listen(event -> { });
+    
+        // Then
+        verify(mongoTemplate).createCollection(eq(LowStockEvent.class), any(CollectionOptions.class));
+    }
+    
+    @Test
+    @DisplayName("Should leave an existing collection alone")
+    void shouldReuseExistingCollection() {
+        // When
+        remote.listen(event -> { });
+    
+        // Then
+        verify(mongoTemplate, never()).createCollection(eq(LowStockEvent.class), any(CollectionOptions.class));
+    }
+    
+    /**
+     * Waits until the listener has opened its tailing cursor, so events published afterwards count as new.
+     */
+    private void awaitTailing() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (cursorsOpened == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(cursorsOpened).isPositive();
+    }
+    
+    private LowStockAlert alert(String productId) {
+        return LowStockAlert.builder()
+            .productId(productId)
+            .sku("SKU-1")
+            .name("Coffee beans")
+            .stock(4)
+            .reorderPoint(5)
+            .build();
+    }
+    
+    /**
+     * A tailable cursor over {@link #events}: it starts at the oldest event and, once it has run out, waits
+     * briefly for more instead of ending.
+     */
+    private class TailingCursor implements MongoCursor<Document> {
+    
+        private int position;
+    
+        TailingCursor() {
+            cursorsOpened++;
+        }
+    
+        @Override
+        public Document tryNext() {
+            if (position < events.size()) {
+                return events.get(position++);
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }
+    
+        @Override
+        public ServerCursor getServerCursor() {
+            return new ServerCursor(1, new ServerAddress());
+        }
+    
+        @Override
+        public ServerAddress getServerAddress() {
+            return new ServerAddress();
+        }
+    
+        @Override
+        public boolean hasNext() {
+            return position < events.size();
+        }
+    
+        @Override
+        public Document next() {
+            return events.get(position++);
+        }
+    
+        @Override
+        public int available() {
+            return events.size() - position;
+        }
+    
+        @Override
+        public void close() {
+        }
+    }
+}
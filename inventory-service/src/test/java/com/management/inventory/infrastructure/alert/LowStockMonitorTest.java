@@ -0,0 +1,167 @@
+package com.management.inventory.infrastructure.alert;
+
+import com.management.inventory.domain.model.LowStockAlert;
+import com.management.inventory.domain.model.Product;
+import com.management.inventory.domain.repository.LowStockAlertRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Low Stock Monitor Tests")
+class LowStockMonitorTest {
+    
+    @Mock
+    private LowStockAlertRepository alertRepository;
+    
+    @Mock
+    private LowStockEventChannel channel;
+    
+    private LowStockMonitor monitor;
+    
+    @BeforeEach
+    void setUp() {
+        monitor = new LowStockMonitor(alertRepository, channel, Duration.ofMinutes(1));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        monitor.shutdown();
+    }
+    
+    @Test
+    @DisplayName("Should raise an alert only when stock falls below the reorder point")
+    void shouldRaiseOnDownwardCrossing() {
+        // Given
+        Product atReorderPoint = product(5L, 5L);
+        Product belowReorderPoint = product(4L, 5L);
+    
+        // When
+        monitor.onStockChanged(atReorderPoint, -1);
+        monitor.onStockChanged(belowReorderPoint, -1);
+    
+        // Then
+        ArgumentCaptor<LowStockAlert> alert = ArgumentCaptor.forClass(LowStockAlert.class);
+        verify(alertRepository).save(alert.capture());
+        verify(channel).publish(LowStockMonitor.LOW_STOCK_EVENT, alert.getValue());
+        assertThat(alert.getValue().getProductId()).isEqualTo("p-1");
+        assertThat(alert.getValue().getStock()).isEqualTo(4);
+        assertThat(alert.getValue().getReorderPoint()).isEqualTo(5);
+        assertThat(alert.getValue().getRaisedAt()).isNotNull();
+    }
+    
+    @Test
+    @DisplayName("Should not raise the alert again while stock stays below the reorder point")
+    void shouldNotRaiseTwiceWhileLow() {
+        // Given
+        monitor.onStockChanged(product(4L, 5L), -2);
+    
+        // When
+        monitor.onStockChanged(product(3L, 5L), -1);
+        monitor.onStockChanged(product(4L, 5L), 1);
+        monitor.onStockChanged(product(0L, 5L), -4);
+    
+        // Then
+        verify(alertRepository, times(1)).save(any());
+        verify(channel, times(1)).publish(eq(LowStockMonitor.LOW_STOCK_EVENT), any());
+        verify(channel, never()).publish(eq(LowStockMonitor.RESTOCKED_EVENT), any());
+    }
+    
+    @Test
+    @DisplayName("Should clear the alert on restock and raise it again on the next drop")
+    void shouldRearmAfterRestock() {
+        // Given
+        monitor.onStockChanged(product(4L, 5L), -2);
+    
+        // When
+        monitor.onStockChanged(product(10L, 5L), 6);
+        monitor.onStockChanged(product(2L, 5L), -8);
+    
+        // Then
+        verify(alertRepository).deleteById("p-1");
+        verify(channel).publish(eq(LowStockMonitor.RESTOCKED_EVENT), any());
+        verify(alertRepository, times(2)).save(any());
+        verify(channel, times(2)).publish(eq(LowStockMonitor.LOW_STOCK_EVENT), any());
+    }
+    
+    @Test
+    @DisplayName("Should ignore products without a reorder point")
+    void shouldIgnoreProductsWithoutReorderPoint() {
+        // When
+        monitor.onStockChanged(product(0L, null), -10);
+    
+        // Then
+        verifyNoInteractions(alertRepository, channel);
+    }
+    
+    @Test
+    @DisplayName("Should raise an alert when a new reorder point leaves stock below it")
+    void shouldRaiseOnEvaluateWhenNotAlerted() {
+        // Given
+        when(alertRepository.existsById("p-1")).thenReturn(false);
+    
+        // When
+        monitor.evaluate(product(4L, 5L));
+    
+        // Then
+        verify(alertRepository).save(any());
+        verify(channel).publish(eq(LowStockMonitor.LOW_STOCK_EVENT), any());
+    }
+    
+    @Test
+    @DisplayName("Should not raise an alert again on evaluate when one is already active")
+    void shouldNotRaiseOnEvaluateWhenAlerted() {
+        // Given
+        when(alertRepository.existsById("p-1")).thenReturn(true);
+    
+        // When
+        monitor.evaluate(product(4L, 5L));
+    
+        // Then
+        verify(alertRepository, never()).save(any());
+        verify(channel, never()).publish(any(), any());
+    }
+    
+    @Test
+    @DisplayName("Should still store the alert when the event cannot be relayed")
+    void shouldStoreAlertWhenRelayFails() {
+        // Given
+        doThrow(new DataAccessResourceFailureException("Mongo unavailable"))
+            .when(channel).publish(eq(LowStockMonitor.LOW_STOCK_EVENT), any());
+        monitor.subscribe();
+    
+        // When
+        monitor.onStockChanged(product(4L, 5L), -2);
+    
+        // Then
+        verify(alertRepository).save(any());
+    }
+    
+    private Product product(Long stock, Long reorderPoint) {
+        return Product.builder()
+            .id("p-1")
+            .sku("SKU-1")
+            .name("Coffee beans")
+            .stock(stock)
+            .reorderPoint(reorderPoint)
+            .build();
+    }
+}
@@ -0,0 +1,221 @@
+package com.management.inventory.infrastructure.catalogue;
+
+import com.management.common.dto.SyncResponse;
+import com.management.inventory.domain.model.Product;
+import com.management.inventory.infrastructure.sync.ProductChangeFeed;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Product Catalogue Tests")
+class ProductCatalogueTest {
+    
+    private static final String TOKEN = "token-1";
+    private static final long MIN_CAPACITY = 16 << 20;
+    private static final LocalDateTime NOW = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    
+    @Mock
+    private ProductChangeFeed changeFeed;
+    
+    @TempDir
+    private Path directory;
+    
+    private Path path;
+    private ProductCatalogue catalogue;
+    
+    @BeforeEach
+    void setUp() {
+        path = directory.resolve("catalogue.bin");
+        lenient().when(changeFeed.changesSince(any(), anyInt()))
+            .thenReturn(new SyncResponse<>(List.of(), List.of(), TOKEN, false, false));
+    }
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        if (catalogue != null) {
+            catalogue.shutdown();
+        }
+    }
+    
+    @Test
+    @DisplayName("Should return a product exactly as it was put")
+    void shouldRoundTripProduct() throws IOException {
+        // Given
+        catalogue = start(Duration.ofHours(1));
+        Product product = product("product-1", "SKU-1", 0, "Widget");
+        Product sparse = Product.builder().id("product-2").build();
+        
+        // When
+        catalogue.put(product);
+        catalogue.put(sparse);
+        
+        // Then
+        assertThat(catalogue.findById("product-1")).contains(product);
+        assertThat(catalogue.findBySku("SKU-1")).contains(product);
+        assertThat(catalogue.findById("product-2")).contains(sparse);
+        assertThat(catalogue.findById("missing")).isEmpty();
+    }
+    
+    @Test
+    @DisplayName("Should follow SKU changes, ignore stale versions and forget removed products")
+    void shouldApplyUpdatesAndRemovals() throws IOException {
+        // Given
+        catalogue = start(Duration.ofHours(1));
+        catalogue.put(product("product-1", "SKU-1", 0, "Widget"));
+        Product renamed = product("product-1", "SKU-2", 1, "Widget v2");
+        
+        // When
+        catalogue.put(renamed);
+        catalogue.put(product("product-1", "SKU-1", 0, "Widget"));
+        
+        // Then
+        assertThat(catalogue.findById("product-1")).contains(renamed);
+        assertThat(catalogue.findBySku("SKU-2")).contains(renamed);
+        assertThat(catalogue.findBySku("SKU-1")).isEmpty();
+        
+        catalogue.remove("product-1");
+        assertThat(catalogue.findById("product-1")).isEmpty();
+        assertThat(catalogue.findBySku("SKU-2")).isEmpty();
+    }
+    
+    @Test
+    @DisplayName("Should reload products and the sync token from the snapshot after a restart")
+    void shouldReloadSnapshot() throws Exception {
+        // Given
+        catalogue = start(Duration.ofHours(1));
+        verify(changeFeed, timeout(5000)).changesSince(null, ProductChangeFeed.MAX_PAGE_SIZE);
+        awaitStoredToken();
+        Product kept = product("product-1", "SKU-1", 0, "Widget");
+        catalogue.put(kept);
+        catalogue.put(product("product-2", "SKU-2", 0, "Gadget"));
+        catalogue.remove("product-2");
+        catalogue.shutdown();
+        
+        // When
+        catalogue = start(Duration.ofHours(1));
+        
+        // Then
+        assertThat(catalogue.findById("product-1")).contains(kept);
+        assertThat(catalogue.findBySku("SKU-1")).contains(kept);
+        assertThat(catalogue.findById("product-2")).isEmpty();
+        assertThat(catalogue.findBySku("SKU-2")).isEmpty();
+        verify(changeFeed, timeout(5000)).changesSince(TOKEN, ProductChangeFeed.MAX_PAGE_SIZE);
+    }
+    
+    @Test
+    @DisplayName("Should compact superseded records and keep the latest versions across a restart")
+    void shouldCompactSnapshot() throws Exception {
+        // Given
+        catalogue = start(Duration.ofMillis(20));
+        Product latest = null;
+        
+        // When
+        for (int version = 0; version < 300; version++) {
+            latest = product("product-1", "SKU-1", version, "x".repeat(64 << 10) + version);
+            catalogue.put(latest);
+        }
+        
+        // Then
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (Files.size(path) != MIN_CAPACITY) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+        assertThat(catalogue.findById("product-1")).contains(latest);
+        
+        catalogue.shutdown();
+        catalogue = start(Duration.ofHours(1));
+        assertThat(catalogue.findById("product-1")).contains(latest);
+        assertThat(catalogue.findBySku("SKU-1")).contains(latest);
+    }
+    
+    @Test
+    @DisplayName("Should serve readers while the snapshot grows")
+    void shouldReadWhileGrowing() throws Exception {
+        // Given
+        catalogue = start(Duration.ofHours(1));
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicReference<String> lastId = new AtomicReference<>("product-0");
+        catalogue.put(product(lastId.get(), null, 0, ""));
+        CompletableFuture<Void> reader = CompletableFuture.runAsync(() -> {
+            while (writing.get()) {
+                Optional<Product> found = catalogue.findById(lastId.get());
+                assertThat(found).isPresent();
+            }
+        });
+        
+        // When
+        for (int i = 1; i <= 3000; i++) {
+            String id = "product-" + i;
+            catalogue.put(product(id, null, 0, "x".repeat(16 << 10)));
+            lastId.set(id);
+        }
+        writing.set(false);
+        
+        // Then
+        reader.get(10, TimeUnit.SECONDS);
+        assertThat(Files.size(path)).isGreaterThan(2 * MIN_CAPACITY);
+        assertThat(catalogue.findById("product-0")).isPresent();
+        assertThat(catalogue.findById("product-3000")).isPresent();
+    }
+    
+    /**
+     * The first refresh stores its token just after the change feed answers; wait for it to reach the file.
+     */
+    private void awaitStoredToken() throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!new String(Files.readAllBytes(path), 0, 512, StandardCharsets.UTF_8).contains(TOKEN)) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+    
+    private ProductCatalogue start(Duration refreshInterval) throws IOException {
+        ProductCatalogue started = new ProductCatalogue(changeFeed, path, refreshInterval);
+        started.start();
+        return started;
+    }
+    
+    private static Product product(String id, String sku, int version, String description) {
+        return Product.builder()
+            .id(id)
+            .sku(sku)
+            .name("Product " + id)
+            .description(description)
+            .price(new BigDecimal("19.99"))
+            .stock(40L)
+            .reorderPoint(5L)
+            .createdAt(NOW)
+            .updatedAt(NOW.plusSeconds(version))
+            .build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.management.inventory.infrastructure.persistence;
+
+import com.management.common.lock.MongoLock;
+import com.management.inventory.domain.model.Product;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Warehouse Stock Backfill Tests")
+class WarehouseStockBackfillTest {
+    
+    @Mock
+    private MongoTemplate mongoTemplate;
+    
+    @Mock
+    private MongoLock mongoLock;
+    
+    private WarehouseStockBackfill backfill;
+    
+    @BeforeEach
+    void setUp() {
+        backfill = new WarehouseStockBackfill(mongoTemplate, mongoLock);
+    }
+    
+    @Test
+    @DisplayName("Should not scan products once the migration has completed")
+    void shouldSkipCompletedMigration() {
+        // Given
+        when(mongoTemplate.exists(any(Query.class), eq(WarehouseStockBackfill.MIGRATIONS))).thenReturn(true);
+        
+        // When
+        backfill.backfill();
+        
+        // Then
+        verify(mongoTemplate, never()).aggregate(any(Aggregation.class), eq(Product.class), eq(Document.class));
+        verifyNoInteractions(mongoLock);
+    }
+    
+    @Test
+    @DisplayName("Should leave the migration to the instance already running it")
+    void shouldSkipMigrationClaimedElsewhere() {
+        // Given
+        when(mongoTemplate.exists(any(Query.class), eq(WarehouseStockBackfill.MIGRATIONS))).thenReturn(false);
+        when(mongoLock.tryAcquire(eq(WarehouseStockBackfill.MIGRATION_ID), any())).thenReturn(false);
+        
+        // When
+        backfill.backfill();
+        
+        // Then
+        verify(mongoTemplate, never()).aggregate(any(Aggregation.class), eq(Product.class), eq(Document.class));
+        verify(mongoLock, never()).release(any());
+    }
+    
+    @Test
+    @DisplayName("Should record the migration as done even when there is nothing to move")
+    void shouldMarkMigrationComplete() {
+        // Given
+        when(mongoTemplate.exists(any(Query.class), eq(WarehouseStockBackfill.MIGRATIONS))).thenReturn(false);
+        when(mongoLock.tryAcquire(eq(WarehouseStockBackfill.MIGRATION_ID), any())).thenReturn(true);
+        when(mongoTemplate.getCollectionName(any())).thenReturn("warehouse_stock");
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Product.class), eq(Document.class)))
+            .thenReturn(new AggregationResults<>(List.of(), new Document()));
+        
+        // When
+        backfill.backfill();
+        
+        // Then
+        verify(mongoTemplate).upsert(any(Query.class), any(Update.class), eq(WarehouseStockBackfill.MIGRATIONS));
+        verify(mongoLock).release(WarehouseStockBackfill.MIGRATION_ID);
+    }
+}
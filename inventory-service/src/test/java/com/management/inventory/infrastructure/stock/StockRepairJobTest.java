@@ -0,0 +1,147 @@
+package com.management.inventory.infrastructure.stock;
+
+import com.management.common.lock.MongoLock;
+import com.management.inventory.domain.model.Product;
+import com.management.inventory.domain.model.WarehouseStock;
+import com.management.inventory.infrastructure.alert.LowStockMonitor;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Stock Repair Job Tests")
+class StockRepairJobTest {
+    
+    @Mock
+    private MongoTemplate mongoTemplate;
+    
+    @Mock
+    private MongoLock mongoLock;
+    
+    @Mock
+    private LowStockMonitor lowStockMonitor;
+    
+    private StockRepairJob job;
+    
+    @BeforeEach
+    void setUp() {
+        job = new StockRepairJob(mongoTemplate, mongoLock, lowStockMonitor, Duration.ofMinutes(5));
+    }
+    
+    @Test
+    @DisplayName("Should skip when another instance is repairing")
+    void shouldSkipWhenLockIsTaken() {
+        // Given
+        when(mongoLock.tryAcquire(eq(StockRepairJob.LOCK), any())).thenReturn(false);
+        
+        // When
+        int repaired = job.repair();
+        
+        // Then
+        assertThat(repaired).isEqualTo(-1);
+        verifyNoInteractions(mongoTemplate, lowStockMonitor);
+        verify(mongoLock, never()).release(any());
+    }
+    
+    @Test
+    @DisplayName("Should set a drifted total to the warehouse sum only if the product is unchanged")
+    void shouldRepairUnchangedProducts() {
+        // Given
+        Date updatedAt = new Date();
+        Document drifted = new Document("_id", "product-1").append("productId", "product-1")
+            .append("stock", 12L).append("updatedAt", updatedAt).append("total", 9L);
+        Document raced = new Document("_id", "product-2").append("productId", "product-2")
+            .append("stock", 3L).append("updatedAt", updatedAt).append("total", 5L);
+        Product repaired = Product.builder().id("product-1").stock(9L).build();
+        when(mongoLock.tryAcquire(eq(StockRepairJob.LOCK), any())).thenReturn(true);
+        when(mongoTemplate.getCollectionName(any())).thenReturn("warehouse_stock");
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Product.class), eq(Document.class)))
+            .thenReturn(new AggregationResults<>(List.of(drifted, raced), new Document()));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Product.class)))
+            .thenAnswer(invocation -> {
+                Document criteria = invocation.getArgument(0, Query.class).getQueryObject();
+                return criteria.get("_id").equals("product-1") ? repaired : null;
+            });
+        
+        // When
+        int count = job.repair();
+        
+        // Then
+        assertThat(count).isEqualTo(1);
+        verify(lowStockMonitor).evaluate(repaired);
+        verify(mongoLock).release(StockRepairJob.LOCK);
+    }
+    
+    @Test
+    @DisplayName("Should only look at products changed since the last scan")
+    void shouldScanOnlyChangedProducts() {
+        // Given
+        when(mongoLock.tryAcquire(eq(StockRepairJob.LOCK), any())).thenReturn(true);
+        when(mongoTemplate.findOne(any(Query.class), eq(Document.class), eq(StockRepairJob.WATERMARKS)))
+            .thenReturn(new Document("_id", StockRepairJob.LOCK).append("scannedUntil", new Date()));
+        when(mongoTemplate.findDistinct(any(Query.class), eq("productId"), eq(WarehouseStock.class), eq(String.class)))
+            .thenReturn(List.of("product-1"));
+        when(mongoTemplate.find(any(Query.class), eq(Product.class)))
+            .thenReturn(List.of(Product.builder().id("product-2").build()));
+        when(mongoTemplate.getCollectionName(any())).thenReturn("warehouse_stock");
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Product.class), eq(Document.class)))
+            .thenReturn(new AggregationResults<>(List.of(), new Document()));
+        
+        // When
+        int count = job.repair();
+        
+        // Then
+        assertThat(count).isZero();
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate).aggregate(aggregation.capture(), eq(Product.class), eq(Document.class));
+        Document match = aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT).get(0).get("$match", Document.class);
+        assertThat(match.get("_id", Document.class).getList("$in", String.class)).containsExactly("product-1", "product-2");
+        verify(mongoTemplate).upsert(any(Query.class), any(Update.class), eq(StockRepairJob.WATERMARKS));
+    }
+    
+    @Test
+    @DisplayName("Should only move the watermark when nothing changed since the last scan")
+    void shouldSkipScanWhenNothingChanged() {
+        // Given
+        when(mongoLock.tryAcquire(eq(StockRepairJob.LOCK), any())).thenReturn(true);
+        when(mongoTemplate.findOne(any(Query.class), eq(Document.class), eq(StockRepairJob.WATERMARKS)))
+            .thenReturn(new Document("_id", StockRepairJob.LOCK).append("scannedUntil", new Date()));
+        when(mongoTemplate.findDistinct(any(Query.class), eq("productId"), eq(WarehouseStock.class), eq(String.class)))
+            .thenReturn(List.of());
+        when(mongoTemplate.find(any(Query.class), eq(Product.class))).thenReturn(List.of());
+        
+        // When
+        int count = job.repair();
+        
+        // Then
+        assertThat(count).isZero();
+        verify(mongoTemplate, never()).aggregate(any(Aggregation.class), eq(Product.class), eq(Document.class));
+        ArgumentCaptor<Update> watermark = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(any(Query.class), watermark.capture(), eq(StockRepairJob.WATERMARKS));
+        assertThat(watermark.getValue().getUpdateObject().get("$set", Document.class)).containsKey("scannedUntil");
+        verify(mongoLock).release(StockRepairJob.LOCK);
+    }
+}
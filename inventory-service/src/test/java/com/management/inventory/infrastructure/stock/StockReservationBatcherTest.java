@@ -0,0 +1,267 @@
+package com.management.inventory.infrastructure.stock;
+
+import com.management.common.exception.ConflictException;
+import com.management.inventory.domain.model.Product;
+import com.management.inventory.domain.model.StockReservation;
+import com.management.inventory.infrastructure.alert.LowStockMonitor;
+import com.management.inventory.infrastructure.catalogue.ProductCatalogue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Stock Reservation Batcher Tests")
+class StockReservationBatcherTest {
+    
+    private static final String PRODUCT_ID = "product-1";
+    private static final String WAREHOUSE_ID = "warehouse-1";
+    
+    @Mock
+    private ProductCatalogue catalogue;
+    
+    @Mock
+    private LowStockMonitor lowStockMonitor;
+    
+    private StubLedger ledger;
+    private StockReservationBatcher batcher;
+    
+    @BeforeEach
+    void setUp() {
+        ledger = new StubLedger();
+        batcher = new StockReservationBatcher(ledger, catalogue, lowStockMonitor);
+    }
+    
+    @Test
+    @DisplayName("Should grant exactly the starting stock to many concurrent callers")
+    void shouldNeverOversellUnderConcurrency() throws Exception {
+        // Given
+        int startingStock = 1000;
+        int threads = 50;
+        int reservationsPerThread = 40;
+        ledger.stock.set(startingStock);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<Long> remainders = ConcurrentHashMap.newKeySet();
+        AtomicInteger granted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        
+        // When
+        List<Future<?>> callers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            callers.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < reservationsPerThread; j++) {
+                    try {
+                        remainders.add(batcher.reserve(PRODUCT_ID, WAREHOUSE_ID, 1).remaining());
+                        granted.incrementAndGet();
+                    } catch (ConflictException ex) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> caller : callers) {
+            caller.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        
+        // Then
+        assertThat(granted.get()).isEqualTo(startingStock);
+        assertThat(rejected.get()).isEqualTo(threads * reservationsPerThread - startingStock);
+        assertThat(ledger.stock.get()).isZero();
+        assertThat(ledger.lowestStock.get()).isNotNegative();
+        assertThat(remainders).hasSize(startingStock).allMatch(remaining -> remaining >= 0 && remaining < startingStock);
+        assertThat(ledger.maxInFlight.get()).isEqualTo(1);
+        assertThat(batcher.openLanes()).isZero();
+    }
+    
+    @Test
+    @DisplayName("Should write reservations queued behind a flush as one change")
+    void shouldHandOffQueuedReservationsToNextCaller() throws Exception {
+        // Given
+        ledger.stock.set(100);
+        CompletableFuture<StockReservation> first = reserveBlocked(1);
+        CompletableFuture<StockReservation> second = reserveQueued(2);
+        CompletableFuture<StockReservation> third = reserveQueued(3);
+        
+        // When
+        ledger.release.countDown();
+        
+        // Then
+        assertThat(first.get(5, TimeUnit.SECONDS).remaining()).isEqualTo(99);
+        assertThat(second.get(5, TimeUnit.SECONDS).remaining()).isEqualTo(97);
+        assertThat(third.get(5, TimeUnit.SECONDS).remaining()).isEqualTo(94);
+        assertThat(ledger.deltas).containsExactly(-1L, -5L);
+        assertThat(batcher.openLanes()).isZero();
+    }
+    
+    @Test
+    @DisplayName("Should grant queued reservations in arrival order as far as the stock reaches")
+    void shouldGrantPartOfBatchThatFits() throws Exception {
+        // Given
+        ledger.stock.set(10);
+        CompletableFuture<StockReservation> first = reserveBlocked(1);
+        CompletableFuture<StockReservation> small = reserveQueued(3);
+        CompletableFuture<StockReservation> large = reserveQueued(7);
+        CompletableFuture<StockReservation> last = reserveQueued(2);
+        
+        // When
+        ledger.release.countDown();
+        
+        // Then
+        assertThat(first.get(5, TimeUnit.SECONDS).remaining()).isEqualTo(9);
+        assertThat(small.get(5, TimeUnit.SECONDS).remaining()).isEqualTo(6);
+        assertThat(last.get(5, TimeUnit.SECONDS).remaining()).isEqualTo(4);
+        assertThatThrownBy(() -> large.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(ConflictException.class)
+            .hasMessageContaining("requested 7");
+        assertThat(ledger.deltas).containsExactly(-1L, -12L, -5L);
+        assertThat(ledger.stock.get()).isEqualTo(4);
+    }
+    
+    @Test
+    @DisplayName("Should reject a reservation larger than the stock")
+    void shouldRejectReservationThatDoesNotFit() {
+        // Given
+        ledger.stock.set(4);
+        
+        // When & Then
+        assertThatThrownBy(() -> batcher.reserve(PRODUCT_ID, WAREHOUSE_ID, 5))
+            .isInstanceOf(ConflictException.class)
+            .hasMessageContaining("Insufficient stock");
+        assertThat(ledger.stock.get()).isEqualTo(4);
+        assertThat(batcher.openLanes()).isZero();
+    }
+    
+    @Test
+    @DisplayName("Should retire the lane when the ledger fails so later reservations still go through")
+    void shouldRetireLaneAfterFailure() {
+        // Given
+        ledger.stock.set(10);
+        ledger.failure = new IllegalStateException("ledger unavailable");
+        
+        // When & Then
+        assertThatThrownBy(() -> batcher.reserve(PRODUCT_ID, WAREHOUSE_ID, 1))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("ledger unavailable");
+        assertThat(batcher.openLanes()).isZero();
+        
+        ledger.failure = null;
+        assertThat(batcher.reserve(PRODUCT_ID, WAREHOUSE_ID, 1).remaining()).isEqualTo(9);
+        assertThat(batcher.openLanes()).isZero();
+    }
+    
+    /**
+     * Starts a reservation whose ledger change blocks until {@code ledger.release} opens.
+     */
+    private CompletableFuture<StockReservation> reserveBlocked(long quantity) throws InterruptedException {
+        ledger.blockNext = true;
+        CompletableFuture<StockReservation> reservation = reserveAsync(quantity);
+        assertThat(ledger.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        return reservation;
+    }
+    
+    /**
+     * Starts a reservation and waits until it is queued behind the lane's current flush.
+     */
+    private CompletableFuture<StockReservation> reserveQueued(long quantity) throws InterruptedException {
+        Thread[] caller = new Thread[1];
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<StockReservation> reservation = CompletableFuture.supplyAsync(() -> {
+            caller[0] = Thread.currentThread();
+            started.countDown();
+            return batcher.reserve(PRODUCT_ID, WAREHOUSE_ID, quantity);
+        }, runnable -> new Thread(runnable).start());
+        started.await();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (caller[0].getState() != Thread.State.WAITING) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+        return reservation;
+    }
+    
+    private CompletableFuture<StockReservation> reserveAsync(long quantity) {
+        return CompletableFuture.supplyAsync(() -> batcher.reserve(PRODUCT_ID, WAREHOUSE_ID, quantity),
+            runnable -> new Thread(runnable).start());
+    }
+    
+    /**
+     * A single warehouse whose conditional decrement behaves like the {@code $inc} in Mongo: it is atomic and
+     * refuses to take the quantity below zero.
+     */
+    private static final class StubLedger extends StockLedger {
+        
+        private final AtomicLong stock = new AtomicLong();
+        private final AtomicLong lowestStock = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+        private final List<Long> deltas = new ArrayList<>();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile boolean blockNext;
+        private volatile RuntimeException failure;
+        
+        private StubLedger() {
+            super(null, null);
+        }
+        
+        @Override
+        public Optional<Product> change(String productId, String warehouseId, long delta) {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                if (blockNext) {
+                    blockNext = false;
+                    entered.countDown();
+                    release.await();
+                }
+                if (failure != null) {
+                    throw failure;
+                }
+                synchronized (this) {
+                    deltas.add(delta);
+                    if (stock.get() + delta < 0) {
+                        return Optional.empty();
+                    }
+                    long after = stock.addAndGet(delta);
+                    lowestStock.accumulateAndGet(after, Math::min);
+                    return Optional.of(Product.builder().id(productId).stock(after).build());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+        
+        @Override
+        public long available(String productId, String warehouseId) {
+            return stock.get();
+        }
+    }
+}
@@ -2,7 +2,10 @@ package com.management.planning.presentation.controller;
 
 import com.management.planning.domain.model.Plan;
 import com.management.planning.domain.repository.PlanRepository;
+import com.management.common.dto.BatchGetRequest;
+import com.management.common.dto.BatchGetResponse;
 import com.management.common.exception.ResourceNotFoundException;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -34,6 +37,12 @@ public class PlanController {
         return ResponseEntity.ok(entity);
     }
     
+    @PostMapping("/batch-get")
+    public ResponseEntity<BatchGetResponse<Plan>> batchGet(@Valid @RequestBody BatchGetRequest request) {
+        log.info("Fetching {} plannings by id", request.ids().size());
+        return ResponseEntity.ok(BatchGetResponse.fetch(request.ids(), repository::findAllById, Plan::getId));
+    }
+    
     @PostMapping
     public ResponseEntity<Plan> create(@RequestBody Plan entity) {
         log.info("Creating new planning");
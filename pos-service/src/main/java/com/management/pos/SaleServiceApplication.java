@@ -3,9 +3,11 @@ package com.management.pos;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = {"com.management.pos", "com.management.common"})
 @EnableDiscoveryClient
+@EnableScheduling
 public class SaleServiceApplication {
 
     public static void main(String[] args) {
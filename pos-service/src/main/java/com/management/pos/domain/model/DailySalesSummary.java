@@ -0,0 +1,48 @@
+package com.management.pos.domain.model;
+
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Closing totals for one business day, keyed by its ISO date. Written once by the reconciliation job and never
+ * updated afterwards.
+ */
+@Document(collection = "daily_sales_summaries")
+@Value
+@Builder
+public class DailySalesSummary {
+    
+    /**
+     * Totals for one store, terminal and payment type.
+     */
+    public record Line(String storeId, String terminalId, String paymentType, long count,
+                       @Field(targetType = FieldType.DECIMAL128) BigDecimal revenue) {
+    }
+    
+    @Id
+    String id;
+    
+    LocalDate businessDate;
+    
+    long saleCount;
+    
+    @Field(targetType = FieldType.DECIMAL128)
+    BigDecimal revenue;
+    
+    List<Line> lines;
+    
+    int partitions;
+    
+    long durationMillis;
+    
+    LocalDateTime generatedAt;
+}
@@ -0,0 +1,35 @@
+package com.management.pos.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Response given to the first request carrying an {@code Idempotency-Key}, replayed to its retries.
+ * Mongo removes records a day after they were created.
+ */
+@Document(collection = "idempotency_keys")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+    
+    @Id
+    private String key;
+    
+    private String requestHash;
+    
+    private int status;
+    
+    private Sale response;
+    
+    @Indexed(expireAfter = "24h")
+    private Instant createdAt;
+}
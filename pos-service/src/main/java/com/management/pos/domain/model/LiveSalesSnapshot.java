@@ -0,0 +1,13 @@
+package com.management.pos.domain.model;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rolling sales windows for one store, or for all stores when {@code storeId} is null, broken down per
+ * terminal or per store respectively.
+ */
+public record LiveSalesSnapshot(Instant asOf, String storeId, List<SalesWindow> windows,
+                                Map<String, List<SalesWindow>> breakdown) {
+}
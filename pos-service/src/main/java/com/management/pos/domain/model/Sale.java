@@ -1,20 +1,29 @@
 package com.management.pos.domain.model;
 
+import com.management.common.id.SnowflakeId;
+import com.management.common.sync.ChangeFeed;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Document(collection = "poss")
+@SnowflakeId
+@CompoundIndex(name = "updatedAt_id", def = "{'updatedAt': 1, '_id': 1}")
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class Sale {
+public class Sale implements ChangeFeed.Entity {
     
     @Id
     private String id;
@@ -23,6 +32,16 @@ public class Sale {
     
     private String description;
     
+    private String storeId;
+    
+    private String terminalId;
+    
+    private String paymentType;
+    
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal total;
+    
+    @Indexed
     private LocalDateTime createdAt;
     
     private LocalDateTime updatedAt;
@@ -0,0 +1,31 @@
+package com.management.pos.domain.model;
+
+import com.management.common.sync.ChangeFeed;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records that a sale was deleted so syncing terminals can drop it. Kept for {@link #RETENTION_DAYS} days.
+ */
+@Document(collection = "sale_tombstones")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaleTombstone implements ChangeFeed.Tombstone {
+    
+    public static final int RETENTION_DAYS = 30;
+    
+    @Id
+    private String id;
+    
+    @Indexed(expireAfterSeconds = RETENTION_DAYS * 24 * 60 * 60)
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,9 @@
+package com.management.pos.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Sales count and revenue over the last {@code minutes} minutes.
+ */
+public record SalesWindow(int minutes, long count, BigDecimal revenue) {
+}
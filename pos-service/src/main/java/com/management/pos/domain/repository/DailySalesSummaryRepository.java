@@ -0,0 +1,9 @@
+package com.management.pos.domain.repository;
+
+import com.management.pos.domain.model.DailySalesSummary;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DailySalesSummaryRepository extends MongoRepository<DailySalesSummary, String> {
+}
@@ -4,9 +4,13 @@ import com.management.pos.domain.model.Sale;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface SaleRepository extends MongoRepository<Sale, String> {
     List<Sale> findByName(String name);
+    
+    Stream<Sale> findByCreatedAtGreaterThanEqual(LocalDateTime since);
 }
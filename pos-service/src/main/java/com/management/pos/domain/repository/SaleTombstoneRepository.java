@@ -0,0 +1,9 @@
+package com.management.pos.domain.repository;
+
+import com.management.pos.domain.model.SaleTombstone;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SaleTombstoneRepository extends MongoRepository<SaleTombstone, String> {
+}
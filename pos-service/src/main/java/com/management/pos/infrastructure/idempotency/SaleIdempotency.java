@@ -0,0 +1,265 @@
+package com.management.pos.infrastructure.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.management.pos.domain.model.IdempotencyRecord;
+import com.management.pos.domain.model.Sale;
+import com.management.pos.domain.repository.IdempotencyRecordRepository;
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Makes sale creation safe to retry with an {@code Idempotency-Key} header. Recent keys are answered from an
+ * in-process cache, which also coalesces concurrent retries onto the first request; other keys cost one
+ * {@code _id} lookup in a TTL-indexed collection. Responses are persisted in batches off the request thread,
+ * and only once the sale they describe is written. A batch that fails to write is retried with backoff, as the
+ * ingestion pipeline does with sales, and is only dropped if Mongo is still unavailable when the shutdown grace
+ * period ends.
+ * <p>
+ * The coalescing only works within one process. Until a record reaches Mongo, a retry routed to another
+ * instance does not see it and creates the sale again; when both instances then store the key, the later
+ * write is rejected and logged as a collision.
+ */
+@Component
+@Slf4j
+public class SaleIdempotency {
+    
+    public static final String KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int WRITE_BATCH_SIZE = 500;
+    private static final long INITIAL_BACKOFF_MILLIS = 100;
+    private static final long MAX_BACKOFF_MILLIS = 5_000;
+    private static final long SHUTDOWN_GRACE_SECONDS = 10;
+    
+    private final IdempotencyRecordRepository repository;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, CompletableFuture<IdempotencyRecord>> recent;
+    private final BlockingQueue<IdempotencyRecord> pendingWrites = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile boolean abandoned;
+    
+    public SaleIdempotency(IdempotencyRecordRepository repository,
+                           MongoTemplate mongoTemplate,
+                           ObjectMapper objectMapper,
+                           @Value("${pos.idempotency.local-cache-size:200000}") long localCacheSize,
+                           @Value("${pos.idempotency.local-ttl:15m}") Duration localTtl) {
+        this.repository = repository;
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.recent = Caffeine.newBuilder()
+            .maximumSize(localCacheSize)
+            .expireAfterWrite(localTtl)
+            .build();
+        this.writer = new Thread(this::writeRecords, "idempotency-writer");
+    }
+    
+    @PostConstruct
+    public void start() {
+        writer.start();
+    }
+    
+    /**
+     * The response to a request and the work it acknowledges. The response is replayed within this process as
+     * soon as it is ready, but only persisted for other instances once {@code settled} completes; if that
+     * fails the key is forgotten so the request can be retried.
+     */
+    public record Outcome(CompletableFuture<ResponseEntity<Sale>> response, CompletableFuture<?> settled) {
+        
+        /**
+         * An outcome whose work is done when its response is.
+         */
+        public static Outcome of(CompletableFuture<ResponseEntity<Sale>> response) {
+            return new Outcome(response, response);
+        }
+    }
+    
+    /**
+     * Runs {@code action} for the first request with {@code key} and replays its response to later ones.
+     * Requests without a key always run. Failed requests are not remembered, so they can be retried.
+     */
+    public CompletableFuture<ResponseEntity<Sale>> execute(String key, Sale request, Supplier<Outcome> action) {
+        if (key == null) {
+            return action.get().response();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String requestHash = hash(request);
+        
+        CompletableFuture<IdempotencyRecord> claimed = new CompletableFuture<>();
+        CompletableFuture<IdempotencyRecord> existing = recent.asMap().putIfAbsent(key, claimed);
+        if (existing != null) {
+            return replay(existing, requestHash);
+        }
+        
+        Outcome outcome;
+        try {
+            Optional<IdempotencyRecord> stored = repository.findById(key);
+            if (stored.isPresent()) {
+                claimed.complete(stored.get());
+                return replay(claimed, requestHash);
+            }
+            outcome = action.get();
+        } catch (RuntimeException ex) {
+            forget(key, claimed, ex);
+            throw ex;
+        }
+        return outcome.response().whenComplete((response, ex) -> {
+            if (ex != null) {
+                forget(key, claimed, ex);
+                return;
+            }
+            IdempotencyRecord record = IdempotencyRecord.builder()
+                .key(key)
+                .requestHash(requestHash)
+                .status(response.getStatusCode().value())
+                .response(response.getBody())
+                .createdAt(Instant.now())
+                .build();
+            claimed.complete(record);
+            outcome.settled().whenComplete((settled, failure) -> {
+                if (failure != null) {
+                    forget(key, claimed, failure);
+                } else {
+                    pendingWrites.add(record);
+                }
+            });
+        });
+    }
+    
+    private CompletableFuture<ResponseEntity<Sale>> replay(CompletableFuture<IdempotencyRecord> original, String requestHash) {
+        return original.thenApply(record -> {
+            if (!record.getRequestHash().equals(requestHash)) {
+                throw new IllegalArgumentException("Idempotency-Key was already used for a different request");
+            }
+            log.debug("Replaying response for idempotency key {}", record.getKey());
+            return ResponseEntity.status(record.getStatus())
+                .header(REPLAYED_HEADER, "true")
+                .body(record.getResponse());
+        });
+    }
+    
+    /**
+     * Drops the key so a retry runs again. Retries already coalesced onto a completed claim keep its response.
+     */
+    private void forget(String key, CompletableFuture<IdempotencyRecord> claimed, Throwable failure) {
+        recent.asMap().remove(key, claimed);
+        claimed.completeExceptionally(failure);
+    }
+    
+    private String hash(Sale request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Could not fingerprint sale request", ex);
+        }
+    }
+    
+    private void writeRecords() {
+        List<IdempotencyRecord> batch = new ArrayList<>(WRITE_BATCH_SIZE);
+        while (running || !pendingWrites.isEmpty()) {
+            try {
+                IdempotencyRecord first = pendingWrites.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                pendingWrites.drainTo(batch, WRITE_BATCH_SIZE - 1);
+                store(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+    
+    private void store(List<IdempotencyRecord> batch) {
+        long backoff = INITIAL_BACKOFF_MILLIS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, IdempotencyRecord.class).insert(batch).execute();
+                return;
+            } catch (BulkOperationException ex) {
+                logRejected(ex.getErrors(), attempt > 1);
+                return;
+            } catch (DataAccessException ex) {
+                if (abandoned) {
+                    log.error("Dropping {} idempotency records at shutdown after {} attempts", batch.size(), attempt, ex);
+                    return;
+                }
+                log.warn("Write of {} idempotency records failed on attempt {}, retrying in {} ms: {}",
+                    batch.size(), attempt, backoff, ex.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    // Shutdown wakes the writer; the batch is dropped only once the grace period is over
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+    
+    /**
+     * On a retry a duplicate key may just mean an earlier attempt already stored that record.
+     */
+    private void logRejected(List<BulkWriteError> errors, boolean retried) {
+        for (BulkWriteError error : errors) {
+            if (retried && ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY) {
+                log.debug("Idempotency record already stored by an earlier attempt: {}", error.getMessage());
+            } else if (ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY) {
+                // Another instance ran the same key concurrently and stored its response first
+                log.warn("Idempotency key collision across instances: {}", error.getMessage());
+            } else {
+                log.error("Failed to store idempotency record: {}", error.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Stops the writer once everything queued is stored. Records still unwritten when the grace period ends are
+     * dropped.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(SHUTDOWN_GRACE_SECONDS));
+        if (writer.isAlive()) {
+            abandoned = true;
+            writer.interrupt();
+            writer.join(TimeUnit.SECONDS.toMillis(SHUTDOWN_GRACE_SECONDS));
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.management.pos.infrastructure.ingestion;
+
+import com.management.common.exception.ServiceUnavailableException;
+import com.management.common.exception.TooManyRequestsException;
+import com.management.common.id.SnowflakeIdGenerator;
+import com.management.pos.domain.model.Sale;
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accepts sales into a bounded in-memory buffer and writes them to Mongo in group commits: one unordered
+ * {@code insertMany} per batch, flushed when {@code batch-size} sales are waiting or {@code flush-interval}
+ * after the first one arrived, whichever comes first. A batch that fails to write is retried with backoff until
+ * it succeeds, holding back the batches behind it, so a Mongo outage fills the buffer and new sales are rejected
+ * instead of queueing without bound. Sales acknowledged before their batch commits are lost if the process dies
+ * in between, or if Mongo is still unavailable when the shutdown grace period ends.
+ */
+@Component
+@Slf4j
+public class SaleIngestionPipeline {
+    
+    private record PendingSale(Sale sale, CompletableFuture<Sale> committed) {
+    }
+    
+    private static final long RETRY_AFTER_SECONDS = 1;
+    private static final long INITIAL_BACKOFF_MILLIS = 100;
+    private static final long MAX_BACKOFF_MILLIS = 5_000;
+    private static final long SHUTDOWN_GRACE_SECONDS = 30;
+    
+    private final MongoTemplate mongoTemplate;
+    private final SnowflakeIdGenerator idGenerator;
+    private final BlockingQueue<PendingSale> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final boolean durableByDefault;
+    private final Thread flusher;
+    private volatile boolean accepting = true;
+    private volatile boolean abandoned;
+    
+    public SaleIngestionPipeline(MongoTemplate mongoTemplate,
+                                 SnowflakeIdGenerator idGenerator,
+                                 @Value("${pos.ingestion.buffer-capacity:50000}") int bufferCapacity,
+                                 @Value("${pos.ingestion.batch-size:500}") int batchSize,
+                                 @Value("${pos.ingestion.flush-interval:5ms}") Duration flushInterval,
+                                 @Value("${pos.ingestion.durable-by-default:false}") boolean durableByDefault) {
+        this.mongoTemplate = mongoTemplate;
+        this.idGenerator = idGenerator;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.durableByDefault = durableByDefault;
+        this.flusher = new Thread(this::run, "sale-ingestion-flusher");
+    }
+    
+    @PostConstruct
+    public void start() {
+        flusher.start();
+    }
+    
+    public boolean isDurableByDefault() {
+        return durableByDefault;
+    }
+    
+    /**
+     * Buffers a sale for the next group commit, assigning its id and timestamps now.
+     *
+     * @return a future completed with the sale once its batch is committed
+     * @throws TooManyRequestsException if the buffer is full
+     */
+    public CompletableFuture<Sale> submit(Sale sale) {
+        if (sale.getId() == null) {
+            sale.setId(idGenerator.nextIdString());
+        }
+        LocalDateTime now = LocalDateTime.now();
+        sale.setCreatedAt(now);
+        sale.setUpdatedAt(now);
+        
+        PendingSale pending = new PendingSale(sale, new CompletableFuture<>());
+        if (!accepting || !buffer.offer(pending)) {
+            throw new TooManyRequestsException("Sale ingestion buffer is full, retry shortly", RETRY_AFTER_SECONDS);
+        }
+        return pending.committed();
+    }
+    
+    private void run() {
+        List<PendingSale> batch = new ArrayList<>(batchSize);
+        while ((accepting || !buffer.isEmpty()) && !abandoned) {
+            try {
+                PendingSale first = buffer.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    buffer.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingSale next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                commit(batch);
+            } catch (InterruptedException ex) {
+                // Only shutdown interrupts the flusher; write what was collected, then drain the buffer
+                accepting = false;
+                if (!batch.isEmpty()) {
+                    commit(batch);
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+    
+    private void commit(List<PendingSale> batch) {
+        List<Sale> sales = batch.stream().map(PendingSale::sale).toList();
+        long backoff = INITIAL_BACKOFF_MILLIS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Sale.class).insert(sales).execute();
+                batch.forEach(pending -> pending.committed().complete(pending.sale()));
+                log.debug("Committed batch of {} sales", batch.size());
+                return;
+            } catch (BulkOperationException ex) {
+                completePartially(batch, ex, attempt > 1);
+                return;
+            } catch (DataAccessException ex) {
+                if (abandoned) {
+                    log.error("Dropping batch of {} sales at shutdown after {} attempts", batch.size(), attempt, ex);
+                    fail(batch, ex);
+                    return;
+                }
+                log.warn("Write of {} sales failed on attempt {}, retrying in {} ms: {}",
+                    batch.size(), attempt, backoff, ex.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    // Shutdown wakes the flusher; the batch is dropped only once the grace period is over
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+    
+    private void fail(List<PendingSale> batch, Exception cause) {
+        ServiceUnavailableException failure = new ServiceUnavailableException(
+            "Sale ingestion stopped before the sale was written", cause);
+        batch.forEach(pending -> pending.committed().completeExceptionally(failure));
+    }
+    
+    /**
+     * Completes the sales of a partially written batch. On a retry a duplicate id means an earlier attempt
+     * already wrote that sale.
+     */
+    private void completePartially(List<PendingSale> batch, BulkOperationException ex, boolean retried) {
+        Map<Integer, BulkWriteError> errors = new HashMap<>();
+        for (BulkWriteError error : ex.getErrors()) {
+            boolean alreadyWritten = retried && ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY;
+            if (!alreadyWritten) {
+                errors.put(error.getIndex(), error);
+            }
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            PendingSale pending = batch.get(i);
+            BulkWriteError error = errors.get(i);
+            if (error == null) {
+                pending.committed().complete(pending.sale());
+            } else {
+                pending.committed().completeExceptionally(new IllegalArgumentException(
+                    "Sale " + pending.sale().getId() + " was rejected: " + error.getMessage()));
+            }
+        }
+        if (!errors.isEmpty()) {
+            log.warn("{} of {} sales in batch were rejected", errors.size(), batch.size());
+        }
+    }
+    
+    /**
+     * Stops accepting sales and flushes everything already buffered. Whatever is still unwritten when the grace
+     * period ends is failed.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        accepting = false;
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(SHUTDOWN_GRACE_SECONDS));
+        if (flusher.isAlive()) {
+            abandoned = true;
+            flusher.interrupt();
+            flusher.join(TimeUnit.SECONDS.toMillis(SHUTDOWN_GRACE_SECONDS));
+        }
+        List<PendingSale> unwritten = new ArrayList<>();
+        buffer.drainTo(unwritten);
+        if (!unwritten.isEmpty()) {
+            log.error("Shut down with {} sales still buffered", unwritten.size());
+            fail(unwritten, null);
+        }
+    }
+}
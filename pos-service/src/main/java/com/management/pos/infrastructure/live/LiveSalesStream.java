@@ -0,0 +1,78 @@
+package com.management.pos.infrastructure.live;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes a {@code sales} event with the current {@link SalesWindowCounters} snapshot to every subscriber at a
+ * fixed interval. Subscribers watching the same store share one snapshot per tick.
+ */
+@Component
+@Slf4j
+public class LiveSalesStream {
+    
+    private static final String ALL_STORES = "";
+    
+    private final SalesWindowCounters counters;
+    private final long emitterTimeoutMillis;
+    private final Map<SseEmitter, String> subscribers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "live-sales-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public LiveSalesStream(SalesWindowCounters counters,
+                           @Value("${pos.live.push-interval:5s}") Duration pushInterval,
+                           @Value("${pos.live.emitter-timeout:30m}") Duration emitterTimeout) {
+        this.counters = counters;
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+        scheduler.scheduleAtFixedRate(this::push, pushInterval.toMillis(), pushInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    
+    public SseEmitter subscribe(String storeId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        subscribers.put(emitter, storeId != null ? storeId : ALL_STORES);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(ex -> subscribers.remove(emitter));
+        send(emitter, counters.snapshot(storeId));
+        return emitter;
+    }
+    
+    private void push() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Map<String, Object> snapshots = new ConcurrentHashMap<>();
+        subscribers.forEach((emitter, storeId) -> send(emitter, snapshots.computeIfAbsent(storeId,
+            key -> counters.snapshot(key.equals(ALL_STORES) ? null : key))));
+    }
+    
+    private void send(SseEmitter emitter, Object snapshot) {
+        try {
+            emitter.send(SseEmitter.event().name("sales").data(snapshot));
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Dropping live sales subscriber: {}", ex.getMessage());
+            subscribers.remove(emitter);
+            emitter.completeWithError(ex);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        subscribers.keySet().forEach(SseEmitter::complete);
+    }
+}
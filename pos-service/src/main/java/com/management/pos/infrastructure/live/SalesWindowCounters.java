@@ -0,0 +1,183 @@
+package com.management.pos.infrastructure.live;
+
+import com.management.pos.domain.model.LiveSalesSnapshot;
+import com.management.pos.domain.model.Sale;
+import com.management.pos.domain.model.SalesWindow;
+import com.management.pos.domain.repository.SaleRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Rolling sales count and revenue per store and terminal over the last 5, 15 and 60 minutes, kept in memory
+ * so dashboards never query Mongo. Each terminal has a ring of 10-second buckets; a bucket is replaced with a
+ * compare-and-set when its slot comes round again, and increments go to striped {@link LongAdder}s, so
+ * recording a sale takes no lock.
+ * <p>
+ * Counters are per instance. On startup they are loaded from Mongo with every instance's sales of the last hour,
+ * before the web server accepts requests, so no sale is counted both by the load and as it is written. From
+ * then on only sales written, updated or deleted through this instance are applied, so when several instances
+ * share the traffic each one reports only its own share of newer sales.
+ */
+@Component
+@Slf4j
+public class SalesWindowCounters {
+    
+    public static final List<Integer> WINDOW_MINUTES = List.of(5, 15, 60);
+    public static final String UNASSIGNED = "unassigned";
+    
+    private static final long BUCKET_MILLIS = 10_000;
+    private static final int BUCKETS = (int) (60 * 60_000 / BUCKET_MILLIS) + 1;
+    
+    private record TerminalKey(String storeId, String terminalId) {
+    }
+    
+    private record Bucket(long slot, LongAdder count, LongAdder revenueCents) {
+        
+        Bucket(long slot) {
+            this(slot, new LongAdder(), new LongAdder());
+        }
+    }
+    
+    private final SaleRepository saleRepository;
+    private final LongSupplier clock;
+    private final ConcurrentMap<TerminalKey, AtomicReferenceArray<Bucket>> terminals = new ConcurrentHashMap<>();
+    
+    @Autowired
+    public SalesWindowCounters(SaleRepository saleRepository) {
+        this(saleRepository, System::currentTimeMillis);
+    }
+    
+    SalesWindowCounters(SaleRepository saleRepository, LongSupplier clock) {
+        this.saleRepository = saleRepository;
+        this.clock = clock;
+    }
+    
+    @PostConstruct
+    public void load() {
+        long start = System.nanoTime();
+        long count = 0;
+        LocalDateTime since = LocalDateTime.ofInstant(Instant.ofEpochMilli(clock.getAsLong()), ZoneId.systemDefault())
+            .minusMinutes(WINDOW_MINUTES.get(WINDOW_MINUTES.size() - 1));
+        try (Stream<Sale> sales = saleRepository.findByCreatedAtGreaterThanEqual(since)) {
+            for (Sale sale : (Iterable<Sale>) sales::iterator) {
+                add(sale);
+                count++;
+            }
+        }
+        log.info("Sales window counters loaded {} recent sales in {} ms", count, (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    public void add(Sale sale) {
+        record(sale, 1);
+    }
+    
+    public void remove(Sale sale) {
+        record(sale, -1);
+    }
+    
+    public LiveSalesSnapshot snapshot(String storeId) {
+        long now = clock.getAsLong();
+        long currentSlot = now / BUCKET_MILLIS;
+        long[] storeCounts = new long[WINDOW_MINUTES.size()];
+        long[] storeCents = new long[WINDOW_MINUTES.size()];
+        Map<String, long[][]> breakdown = new TreeMap<>();
+        
+        terminals.forEach((key, buckets) -> {
+            if (storeId != null && !storeId.equals(key.storeId())) {
+                return;
+            }
+            String group = storeId != null ? key.terminalId() : key.storeId();
+            long[][] totals = breakdown.computeIfAbsent(group, ignored -> new long[2][WINDOW_MINUTES.size()]);
+            for (int i = 0; i < BUCKETS; i++) {
+                Bucket bucket = buckets.get(i);
+                if (bucket == null) {
+                    continue;
+                }
+                long age = (currentSlot - bucket.slot()) * BUCKET_MILLIS;
+                for (int w = 0; w < WINDOW_MINUTES.size(); w++) {
+                    if (age >= 0 && age < WINDOW_MINUTES.get(w) * 60_000L) {
+                        long count = bucket.count().sum();
+                        long cents = bucket.revenueCents().sum();
+                        totals[0][w] += count;
+                        totals[1][w] += cents;
+                        storeCounts[w] += count;
+                        storeCents[w] += cents;
+                    }
+                }
+            }
+        });
+        
+        Map<String, List<SalesWindow>> windowsByGroup = new TreeMap<>();
+        breakdown.forEach((group, totals) -> windowsByGroup.put(group, windows(totals[0], totals[1])));
+        return new LiveSalesSnapshot(Instant.ofEpochMilli(now), storeId, windows(storeCounts, storeCents), windowsByGroup);
+    }
+    
+    private void record(Sale sale, int sign) {
+        if (sale.getCreatedAt() == null) {
+            return;
+        }
+        long slot = sale.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() / BUCKET_MILLIS;
+        if (slot <= clock.getAsLong() / BUCKET_MILLIS - BUCKETS) {
+            return;
+        }
+        TerminalKey key = new TerminalKey(
+            sale.getStoreId() != null ? sale.getStoreId() : UNASSIGNED,
+            sale.getTerminalId() != null ? sale.getTerminalId() : UNASSIGNED);
+        AtomicReferenceArray<Bucket> buckets = terminals.computeIfAbsent(key, ignored -> new AtomicReferenceArray<>(BUCKETS));
+        Bucket bucket = bucketFor(buckets, slot);
+        if (bucket == null) {
+            return;
+        }
+        bucket.count().add(sign);
+        if (sale.getTotal() != null) {
+            bucket.revenueCents().add(sign * sale.getTotal().setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+        }
+    }
+    
+    /**
+     * The bucket for {@code slot}, replacing whatever older bucket occupies its place in the ring; null if a
+     * newer bucket already does.
+     */
+    private static Bucket bucketFor(AtomicReferenceArray<Bucket> buckets, long slot) {
+        int index = (int) (slot % BUCKETS);
+        while (true) {
+            Bucket current = buckets.get(index);
+            if (current != null && current.slot() == slot) {
+                return current;
+            }
+            if (current != null && current.slot() > slot) {
+                return null;
+            }
+            Bucket fresh = new Bucket(slot);
+            if (buckets.compareAndSet(index, current, fresh)) {
+                return fresh;
+            }
+        }
+    }
+    
+    private static List<SalesWindow> windows(long[] counts, long[] cents) {
+        List<SalesWindow> windows = new ArrayList<>(WINDOW_MINUTES.size());
+        for (int w = 0; w < WINDOW_MINUTES.size(); w++) {
+            windows.add(new SalesWindow(WINDOW_MINUTES.get(w), counts[w], BigDecimal.valueOf(cents[w], 2)));
+        }
+        return windows;
+    }
+}
@@ -0,0 +1,227 @@
+package com.management.pos.infrastructure.reconciliation;
+
+import com.management.common.exception.ConflictException;
+import com.management.common.lock.MongoLock;
+import com.management.pos.domain.model.DailySalesSummary;
+import com.management.pos.domain.model.Sale;
+import com.management.pos.domain.repository.DailySalesSummaryRepository;
+import com.management.pos.infrastructure.live.SalesWindowCounters;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closes a business day. The day is cut into {@code partitions} equal {@code createdAt} ranges, each totalled
+ * per store, terminal and payment type by its own Mongo aggregation on up to {@code parallelism} threads, and
+ * the partial totals are merged in memory into one {@link DailySalesSummary}. Runs on {@code cron} for the
+ * previous day and on demand; a day that already has a summary is never reconciled again. Every instance runs
+ * the schedule, so each claims the day with a {@link MongoLock} first and the others skip it.
+ */
+@Component
+@Slf4j
+public class DailyReconciliationJob {
+    
+    private record LineKey(String storeId, String terminalId, String paymentType) {
+    }
+    
+    private record Partial(LineKey key, long count, BigDecimal revenue) {
+    }
+    
+    private static final Duration CLAIM_LEASE = Duration.ofHours(1);
+    
+    private final MongoTemplate mongoTemplate;
+    private final DailySalesSummaryRepository summaryRepository;
+    private final MongoLock mongoLock;
+    private final int partitions;
+    private final ExecutorService executor;
+    private final Set<LocalDate> running = ConcurrentHashMap.newKeySet();
+    
+    public DailyReconciliationJob(MongoTemplate mongoTemplate,
+                                  DailySalesSummaryRepository summaryRepository,
+                                  MongoLock mongoLock,
+                                  @Value("${pos.reconciliation.partitions:24}") int partitions,
+                                  @Value("${pos.reconciliation.parallelism:4}") int parallelism) {
+        if (partitions < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("Reconciliation partitions and parallelism must be positive");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.summaryRepository = summaryRepository;
+        this.mongoLock = mongoLock;
+        this.partitions = partitions;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "sale-reconciliation-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Totals every sale created on {@code date} and stores the result.
+     *
+     * @throws IllegalArgumentException if the day has not ended yet
+     * @throws ConflictException if the day is already reconciled or being reconciled
+     */
+    public DailySalesSummary reconcile(LocalDate date) {
+        if (!date.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Cannot reconcile " + date + " before the day has ended");
+        }
+        String claim = "sales-reconciliation-" + date;
+        if (!running.add(date)) {
+            throw new ConflictException("Reconciliation of " + date + " is already running");
+        }
+        try {
+            if (!mongoLock.tryAcquire(claim, CLAIM_LEASE)) {
+                throw new ConflictException("Reconciliation of " + date + " is already running on another instance");
+            }
+            try {
+                if (summaryRepository.existsById(date.toString())) {
+                    throw new ConflictException("Sales for " + date + " are already reconciled");
+                }
+                DailySalesSummary summary = aggregate(date);
+                try {
+                    return summaryRepository.insert(summary);
+                } catch (DuplicateKeyException ex) {
+                    throw new ConflictException("Sales for " + date + " are already reconciled");
+                }
+            } finally {
+                mongoLock.release(claim);
+            }
+        } finally {
+            running.remove(date);
+        }
+    }
+    
+    @Scheduled(cron = "${pos.reconciliation.cron:0 30 0 * * *}")
+    public void reconcilePreviousDay() {
+        try {
+            reconcile(LocalDate.now().minusDays(1));
+        } catch (ConflictException ex) {
+            log.info("Skipping scheduled reconciliation: {}", ex.getMessage());
+        } catch (RuntimeException ex) {
+            log.error("Scheduled sales reconciliation failed", ex);
+        }
+    }
+    
+    private DailySalesSummary aggregate(LocalDate date) {
+        long started = System.nanoTime();
+        LocalDateTime dayStart = date.atStartOfDay();
+        long sliceNanos = Duration.ofDays(1).toNanos() / partitions;
+        
+        List<CompletableFuture<List<Partial>>> futures = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            LocalDateTime from = dayStart.plusNanos(sliceNanos * i);
+            LocalDateTime to = i == partitions - 1 ? dayStart.plusDays(1) : dayStart.plusNanos(sliceNanos * (i + 1));
+            futures.add(CompletableFuture.supplyAsync(() -> aggregatePartition(from, to), executor));
+        }
+        
+        Map<LineKey, long[]> counts = new HashMap<>();
+        Map<LineKey, BigDecimal> revenues = new HashMap<>();
+        try {
+            for (CompletableFuture<List<Partial>> future : futures) {
+                for (Partial partial : future.join()) {
+                    counts.computeIfAbsent(partial.key(), key -> new long[1])[0] += partial.count();
+                    revenues.merge(partial.key(), partial.revenue(), BigDecimal::add);
+                }
+            }
+        } catch (CompletionException ex) {
+            futures.forEach(future -> future.cancel(true));
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+        
+        List<DailySalesSummary.Line> lines = new ArrayList<>(counts.size());
+        long saleCount = 0;
+        BigDecimal revenue = BigDecimal.ZERO;
+        for (Map.Entry<LineKey, long[]> entry : counts.entrySet()) {
+            LineKey key = entry.getKey();
+            long count = entry.getValue()[0];
+            BigDecimal lineRevenue = revenues.get(key);
+            lines.add(new DailySalesSummary.Line(key.storeId(), key.terminalId(), key.paymentType(), count, lineRevenue));
+            saleCount += count;
+            revenue = revenue.add(lineRevenue);
+        }
+        lines.sort(Comparator.comparing(DailySalesSummary.Line::storeId)
+            .thenComparing(DailySalesSummary.Line::terminalId)
+            .thenComparing(DailySalesSummary.Line::paymentType));
+        
+        long durationMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+        log.info("Reconciled {} sales for {} into {} lines over {} partitions in {} ms ({} sales/s)",
+            saleCount, date, lines.size(), partitions, durationMillis,
+            durationMillis > 0 ? saleCount * 1000 / durationMillis : saleCount);
+        
+        return DailySalesSummary.builder()
+            .id(date.toString())
+            .businessDate(date)
+            .saleCount(saleCount)
+            .revenue(revenue)
+            .lines(lines)
+            .partitions(partitions)
+            .durationMillis(durationMillis)
+            .generatedAt(LocalDateTime.now())
+            .build();
+    }
+    
+    private List<Partial> aggregatePartition(LocalDateTime from, LocalDateTime to) {
+        long started = System.nanoTime();
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("createdAt").gte(from).lt(to)),
+            Aggregation.group("storeId", "terminalId", "paymentType")
+                .count().as("count")
+                .sum("total").as("revenue"));
+        
+        List<Partial> partials = new ArrayList<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, Sale.class, Document.class)) {
+            Document id = row.get("_id", Document.class);
+            LineKey key = new LineKey(orUnassigned(id.getString("storeId")), orUnassigned(id.getString("terminalId")),
+                orUnassigned(id.getString("paymentType")));
+            partials.add(new Partial(key, ((Number) row.get("count")).longValue(), toBigDecimal(row.get("revenue"))));
+        }
+        log.debug("Aggregated partition [{}, {}) into {} lines in {} ms", from, to, partials.size(),
+            Duration.ofNanos(System.nanoTime() - started).toMillis());
+        return partials;
+    }
+    
+    private static String orUnassigned(String value) {
+        return value != null ? value : SalesWindowCounters.UNASSIGNED;
+    }
+    
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof Decimal128 decimal) {
+            return decimal.bigDecimalValue();
+        }
+        if (value instanceof Integer || value instanceof Long) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        }
+        return value instanceof Number number ? BigDecimal.valueOf(number.doubleValue()) : BigDecimal.ZERO;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
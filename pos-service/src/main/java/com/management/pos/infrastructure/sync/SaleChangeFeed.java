@@ -0,0 +1,22 @@
+package com.management.pos.infrastructure.sync;
+
+import com.management.common.sync.ChangeFeed;
+import com.management.pos.domain.model.Sale;
+import com.management.pos.domain.model.SaleTombstone;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Change feed over sales. {@code pos.sync.settle-time} covers buffered ingestion batches, whose sales are
+ * stamped before they are written.
+ */
+@Component
+public class SaleChangeFeed extends ChangeFeed<Sale, SaleTombstone> {
+    
+    public SaleChangeFeed(MongoTemplate mongoTemplate, @Value("${pos.sync.settle-time:10s}") Duration settleTime) {
+        super(mongoTemplate, Sale.class, SaleTombstone.class, Duration.ofDays(SaleTombstone.RETENTION_DAYS), settleTime);
+    }
+}
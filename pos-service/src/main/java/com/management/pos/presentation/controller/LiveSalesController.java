@@ -0,0 +1,35 @@
+package com.management.pos.presentation.controller;
+
+import com.management.pos.domain.model.LiveSalesSnapshot;
+import com.management.pos.infrastructure.live.LiveSalesStream;
+import com.management.pos.infrastructure.live.SalesWindowCounters;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/poss/live")
+@RequiredArgsConstructor
+@Slf4j
+public class LiveSalesController {
+    
+    private final SalesWindowCounters counters;
+    private final LiveSalesStream stream;
+    
+    @GetMapping
+    public ResponseEntity<LiveSalesSnapshot> get(@RequestParam(required = false) String storeId) {
+        return ResponseEntity.ok(counters.snapshot(storeId));
+    }
+    
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(required = false) String storeId) {
+        log.info("Opening live sales stream for store: {}", storeId);
+        return stream.subscribe(storeId);
+    }
+}
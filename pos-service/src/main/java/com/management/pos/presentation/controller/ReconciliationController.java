@@ -0,0 +1,43 @@
+package com.management.pos.presentation.controller;
+
+import com.management.common.exception.ResourceNotFoundException;
+import com.management.pos.domain.model.DailySalesSummary;
+import com.management.pos.domain.repository.DailySalesSummaryRepository;
+import com.management.pos.infrastructure.reconciliation.DailyReconciliationJob;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/poss/reconciliations")
+@RequiredArgsConstructor
+@Slf4j
+public class ReconciliationController {
+    
+    private final DailyReconciliationJob reconciliationJob;
+    private final DailySalesSummaryRepository summaryRepository;
+    
+    @GetMapping("/{date}")
+    public ResponseEntity<DailySalesSummary> get(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        log.info("Fetching sales reconciliation for: {}", date);
+        DailySalesSummary summary = summaryRepository.findById(date.toString())
+            .orElseThrow(() -> new ResourceNotFoundException("DailySalesSummary", "date", date));
+        return ResponseEntity.ok(summary);
+    }
+    
+    /**
+     * Reconciles {@code date}, yesterday by default. Fails with 409 if the day already has a summary.
+     */
+    @PostMapping
+    public ResponseEntity<DailySalesSummary> reconcile(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        LocalDate businessDate = date != null ? date : LocalDate.now().minusDays(1);
+        log.info("Reconciling sales for: {}", businessDate);
+        return ResponseEntity.status(HttpStatus.CREATED).body(reconciliationJob.reconcile(businessDate));
+    }
+}
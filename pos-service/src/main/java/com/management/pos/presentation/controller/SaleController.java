@@ -1,8 +1,18 @@
 package com.management.pos.presentation.controller;
 
+import com.management.common.dto.BatchGetRequest;
+import com.management.common.dto.BatchGetResponse;
+import com.management.common.dto.SyncResponse;
 import com.management.pos.domain.model.Sale;
+import com.management.pos.domain.model.SaleTombstone;
 import com.management.pos.domain.repository.SaleRepository;
+import com.management.pos.domain.repository.SaleTombstoneRepository;
+import com.management.pos.infrastructure.idempotency.SaleIdempotency;
+import com.management.pos.infrastructure.ingestion.SaleIngestionPipeline;
+import com.management.pos.infrastructure.live.SalesWindowCounters;
+import com.management.pos.infrastructure.sync.SaleChangeFeed;
 import com.management.common.exception.ResourceNotFoundException;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -11,6 +21,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/poss")
@@ -19,6 +30,11 @@ import java.util.List;
 public class SaleController {
     
     private final SaleRepository repository;
+    private final SaleIngestionPipeline ingestionPipeline;
+    private final SaleIdempotency idempotency;
+    private final SalesWindowCounters windowCounters;
+    private final SaleTombstoneRepository tombstoneRepository;
+    private final SaleChangeFeed changeFeed;
     
     @GetMapping
     public ResponseEntity<List<Sale>> getAll() {
@@ -26,6 +42,17 @@ public class SaleController {
         return ResponseEntity.ok(repository.findAll());
     }
     
+    /**
+     * Sales created, updated or deleted since {@code since}, the {@code next} token of the previous call.
+     * Without a token the first page of a full sync is returned.
+     */
+    @GetMapping("/sync")
+    public ResponseEntity<SyncResponse<Sale>> sync(@RequestParam(required = false) String since,
+                                                   @RequestParam(defaultValue = "500") int limit) {
+        log.debug("Syncing poss since: {}", since);
+        return ResponseEntity.ok(changeFeed.changesSince(since, limit));
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<Sale> getById(@PathVariable String id) {
         log.info("Fetching pos with id: {}", id);
@@ -34,13 +61,45 @@ public class SaleController {
         return ResponseEntity.ok(entity);
     }
     
+    @PostMapping("/batch-get")
+    public ResponseEntity<BatchGetResponse<Sale>> batchGet(@Valid @RequestBody BatchGetRequest request) {
+        log.info("Fetching {} poss by id", request.ids().size());
+        return ResponseEntity.ok(BatchGetResponse.fetch(request.ids(), repository::findAllById, Sale::getId));
+    }
+    
     @PostMapping
-    public ResponseEntity<Sale> create(@RequestBody Sale entity) {
-        log.info("Creating new pos");
-        entity.setCreatedAt(LocalDateTime.now());
-        entity.setUpdatedAt(LocalDateTime.now());
-        Sale saved = repository.save(entity);
-        return new ResponseEntity<>(saved, HttpStatus.CREATED);
+    public CompletableFuture<ResponseEntity<Sale>> create(
+            @RequestBody Sale entity,
+            @RequestHeader(value = SaleIdempotency.KEY_HEADER, required = false) String idempotencyKey) {
+        return idempotency.execute(idempotencyKey, entity, () -> {
+            log.info("Creating new pos");
+            entity.setCreatedAt(LocalDateTime.now());
+            entity.setUpdatedAt(LocalDateTime.now());
+            Sale saved = repository.save(entity);
+            windowCounters.add(saved);
+            return SaleIdempotency.Outcome.of(CompletableFuture.completedFuture(new ResponseEntity<>(saved, HttpStatus.CREATED)));
+        });
+    }
+    
+    /**
+     * High-throughput variant of {@link #create}: the sale is buffered for a group commit and acknowledged with
+     * 202, or with 201 once written when {@code durable} is set. Responds 429 when the buffer is full.
+     * Both creation endpoints replay the original response to retries with the same {@code Idempotency-Key}.
+     */
+    @PostMapping("/ingest")
+    public CompletableFuture<ResponseEntity<Sale>> ingest(
+            @RequestBody Sale entity,
+            @RequestParam(required = false) Boolean durable,
+            @RequestHeader(value = SaleIdempotency.KEY_HEADER, required = false) String idempotencyKey) {
+        return idempotency.execute(idempotencyKey, entity, () -> {
+            CompletableFuture<Sale> committed = ingestionPipeline.submit(entity);
+            committed.thenAccept(windowCounters::add);
+            if (durable != null ? durable : ingestionPipeline.isDurableByDefault()) {
+                return SaleIdempotency.Outcome.of(committed.thenApply(saved -> new ResponseEntity<>(saved, HttpStatus.CREATED)));
+            }
+            return new SaleIdempotency.Outcome(
+                CompletableFuture.completedFuture(new ResponseEntity<>(entity, HttpStatus.ACCEPTED)), committed);
+        });
     }
     
     @PutMapping("/{id}")
@@ -54,6 +113,8 @@ public class SaleController {
         entity.setUpdatedAt(LocalDateTime.now());
         
         Sale updated = repository.save(entity);
+        windowCounters.remove(existing);
+        windowCounters.add(updated);
         return ResponseEntity.ok(updated);
     }
     
@@ -63,6 +124,8 @@ public class SaleController {
         Sale entity = repository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Sale", "id", id));
         repository.delete(entity);
+        tombstoneRepository.save(new SaleTombstone(id, LocalDateTime.now()));
+        windowCounters.remove(entity);
         return ResponseEntity.noContent().build();
     }
 }
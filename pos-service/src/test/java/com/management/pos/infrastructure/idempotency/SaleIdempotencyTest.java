@@ -0,0 +1,140 @@
+package com.management.pos.infrastructure.idempotency;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.management.pos.domain.model.IdempotencyRecord;
+import com.management.pos.domain.model.Sale;
+import com.management.pos.domain.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Sale Idempotency Tests")
+class SaleIdempotencyTest {
+    
+    @Mock
+    private IdempotencyRecordRepository repository;
+    
+    @Mock
+    private MongoTemplate mongoTemplate;
+    
+    @Mock
+    private BulkOperations bulkOperations;
+    
+    private SaleIdempotency idempotency;
+    private final AtomicInteger runs = new AtomicInteger();
+    
+    @BeforeEach
+    void setUp() {
+        lenient().when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, IdempotencyRecord.class)).thenReturn(bulkOperations);
+        lenient().when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        when(repository.findById(any())).thenReturn(Optional.empty());
+        idempotency = new SaleIdempotency(repository, mongoTemplate, JsonMapper.builder().findAndAddModules().build(),
+            1000, Duration.ofMinutes(1));
+        idempotency.start();
+    }
+    
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        idempotency.shutdown();
+    }
+    
+    @Test
+    @DisplayName("Should persist an accepted response only once the sale is written")
+    void shouldPersistAcceptedResponseOnceSettled() throws Exception {
+        // Given
+        CompletableFuture<Sale> committed = new CompletableFuture<>();
+        
+        // When
+        ResponseEntity<Sale> response = idempotency.execute("key-1", sale(), () -> accepted(committed)).get();
+        
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        verify(bulkOperations, after(300).never()).execute();
+        committed.complete(sale());
+        verify(bulkOperations, timeout(2000)).execute();
+    }
+    
+    @Test
+    @DisplayName("Should forget the key when the accepted sale fails to be written")
+    void shouldForgetKeyWhenSettlementFails() throws Exception {
+        // Given
+        CompletableFuture<Sale> committed = new CompletableFuture<>();
+        idempotency.execute("key-2", sale(), () -> accepted(committed)).get();
+        
+        // When
+        committed.completeExceptionally(new IllegalStateException("write failed"));
+        idempotency.execute("key-2", sale(), () -> accepted(CompletableFuture.completedFuture(sale()))).get();
+        
+        // Then
+        assertThat(runs).hasValue(2);
+        verify(bulkOperations, timeout(2000)).execute();
+    }
+    
+    @Test
+    @DisplayName("Should retry storing records after Mongo fails instead of dropping them")
+    void shouldRetryFailedWrites() throws Exception {
+        // Given
+        when(bulkOperations.execute())
+            .thenThrow(new DataAccessResourceFailureException("Mongo unavailable"))
+            .thenThrow(new DataAccessResourceFailureException("Mongo unavailable"))
+            .thenReturn(null);
+        
+        // When
+        idempotency.execute("key-4", sale(), () -> accepted(CompletableFuture.completedFuture(sale()))).get();
+        
+        // Then
+        verify(bulkOperations, timeout(3000).times(3)).execute();
+        verify(bulkOperations, times(3)).insert(anyList());
+    }
+    
+    @Test
+    @DisplayName("Should replay the first response to a retry in the same process")
+    void shouldReplayToRetry() throws Exception {
+        // Given
+        idempotency.execute("key-3", sale(), () -> accepted(CompletableFuture.completedFuture(sale()))).get();
+        
+        // When
+        ResponseEntity<Sale> replayed = idempotency.execute("key-3", sale(), () -> accepted(new CompletableFuture<>())).get();
+        
+        // Then
+        assertThat(runs).hasValue(1);
+        assertThat(replayed.getHeaders().getFirst(SaleIdempotency.REPLAYED_HEADER)).isEqualTo("true");
+    }
+    
+    private SaleIdempotency.Outcome accepted(CompletableFuture<Sale> committed) {
+        runs.incrementAndGet();
+        return new SaleIdempotency.Outcome(
+            CompletableFuture.completedFuture(new ResponseEntity<>(sale(), HttpStatus.ACCEPTED)), committed);
+    }
+    
+    private Sale sale() {
+        Sale sale = new Sale();
+        sale.setName("Coffee");
+        return sale;
+    }
+}
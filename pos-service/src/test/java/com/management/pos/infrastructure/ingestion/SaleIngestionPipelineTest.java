@@ -0,0 +1,182 @@
+package com.management.pos.infrastructure.ingestion;
+
+import com.management.common.exception.TooManyRequestsException;
+import com.management.common.id.SnowflakeIdGenerator;
+import com.management.pos.domain.model.Sale;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Sale Ingestion Pipeline Tests")
+class SaleIngestionPipelineTest {
+    
+    private static final int DUPLICATE_KEY = 11000;
+    private static final int VALIDATION_FAILED = 121;
+    
+    @Mock
+    private MongoTemplate mongoTemplate;
+    
+    @Mock
+    private BulkOperations bulkOperations;
+    
+    private final List<List<Sale>> writtenBatches = new ArrayList<>();
+    private SaleIngestionPipeline pipeline;
+    
+    @BeforeEach
+    void setUp() {
+        lenient().when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Sale.class)).thenReturn(bulkOperations);
+        lenient().when(bulkOperations.insert(anyList())).thenAnswer(invocation -> {
+            synchronized (writtenBatches) {
+                writtenBatches.add(List.copyOf(invocation.<List<Sale>>getArgument(0)));
+            }
+            return bulkOperations;
+        });
+    }
+    
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (pipeline != null) {
+            pipeline.shutdown();
+        }
+    }
+    
+    @Test
+    @DisplayName("Should flush as soon as a full batch is buffered")
+    void shouldFlushWhenBatchIsFull() throws Exception {
+        // Given
+        pipeline = start(100, 3, Duration.ofMinutes(1));
+        
+        // When
+        List<CompletableFuture<Sale>> committed = List.of(
+            pipeline.submit(new Sale()), pipeline.submit(new Sale()), pipeline.submit(new Sale()));
+        
+        // Then
+        CompletableFuture.allOf(committed.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        assertThat(writtenBatches).singleElement().satisfies(batch -> assertThat(batch).hasSize(3));
+    }
+    
+    @Test
+    @DisplayName("Should flush a partial batch once the flush interval elapses")
+    void shouldFlushPartialBatchAfterInterval() throws Exception {
+        // Given
+        pipeline = start(100, 500, Duration.ofMillis(20));
+        
+        // When
+        Sale sale = pipeline.submit(new Sale()).get(5, TimeUnit.SECONDS);
+        
+        // Then
+        assertThat(sale.getId()).isNotNull();
+        assertThat(sale.getCreatedAt()).isNotNull();
+        assertThat(writtenBatches).singleElement().satisfies(batch -> assertThat(batch).containsExactly(sale));
+    }
+    
+    @Test
+    @DisplayName("Should keep retrying a failed batch, reject new sales once the buffer fills, then recover")
+    void shouldRetryUntilMongoRecoversAndRejectWhenFull() throws Exception {
+        // Given
+        CountDownLatch retried = new CountDownLatch(2);
+        CountDownLatch recovered = new CountDownLatch(1);
+        when(bulkOperations.execute()).thenAnswer(invocation -> {
+            if (recovered.getCount() > 0) {
+                retried.countDown();
+                throw new DataAccessResourceFailureException("Mongo unavailable");
+            }
+            return mock(BulkWriteResult.class);
+        });
+        pipeline = start(2, 1, Duration.ofMillis(1));
+        CompletableFuture<Sale> first = pipeline.submit(new Sale());
+        assertThat(retried.await(5, TimeUnit.SECONDS)).isTrue();
+        
+        // When
+        CompletableFuture<Sale> second = pipeline.submit(new Sale());
+        CompletableFuture<Sale> third = pipeline.submit(new Sale());
+        
+        // Then
+        assertThatThrownBy(() -> pipeline.submit(new Sale())).isInstanceOf(TooManyRequestsException.class);
+        assertThat(first).isNotDone();
+        recovered.countDown();
+        CompletableFuture.allOf(first, second, third).get(10, TimeUnit.SECONDS);
+    }
+    
+    @Test
+    @DisplayName("Should treat a duplicate id on a retry as written by the earlier attempt")
+    void shouldTreatDuplicateOnRetryAsWritten() throws Exception {
+        // Given
+        when(bulkOperations.execute())
+            .thenThrow(new DataAccessResourceFailureException("Connection reset"))
+            .thenThrow(bulkFailure(new BulkWriteError(DUPLICATE_KEY, "E11000 duplicate key", new BsonDocument(), 0)));
+        pipeline = start(100, 1, Duration.ofMillis(1));
+        
+        // When
+        Sale sale = pipeline.submit(new Sale()).get(5, TimeUnit.SECONDS);
+        
+        // Then
+        assertThat(sale.getId()).isNotNull();
+        verify(bulkOperations, times(2)).execute();
+    }
+    
+    @Test
+    @DisplayName("Should fail only the rejected sales of a partially written batch")
+    void shouldFailOnlyRejectedSales() throws Exception {
+        // Given
+        when(bulkOperations.execute())
+            .thenThrow(bulkFailure(new BulkWriteError(VALIDATION_FAILED, "Document failed validation", new BsonDocument(), 1)));
+        pipeline = start(100, 3, Duration.ofMinutes(1));
+        
+        // When
+        CompletableFuture<Sale> first = pipeline.submit(new Sale());
+        CompletableFuture<Sale> rejected = pipeline.submit(new Sale());
+        CompletableFuture<Sale> third = pipeline.submit(new Sale());
+        
+        // Then
+        assertThat(first.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(third.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThatThrownBy(() -> rejected.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Document failed validation");
+    }
+    
+    private SaleIngestionPipeline start(int bufferCapacity, int batchSize, Duration flushInterval) {
+        SaleIngestionPipeline started = new SaleIngestionPipeline(
+            mongoTemplate, new SnowflakeIdGenerator(1), bufferCapacity, batchSize, flushInterval, false);
+        started.start();
+        return started;
+    }
+    
+    private static BulkOperationException bulkFailure(BulkWriteError error) {
+        return new BulkOperationException(error.getMessage(), new MongoBulkWriteException(
+            BulkWriteResult.unacknowledged(), List.of(error), null, new ServerAddress()));
+    }
+}
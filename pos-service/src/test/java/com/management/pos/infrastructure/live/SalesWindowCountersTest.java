@@ -0,0 +1,152 @@
+package com.management.pos.infrastructure.live;
+
+import com.management.pos.domain.model.LiveSalesSnapshot;
+import com.management.pos.domain.model.Sale;
+import com.management.pos.domain.model.SalesWindow;
+import com.management.pos.domain.repository.SaleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Sales Window Counters Tests")
+class SalesWindowCountersTest {
+    
+    private static final long START = 1_700_000_000_000L;
+    private static final long BUCKET = 10_000;
+    private static final long HOUR = 60 * 60_000;
+    
+    @Mock
+    private SaleRepository saleRepository;
+    
+    private final AtomicLong clock = new AtomicLong(START);
+    private SalesWindowCounters counters;
+    
+    @BeforeEach
+    void setUp() {
+        counters = new SalesWindowCounters(saleRepository, clock::get);
+    }
+    
+    @Test
+    @DisplayName("Should move sales out of each window as their bucket ages")
+    void shouldRollBucketsOutOfWindows() {
+        // Given
+        counters.add(sale("s1", "t1", START, "10.00"));
+        clock.addAndGet(BUCKET);
+        counters.add(sale("s1", "t1", clock.get(), "5.50"));
+        
+        // When
+        SalesWindow fresh = window(counters.snapshot(null), 0);
+        clock.addAndGet(5 * 60_000);
+        LiveSalesSnapshot later = counters.snapshot(null);
+        
+        // Then
+        assertThat(fresh.count()).isEqualTo(2);
+        assertThat(fresh.revenue()).isEqualByComparingTo("15.50");
+        assertThat(window(later, 0).count()).isZero();
+        assertThat(window(later, 1).count()).isEqualTo(2);
+        assertThat(later.breakdown().get("s1").get(1).revenue()).isEqualByComparingTo("15.50");
+    }
+    
+    @Test
+    @DisplayName("Should count a bucket exactly as old as a window only in the longer windows")
+    void shouldExcludeBucketAtWindowBoundary() {
+        // Given
+        counters.add(sale("s1", "t1", START - 5 * 60_000, "1.00"));
+        counters.add(sale("s1", "t1", START - 5 * 60_000 + BUCKET, "2.00"));
+        
+        // When
+        LiveSalesSnapshot snapshot = counters.snapshot(null);
+        
+        // Then
+        assertThat(window(snapshot, 0).count()).isEqualTo(1);
+        assertThat(window(snapshot, 0).revenue()).isEqualByComparingTo("2.00");
+        assertThat(window(snapshot, 1).count()).isEqualTo(2);
+    }
+    
+    @Test
+    @DisplayName("Should reuse a slot once the ring wraps and ignore sales older than the ring")
+    void shouldReuseSlotAfterRingWraps() {
+        // Given
+        counters.add(sale("s1", "t1", START, "10.00"));
+        
+        // When
+        clock.addAndGet(HOUR + BUCKET);
+        counters.add(sale("s1", "t1", clock.get(), "3.00"));
+        counters.add(sale("s1", "t1", START, "99.00"));
+        
+        // Then
+        SalesWindow hour = window(counters.snapshot(null), 2);
+        assertThat(hour.count()).isEqualTo(1);
+        assertThat(hour.revenue()).isEqualByComparingTo("3.00");
+    }
+    
+    @Test
+    @DisplayName("Should count an updated or deleted sale once")
+    void shouldNotDoubleCountUpdatesAndDeletes() {
+        // Given
+        Sale original = sale("s1", "t1", START, "10.00");
+        counters.add(original);
+        
+        // When
+        Sale updated = sale("s1", "t2", START, "12.00");
+        counters.remove(original);
+        counters.add(updated);
+        LiveSalesSnapshot afterUpdate = counters.snapshot("s1");
+        counters.remove(updated);
+        LiveSalesSnapshot afterDelete = counters.snapshot("s1");
+        
+        // Then
+        assertThat(window(afterUpdate, 0).count()).isEqualTo(1);
+        assertThat(window(afterUpdate, 0).revenue()).isEqualByComparingTo("12.00");
+        assertThat(afterUpdate.breakdown().get("t1").get(0).count()).isZero();
+        assertThat(afterUpdate.breakdown().get("t2").get(0).count()).isEqualTo(1);
+        assertThat(window(afterDelete, 0).count()).isZero();
+        assertThat(window(afterDelete, 0).revenue()).isEqualByComparingTo("0");
+    }
+    
+    @Test
+    @DisplayName("Should load the last hour of sales from Mongo on startup")
+    void shouldLoadRecentSales() {
+        // Given
+        when(saleRepository.findByCreatedAtGreaterThanEqual(any())).thenReturn(Stream.of(
+            sale("s1", "t1", START - 10 * 60_000, "4.00"),
+            sale(null, null, START - 50 * 60_000, "6.00")));
+        
+        // When
+        counters.load();
+        LiveSalesSnapshot snapshot = counters.snapshot(null);
+        
+        // Then
+        assertThat(window(snapshot, 1).count()).isEqualTo(1);
+        assertThat(window(snapshot, 2).count()).isEqualTo(2);
+        assertThat(snapshot.breakdown()).containsKeys("s1", SalesWindowCounters.UNASSIGNED);
+    }
+    
+    private static SalesWindow window(LiveSalesSnapshot snapshot, int index) {
+        return snapshot.windows().get(index);
+    }
+    
+    private static Sale sale(String storeId, String terminalId, long createdAt, String total) {
+        return Sale.builder()
+            .storeId(storeId)
+            .terminalId(terminalId)
+            .total(new BigDecimal(total))
+            .createdAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(createdAt), ZoneId.systemDefault()))
+            .build();
+    }
+}
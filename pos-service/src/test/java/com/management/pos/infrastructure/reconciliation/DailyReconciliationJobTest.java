@@ -0,0 +1,81 @@
+package com.management.pos.infrastructure.reconciliation;
+
+import com.management.common.exception.ConflictException;
+import com.management.common.lock.MongoLock;
+import com.management.pos.domain.repository.DailySalesSummaryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Daily Reconciliation Job Tests")
+class DailyReconciliationJobTest {
+    
+    private static final LocalDate YESTERDAY = LocalDate.now().minusDays(1);
+    private static final String CLAIM = "sales-reconciliation-" + YESTERDAY;
+    
+    @Mock
+    private MongoTemplate mongoTemplate;
+    
+    @Mock
+    private DailySalesSummaryRepository summaryRepository;
+    
+    @Mock
+    private MongoLock mongoLock;
+    
+    private DailyReconciliationJob job;
+    
+    @BeforeEach
+    void setUp() {
+        job = new DailyReconciliationJob(mongoTemplate, summaryRepository, mongoLock, 4, 2);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        job.shutdown();
+    }
+    
+    @Test
+    @DisplayName("Should skip a day another instance has claimed")
+    void shouldSkipDayClaimedElsewhere() {
+        // Given
+        when(mongoLock.tryAcquire(eq(CLAIM), any())).thenReturn(false);
+        
+        // When & Then
+        assertThatThrownBy(() -> job.reconcile(YESTERDAY))
+            .isInstanceOf(ConflictException.class)
+            .hasMessageContaining("another instance");
+        verifyNoInteractions(summaryRepository, mongoTemplate);
+        verify(mongoLock, never()).release(any());
+    }
+    
+    @Test
+    @DisplayName("Should release the claim when the day is already reconciled")
+    void shouldReleaseClaimWhenAlreadyReconciled() {
+        // Given
+        when(mongoLock.tryAcquire(eq(CLAIM), any())).thenReturn(true);
+        when(summaryRepository.existsById(YESTERDAY.toString())).thenReturn(true);
+        
+        // When & Then
+        assertThatThrownBy(() -> job.reconcile(YESTERDAY))
+            .isInstanceOf(ConflictException.class)
+            .hasMessageContaining("already reconciled");
+        verifyNoInteractions(mongoTemplate);
+        verify(mongoLock).release(CLAIM);
+    }
+}
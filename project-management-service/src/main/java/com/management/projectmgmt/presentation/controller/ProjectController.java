@@ -2,7 +2,10 @@ package com.management.projectmgmt.presentation.controller;
 
 import com.management.projectmgmt.domain.model.Project;
 import com.management.projectmgmt.domain.repository.ProjectRepository;
+import com.management.common.dto.BatchGetRequest;
+import com.management.common.dto.BatchGetResponse;
 import com.management.common.exception.ResourceNotFoundException;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -34,6 +37,12 @@ public class ProjectController {
         return ResponseEntity.ok(entity);
     }
     
+    @PostMapping("/batch-get")
+    public ResponseEntity<BatchGetResponse<Project>> batchGet(@Valid @RequestBody BatchGetRequest request) {
+        log.info("Fetching {} projects by id", request.ids().size());
+        return ResponseEntity.ok(BatchGetResponse.fetch(request.ids(), repository::findAllById, Project::getId));
+    }
+    
     @PostMapping
     public ResponseEntity<Project> create(@RequestBody Project entity) {
         log.info("Creating new project");
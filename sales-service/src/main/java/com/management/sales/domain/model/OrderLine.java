@@ -0,0 +1,49 @@
+package com.management.sales.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+
+/**
+ * One product on a {@link SalesOrder}. Quantity, unit price and the discount and tax percentages are input;
+ * the amounts are filled in by pricing, {@code netAmount} being what is taxed after both the line and the
+ * order discount.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderLine {
+    
+    private String productId;
+    
+    private String description;
+    
+    private Long quantity;
+    
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal unitPrice;
+    
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal discountPercent;
+    
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal taxPercent;
+    
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal discountAmount;
+    
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal netAmount;
+    
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal taxAmount;
+    
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal total;
+}
@@ -0,0 +1,57 @@
+package com.management.sales.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+
+/**
+ * One cell of the sales cube: the orders, units and net revenue in one currency for one combination of
+ * stage, rep, product and month. Dimensions rolled up in this cell hold {@link #ALL}; {@code level} has the
+ * {@link SalesCubeDimension#bit()} of every dimension that is not, so each rollup is one indexed lookup.
+ */
+@Document(collection = SalesCubeCell.COLLECTION)
+@CompoundIndex(name = "level_dimensions", def = "{'level': 1, 'stage': 1, 'repId': 1, 'productId': 1, 'month': 1}")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesCubeCell {
+    
+    public static final String COLLECTION = "sales_cube";
+    public static final String ALL = "*";
+    public static final String UNASSIGNED = "unassigned";
+    
+    @Id
+    private String id;
+    
+    private int level;
+    
+    private String currency;
+    
+    private String stage;
+    
+    private String repId;
+    
+    private String productId;
+    
+    private String month;
+    
+    private long orderCount;
+    
+    private long quantity;
+    
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal revenue;
+    
+    public static String idOf(String currency, String stage, String repId, String productId, String month) {
+        return String.join("|", currency, stage, repId, productId, month);
+    }
+}
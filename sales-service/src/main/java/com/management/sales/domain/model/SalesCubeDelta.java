@@ -0,0 +1,113 @@
+package com.management.sales.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Net change to the sales cube caused by one or more order writes. An order counts once in every cell it
+ * falls in: once per rollup level without the product dimension, and once per distinct product on its lines
+ * for the levels with it.
+ */
+public class SalesCubeDelta {
+    
+    public record Cell(int level, String currency, String stage, String repId, String productId, String month) {
+        
+        public String id() {
+            return SalesCubeCell.idOf(currency, stage, repId, productId, month);
+        }
+    }
+    
+    public record Change(long orders, long quantity, BigDecimal revenue) {
+        
+        private Change plus(Change other) {
+            return new Change(orders + other.orders, quantity + other.quantity, revenue.add(other.revenue));
+        }
+        
+        private boolean isZero() {
+            return orders == 0 && quantity == 0 && revenue.signum() == 0;
+        }
+    }
+    
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final int LEVELS = 1 << SalesCubeDimension.values().length;
+    
+    private final Map<Cell, Change> changes = new HashMap<>();
+    
+    public SalesCubeDelta added(SalesOrder order) {
+        return count(order, 1);
+    }
+    
+    public SalesCubeDelta removed(SalesOrder order) {
+        return count(order, -1);
+    }
+    
+    /**
+     * Non-zero changes per cell.
+     */
+    public Map<Cell, Change> changes() {
+        return Collections.unmodifiableMap(changes);
+    }
+    
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+    
+    public static String monthOf(LocalDateTime createdAt) {
+        return createdAt != null ? createdAt.format(MONTH) : SalesCubeCell.UNASSIGNED;
+    }
+    
+    private SalesCubeDelta count(SalesOrder order, int sign) {
+        String currency = orUnassigned(order.getCurrency());
+        String stage = order.getStage() != null ? order.getStage().name() : SalesCubeCell.UNASSIGNED;
+        String repId = orUnassigned(order.getSalesRepId());
+        String month = monthOf(order.getCreatedAt());
+        
+        long orderQuantity = 0;
+        BigDecimal orderRevenue = BigDecimal.ZERO;
+        Map<String, Change> byProduct = new HashMap<>();
+        if (order.getLines() != null) {
+            for (OrderLine line : order.getLines()) {
+                long quantity = line.getQuantity() != null ? line.getQuantity() : 0;
+                BigDecimal revenue = line.getNetAmount() != null ? line.getNetAmount() : BigDecimal.ZERO;
+                orderQuantity += quantity;
+                orderRevenue = orderRevenue.add(revenue);
+                byProduct.merge(orUnassigned(line.getProductId()), new Change(0, quantity, revenue), Change::plus);
+            }
+        }
+        
+        for (int level = 0; level < LEVELS; level++) {
+            String levelStage = (level & SalesCubeDimension.STAGE.bit()) != 0 ? stage : SalesCubeCell.ALL;
+            String levelRep = (level & SalesCubeDimension.REP.bit()) != 0 ? repId : SalesCubeCell.ALL;
+            String levelMonth = (level & SalesCubeDimension.MONTH.bit()) != 0 ? month : SalesCubeCell.ALL;
+            if ((level & SalesCubeDimension.PRODUCT.bit()) == 0) {
+                add(new Cell(level, currency, levelStage, levelRep, SalesCubeCell.ALL, levelMonth),
+                    new Change(sign, sign * orderQuantity, signed(orderRevenue, sign)));
+                continue;
+            }
+            for (Map.Entry<String, Change> product : byProduct.entrySet()) {
+                add(new Cell(level, currency, levelStage, levelRep, product.getKey(), levelMonth),
+                    new Change(sign, sign * product.getValue().quantity(), signed(product.getValue().revenue(), sign)));
+            }
+        }
+        return this;
+    }
+    
+    private void add(Cell cell, Change change) {
+        changes.merge(cell, change, (a, b) -> {
+            Change sum = a.plus(b);
+            return sum.isZero() ? null : sum;
+        });
+    }
+    
+    private static BigDecimal signed(BigDecimal amount, int sign) {
+        return sign < 0 ? amount.negate() : amount;
+    }
+    
+    private static String orUnassigned(String value) {
+        return value != null ? value : SalesCubeCell.UNASSIGNED;
+    }
+}
@@ -0,0 +1,42 @@
+package com.management.sales.domain.model;
+
+import java.util.Collection;
+import java.util.Locale;
+
+public enum SalesCubeDimension {
+    STAGE("stage"),
+    REP("repId"),
+    PRODUCT("productId"),
+    MONTH("month");
+    
+    private final String field;
+    
+    SalesCubeDimension(String field) {
+        this.field = field;
+    }
+    
+    public String field() {
+        return field;
+    }
+    
+    public int bit() {
+        return 1 << ordinal();
+    }
+    
+    public static int levelOf(Collection<SalesCubeDimension> dimensions) {
+        int level = 0;
+        for (SalesCubeDimension dimension : dimensions) {
+            level |= dimension.bit();
+        }
+        return level;
+    }
+    
+    public static SalesCubeDimension parse(String value) {
+        for (SalesCubeDimension dimension : values()) {
+            if (dimension.name().equals(value.trim().toUpperCase(Locale.ROOT)) || dimension.field.equals(value.trim())) {
+                return dimension;
+            }
+        }
+        throw new IllegalArgumentException("Unknown sales cube dimension: " + value);
+    }
+}
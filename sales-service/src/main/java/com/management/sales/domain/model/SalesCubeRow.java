@@ -0,0 +1,7 @@
+package com.management.sales.domain.model;
+
+import java.math.BigDecimal;
+
+public record SalesCubeRow(String currency, String stage, String repId, String productId, String month,
+                           long orderCount, long quantity, BigDecimal revenue) {
+}
@@ -1,15 +1,23 @@
 package com.management.sales.domain.model;
 
+import com.management.common.id.SnowflakeId;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Document(collection = "saless")
+@SnowflakeId
+@CompoundIndex(name = "createdAt_id", def = "{'createdAt': 1, '_id': 1}")
 @Data
 @Builder
 @NoArgsConstructor
@@ -23,6 +31,33 @@ public class SalesOrder {
     
     private String description;
     
+    private String customerId;
+    
+    private String subscriptionId;
+    
+    private SalesStage stage;
+    
+    private String salesRepId;
+    
+    private String currency;
+    
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal discountPercent;
+    
+    private List<OrderLine> lines;
+    
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal subtotal;
+    
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal discountTotal;
+    
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal taxTotal;
+    
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal total;
+    
     private LocalDateTime createdAt;
     
     private LocalDateTime updatedAt;
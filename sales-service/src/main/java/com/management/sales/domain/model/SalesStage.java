@@ -0,0 +1,10 @@
+package com.management.sales.domain.model;
+
+public enum SalesStage {
+    LEAD,
+    QUALIFIED,
+    PROPOSAL,
+    NEGOTIATION,
+    WON,
+    LOST
+}
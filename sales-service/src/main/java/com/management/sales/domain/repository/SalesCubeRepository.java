@@ -0,0 +1,9 @@
+package com.management.sales.domain.repository;
+
+import com.management.sales.domain.model.SalesCubeCell;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SalesCubeRepository extends MongoRepository<SalesCubeCell, String>, SalesCubeRepositoryCustom {
+}
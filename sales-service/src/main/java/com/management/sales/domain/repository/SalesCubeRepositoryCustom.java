@@ -0,0 +1,29 @@
+package com.management.sales.domain.repository;
+
+import com.management.sales.domain.model.SalesCubeCell;
+import com.management.sales.domain.model.SalesCubeDelta;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.List;
+
+public interface SalesCubeRepositoryCustom {
+    
+    /**
+     * Applies every cell change of {@code delta} with {@code $inc} upserts in one bulk write.
+     */
+    void apply(SalesCubeDelta delta);
+    
+    /**
+     * Reads the cells of one rollup level that match {@code criteria}.
+     */
+    List<SalesCubeCell> findCells(int level, Criteria criteria);
+    
+    /**
+     * Recomputes all cells from the orders collection into a scratch collection and swaps it in atomically.
+     * Only one instance rebuilds at a time; returns false without doing anything when another one already is.
+     * Increments applied while the rebuild runs go to the collection being replaced and are dropped with it; orders
+     * created since the rebuild started are counted into the scratch collection again just before the swap, but
+     * changes to and deletions of older orders made during the rebuild are missing until the next rebuild.
+     */
+    boolean rebuild();
+}
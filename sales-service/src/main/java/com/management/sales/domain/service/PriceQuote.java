@@ -0,0 +1,113 @@
+package com.management.sales.domain.service;
+
+import java.util.Arrays;
+
+/**
+ * Working storage for {@link PricingEngine}: amounts in minor currency units and rates in parts per million
+ * ({@link PricingEngine#RATE_SCALE}), kept in primitive arrays so one quote can be cleared and priced again
+ * without allocating.
+ */
+public final class PriceQuote {
+    
+    int lineCount;
+    long[] unitPrices;
+    long[] quantities;
+    long[] discountRates;
+    long[] taxRates;
+    long[] discounts;
+    long[] nets;
+    long[] taxes;
+    long[] remainders;
+    long orderDiscountRate;
+    long subtotal;
+    long discountTotal;
+    long taxTotal;
+    long total;
+    
+    public PriceQuote(int capacity) {
+        int size = Math.max(capacity, 1);
+        unitPrices = new long[size];
+        quantities = new long[size];
+        discountRates = new long[size];
+        taxRates = new long[size];
+        discounts = new long[size];
+        nets = new long[size];
+        taxes = new long[size];
+        remainders = new long[size];
+    }
+    
+    public PriceQuote clear() {
+        lineCount = 0;
+        orderDiscountRate = 0;
+        subtotal = 0;
+        discountTotal = 0;
+        taxTotal = 0;
+        total = 0;
+        return this;
+    }
+    
+    public PriceQuote orderDiscountRate(long rate) {
+        orderDiscountRate = rate;
+        return this;
+    }
+    
+    public int addLine(long unitPrice, long quantity, long discountRate, long taxRate) {
+        if (lineCount == unitPrices.length) {
+            grow();
+        }
+        int line = lineCount++;
+        unitPrices[line] = unitPrice;
+        quantities[line] = quantity;
+        discountRates[line] = discountRate;
+        taxRates[line] = taxRate;
+        return line;
+    }
+    
+    public int lineCount() {
+        return lineCount;
+    }
+    
+    public long lineDiscount(int line) {
+        return discounts[line];
+    }
+    
+    public long lineNet(int line) {
+        return nets[line];
+    }
+    
+    public long lineTax(int line) {
+        return taxes[line];
+    }
+    
+    public long lineTotal(int line) {
+        return nets[line] + taxes[line];
+    }
+    
+    public long subtotal() {
+        return subtotal;
+    }
+    
+    public long discountTotal() {
+        return discountTotal;
+    }
+    
+    public long taxTotal() {
+        return taxTotal;
+    }
+    
+    public long total() {
+        return total;
+    }
+    
+    private void grow() {
+        int size = unitPrices.length * 2;
+        unitPrices = Arrays.copyOf(unitPrices, size);
+        quantities = Arrays.copyOf(quantities, size);
+        discountRates = Arrays.copyOf(discountRates, size);
+        taxRates = Arrays.copyOf(taxRates, size);
+        discounts = Arrays.copyOf(discounts, size);
+        nets = Arrays.copyOf(nets, size);
+        taxes = Arrays.copyOf(taxes, size);
+        remainders = Arrays.copyOf(remainders, size);
+    }
+}
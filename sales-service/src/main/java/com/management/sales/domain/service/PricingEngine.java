@@ -0,0 +1,171 @@
+package com.management.sales.domain.service;
+
+import com.management.sales.domain.model.OrderLine;
+import com.management.sales.domain.model.SalesOrder;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.List;
+
+/**
+ * Prices orders in whole minor currency units held in {@code long}s. Each line's gross amount (unit price
+ * times quantity) gets the line discount, the order discount is then shared out over the discounted lines,
+ * and tax is charged per line on what remains. Every step rounds half up to a minor unit, and the order
+ * discount is shared so that the line shares add up to exactly the order-level amount.
+ */
+@Service
+public class PricingEngine {
+    
+    public static final long RATE_SCALE = 1_000_000L;
+    
+    private static final long HALF_RATE = RATE_SCALE / 2;
+    private static final int PERCENT_TO_RATE = 4;
+    private static final BigDecimal HUNDRED_PERCENT = BigDecimal.valueOf(100);
+    
+    /**
+     * Prices {@code quote} in place without allocating.
+     *
+     * @throws ArithmeticException if an amount does not fit in a {@code long}
+     */
+    public void price(PriceQuote quote) {
+        int lines = quote.lineCount;
+        long subtotal = 0;
+        long discounted = 0;
+        for (int i = 0; i < lines; i++) {
+            long gross = Math.multiplyExact(quote.unitPrices[i], quote.quantities[i]);
+            long discount = applyRate(gross, quote.discountRates[i]);
+            quote.discounts[i] = discount;
+            quote.nets[i] = gross - discount;
+            subtotal = Math.addExact(subtotal, gross);
+            discounted += gross - discount;
+        }
+        
+        long orderDiscount = applyRate(discounted, quote.orderDiscountRate);
+        long unallocated = orderDiscount;
+        for (int i = 0; i < lines; i++) {
+            long exactShare = Math.multiplyExact(quote.nets[i], quote.orderDiscountRate);
+            long share = exactShare / RATE_SCALE;
+            quote.nets[i] -= share;
+            quote.discounts[i] += share;
+            quote.remainders[i] = exactShare % RATE_SCALE;
+            unallocated -= share;
+        }
+        // The shares were rounded down; the units still missing go one each to lines whose share had a fraction.
+        for (int i = 0; i < lines && unallocated > 0; i++) {
+            if (quote.remainders[i] != 0) {
+                quote.nets[i]--;
+                quote.discounts[i]++;
+                unallocated--;
+            }
+        }
+        
+        long discountTotal = 0;
+        long taxTotal = 0;
+        for (int i = 0; i < lines; i++) {
+            long tax = applyRate(quote.nets[i], quote.taxRates[i]);
+            quote.taxes[i] = tax;
+            discountTotal += quote.discounts[i];
+            taxTotal = Math.addExact(taxTotal, tax);
+        }
+        quote.subtotal = subtotal;
+        quote.discountTotal = discountTotal;
+        quote.taxTotal = taxTotal;
+        quote.total = Math.addExact(subtotal - discountTotal, taxTotal);
+    }
+    
+    /**
+     * Prices an order's lines and fills in their amounts and the order totals. An order without lines is left
+     * as it is.
+     *
+     * @throws IllegalArgumentException if the currency, a quantity, a price or a percentage is missing or invalid
+     */
+    public void price(SalesOrder order) {
+        List<OrderLine> lines = order.getLines();
+        if (lines == null || lines.isEmpty()) {
+            return;
+        }
+        int digits = fractionDigits(order.getCurrency());
+        PriceQuote quote = new PriceQuote(lines.size())
+            .orderDiscountRate(toRate(order.getDiscountPercent(), "Order discount", true));
+        for (int i = 0; i < lines.size(); i++) {
+            OrderLine line = lines.get(i);
+            String label = "Line " + (i + 1);
+            if (line.getQuantity() == null || line.getQuantity() <= 0) {
+                throw new IllegalArgumentException(label + " needs a positive quantity");
+            }
+            quote.addLine(toMinorUnits(line.getUnitPrice(), digits, order.getCurrency(), label), line.getQuantity(),
+                toRate(line.getDiscountPercent(), label + " discount", true),
+                toRate(line.getTaxPercent(), label + " tax", false));
+        }
+        try {
+            price(quote);
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("Order amounts are too large to price");
+        }
+        
+        for (int i = 0; i < lines.size(); i++) {
+            OrderLine line = lines.get(i);
+            line.setDiscountAmount(BigDecimal.valueOf(quote.lineDiscount(i), digits));
+            line.setNetAmount(BigDecimal.valueOf(quote.lineNet(i), digits));
+            line.setTaxAmount(BigDecimal.valueOf(quote.lineTax(i), digits));
+            line.setTotal(BigDecimal.valueOf(quote.lineTotal(i), digits));
+        }
+        order.setSubtotal(BigDecimal.valueOf(quote.subtotal(), digits));
+        order.setDiscountTotal(BigDecimal.valueOf(quote.discountTotal(), digits));
+        order.setTaxTotal(BigDecimal.valueOf(quote.taxTotal(), digits));
+        order.setTotal(BigDecimal.valueOf(quote.total(), digits));
+    }
+    
+    private static long applyRate(long amount, long rate) {
+        return (Math.multiplyExact(amount, rate) + HALF_RATE) / RATE_SCALE;
+    }
+    
+    private static int fractionDigits(String currency) {
+        if (currency == null) {
+            throw new IllegalArgumentException("An order with lines needs a currency");
+        }
+        int digits;
+        try {
+            digits = Currency.getInstance(currency).getDefaultFractionDigits();
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown currency: " + currency);
+        }
+        if (digits < 0) {
+            throw new IllegalArgumentException("Currency " + currency + " has no minor unit");
+        }
+        return digits;
+    }
+    
+    private static long toMinorUnits(BigDecimal amount, int digits, String currency, String label) {
+        if (amount == null || amount.signum() < 0) {
+            throw new IllegalArgumentException(label + " needs a unit price of zero or more");
+        }
+        BigDecimal minorUnits = amount.movePointRight(digits);
+        if (minorUnits.stripTrailingZeros().scale() > 0) {
+            throw new IllegalArgumentException(label + " unit price " + amount + " has more decimals than " + currency + " allows");
+        }
+        try {
+            return minorUnits.longValueExact();
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException(label + " unit price " + amount + " is too large to price");
+        }
+    }
+    
+    private static long toRate(BigDecimal percent, String label, boolean capped) {
+        if (percent == null) {
+            return 0;
+        }
+        if (percent.signum() < 0) {
+            throw new IllegalArgumentException(label + " cannot be negative");
+        }
+        if (capped && percent.compareTo(HUNDRED_PERCENT) > 0) {
+            throw new IllegalArgumentException(label + " cannot exceed 100 percent");
+        }
+        try {
+            return percent.movePointRight(PERCENT_TO_RATE).longValueExact();
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException(label + " " + percent + "% has more than four decimals");
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.management.sales.domain.service;
+
+import com.management.common.exception.ConflictException;
+import com.management.sales.domain.model.SalesCubeCell;
+import com.management.sales.domain.model.SalesCubeDelta;
+import com.management.sales.domain.model.SalesCubeDimension;
+import com.management.sales.domain.model.SalesCubeRow;
+import com.management.sales.domain.repository.SalesCubeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the sales cube in step with order writes and answers rollups and slices from it. Cell updates are best
+ * effort: a failed increment is logged rather than failing the order write, and {@link #rebuild()} repairs any
+ * drift. Rebuilds run in the background, one at a time across all instances; orders created during a rebuild are
+ * caught up before the swap, but updates and deletions made during it may be dropped, so rebuild in a quiet
+ * period when exact figures matter.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SalesCubeService {
+    
+    private final SalesCubeRepository salesCubeRepository;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sales-cube-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public void record(SalesCubeDelta delta) {
+        try {
+            salesCubeRepository.apply(delta);
+        } catch (DataAccessException ex) {
+            log.warn("Failed to update the sales cube, rebuild it to repair: {}", ex.getMessage());
+        }
+    }
+    
+    /**
+     * Totals per combination of the {@code groupBy} dimensions, restricted to {@code filters} and to months from
+     * {@code fromMonth} through {@code toMonth} when given. Dimensions that are neither grouped nor filtered are
+     * rolled up and reported as {@link SalesCubeCell#ALL}; amounts are never added across currencies.
+     */
+    public List<SalesCubeRow> query(Set<SalesCubeDimension> groupBy, Map<SalesCubeDimension, String> filters,
+                                    String currency, YearMonth fromMonth, YearMonth toMonth) {
+        long started = System.nanoTime();
+        Set<SalesCubeDimension> kept = EnumSet.noneOf(SalesCubeDimension.class);
+        kept.addAll(groupBy);
+        kept.addAll(filters.keySet());
+        if (fromMonth != null || toMonth != null) {
+            kept.add(SalesCubeDimension.MONTH);
+        }
+        
+        List<Criteria> criteria = new ArrayList<>();
+        filters.forEach((dimension, value) -> criteria.add(Criteria.where(dimension.field()).is(value)));
+        if (currency != null) {
+            criteria.add(Criteria.where("currency").is(currency));
+        }
+        if (fromMonth != null) {
+            criteria.add(Criteria.where("month").gte(fromMonth.toString()));
+        }
+        if (toMonth != null) {
+            criteria.add(Criteria.where("month").lte(toMonth.toString()));
+        }
+        List<SalesCubeCell> cells = salesCubeRepository.findCells(SalesCubeDimension.levelOf(kept),
+            criteria.isEmpty() ? new Criteria() : new Criteria().andOperator(criteria));
+        
+        Map<List<String>, SalesCubeRow> rows = new LinkedHashMap<>();
+        for (SalesCubeCell cell : cells) {
+            if (cell.getOrderCount() == 0) {
+                continue;
+            }
+            SalesCubeRow row = new SalesCubeRow(cell.getCurrency(),
+                groupBy.contains(SalesCubeDimension.STAGE) ? cell.getStage() : SalesCubeCell.ALL,
+                groupBy.contains(SalesCubeDimension.REP) ? cell.getRepId() : SalesCubeCell.ALL,
+                groupBy.contains(SalesCubeDimension.PRODUCT) ? cell.getProductId() : SalesCubeCell.ALL,
+                groupBy.contains(SalesCubeDimension.MONTH) ? cell.getMonth() : SalesCubeCell.ALL,
+                cell.getOrderCount(), cell.getQuantity(), cell.getRevenue() != null ? cell.getRevenue() : BigDecimal.ZERO);
+            rows.merge(List.of(row.currency(), row.stage(), row.repId(), row.productId(), row.month()), row,
+                (a, b) -> new SalesCubeRow(a.currency(), a.stage(), a.repId(), a.productId(), a.month(),
+                    a.orderCount() + b.orderCount(), a.quantity() + b.quantity(), a.revenue().add(b.revenue())));
+        }
+        List<SalesCubeRow> result = new ArrayList<>(rows.values());
+        result.sort(Comparator.comparing(SalesCubeRow::currency)
+            .thenComparing(SalesCubeRow::stage)
+            .thenComparing(SalesCubeRow::repId)
+            .thenComparing(SalesCubeRow::productId)
+            .thenComparing(SalesCubeRow::month));
+        log.debug("Answered sales cube query from {} cells in {} ms", cells.size(),
+            Duration.ofNanos(System.nanoTime() - started).toMillis());
+        return result;
+    }
+    
+    /**
+     * Starts a rebuild in the background. Does nothing when another instance is already rebuilding.
+     */
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new ConflictException("Sales cube rebuild already in progress");
+        }
+        try {
+            rebuildExecutor.execute(this::runRebuild);
+        } catch (RejectedExecutionException ex) {
+            rebuilding.set(false);
+            throw ex;
+        }
+    }
+    
+    private void runRebuild() {
+        try {
+            long start = System.nanoTime();
+            if (salesCubeRepository.rebuild()) {
+                log.info("Sales cube rebuilt in {} ms", (System.nanoTime() - start) / 1_000_000);
+            } else {
+                log.info("Sales cube rebuild skipped, another instance is rebuilding");
+            }
+        } catch (DataAccessException ex) {
+            log.error("Sales cube rebuild failed", ex);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (salesCubeRepository.count() == 0) {
+            rebuild();
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,87 @@
+package com.management.sales.infrastructure.client;
+
+import com.management.common.exception.ServiceUnavailableException;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Calls a service registered in Eureka, rotating over its instances, and gives up on a response after
+ * {@code timeout}. A missing resource reads as {@code null}; any other failure, from no registered instance to
+ * a 5xx, is a {@link ServiceUnavailableException}.
+ */
+public class DiscoveredServiceClient {
+    
+    private final DiscoveryClient discoveryClient;
+    private final String serviceId;
+    private final Duration timeout;
+    private final RestClient restClient;
+    private final AtomicInteger next = new AtomicInteger();
+    
+    public DiscoveredServiceClient(DiscoveryClient discoveryClient, RestClient.Builder restClientBuilder,
+                                   HttpClient httpClient, String serviceId, Duration timeout) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(timeout);
+        this.discoveryClient = discoveryClient;
+        this.serviceId = serviceId;
+        this.timeout = timeout;
+        this.restClient = restClientBuilder.clone().requestFactory(requestFactory).build();
+    }
+    
+    public String serviceId() {
+        return serviceId;
+    }
+    
+    public Duration timeout() {
+        return timeout;
+    }
+    
+    public <T> T get(String path, Class<T> type, Object... uriVariables) {
+        return call(baseUri -> restClient.get()
+            .uri(baseUri + path, uriVariables)
+            .retrieve()
+            .body(type));
+    }
+    
+    public <T> T post(String path, Object body, Class<T> type) {
+        return call(baseUri -> restClient.post()
+            .uri(baseUri + path)
+            .body(body)
+            .retrieve()
+            .body(type));
+    }
+    
+    private <T> T call(Function<String, T> request) {
+        String baseUri = chooseInstance();
+        try {
+            return request.apply(baseUri);
+        } catch (HttpClientErrorException.NotFound ex) {
+            return null;
+        } catch (RestClientResponseException ex) {
+            throw new ServiceUnavailableException(serviceId + " answered " + ex.getStatusCode().value(), ex);
+        } catch (ResourceAccessException ex) {
+            throw new ServiceUnavailableException(serviceId + " did not answer within " + timeout.toMillis() + " ms", ex);
+        } catch (RestClientException ex) {
+            throw new ServiceUnavailableException(serviceId + " call failed: " + ex.getMessage(), ex);
+        }
+    }
+    
+    private String chooseInstance() {
+        List<ServiceInstance> instances = discoveryClient.getInstances(serviceId);
+        if (instances.isEmpty()) {
+            throw new ServiceUnavailableException("No instance of " + serviceId + " is registered");
+        }
+        return instances.get(Math.floorMod(next.getAndIncrement(), instances.size())).getUri().toString();
+    }
+}
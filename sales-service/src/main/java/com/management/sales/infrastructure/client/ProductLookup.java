@@ -0,0 +1,21 @@
+package com.management.sales.infrastructure.client;
+
+import java.util.List;
+
+/**
+ * Request and response bodies of inventory-service's {@code POST /inventorys/lookup}.
+ */
+public final class ProductLookup {
+    
+    public static final String PATH = "/inventorys/lookup";
+    public static final int MAX_KEYS = 1000;
+    
+    private ProductLookup() {
+    }
+    
+    public record Request(List<String> ids) {
+    }
+    
+    public record Response(List<RemoteProduct> products, List<String> missing) {
+    }
+}
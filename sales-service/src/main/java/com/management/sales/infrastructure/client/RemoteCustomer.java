@@ -0,0 +1,6 @@
+package com.management.sales.infrastructure.client;
+
+public record RemoteCustomer(String id, String name, String status) {
+    
+    public static final String ACTIVE = "ACTIVE";
+}
@@ -0,0 +1,6 @@
+package com.management.sales.infrastructure.client;
+
+import java.math.BigDecimal;
+
+public record RemoteProduct(String id, String sku, String name, BigDecimal price, Long stock) {
+}
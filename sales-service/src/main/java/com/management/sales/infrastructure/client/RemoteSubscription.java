@@ -0,0 +1,4 @@
+package com.management.sales.infrastructure.client;
+
+public record RemoteSubscription(String id, String name) {
+}
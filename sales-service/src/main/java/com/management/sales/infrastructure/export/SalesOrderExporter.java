@@ -0,0 +1,162 @@
+package com.management.sales.infrastructure.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.management.sales.domain.model.SalesOrder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes sales orders created in a time range as CSV or NDJSON, read from a Mongo cursor in
+ * {@code createdAt} order and written through a fixed-size buffer. Memory use does not depend on how many
+ * orders are exported, and a slow client blocks the writes and with them the cursor. An export may take at most
+ * {@code sales.export.timeout}; the limit applies to the export request alone.
+ */
+@Component
+@Slf4j
+public class SalesOrderExporter {
+    
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+        
+        private final String mediaType;
+        private final String extension;
+        
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+        
+        public String mediaType() {
+            return mediaType;
+        }
+        
+        public String extension() {
+            return extension;
+        }
+        
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Unsupported export format: " + value);
+            }
+        }
+    }
+    
+    private static final int CURSOR_BATCH_SIZE = 1000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "id,name,description,customerId,currency,total,createdAt,updatedAt";
+    
+    private final MongoTemplate mongoTemplate;
+    private final ObjectWriter jsonWriter;
+    private final Duration timeout;
+    
+    public SalesOrderExporter(MongoTemplate mongoTemplate,
+                              ObjectMapper objectMapper,
+                              @Value("${sales.export.timeout:1h}") Duration timeout) {
+        this.mongoTemplate = mongoTemplate;
+        this.jsonWriter = objectMapper.writerFor(SalesOrder.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.timeout = timeout;
+    }
+    
+    /**
+     * How long an export may stream before the request is timed out.
+     */
+    public Duration timeout() {
+        return timeout;
+    }
+    
+    /**
+     * Exports every order created at or after {@code from} and before {@code to}, closing {@code out} when done.
+     *
+     * @return the number of orders written
+     */
+    public long export(LocalDateTime from, LocalDateTime to, Format format, boolean gzip, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        long rows = 0;
+        Query query = new Query(Criteria.where("createdAt").gte(from).lt(to))
+            .with(Sort.by(Sort.Order.asc("createdAt"), Sort.Order.asc("_id")))
+            .cursorBatchSize(CURSOR_BATCH_SIZE)
+            .noCursorTimeout();
+        OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+        try (Stream<SalesOrder> orders = mongoTemplate.stream(query, SalesOrder.class);
+             Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            if (format == Format.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            Iterator<SalesOrder> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                SalesOrder order = iterator.next();
+                if (format == Format.CSV) {
+                    writeCsv(writer, order);
+                } else {
+                    jsonWriter.writeValue(writer, order);
+                    writer.write('\n');
+                }
+                rows++;
+            }
+        }
+        log.info("Exported {} sales orders created between {} and {} as {} in {} ms", rows, from, to, format,
+            Duration.ofNanos(System.nanoTime() - started).toMillis());
+        return rows;
+    }
+    
+    private static void writeCsv(Writer writer, SalesOrder order) throws IOException {
+        writeCsvField(writer, order.getId());
+        writer.write(',');
+        writeCsvField(writer, order.getName());
+        writer.write(',');
+        writeCsvField(writer, order.getDescription());
+        writer.write(',');
+        writeCsvField(writer, order.getCustomerId());
+        writer.write(',');
+        writeCsvField(writer, order.getCurrency());
+        writer.write(',');
+        writeCsvField(writer, order.getTotal() != null ? order.getTotal().toPlainString() : null);
+        writer.write(',');
+        writeCsvField(writer, order.getCreatedAt() != null ? order.getCreatedAt().toString() : null);
+        writer.write(',');
+        writeCsvField(writer, order.getUpdatedAt() != null ? order.getUpdatedAt().toString() : null);
+        writer.write('\n');
+    }
+    
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,182 @@
+package com.management.sales.infrastructure.persistence;
+
+import com.management.common.lock.MongoLock;
+import com.management.sales.domain.model.SalesCubeCell;
+import com.management.sales.domain.model.SalesCubeDelta;
+import com.management.sales.domain.model.SalesOrder;
+import com.management.sales.domain.repository.SalesCubeRepositoryCustom;
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.model.RenameCollectionOptions;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.CompoundIndexDefinition;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class SalesCubeRepositoryCustomImpl implements SalesCubeRepositoryCustom {
+    
+    private static final String REBUILD_COLLECTION_PREFIX = SalesCubeCell.COLLECTION + "_rebuild_";
+    private static final String REBUILD_LOCK = SalesCubeCell.COLLECTION + "-rebuild";
+    private static final Duration REBUILD_LEASE = Duration.ofHours(1);
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final int CATCH_UP_PASSES = 3;
+    
+    private final MongoTemplate mongoTemplate;
+    private final MongoLock mongoLock;
+    
+    @Override
+    public void apply(SalesCubeDelta delta) {
+        applyTo(delta, SalesCubeCell.COLLECTION);
+    }
+    
+    private void applyTo(SalesCubeDelta delta, String collection) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SalesCubeCell.class, collection);
+        delta.changes().forEach((cell, change) -> operations.upsert(
+            new Query(Criteria.where("id").is(cell.id())),
+            new Update()
+                .inc("orderCount", change.orders())
+                .inc("quantity", change.quantity())
+                .inc("revenue", new Decimal128(change.revenue()))
+                .setOnInsert("level", cell.level())
+                .setOnInsert("currency", cell.currency())
+                .setOnInsert("stage", cell.stage())
+                .setOnInsert("repId", cell.repId())
+                .setOnInsert("productId", cell.productId())
+                .setOnInsert("month", cell.month())));
+        operations.execute();
+    }
+    
+    @Override
+    public List<SalesCubeCell> findCells(int level, Criteria criteria) {
+        return mongoTemplate.find(new Query(Criteria.where("level").is(level).andOperator(criteria)), SalesCubeCell.class);
+    }
+    
+    @Override
+    public boolean rebuild() {
+        if (!mongoLock.tryAcquire(REBUILD_LOCK, REBUILD_LEASE)) {
+            return false;
+        }
+        String scratch = REBUILD_COLLECTION_PREFIX + new ObjectId().toHexString();
+        try {
+            rebuildInto(scratch, LocalDateTime.now());
+            return true;
+        } finally {
+            // No-op once renamed; removes the partial result of a failed run
+            mongoTemplate.dropCollection(scratch);
+            mongoLock.release(REBUILD_LOCK);
+        }
+    }
+    
+    /**
+     * Counts the orders created before {@code started} into {@code scratch}, then catches up on the ones created
+     * since, whose increments went to the collection about to be replaced.
+     */
+    private void rebuildInto(String scratch, LocalDateTime started) {
+        SalesCubeDelta delta = new SalesCubeDelta();
+        Query existing = new Query(new Criteria().orOperator(
+            Criteria.where("createdAt").lt(started),
+            Criteria.where("createdAt").is(null)));
+        try (Stream<SalesOrder> orders = mongoTemplate.stream(existing, SalesOrder.class)) {
+            Iterator<SalesOrder> iterator = orders.iterator();
+            for (long read = 1; iterator.hasNext(); read++) {
+                delta.added(iterator.next());
+                if (read % REBUILD_BATCH_SIZE == 0) {
+                    renewLease();
+                }
+            }
+        }
+        
+        mongoTemplate.createCollection(scratch);
+        mongoTemplate.indexOps(scratch).ensureIndex(new CompoundIndexDefinition(new Document("level", 1)
+            .append("stage", 1)
+            .append("repId", 1)
+            .append("productId", 1)
+            .append("month", 1)).named("level_dimensions"));
+        List<SalesCubeCell> batch = new ArrayList<>(REBUILD_BATCH_SIZE);
+        for (Map.Entry<SalesCubeDelta.Cell, SalesCubeDelta.Change> entry : delta.changes().entrySet()) {
+            SalesCubeDelta.Cell cell = entry.getKey();
+            SalesCubeDelta.Change change = entry.getValue();
+            batch.add(SalesCubeCell.builder()
+                .id(cell.id())
+                .level(cell.level())
+                .currency(cell.currency())
+                .stage(cell.stage())
+                .repId(cell.repId())
+                .productId(cell.productId())
+                .month(cell.month())
+                .orderCount(change.orders())
+                .quantity(change.quantity())
+                .revenue(change.revenue())
+                .build());
+            if (batch.size() == REBUILD_BATCH_SIZE) {
+                mongoTemplate.insert(batch, scratch);
+                batch.clear();
+                renewLease();
+            }
+        }
+        if (!batch.isEmpty()) {
+            mongoTemplate.insert(batch, scratch);
+        }
+        
+        catchUp(scratch, started);
+        mongoTemplate.getCollection(scratch).renameCollection(
+            new MongoNamespace(mongoTemplate.getDb().getName(), SalesCubeCell.COLLECTION),
+            new RenameCollectionOptions().dropTarget(true));
+    }
+    
+    /**
+     * Adds the orders created at or after {@code started} to {@code scratch}. Each pass resumes after the last
+     * order the previous one saw, in {@code createdAt} and id order, so orders written during a pass are picked
+     * up by the next; only orders written between the last pass and the rename are left out.
+     */
+    private void catchUp(String scratch, LocalDateTime started) {
+        Criteria pending = Criteria.where("createdAt").gte(started);
+        for (int pass = 0; pass < CATCH_UP_PASSES; pass++) {
+            renewLease();
+            SalesCubeDelta late = new SalesCubeDelta();
+            SalesOrder last = null;
+            Query query = new Query(pending).with(Sort.by(Sort.Order.asc("createdAt"), Sort.Order.asc("_id")));
+            try (Stream<SalesOrder> orders = mongoTemplate.stream(query, SalesOrder.class)) {
+                Iterator<SalesOrder> iterator = orders.iterator();
+                while (iterator.hasNext()) {
+                    last = iterator.next();
+                    late.added(last);
+                }
+            }
+            if (last == null) {
+                return;
+            }
+            applyTo(late, scratch);
+            pending = new Criteria().orOperator(
+                Criteria.where("createdAt").gt(last.getCreatedAt()),
+                Criteria.where("createdAt").is(last.getCreatedAt()).and("_id").gt(last.getId()));
+        }
+    }
+    
+    /**
+     * Extends the rebuild lease, which is shorter than a rebuild of a large order history may take.
+     */
+    private void renewLease() {
+        if (!mongoLock.tryAcquire(REBUILD_LOCK, REBUILD_LEASE)) {
+            throw new IllegalStateException("Sales cube rebuild lost its lock to another instance");
+        }
+    }
+}
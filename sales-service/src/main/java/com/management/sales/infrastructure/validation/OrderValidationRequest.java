@@ -0,0 +1,49 @@
+package com.management.sales.infrastructure.validation;
+
+import com.management.sales.domain.model.OrderLine;
+import com.management.sales.domain.model.SalesOrder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * What an order refers to in other services. Any part may be left out; {@code quantities} maps product ids to
+ * the number of units ordered.
+ */
+public record OrderValidationRequest(String customerId, String subscriptionId, Map<String, Long> quantities) {
+    
+    public OrderValidationRequest {
+        quantities = quantities != null ? Map.copyOf(quantities) : Map.of();
+    }
+    
+    /**
+     * Collects an order's references, adding up the quantities of lines for the same product.
+     */
+    public static OrderValidationRequest of(SalesOrder order) {
+        Map<String, Long> quantities = new HashMap<>();
+        if (order.getLines() != null) {
+            for (OrderLine line : order.getLines()) {
+                if (line.getProductId() != null && line.getQuantity() != null) {
+                    quantities.merge(line.getProductId(), line.getQuantity(), Long::sum);
+                }
+            }
+        }
+        return new OrderValidationRequest(order.getCustomerId(), order.getSubscriptionId(), quantities);
+    }
+    
+    /**
+     * Collects only what {@code after} changed relative to {@code before}: the customer and the subscription
+     * if they are different, and the products that are new or ordered in a different quantity.
+     */
+    public static OrderValidationRequest changes(SalesOrder before, SalesOrder after) {
+        OrderValidationRequest previous = of(before);
+        OrderValidationRequest current = of(after);
+        Map<String, Long> quantities = new HashMap<>(current.quantities());
+        quantities.entrySet().removeIf(entry -> entry.getValue().equals(previous.quantities().get(entry.getKey())));
+        return new OrderValidationRequest(
+            Objects.equals(previous.customerId(), current.customerId()) ? null : current.customerId(),
+            Objects.equals(previous.subscriptionId(), current.subscriptionId()) ? null : current.subscriptionId(),
+            quantities);
+    }
+}
@@ -0,0 +1,208 @@
+package com.management.sales.infrastructure.validation;
+
+import com.management.common.exception.ServiceUnavailableException;
+import com.management.sales.infrastructure.client.DiscoveredServiceClient;
+import com.management.sales.infrastructure.client.ProductLookup;
+import com.management.sales.infrastructure.client.RemoteCustomer;
+import com.management.sales.infrastructure.client.RemoteProduct;
+import com.management.sales.infrastructure.client.RemoteSubscription;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Checks what an order refers to in crm-service, inventory-service and subscriptions-service. The customer,
+ * the subscription and the products, looked up {@link ProductLookup#MAX_KEYS} at a time, are all requested at
+ * once, so validation takes as long as the slowest dependency rather than their sum. Each dependency has its
+ * own timeout and the whole validation a deadline; missing either is a {@link ServiceUnavailableException}.
+ */
+@Component
+@Slf4j
+public class OrderValidator {
+    
+    private static final String CUSTOMER_PATH = "/customers/{id}?fields=id,name,status";
+    private static final String SUBSCRIPTION_PATH = "/subscriptionss/{id}";
+    
+    private final DiscoveredServiceClient customers;
+    private final DiscoveredServiceClient products;
+    private final DiscoveredServiceClient subscriptions;
+    private final Duration deadline;
+    private final ExecutorService executor;
+    
+    @Autowired
+    public OrderValidator(DiscoveryClient discoveryClient,
+                          RestClient.Builder restClientBuilder,
+                          @Value("${sales.validation.connect-timeout:200ms}") Duration connectTimeout,
+                          @Value("${sales.validation.customer-timeout:300ms}") Duration customerTimeout,
+                          @Value("${sales.validation.product-timeout:500ms}") Duration productTimeout,
+                          @Value("${sales.validation.subscription-timeout:300ms}") Duration subscriptionTimeout,
+                          @Value("${sales.validation.deadline:800ms}") Duration deadline,
+                          @Value("${sales.validation.parallelism:16}") int parallelism) {
+        this(discoveryClient, restClientBuilder, HttpClient.newBuilder().connectTimeout(connectTimeout).build(),
+            customerTimeout, productTimeout, subscriptionTimeout, deadline, parallelism);
+    }
+    
+    private OrderValidator(DiscoveryClient discoveryClient,
+                           RestClient.Builder restClientBuilder,
+                           HttpClient httpClient,
+                           Duration customerTimeout,
+                           Duration productTimeout,
+                           Duration subscriptionTimeout,
+                           Duration deadline,
+                           int parallelism) {
+        this(new DiscoveredServiceClient(discoveryClient, restClientBuilder, httpClient, "crm-service", customerTimeout),
+            new DiscoveredServiceClient(discoveryClient, restClientBuilder, httpClient, "inventory-service", productTimeout),
+            new DiscoveredServiceClient(discoveryClient, restClientBuilder, httpClient, "subscriptions-service", subscriptionTimeout),
+            deadline, parallelism);
+    }
+    
+    OrderValidator(DiscoveredServiceClient customers,
+                   DiscoveredServiceClient products,
+                   DiscoveredServiceClient subscriptions,
+                   Duration deadline,
+                   int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Order validation parallelism must be positive");
+        }
+        this.customers = customers;
+        this.products = products;
+        this.subscriptions = subscriptions;
+        this.deadline = deadline;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "order-validation-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Looks up everything the order refers to and checks it can be sold.
+     *
+     * @throws IllegalArgumentException if the customer is missing or not active, the subscription is missing,
+     *                                  or a product is missing or short of stock
+     * @throws ServiceUnavailableException if a dependency failed or did not answer in time
+     */
+    public ValidatedOrder validate(OrderValidationRequest request) {
+        if (request.customerId() == null && request.subscriptionId() == null && request.quantities().isEmpty()) {
+            return new ValidatedOrder(null, null, Map.of());
+        }
+        long started = System.nanoTime();
+        
+        CompletableFuture<RemoteCustomer> customer = request.customerId() == null
+            ? CompletableFuture.completedFuture(null)
+            : call(customers, () -> customers.get(CUSTOMER_PATH, RemoteCustomer.class, request.customerId()));
+        CompletableFuture<RemoteSubscription> subscription = request.subscriptionId() == null
+            ? CompletableFuture.completedFuture(null)
+            : call(subscriptions, () -> subscriptions.get(SUBSCRIPTION_PATH, RemoteSubscription.class, request.subscriptionId()));
+        List<String> productIds = List.copyOf(request.quantities().keySet());
+        List<CompletableFuture<ProductLookup.Response>> productBatches = new ArrayList<>();
+        for (int from = 0; from < productIds.size(); from += ProductLookup.MAX_KEYS) {
+            ProductLookup.Request batch = new ProductLookup.Request(
+                productIds.subList(from, Math.min(from + ProductLookup.MAX_KEYS, productIds.size())));
+            productBatches.add(call(products, () -> products.post(ProductLookup.PATH, batch, ProductLookup.Response.class)));
+        }
+        
+        List<CompletableFuture<?>> all = new ArrayList<>(productBatches);
+        all.add(customer);
+        all.add(subscription);
+        await(all);
+        
+        Map<String, RemoteProduct> byId = new HashMap<>();
+        for (CompletableFuture<ProductLookup.Response> batch : productBatches) {
+            ProductLookup.Response response = batch.join();
+            if (response != null && response.products() != null) {
+                response.products().forEach(product -> byId.put(product.id(), product));
+            }
+        }
+        ValidatedOrder validated = new ValidatedOrder(customer.join(), subscription.join(), byId);
+        log.debug("Validated order references in {} ms", Duration.ofNanos(System.nanoTime() - started).toMillis());
+        check(request, validated);
+        return validated;
+    }
+    
+    private <T> CompletableFuture<T> call(DiscoveredServiceClient client, Supplier<T> lookup) {
+        Duration timeout = client.timeout();
+        return CompletableFuture.supplyAsync(lookup, executor)
+            .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+            .exceptionally(ex -> {
+                Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+                if (cause instanceof TimeoutException) {
+                    throw new ServiceUnavailableException(client.serviceId() + " did not answer within " + timeout.toMillis() + " ms");
+                }
+                throw cause instanceof RuntimeException runtime ? runtime : new CompletionException(cause);
+            });
+    }
+    
+    private void await(List<CompletableFuture<?>> lookups) {
+        CompletableFuture<Void> all = CompletableFuture.allOf(lookups.toArray(CompletableFuture[]::new));
+        try {
+            all.get(deadline.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            lookups.forEach(lookup -> lookup.cancel(true));
+            throw new ServiceUnavailableException("Order validation did not finish within " + deadline.toMillis() + " ms");
+        } catch (ExecutionException ex) {
+            lookups.forEach(lookup -> lookup.cancel(true));
+            Throwable cause = ex.getCause() instanceof CompletionException ? ex.getCause().getCause() : ex.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new ServiceUnavailableException("Order validation failed", cause);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            lookups.forEach(lookup -> lookup.cancel(true));
+            throw new ServiceUnavailableException("Order validation was interrupted");
+        }
+    }
+    
+    private static void check(OrderValidationRequest request, ValidatedOrder validated) {
+        List<String> problems = new ArrayList<>();
+        if (request.customerId() != null) {
+            RemoteCustomer customer = validated.customer();
+            if (customer == null) {
+                problems.add("Customer " + request.customerId() + " does not exist");
+            } else if (!RemoteCustomer.ACTIVE.equals(customer.status())) {
+                problems.add("Customer " + request.customerId() + " is " + customer.status());
+            }
+        }
+        if (request.subscriptionId() != null && validated.subscription() == null) {
+            problems.add("Subscription " + request.subscriptionId() + " does not exist");
+        }
+        request.quantities().forEach((productId, quantity) -> {
+            RemoteProduct product = validated.products().get(productId);
+            if (product == null) {
+                problems.add("Product " + productId + " does not exist");
+            } else if (product.stock() != null && product.stock() < quantity) {
+                problems.add("Product " + productId + " has " + product.stock() + " in stock, " + quantity + " ordered");
+            }
+        });
+        if (!problems.isEmpty()) {
+            throw new IllegalArgumentException(String.join("; ", problems));
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
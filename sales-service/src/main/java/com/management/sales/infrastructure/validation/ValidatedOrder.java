@@ -0,0 +1,10 @@
+package com.management.sales.infrastructure.validation;
+
+import com.management.sales.infrastructure.client.RemoteCustomer;
+import com.management.sales.infrastructure.client.RemoteProduct;
+import com.management.sales.infrastructure.client.RemoteSubscription;
+
+import java.util.Map;
+
+public record ValidatedOrder(RemoteCustomer customer, RemoteSubscription subscription, Map<String, RemoteProduct> products) {
+}
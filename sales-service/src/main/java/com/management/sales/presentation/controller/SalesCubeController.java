@@ -0,0 +1,84 @@
+package com.management.sales.presentation.controller;
+
+import com.management.sales.domain.model.SalesCubeDimension;
+import com.management.sales.domain.model.SalesCubeRow;
+import com.management.sales.domain.service.SalesCubeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/saless/cube")
+@RequiredArgsConstructor
+@Slf4j
+public class SalesCubeController {
+    
+    private final SalesCubeService salesCubeService;
+    
+    /**
+     * Revenue, units and order counts grouped by any of stage, rep, product and month, e.g.
+     * {@code ?groupBy=rep,month&stage=WON&from=2024-01&to=2024-06}.
+     */
+    @GetMapping
+    public ResponseEntity<List<SalesCubeRow>> query(
+            @RequestParam(required = false) String groupBy,
+            @RequestParam(required = false) String stage,
+            @RequestParam(required = false) String repId,
+            @RequestParam(required = false) String productId,
+            @RequestParam(required = false) String month,
+            @RequestParam(required = false) String currency,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) {
+        log.debug("Querying sales cube grouped by {}", groupBy);
+        Set<SalesCubeDimension> dimensions = EnumSet.noneOf(SalesCubeDimension.class);
+        if (groupBy != null && !groupBy.isBlank()) {
+            Arrays.stream(groupBy.split(","))
+                .filter(value -> !value.isBlank())
+                .map(SalesCubeDimension::parse)
+                .forEach(dimensions::add);
+        }
+        Map<SalesCubeDimension, String> filters = new EnumMap<>(SalesCubeDimension.class);
+        putIfPresent(filters, SalesCubeDimension.STAGE, stage);
+        putIfPresent(filters, SalesCubeDimension.REP, repId);
+        putIfPresent(filters, SalesCubeDimension.PRODUCT, productId);
+        putIfPresent(filters, SalesCubeDimension.MONTH, month != null ? parseMonth(month).toString() : null);
+        return ResponseEntity.ok(salesCubeService.query(dimensions, filters, currency, parseMonth(from), parseMonth(to)));
+    }
+    
+    /**
+     * Recomputes the cube from the orders in the background; 409 if this instance is already rebuilding.
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuild() {
+        log.info("Rebuilding sales cube");
+        salesCubeService.rebuild();
+        return ResponseEntity.accepted().build();
+    }
+    
+    private static void putIfPresent(Map<SalesCubeDimension, String> filters, SalesCubeDimension dimension, String value) {
+        if (value != null && !value.isBlank()) {
+            filters.put(dimension, value);
+        }
+    }
+    
+    private static YearMonth parseMonth(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(value.trim());
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Months are written yyyy-MM, got: " + value);
+        }
+    }
+}
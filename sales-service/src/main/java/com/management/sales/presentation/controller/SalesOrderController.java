@@ -1,16 +1,37 @@
 package com.management.sales.presentation.controller;
 
+import com.management.sales.domain.model.OrderLine;
+import com.management.sales.domain.model.SalesCubeDelta;
 import com.management.sales.domain.model.SalesOrder;
 import com.management.sales.domain.repository.SalesOrderRepository;
+import com.management.sales.domain.service.PricingEngine;
+import com.management.sales.domain.service.SalesCubeService;
+import com.management.sales.infrastructure.client.RemoteProduct;
+import com.management.sales.infrastructure.export.SalesOrderExporter;
+import com.management.sales.infrastructure.validation.OrderValidationRequest;
+import com.management.sales.infrastructure.validation.OrderValidator;
+import com.management.sales.infrastructure.validation.ValidatedOrder;
+import com.management.common.dto.BatchGetRequest;
+import com.management.common.dto.BatchGetResponse;
 import com.management.common.exception.ResourceNotFoundException;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/saless")
@@ -19,6 +40,10 @@ import java.util.List;
 public class SalesOrderController {
     
     private final SalesOrderRepository repository;
+    private final SalesOrderExporter exporter;
+    private final OrderValidator validator;
+    private final PricingEngine pricingEngine;
+    private final SalesCubeService salesCubeService;
     
     @GetMapping
     public ResponseEntity<List<SalesOrder>> getAll() {
@@ -26,6 +51,33 @@ public class SalesOrderController {
         return ResponseEntity.ok(repository.findAll());
     }
     
+    /**
+     * Streams the orders created from {@code from} through {@code to}, both inclusive, as a CSV or NDJSON
+     * download, gzipped on request. The export runs asynchronously under its own timeout, so the long limit it
+     * needs does not apply to other requests.
+     */
+    @GetMapping("/export")
+    public WebAsyncTask<Void> export(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Export range ends before it starts");
+        }
+        SalesOrderExporter.Format exportFormat = SalesOrderExporter.Format.parse(format);
+        log.info("Exporting sales orders created from {} to {} as {}", from, to, exportFormat);
+        
+        String filename = "sales-orders-" + from + "-" + to + "." + exportFormat.extension() + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip" : exportFormat.mediaType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString());
+        return new WebAsyncTask<>(exporter.timeout().toMillis(), () -> {
+            exporter.export(from.atStartOfDay(), to.plusDays(1).atStartOfDay(), exportFormat, gzip, response.getOutputStream());
+            return null;
+        });
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<SalesOrder> getById(@PathVariable String id) {
         log.info("Fetching sales with id: {}", id);
@@ -34,12 +86,20 @@ public class SalesOrderController {
         return ResponseEntity.ok(entity);
     }
     
+    @PostMapping("/batch-get")
+    public ResponseEntity<BatchGetResponse<SalesOrder>> batchGet(@Valid @RequestBody BatchGetRequest request) {
+        log.info("Fetching {} saless by id", request.ids().size());
+        return ResponseEntity.ok(BatchGetResponse.fetch(request.ids(), repository::findAllById, SalesOrder::getId));
+    }
+    
     @PostMapping
     public ResponseEntity<SalesOrder> create(@RequestBody SalesOrder entity) {
         log.info("Creating new sales");
+        validateAndPrice(entity, OrderValidationRequest.of(entity), null);
         entity.setCreatedAt(LocalDateTime.now());
         entity.setUpdatedAt(LocalDateTime.now());
         SalesOrder saved = repository.save(entity);
+        salesCubeService.record(new SalesCubeDelta().added(saved));
         return new ResponseEntity<>(saved, HttpStatus.CREATED);
     }
     
@@ -48,12 +108,14 @@ public class SalesOrderController {
         log.info("Updating sales with id: {}", id);
         SalesOrder existing = repository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("SalesOrder", "id", id));
+        validateAndPrice(entity, OrderValidationRequest.changes(existing, entity), existing);
         
         entity.setId(id);
         entity.setCreatedAt(existing.getCreatedAt());
         entity.setUpdatedAt(LocalDateTime.now());
         
         SalesOrder updated = repository.save(entity);
+        salesCubeService.record(new SalesCubeDelta().removed(existing).added(updated));
         return ResponseEntity.ok(updated);
     }
     
@@ -63,6 +125,34 @@ public class SalesOrderController {
         SalesOrder entity = repository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("SalesOrder", "id", id));
         repository.delete(entity);
+        salesCubeService.record(new SalesCubeDelta().removed(entity));
         return ResponseEntity.noContent().build();
     }
+    
+    /**
+     * Checks {@code references}, all of the order's on create but only what changed on update, and prices the
+     * order. A line without a price takes the inventory price when its product was looked up and otherwise
+     * keeps the price it already had in {@code existing}.
+     */
+    private void validateAndPrice(SalesOrder entity, OrderValidationRequest references, SalesOrder existing) {
+        ValidatedOrder validated = validator.validate(references);
+        Map<String, BigDecimal> previousPrices = new HashMap<>();
+        if (existing != null && existing.getLines() != null) {
+            for (OrderLine line : existing.getLines()) {
+                if (line.getProductId() != null && line.getUnitPrice() != null) {
+                    previousPrices.putIfAbsent(line.getProductId(), line.getUnitPrice());
+                }
+            }
+        }
+        if (entity.getLines() != null) {
+            for (OrderLine line : entity.getLines()) {
+                if (line.getUnitPrice() != null || line.getProductId() == null) {
+                    continue;
+                }
+                RemoteProduct product = validated.products().get(line.getProductId());
+                line.setUnitPrice(product != null ? product.price() : previousPrices.get(line.getProductId()));
+            }
+        }
+        pricingEngine.price(entity);
+    }
 }
@@ -0,0 +1,197 @@
+package com.management.sales.benchmark;
+
+import com.management.sales.domain.service.PriceQuote;
+import com.management.sales.domain.service.PricingEngine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares {@link PricingEngine} on long minor units with the same pricing rules written naively on
+ * {@link BigDecimal}, one quote of 1 to 20 lines per operation. Run with {@code -Dbenchmark=true}.
+ */
+@Tag("benchmark")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@DisplayName("Pricing Engine Benchmark")
+public class PricingEngineBenchmarkTest {
+    
+    private static final int QUOTES = 1024;
+    private static final int MAX_LINES = 20;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    
+    private final PricingEngine engine = new PricingEngine();
+    private final PriceQuote quote = new PriceQuote(MAX_LINES);
+    private long[][] unitPrices;
+    private long[][] quantities;
+    private long[][] discountRates;
+    private long[][] taxRates;
+    private long[] orderDiscountRates;
+    private BigDecimal[][] decimalUnitPrices;
+    private BigDecimal[][] decimalQuantities;
+    private BigDecimal[][] discountPercents;
+    private BigDecimal[][] taxPercents;
+    private BigDecimal[] orderDiscountPercents;
+    private int next;
+    
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        unitPrices = new long[QUOTES][];
+        quantities = new long[QUOTES][];
+        discountRates = new long[QUOTES][];
+        taxRates = new long[QUOTES][];
+        orderDiscountRates = new long[QUOTES];
+        decimalUnitPrices = new BigDecimal[QUOTES][];
+        decimalQuantities = new BigDecimal[QUOTES][];
+        discountPercents = new BigDecimal[QUOTES][];
+        taxPercents = new BigDecimal[QUOTES][];
+        orderDiscountPercents = new BigDecimal[QUOTES];
+        long[] taxRateChoices = {0, 55_000, 70_000, 88_750, 190_000, 210_000};
+        for (int q = 0; q < QUOTES; q++) {
+            int lines = 1 + random.nextInt(MAX_LINES);
+            unitPrices[q] = new long[lines];
+            quantities[q] = new long[lines];
+            discountRates[q] = new long[lines];
+            taxRates[q] = new long[lines];
+            decimalUnitPrices[q] = new BigDecimal[lines];
+            decimalQuantities[q] = new BigDecimal[lines];
+            discountPercents[q] = new BigDecimal[lines];
+            taxPercents[q] = new BigDecimal[lines];
+            for (int i = 0; i < lines; i++) {
+                unitPrices[q][i] = 1 + random.nextInt(500_000);
+                quantities[q][i] = 1 + random.nextInt(50);
+                discountRates[q][i] = random.nextInt(4) == 0 ? random.nextInt(300_000) : 0;
+                taxRates[q][i] = taxRateChoices[random.nextInt(taxRateChoices.length)];
+                decimalUnitPrices[q][i] = BigDecimal.valueOf(unitPrices[q][i], 2);
+                decimalQuantities[q][i] = BigDecimal.valueOf(quantities[q][i]);
+                discountPercents[q][i] = BigDecimal.valueOf(discountRates[q][i], 4);
+                taxPercents[q][i] = BigDecimal.valueOf(taxRates[q][i], 4);
+            }
+            orderDiscountRates[q] = random.nextInt(3) == 0 ? random.nextInt(150_000) : 0;
+            orderDiscountPercents[q] = BigDecimal.valueOf(orderDiscountRates[q], 4);
+        }
+        for (int q = 0; q < QUOTES; q++) {
+            BigDecimal expected = bigDecimalTotal(q);
+            BigDecimal actual = BigDecimal.valueOf(fixedPointTotal(q), 2);
+            if (expected.compareTo(actual) != 0) {
+                throw new IllegalStateException("Quote " + q + " priced " + actual + " but BigDecimal gives " + expected);
+            }
+        }
+    }
+    
+    @Benchmark
+    public long fixedPoint() {
+        return fixedPointTotal(nextQuote());
+    }
+    
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        return bigDecimalTotal(nextQuote());
+    }
+    
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Fixed-point pricing should outpace BigDecimal pricing")
+    void fixedPointShouldOutpaceBigDecimal() throws RunnerException {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+            .include(PricingEngineBenchmarkTest.class.getName() + "\\.")
+            .build()).run();
+        
+        double fixedPoint = score(results, "fixedPoint");
+        double bigDecimal = score(results, "bigDecimal");
+        assertThat(fixedPoint)
+            .as("fixed point %.0f quotes/s vs BigDecimal %.0f quotes/s", fixedPoint, bigDecimal)
+            .isGreaterThan(bigDecimal);
+    }
+    
+    private int nextQuote() {
+        next = (next + 1) & (QUOTES - 1);
+        return next;
+    }
+    
+    private long fixedPointTotal(int q) {
+        quote.clear().orderDiscountRate(orderDiscountRates[q]);
+        for (int i = 0; i < unitPrices[q].length; i++) {
+            quote.addLine(unitPrices[q][i], quantities[q][i], discountRates[q][i], taxRates[q][i]);
+        }
+        engine.price(quote);
+        return quote.total();
+    }
+    
+    /**
+     * The same rules as {@link PricingEngine#price(PriceQuote)}, on {@link BigDecimal} throughout.
+     */
+    private BigDecimal bigDecimalTotal(int q) {
+        int lines = decimalUnitPrices[q].length;
+        BigDecimal[] nets = new BigDecimal[lines];
+        BigDecimal[] exactShares = new BigDecimal[lines];
+        BigDecimal discounted = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            BigDecimal gross = decimalUnitPrices[q][i].multiply(decimalQuantities[q][i]);
+            BigDecimal discount = percentOf(gross, discountPercents[q][i]).setScale(2, RoundingMode.HALF_UP);
+            nets[i] = gross.subtract(discount);
+            discounted = discounted.add(nets[i]);
+        }
+        BigDecimal orderDiscount = percentOf(discounted, orderDiscountPercents[q]).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal unallocated = orderDiscount;
+        for (int i = 0; i < lines; i++) {
+            exactShares[i] = percentOf(nets[i], orderDiscountPercents[q]);
+            BigDecimal share = exactShares[i].setScale(2, RoundingMode.DOWN);
+            nets[i] = nets[i].subtract(share);
+            unallocated = unallocated.subtract(share);
+            exactShares[i] = exactShares[i].subtract(share);
+        }
+        BigDecimal cent = BigDecimal.valueOf(1, 2);
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            if (unallocated.signum() > 0 && exactShares[i].signum() != 0) {
+                nets[i] = nets[i].subtract(cent);
+                unallocated = unallocated.subtract(cent);
+            }
+            BigDecimal tax = percentOf(nets[i], taxPercents[q][i]).setScale(2, RoundingMode.HALF_UP);
+            total = total.add(nets[i]).add(tax);
+        }
+        return total;
+    }
+    
+    private static BigDecimal percentOf(BigDecimal amount, BigDecimal percent) {
+        return amount.multiply(percent).divide(HUNDRED);
+    }
+    
+    private static double score(Collection<RunResult> results, String benchmark) {
+        return results.stream()
+            .filter(result -> result.getParams().getBenchmark().endsWith("." + benchmark))
+            .findFirst()
+            .orElseThrow()
+            .getPrimaryResult()
+            .getScore();
+    }
+}
@@ -0,0 +1,90 @@
+package com.management.sales.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Sales Cube Delta Tests")
+class SalesCubeDeltaTest {
+    
+    private static final int ALL_LEVELS = 15;
+    private static final String ALL = SalesCubeCell.ALL;
+    
+    private final SalesOrder order = order(SalesStage.WON);
+    
+    @Test
+    @DisplayName("Should count an order once in every cell it falls in")
+    void shouldCountAddedOrder() {
+        // When
+        SalesCubeDelta delta = new SalesCubeDelta().added(order);
+        
+        // Then
+        assertThat(delta.changes()).hasSize(8 + 8 * 2);
+        assertThat(delta.changes().get(new SalesCubeDelta.Cell(0, "EUR", ALL, ALL, ALL, ALL)))
+            .isEqualTo(new SalesCubeDelta.Change(1, 6, new BigDecimal("21.00")));
+        assertThat(delta.changes().get(new SalesCubeDelta.Cell(ALL_LEVELS, "EUR", "WON", "rep-1", "product-1", "2024-03")))
+            .isEqualTo(new SalesCubeDelta.Change(1, 3, new BigDecimal("15.00")));
+        assertThat(delta.changes().get(new SalesCubeDelta.Cell(SalesCubeDimension.PRODUCT.bit(), "EUR", ALL, ALL, "product-2", ALL)))
+            .isEqualTo(new SalesCubeDelta.Change(1, 3, new BigDecimal("6.00")));
+    }
+    
+    @Test
+    @DisplayName("Should cancel out opposite changes and keep only the cells that moved")
+    void shouldCancelOutOppositeChanges() {
+        // When
+        SalesCubeDelta undone = new SalesCubeDelta().added(order).removed(order);
+        SalesCubeDelta moved = new SalesCubeDelta().removed(order).added(order(SalesStage.LOST));
+        
+        // Then
+        assertThat(undone.isEmpty()).isTrue();
+        int stage = SalesCubeDimension.STAGE.bit();
+        assertThat(moved.changes().keySet()).allMatch(cell -> (cell.level() & stage) != 0);
+        assertThat(moved.changes().get(new SalesCubeDelta.Cell(stage, "EUR", "WON", ALL, ALL, ALL)))
+            .isEqualTo(new SalesCubeDelta.Change(-1, -6, new BigDecimal("-21.00")));
+        assertThat(moved.changes().get(new SalesCubeDelta.Cell(stage, "EUR", "LOST", ALL, ALL, ALL)))
+            .isEqualTo(new SalesCubeDelta.Change(1, 6, new BigDecimal("21.00")));
+    }
+    
+    @Test
+    @DisplayName("Should file orders with missing fields under unassigned")
+    void shouldUseUnassignedForMissingFields() {
+        // Given
+        SalesOrder bare = SalesOrder.builder()
+            .lines(List.of(OrderLine.builder().quantity(1L).build()))
+            .build();
+        String unassigned = SalesCubeCell.UNASSIGNED;
+        
+        // When
+        SalesCubeDelta delta = new SalesCubeDelta().added(bare);
+        
+        // Then
+        assertThat(delta.changes().get(new SalesCubeDelta.Cell(ALL_LEVELS, unassigned, unassigned, unassigned, unassigned, unassigned)))
+            .isEqualTo(new SalesCubeDelta.Change(1, 1, BigDecimal.ZERO));
+    }
+    
+    private static SalesOrder order(SalesStage stage) {
+        return SalesOrder.builder()
+            .currency("EUR")
+            .stage(stage)
+            .salesRepId("rep-1")
+            .createdAt(LocalDateTime.of(2024, 3, 15, 10, 0))
+            .lines(List.of(
+                line("product-1", 2, "10.00"),
+                line("product-1", 1, "5.00"),
+                line("product-2", 3, "6.00")))
+            .build();
+    }
+    
+    private static OrderLine line(String productId, long quantity, String netAmount) {
+        return OrderLine.builder()
+            .productId(productId)
+            .quantity(quantity)
+            .netAmount(new BigDecimal(netAmount))
+            .build();
+    }
+}
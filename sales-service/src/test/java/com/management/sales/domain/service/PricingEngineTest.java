@@ -0,0 +1,151 @@
+package com.management.sales.domain.service;
+
+import com.management.sales.domain.model.OrderLine;
+import com.management.sales.domain.model.SalesOrder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Pricing Engine Tests")
+class PricingEngineTest {
+    
+    private final PricingEngine engine = new PricingEngine();
+    
+    @Test
+    @DisplayName("Should round discounts and taxes half up to a minor unit")
+    void shouldRoundHalfUp() {
+        // Given
+        SalesOrder order = order("EUR", null,
+            line("1.25", 1, "10", null),
+            line("1.00", 1, null, "12.5"));
+        
+        // When
+        engine.price(order);
+        
+        // Then
+        assertThat(order.getLines().get(0).getDiscountAmount()).isEqualByComparingTo("0.13");
+        assertThat(order.getLines().get(0).getNetAmount()).isEqualByComparingTo("1.12");
+        assertThat(order.getLines().get(1).getTaxAmount()).isEqualByComparingTo("0.13");
+        assertThat(order.getSubtotal()).isEqualByComparingTo("2.25");
+        assertThat(order.getDiscountTotal()).isEqualByComparingTo("0.13");
+        assertThat(order.getTaxTotal()).isEqualByComparingTo("0.13");
+        assertThat(order.getTotal()).isEqualByComparingTo("2.25");
+    }
+    
+    @Test
+    @DisplayName("Should hand the order discount's rounding remainder to lines in order")
+    void shouldAllocateOrderDiscountRemainder() {
+        // Given
+        SalesOrder order = order("USD", "10",
+            line("0.05", 1, null, null),
+            line("0.05", 1, null, null),
+            line("0.05", 1, null, null));
+        
+        // When
+        engine.price(order);
+        
+        // Then
+        assertThat(order.getLines()).extracting(OrderLine::getDiscountAmount)
+            .usingElementComparator(BigDecimal::compareTo)
+            .containsExactly(new BigDecimal("0.01"), new BigDecimal("0.01"), new BigDecimal("0.00"));
+        assertThat(order.getLines()).extracting(OrderLine::getNetAmount)
+            .usingElementComparator(BigDecimal::compareTo)
+            .containsExactly(new BigDecimal("0.04"), new BigDecimal("0.04"), new BigDecimal("0.05"));
+        assertThat(order.getDiscountTotal()).isEqualByComparingTo("0.02");
+        assertThat(order.getTotal()).isEqualByComparingTo("0.13");
+    }
+    
+    @Test
+    @DisplayName("Should keep the order discount shares separate from line taxes")
+    void shouldTaxAfterAllocatingOrderDiscount() {
+        // Given
+        PriceQuote quote = new PriceQuote(1).orderDiscountRate(100_000);
+        quote.addLine(5, 1, 0, 200_000);
+        quote.addLine(5, 1, 0, 200_000);
+        quote.addLine(5, 1, 0, 200_000);
+        
+        // When
+        engine.price(quote);
+        engine.price(quote);
+        
+        // Then
+        assertThat(quote.lineNet(0)).isEqualTo(4);
+        assertThat(quote.lineNet(2)).isEqualTo(5);
+        assertThat(quote.lineTax(0)).isEqualTo(1);
+        assertThat(quote.lineTax(2)).isEqualTo(1);
+        assertThat(quote.discountTotal()).isEqualTo(2);
+        assertThat(quote.taxTotal()).isEqualTo(3);
+        assertThat(quote.total()).isEqualTo(16);
+    }
+    
+    @Test
+    @DisplayName("Should price currencies without a minor unit in whole units")
+    void shouldPriceZeroDecimalCurrency() {
+        // Given
+        SalesOrder order = order("JPY", null,
+            line("1000", 3, "5", "10"),
+            line("15", 1, null, "10"));
+        
+        // When
+        engine.price(order);
+        
+        // Then
+        OrderLine first = order.getLines().get(0);
+        assertThat(first.getDiscountAmount()).isEqualByComparingTo("150");
+        assertThat(first.getTaxAmount()).isEqualByComparingTo("285");
+        assertThat(first.getTotal()).isEqualByComparingTo("3135");
+        assertThat(order.getLines().get(1).getTaxAmount()).isEqualByComparingTo("2");
+        assertThat(order.getTotal()).isEqualByComparingTo("3152");
+        assertThat(order.getTotal().scale()).isZero();
+    }
+    
+    @Test
+    @DisplayName("Should reject prices with more decimals than the currency has")
+    void shouldRejectExtraDecimals() {
+        // Given
+        SalesOrder order = order("JPY", null, line("100.5", 1, null, null));
+        
+        // When & Then
+        assertThatThrownBy(() -> engine.price(order))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("more decimals than JPY allows");
+    }
+    
+    @Test
+    @DisplayName("Should reject amounts too large to price as bad input")
+    void shouldRejectOverflow() {
+        // Given
+        SalesOrder hugePrice = order("USD", null, line("100000000000000000", 1, null, null));
+        SalesOrder hugeLine = order("USD", null, line("1000000000000000", 1000, null, null));
+        
+        // When & Then
+        assertThatThrownBy(() -> engine.price(hugePrice))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("too large");
+        assertThatThrownBy(() -> engine.price(hugeLine))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Order amounts are too large to price");
+    }
+    
+    private static SalesOrder order(String currency, String discountPercent, OrderLine... lines) {
+        return SalesOrder.builder()
+            .currency(currency)
+            .discountPercent(discountPercent != null ? new BigDecimal(discountPercent) : null)
+            .lines(List.of(lines))
+            .build();
+    }
+    
+    private static OrderLine line(String unitPrice, long quantity, String discountPercent, String taxPercent) {
+        return OrderLine.builder()
+            .unitPrice(new BigDecimal(unitPrice))
+            .quantity(quantity)
+            .discountPercent(discountPercent != null ? new BigDecimal(discountPercent) : null)
+            .taxPercent(taxPercent != null ? new BigDecimal(taxPercent) : null)
+            .build();
+    }
+}
@@ -0,0 +1,140 @@
+package com.management.sales.infrastructure.client;
+
+import com.management.common.exception.ServiceUnavailableException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Discovered Service Client Tests")
+class DiscoveredServiceClientTest {
+    
+    private static final String SERVICE = "crm-service";
+    
+    @Mock
+    private DiscoveryClient discoveryClient;
+    
+    private HttpServer server;
+    private DiscoveredServiceClient client;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/customers/c-1", exchange -> respond(exchange, 200, "{\"id\":\"c-1\",\"name\":\"Acme\",\"status\":\"ACTIVE\"}"));
+        server.createContext("/customers/c-404", exchange -> respond(exchange, 404, "{}"));
+        server.createContext("/customers/c-500", exchange -> respond(exchange, 500, "{}"));
+        server.createContext("/customers/c-slow", exchange -> {
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "{}");
+        });
+        server.start();
+        client = new DiscoveredServiceClient(discoveryClient, RestClient.builder(), HttpClient.newHttpClient(),
+            SERVICE, Duration.ofMillis(200));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+    
+    @Test
+    @DisplayName("Should read the resource from a registered instance")
+    void shouldReadResource() {
+        // Given
+        registerServer();
+    
+        // When
+        RemoteCustomer customer = client.get("/customers/{id}", RemoteCustomer.class, "c-1");
+    
+        // Then
+        assertThat(customer).isEqualTo(new RemoteCustomer("c-1", "Acme", RemoteCustomer.ACTIVE));
+    }
+    
+    @Test
+    @DisplayName("Should read a missing resource as null")
+    void shouldReadNotFoundAsNull() {
+        // Given
+        registerServer();
+    
+        // When
+        RemoteCustomer customer = client.get("/customers/{id}", RemoteCustomer.class, "c-404");
+    
+        // Then
+        assertThat(customer).isNull();
+    }
+    
+    @Test
+    @DisplayName("Should map a downstream 5xx to service unavailable")
+    void shouldMapServerErrorToUnavailable() {
+        // Given
+        registerServer();
+    
+        // When & Then
+        assertThatThrownBy(() -> client.get("/customers/{id}", RemoteCustomer.class, "c-500"))
+            .isInstanceOf(ServiceUnavailableException.class)
+            .hasMessage(SERVICE + " answered 500");
+    }
+    
+    @Test
+    @DisplayName("Should give up on a response after the timeout")
+    void shouldTimeOut() {
+        // Given
+        registerServer();
+    
+        // When & Then
+        assertThatThrownBy(() -> client.get("/customers/{id}", RemoteCustomer.class, "c-slow"))
+            .isInstanceOf(ServiceUnavailableException.class)
+            .hasMessage(SERVICE + " did not answer within 200 ms");
+    }
+    
+    @Test
+    @DisplayName("Should be unavailable when no instance is registered")
+    void shouldFailWithoutInstances() {
+        // Given
+        when(discoveryClient.getInstances(SERVICE)).thenReturn(List.of());
+    
+        // When & Then
+        assertThatThrownBy(() -> client.get("/customers/{id}", RemoteCustomer.class, "c-1"))
+            .isInstanceOf(ServiceUnavailableException.class)
+            .hasMessage("No instance of " + SERVICE + " is registered");
+    }
+    
+    private void registerServer() {
+        when(discoveryClient.getInstances(SERVICE)).thenReturn(List.of(
+            new DefaultServiceInstance("crm-1", SERVICE, "localhost", server.getAddress().getPort(), false)));
+    }
+    
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.management.sales.infrastructure.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.management.sales.domain.model.SalesOrder;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Sales Order Exporter Tests")
+class SalesOrderExporterTest {
+    
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 3, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2024, 3, 2, 0, 0);
+    
+    @Mock
+    private MongoTemplate mongoTemplate;
+    
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private SalesOrderExporter exporter;
+    
+    @BeforeEach
+    void setUp() {
+        exporter = new SalesOrderExporter(mongoTemplate, objectMapper, Duration.ofHours(1));
+    }
+    
+    @Test
+    @DisplayName("Should quote CSV fields holding commas, quotes or line breaks")
+    void shouldQuoteCsvFields() throws IOException {
+        // Given
+        SalesOrder order = order("order-1", "Desk, oak");
+        order.setDescription("Said \"rush it\"\nthen left");
+        order.setCurrency("EUR");
+        order.setTotal(new BigDecimal("1250.50"));
+        stream(order);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+    
+        // When
+        long rows = exporter.export(FROM, TO, SalesOrderExporter.Format.CSV, false, out);
+    
+        // Then
+        assertThat(rows).isEqualTo(1);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+            "id,name,description,customerId,currency,total,createdAt,updatedAt\n"
+                + "order-1,\"Desk, oak\",\"Said \"\"rush it\"\"\nthen left\",,EUR,1250.50,2024-03-01T09:30,\n");
+    }
+    
+    @Test
+    @DisplayName("Should read orders created in the range in createdAt order with the id breaking ties")
+    void shouldFilterAndSortByCreatedAt() throws IOException {
+        // Given
+        stream();
+    
+        // When
+        exporter.export(FROM, TO, SalesOrderExporter.Format.CSV, false, new ByteArrayOutputStream());
+    
+        // Then
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(query.capture(), eq(SalesOrder.class));
+        Document createdAt = query.getValue().getQueryObject().get("createdAt", Document.class);
+        assertThat(createdAt).containsEntry("$gte", FROM).containsEntry("$lt", TO);
+        assertThat(query.getValue().getSortObject()).isEqualTo(new Document("createdAt", 1).append("_id", 1));
+    }
+    
+    @Test
+    @DisplayName("Should write one JSON document per line as NDJSON")
+    void shouldWriteNdjson() throws IOException {
+        // Given
+        stream(order("order-1", "Desk"), order("order-2", "Chair\nblack"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+    
+        // When
+        long rows = exporter.export(FROM, TO, SalesOrderExporter.Format.NDJSON, false, out);
+    
+        // Then
+        assertThat(rows).isEqualTo(2);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertThat(second.get("id").asText()).isEqualTo("order-2");
+        assertThat(second.get("name").asText()).isEqualTo("Chair\nblack");
+    }
+    
+    @Test
+    @DisplayName("Should gzip the export on request")
+    void shouldGzip() throws IOException {
+        // Given
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        when(mongoTemplate.stream(any(Query.class), eq(SalesOrder.class)))
+            .thenAnswer(invocation -> Stream.of(order("order-1", "Desk"), order("order-2", "Chair")));
+        exporter.export(FROM, TO, SalesOrderExporter.Format.CSV, false, plain);
+    
+        // When
+        long rows = exporter.export(FROM, TO, SalesOrderExporter.Format.CSV, true, gzipped);
+    
+        // Then
+        assertThat(rows).isEqualTo(2);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.toByteArray()))) {
+            assertThat(in.readAllBytes()).isEqualTo(plain.toByteArray());
+        }
+    }
+    
+    private void stream(SalesOrder... orders) {
+        when(mongoTemplate.stream(any(Query.class), eq(SalesOrder.class))).thenReturn(Stream.of(orders));
+    }
+    
+    private SalesOrder order(String id, String name) {
+        return SalesOrder.builder()
+            .id(id)
+            .name(name)
+            .lines(List.of())
+            .createdAt(LocalDateTime.of(2024, 3, 1, 9, 30))
+            .build();
+    }
+}
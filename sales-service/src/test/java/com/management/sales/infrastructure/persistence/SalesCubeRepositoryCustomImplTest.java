@@ -0,0 +1,154 @@
+package com.management.sales.infrastructure.persistence;
+
+import com.management.common.lock.MongoLock;
+import com.management.sales.domain.model.SalesCubeCell;
+import com.management.sales.domain.model.SalesOrder;
+import com.management.sales.domain.model.SalesStage;
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.RenameCollectionOptions;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Sales Cube Repository Tests")
+class SalesCubeRepositoryCustomImplTest {
+    
+    private static final String SCRATCH = SalesCubeCell.COLLECTION + "_rebuild_";
+    private static final String LOCK = SalesCubeCell.COLLECTION + "-rebuild";
+    
+    @Mock
+    private MongoTemplate mongoTemplate;
+    
+    @Mock
+    private MongoLock mongoLock;
+    
+    @Mock
+    private BulkOperations bulkOperations;
+    
+    @Mock
+    private IndexOperations indexOperations;
+    
+    @Mock
+    private MongoCollection<Document> scratchCollection;
+    
+    @Mock
+    private MongoDatabase database;
+    
+    private SalesCubeRepositoryCustomImpl repository;
+    private final List<List<SalesOrder>> reads = new ArrayList<>();
+    
+    @BeforeEach
+    void setUp() {
+        lenient().when(mongoTemplate.indexOps(startsWith(SCRATCH))).thenReturn(indexOperations);
+        lenient().when(mongoTemplate.getCollection(startsWith(SCRATCH))).thenReturn(scratchCollection);
+        lenient().when(mongoTemplate.getDb()).thenReturn(database);
+        lenient().when(database.getName()).thenReturn("sales_db");
+        lenient().when(mongoTemplate.bulkOps(eq(BulkOperations.BulkMode.UNORDERED), eq(SalesCubeCell.class), anyString()))
+            .thenReturn(bulkOperations);
+        lenient().when(bulkOperations.upsert(any(Query.class), any(Update.class))).thenReturn(bulkOperations);
+        lenient().when(mongoTemplate.stream(any(Query.class), eq(SalesOrder.class)))
+            .thenAnswer(invocation -> reads.isEmpty() ? Stream.empty() : reads.remove(0).stream());
+        repository = new SalesCubeRepositoryCustomImpl(mongoTemplate, mongoLock);
+    }
+    
+    @Test
+    @DisplayName("Should count orders created during the rebuild into the new cube before swapping it in")
+    void shouldCatchUpBeforeRename() {
+        // Given
+        when(mongoLock.tryAcquire(eq(LOCK), any())).thenReturn(true);
+        reads.add(List.of(order("order-1", LocalDateTime.of(2024, 3, 1, 9, 0))));
+        reads.add(List.of(order("order-2", LocalDateTime.now())));
+        
+        // When
+        boolean rebuilt = repository.rebuild();
+        
+        // Then
+        assertThat(rebuilt).isTrue();
+        InOrder order = inOrder(mongoTemplate, bulkOperations, scratchCollection);
+        order.verify(mongoTemplate).insert(anyCollection(), startsWith(SCRATCH));
+        order.verify(mongoTemplate).bulkOps(eq(BulkOperations.BulkMode.UNORDERED), eq(SalesCubeCell.class), startsWith(SCRATCH));
+        order.verify(bulkOperations).execute();
+        order.verify(scratchCollection).renameCollection(
+            eq(new MongoNamespace("sales_db", SalesCubeCell.COLLECTION)), any(RenameCollectionOptions.class));
+        verify(mongoTemplate, times(3)).stream(any(Query.class), eq(SalesOrder.class));
+        verify(mongoLock).release(LOCK);
+    }
+    
+    @Test
+    @DisplayName("Should renew the rebuild lease as the orders are read")
+    void shouldRenewLeasePerBatch() {
+        // Given
+        when(mongoLock.tryAcquire(eq(LOCK), any())).thenReturn(true);
+        reads.add(IntStream.range(0, 2500)
+            .mapToObj(i -> order("order-" + i, LocalDateTime.of(2024, 3, 1, 9, 0)))
+            .toList());
+        
+        // When
+        repository.rebuild();
+        
+        // Then
+        // Once to start, after every 1000 orders read and before the catch-up pass
+        verify(mongoLock, times(4)).tryAcquire(eq(LOCK), any());
+    }
+    
+    @Test
+    @DisplayName("Should abandon the rebuild without swapping when the lease is lost")
+    void shouldAbortWhenLeaseIsLost() {
+        // Given
+        when(mongoLock.tryAcquire(eq(LOCK), any())).thenReturn(true, false);
+        reads.add(IntStream.range(0, 1000)
+            .mapToObj(i -> order("order-" + i, LocalDateTime.of(2024, 3, 1, 9, 0)))
+            .toList());
+        
+        // When & Then
+        assertThatThrownBy(() -> repository.rebuild())
+            .isInstanceOf(IllegalStateException.class);
+        verify(scratchCollection, never()).renameCollection(any(MongoNamespace.class), any(RenameCollectionOptions.class));
+        verify(mongoTemplate).dropCollection(startsWith(SCRATCH));
+        verify(mongoLock).release(LOCK);
+    }
+    
+    private static SalesOrder order(String id, LocalDateTime createdAt) {
+        return SalesOrder.builder()
+            .id(id)
+            .currency("EUR")
+            .stage(SalesStage.WON)
+            .salesRepId("rep-1")
+            .createdAt(createdAt)
+            .lines(List.of())
+            .build();
+    }
+}
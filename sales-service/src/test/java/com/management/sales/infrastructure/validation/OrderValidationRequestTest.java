@@ -0,0 +1,53 @@
+package com.management.sales.infrastructure.validation;
+
+import com.management.sales.domain.model.OrderLine;
+import com.management.sales.domain.model.SalesOrder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Order Validation Request Tests")
+class OrderValidationRequestTest {
+    
+    @Test
+    @DisplayName("Should only keep the products that are new or ordered in a different quantity")
+    void shouldKeepChangedLinesOnly() {
+        // Given
+        SalesOrder before = order("c-1", line("p-1", 2L), line("p-2", 1L), line("p-3", 5L));
+        SalesOrder after = order("c-1", line("p-1", 2L), line("p-2", 4L), line("p-4", 1L));
+    
+        // When
+        OrderValidationRequest changes = OrderValidationRequest.changes(before, after);
+    
+        // Then
+        assertThat(changes.customerId()).isNull();
+        assertThat(changes.subscriptionId()).isNull();
+        assertThat(changes.quantities()).containsOnlyKeys("p-2", "p-4");
+    }
+    
+    @Test
+    @DisplayName("Should compare summed quantities and recheck a changed customer")
+    void shouldCompareTotalsPerProduct() {
+        // Given
+        SalesOrder before = order("c-1", line("p-1", 3L));
+        SalesOrder after = order("c-2", line("p-1", 1L), line("p-1", 2L));
+    
+        // When
+        OrderValidationRequest changes = OrderValidationRequest.changes(before, after);
+    
+        // Then
+        assertThat(changes.customerId()).isEqualTo("c-2");
+        assertThat(changes.quantities()).isEmpty();
+    }
+    
+    private SalesOrder order(String customerId, OrderLine... lines) {
+        return SalesOrder.builder().customerId(customerId).lines(List.of(lines)).build();
+    }
+    
+    private OrderLine line(String productId, Long quantity) {
+        return OrderLine.builder().productId(productId).quantity(quantity).build();
+    }
+}
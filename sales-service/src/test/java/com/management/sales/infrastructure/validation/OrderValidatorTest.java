@@ -0,0 +1,152 @@
+package com.management.sales.infrastructure.validation;
+
+import com.management.common.exception.ServiceUnavailableException;
+import com.management.sales.infrastructure.client.DiscoveredServiceClient;
+import com.management.sales.infrastructure.client.ProductLookup;
+import com.management.sales.infrastructure.client.RemoteCustomer;
+import com.management.sales.infrastructure.client.RemoteProduct;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Order Validator Tests")
+class OrderValidatorTest {
+    
+    @Mock
+    private DiscoveredServiceClient customers;
+    
+    @Mock
+    private DiscoveredServiceClient products;
+    
+    @Mock
+    private DiscoveredServiceClient subscriptions;
+    
+    private OrderValidator validator;
+    
+    @BeforeEach
+    void setUp() {
+        lenient().when(customers.serviceId()).thenReturn("crm-service");
+        lenient().when(customers.timeout()).thenReturn(Duration.ofMillis(100));
+        lenient().when(products.serviceId()).thenReturn("inventory-service");
+        lenient().when(products.timeout()).thenReturn(Duration.ofSeconds(2));
+        validator = new OrderValidator(customers, products, subscriptions, Duration.ofMillis(500), 4);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        validator.shutdown();
+    }
+    
+    @Test
+    @DisplayName("Should return what the order refers to when everything checks out")
+    void shouldValidateOrder() {
+        // Given
+        when(customers.get(anyString(), eq(RemoteCustomer.class), eq("c-1")))
+            .thenReturn(new RemoteCustomer("c-1", "Acme", RemoteCustomer.ACTIVE));
+        when(products.post(eq(ProductLookup.PATH), any(), eq(ProductLookup.Response.class)))
+            .thenReturn(new ProductLookup.Response(List.of(product("p-1", 10L)), List.of()));
+    
+        // When
+        ValidatedOrder validated = validator.validate(new OrderValidationRequest("c-1", null, Map.of("p-1", 3L)));
+    
+        // Then
+        assertThat(validated.customer().id()).isEqualTo("c-1");
+        assertThat(validated.products()).containsOnlyKeys("p-1");
+    }
+    
+    @Test
+    @DisplayName("Should report unknown customers and products as validation errors")
+    void shouldRejectUnknownReferences() {
+        // Given
+        when(customers.get(anyString(), eq(RemoteCustomer.class), eq("c-404"))).thenReturn(null);
+        when(products.post(eq(ProductLookup.PATH), any(), eq(ProductLookup.Response.class)))
+            .thenReturn(new ProductLookup.Response(List.of(), List.of("p-404")));
+    
+        // When & Then
+        assertThatThrownBy(() -> validator.validate(new OrderValidationRequest("c-404", null, Map.of("p-404", 1L))))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Customer c-404 does not exist")
+            .hasMessageContaining("Product p-404 does not exist");
+    }
+    
+    @Test
+    @DisplayName("Should fail as unavailable when one dependency does not answer within its timeout")
+    void shouldTimeOutSlowDependency() {
+        // Given
+        when(customers.get(anyString(), eq(RemoteCustomer.class), eq("c-1")))
+            .thenAnswer(answerAfter(Duration.ofSeconds(2), new RemoteCustomer("c-1", "Acme", RemoteCustomer.ACTIVE)));
+    
+        // When & Then
+        assertThatThrownBy(() -> validator.validate(new OrderValidationRequest("c-1", null, Map.of())))
+            .isInstanceOf(ServiceUnavailableException.class)
+            .hasMessage("crm-service did not answer within 100 ms");
+    }
+    
+    @Test
+    @DisplayName("Should fail as unavailable when the whole validation runs past its deadline")
+    void shouldEnforceDeadline() {
+        // Given
+        when(products.post(eq(ProductLookup.PATH), any(), eq(ProductLookup.Response.class)))
+            .thenAnswer(answerAfter(Duration.ofSeconds(1), new ProductLookup.Response(List.of(product("p-1", 10L)), List.of())));
+    
+        // When & Then
+        assertThatThrownBy(() -> validator.validate(new OrderValidationRequest(null, null, Map.of("p-1", 1L))))
+            .isInstanceOf(ServiceUnavailableException.class)
+            .hasMessage("Order validation did not finish within 500 ms");
+    }
+    
+    @Test
+    @DisplayName("Should pass on a dependency failure as unavailable")
+    void shouldPropagateDependencyFailure() {
+        // Given
+        when(customers.get(anyString(), eq(RemoteCustomer.class), eq("c-1")))
+            .thenThrow(new ServiceUnavailableException("crm-service answered 500"));
+    
+        // When & Then
+        assertThatThrownBy(() -> validator.validate(new OrderValidationRequest("c-1", null, Map.of())))
+            .isInstanceOf(ServiceUnavailableException.class)
+            .hasMessage("crm-service answered 500");
+    }
+    
+    @Test
+    @DisplayName("Should not call any dependency when the order refers to nothing")
+    void shouldSkipEmptyRequest() {
+        // When
+        ValidatedOrder validated = validator.validate(new OrderValidationRequest(null, null, Map.of()));
+    
+        // Then
+        assertThat(validated.products()).isEmpty();
+        verifyNoInteractions(customers, products, subscriptions);
+    }
+    
+    private static <T> Answer<T> answerAfter(Duration delay, T value) {
+        return invocation -> {
+            Thread.sleep(delay.toMillis());
+            return value;
+        };
+    }
+    
+    private static RemoteProduct product(String id, Long stock) {
+        return new RemoteProduct(id, "SKU-" + id, "Product " + id, new BigDecimal("9.99"), stock);
+    }
+}
@@ -2,7 +2,10 @@ package com.management.subscriptions.presentation.controller;
 
 import com.management.subscriptions.domain.model.Subscription;
 import com.management.subscriptions.domain.repository.SubscriptionRepository;
+import com.management.common.dto.BatchGetRequest;
+import com.management.common.dto.BatchGetResponse;
 import com.management.common.exception.ResourceNotFoundException;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -34,6 +37,12 @@ public class SubscriptionController {
         return ResponseEntity.ok(entity);
     }
     
+    @PostMapping("/batch-get")
+    public ResponseEntity<BatchGetResponse<Subscription>> batchGet(@Valid @RequestBody BatchGetRequest request) {
+        log.info("Fetching {} subscriptionss by id", request.ids().size());
+        return ResponseEntity.ok(BatchGetResponse.fetch(request.ids(), repository::findAllById, Subscription::getId));
+    }
+    
     @PostMapping
     public ResponseEntity<Subscription> create(@RequestBody Subscription entity) {
         log.info("Creating new subscriptions");
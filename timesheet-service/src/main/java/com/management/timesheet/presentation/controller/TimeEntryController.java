@@ -2,7 +2,10 @@ package com.management.timesheet.presentation.controller;
 
 import com.management.timesheet.domain.model.TimeEntry;
 import com.management.timesheet.domain.repository.TimeEntryRepository;
+import com.management.common.dto.BatchGetRequest;
+import com.management.common.dto.BatchGetResponse;
 import com.management.common.exception.ResourceNotFoundException;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -34,6 +37,12 @@ public class TimeEntryController {
         return ResponseEntity.ok(entity);
     }
     
+    @PostMapping("/batch-get")
+    public ResponseEntity<BatchGetResponse<TimeEntry>> batchGet(@Valid @RequestBody BatchGetRequest request) {
+        log.info("Fetching {} timesheets by id", request.ids().size());
+        return ResponseEntity.ok(BatchGetResponse.fetch(request.ids(), repository::findAllById, TimeEntry::getId));
+    }
+    
     @PostMapping
     public ResponseEntity<TimeEntry> create(@RequestBody TimeEntry entity) {
         log.info("Creating new timesheet");